@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import net.runelite.cache.definitions.InterfaceDefinition;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.ObjectDefinition;
+import net.runelite.cache.definitions.savers.InterfaceSaver;
+import net.runelite.cache.definitions.savers.ItemSaver;
+import net.runelite.cache.definitions.savers.ObjectSaver;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.io.OutputStream;
+
+/**
+ * Generates a small cache with item, object, interface and model data on
+ * disk, so benchmarks can run without downloading the game cache.
+ */
+public class SyntheticCache
+{
+	public static final int ITEMS = 4096;
+	public static final int OBJECTS = 4096;
+	public static final int INTERFACE_GROUPS = 64;
+	public static final int INTERFACE_CHILDREN = 64;
+	public static final int MODELS = 256;
+
+	// models are a grid of MODEL_SIZE x MODEL_SIZE vertices
+	private static final int MODEL_SIZE = 16;
+
+	private final Random random = new Random(42L);
+
+	public static File create() throws IOException
+	{
+		File directory = Files.createTempDirectory("cache").toFile();
+		new SyntheticCache().generate(directory);
+		return directory;
+	}
+
+	public static void delete(File directory)
+	{
+		File[] files = directory.listFiles();
+		if (files != null)
+		{
+			for (File file : files)
+			{
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	public void generate(File directory) throws IOException
+	{
+		try (Store store = new Store(directory))
+		{
+			generateConfigs(store);
+			generateInterfaces(store);
+			generateModels(store);
+			store.save();
+		}
+	}
+
+	private void generateConfigs(Store store) throws IOException
+	{
+		Index index = store.addIndex(IndexType.CONFIGS.getNumber());
+
+		// archives must be added in ascending order
+		ObjectSaver objectSaver = new ObjectSaver();
+		byte[][] objects = new byte[OBJECTS][];
+		for (int i = 0; i < OBJECTS; ++i)
+		{
+			ObjectDefinition def = new ObjectDefinition();
+			def.setId(i);
+			def.setName("Object " + i);
+			def.setObjectModels(new int[]
+			{
+				random.nextInt(MODELS)
+			});
+			def.setObjectTypes(new int[]
+			{
+				10
+			});
+			def.getActions()[0] = "Open";
+			def.setSizeX(1 + random.nextInt(3));
+			def.setSizeY(1 + random.nextInt(3));
+			objects[i] = objectSaver.save(def);
+		}
+		saveArchive(store, index.addArchive(ConfigType.OBJECT.getId()), objects);
+
+		ItemSaver itemSaver = new ItemSaver();
+		byte[][] items = new byte[ITEMS][];
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			ItemDefinition def = new ItemDefinition(i);
+			def.name = "Item " + i;
+			def.inventoryModel = random.nextInt(MODELS);
+			def.cost = random.nextInt(100000);
+			def.options[0] = "Eat";
+			def.interfaceOptions[1] = "Wield";
+			items[i] = itemSaver.save(def);
+		}
+		saveArchive(store, index.addArchive(ConfigType.ITEM.getId()), items);
+	}
+
+	private void generateInterfaces(Store store) throws IOException
+	{
+		Index index = store.addIndex(IndexType.INTERFACES.getNumber());
+
+		InterfaceSaver saver = new InterfaceSaver();
+		for (int group = 0; group < INTERFACE_GROUPS; ++group)
+		{
+			byte[][] children = new byte[INTERFACE_CHILDREN][];
+			for (int child = 0; child < INTERFACE_CHILDREN; ++child)
+			{
+				InterfaceDefinition def = new InterfaceDefinition();
+				def.id = (group << 16) | child;
+				// rectangles, text and sprites
+				def.type = 3 + child % 3;
+				def.originalX = random.nextInt(512);
+				def.originalY = random.nextInt(334);
+				def.originalWidth = 16 + random.nextInt(128);
+				def.originalHeight = 16 + random.nextInt(64);
+				def.text = "Widget " + child;
+				def.alternateText = "";
+				def.spriteId = random.nextInt(1024);
+				def.textColor = random.nextInt(0xffffff);
+				children[child] = saver.save(def);
+			}
+			saveArchive(store, index.addArchive(group), children);
+		}
+	}
+
+	private void generateModels(Store store) throws IOException
+	{
+		Index index = store.addIndex(IndexType.MODELS.getNumber());
+
+		for (int i = 0; i < MODELS; ++i)
+		{
+			saveArchive(store, index.addArchive(i), new byte[][]
+			{
+				generateModel()
+			});
+		}
+	}
+
+	/**
+	 * Encodes a heightmap-like model in the old model format, with
+	 * one flat color per face and no textures, skins or alphas.
+	 */
+	private byte[] generateModel()
+	{
+		int vertexCount = MODEL_SIZE * MODEL_SIZE;
+		int faceCount = (MODEL_SIZE - 1) * (MODEL_SIZE - 1) * 2;
+
+		OutputStream vertexFlags = new OutputStream(vertexCount);
+		OutputStream faceTypes = new OutputStream(faceCount);
+		OutputStream faceIndices = new OutputStream(faceCount * 3);
+		OutputStream faceColors = new OutputStream(faceCount * 2);
+		OutputStream vertexX = new OutputStream(vertexCount);
+		OutputStream vertexY = new OutputStream(vertexCount);
+		OutputStream vertexZ = new OutputStream(vertexCount);
+
+		int lastX = 0, lastY = 0, lastZ = 0;
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			int x = (i % MODEL_SIZE) * 32;
+			int y = -random.nextInt(64);
+			int z = (i / MODEL_SIZE) * 32;
+
+			vertexFlags.writeByte(1 | 2 | 4);
+			writeSignedShortSmart(vertexX, x - lastX);
+			writeSignedShortSmart(vertexY, y - lastY);
+			writeSignedShortSmart(vertexZ, z - lastZ);
+
+			lastX = x;
+			lastY = y;
+			lastZ = z;
+		}
+
+		int last = 0;
+		for (int cz = 0; cz < MODEL_SIZE - 1; ++cz)
+		{
+			for (int cx = 0; cx < MODEL_SIZE - 1; ++cx)
+			{
+				int v0 = cz * MODEL_SIZE + cx;
+				int v1 = v0 + 1;
+				int v2 = v0 + MODEL_SIZE;
+				int v3 = v2 + 1;
+
+				last = writeFace(faceTypes, faceIndices, last, v0, v2, v1);
+				last = writeFace(faceTypes, faceIndices, last, v1, v2, v3);
+
+				faceColors.writeShort(random.nextInt(0xffff));
+				faceColors.writeShort(random.nextInt(0xffff));
+			}
+		}
+
+		OutputStream out = new OutputStream();
+		out.writeBytes(vertexFlags.flip());
+		out.writeBytes(faceTypes.flip());
+		byte[] indices = faceIndices.flip();
+		out.writeBytes(indices);
+		out.writeBytes(faceColors.flip());
+		byte[] x = vertexX.flip();
+		byte[] y = vertexY.flip();
+		byte[] z = vertexZ.flip();
+		out.writeBytes(x);
+		out.writeBytes(y);
+		out.writeBytes(z);
+
+		out.writeShort(vertexCount);
+		out.writeShort(faceCount);
+		out.writeByte(0); // texture triangles
+		out.writeByte(0); // face render types
+		out.writeByte(0); // priority
+		out.writeByte(0); // face alphas
+		out.writeByte(0); // face skins
+		out.writeByte(0); // vertex skins
+		out.writeShort(x.length);
+		out.writeShort(y.length);
+		out.writeShort(z.length);
+		out.writeShort(indices.length);
+		return out.flip();
+	}
+
+	private static int writeFace(OutputStream types, OutputStream indices, int last, int a, int b, int c)
+	{
+		types.writeByte(1);
+		writeSignedShortSmart(indices, a - last);
+		writeSignedShortSmart(indices, b - a);
+		writeSignedShortSmart(indices, c - b);
+		return c;
+	}
+
+	private static void writeSignedShortSmart(OutputStream out, int value)
+	{
+		if (value >= -64 && value < 64)
+		{
+			out.writeByte(value + 64);
+		}
+		else
+		{
+			out.writeShort(value + 0xC000);
+		}
+	}
+
+	private static void saveArchive(Store store, Archive archive, byte[][] contents) throws IOException
+	{
+		FileData[] fileData = new FileData[contents.length];
+		ArchiveFiles files = new ArchiveFiles();
+		for (int i = 0; i < contents.length; ++i)
+		{
+			FileData fd = fileData[i] = new FileData();
+			fd.setId(i);
+
+			FSFile file = new FSFile(i);
+			file.setContents(contents[i]);
+			files.addFile(file);
+		}
+		archive.setFileData(fileData);
+		archive.setCompression(CompressionType.GZ);
+
+		Container container = new Container(CompressionType.GZ, -1);
+		container.compress(files.saveContents(), null);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.loaders;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.SyntheticCache;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decodes every item, object, interface and model definition of a
+ * synthetic cache. The file contents are extracted at setup, so only
+ * the loaders themselves are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefinitionLoaderBenchmark
+{
+	private final ItemLoader itemLoader = new ItemLoader();
+	private final ObjectLoader objectLoader = new ObjectLoader();
+	private final InterfaceLoader interfaceLoader = new InterfaceLoader();
+	private final ModelLoader modelLoader = new ModelLoader();
+
+	private Definitions items;
+	private Definitions objects;
+	private Definitions interfaces;
+	private Definitions models;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		File directory = SyntheticCache.create();
+		try (Store store = new Store(directory))
+		{
+			store.load();
+
+			Index configs = store.getIndex(IndexType.CONFIGS);
+			items = new Definitions();
+			for (FSFile file : store.getArchiveFiles(configs.getArchive(ConfigType.ITEM.getId())).getFiles())
+			{
+				items.add(file.getFileId(), file.getContents());
+			}
+
+			objects = new Definitions();
+			for (FSFile file : store.getArchiveFiles(configs.getArchive(ConfigType.OBJECT.getId())).getFiles())
+			{
+				objects.add(file.getFileId(), file.getContents());
+			}
+
+			interfaces = new Definitions();
+			for (Archive archive : store.getIndex(IndexType.INTERFACES).getArchives())
+			{
+				for (FSFile file : store.getArchiveFiles(archive).getFiles())
+				{
+					interfaces.add((archive.getArchiveId() << 16) | file.getFileId(), file.getContents());
+				}
+			}
+
+			models = new Definitions();
+			for (Archive archive : store.getIndex(IndexType.MODELS).getArchives())
+			{
+				models.add(archive.getArchiveId(), store.getArchiveFiles(archive).findFile(0).getContents());
+			}
+		}
+		finally
+		{
+			SyntheticCache.delete(directory);
+		}
+	}
+
+	@Benchmark
+	public void loadItems(Blackhole blackhole)
+	{
+		for (int i = 0; i < items.size(); ++i)
+		{
+			blackhole.consume(itemLoader.load(items.ids.get(i), items.contents.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void loadObjects(Blackhole blackhole)
+	{
+		for (int i = 0; i < objects.size(); ++i)
+		{
+			blackhole.consume(objectLoader.load(objects.ids.get(i), objects.contents.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void loadInterfaces(Blackhole blackhole)
+	{
+		for (int i = 0; i < interfaces.size(); ++i)
+		{
+			blackhole.consume(interfaceLoader.load(interfaces.ids.get(i), interfaces.contents.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void loadModels(Blackhole blackhole)
+	{
+		for (int i = 0; i < models.size(); ++i)
+		{
+			blackhole.consume(modelLoader.load(models.ids.get(i), models.contents.get(i)));
+		}
+	}
+
+	private static class Definitions
+	{
+		private final List<Integer> ids = new ArrayList<>();
+		private final List<byte[]> contents = new ArrayList<>();
+
+		void add(int id, byte[] data)
+		{
+			ids.add(id);
+			contents.add(data);
+		}
+
+		int size()
+		{
+			return ids.size();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.io.IOException;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.io.InputStream;
+import net.runelite.cache.util.BZip2;
+import net.runelite.cache.util.BaselineXtea;
+import net.runelite.cache.util.Crc32;
+import net.runelite.cache.util.GZip;
+
+/**
+ * The container decoding used before containers were decoded in place,
+ * kept as the baseline for {@link ContainerBenchmark}. It copies the
+ * encrypted data out of the container, decrypts it into another copy and
+ * decompresses from a third.
+ */
+class BaselineContainer
+{
+	static Container decompress(byte[] b, int[] keys) throws IOException
+	{
+		InputStream stream = new InputStream(b);
+
+		int compression = stream.readUnsignedByte();
+		int compressedLength = stream.readInt();
+		if (compressedLength < 0 || compressedLength > 1000000)
+		{
+			throw new RuntimeException("Invalid data");
+		}
+
+		Crc32 crc32 = new Crc32();
+		crc32.update(b, 0, 5); // compression + length
+
+		byte[] data;
+		int revision = -1;
+		switch (compression)
+		{
+			case CompressionType.NONE:
+			{
+				byte[] encryptedData = new byte[compressedLength];
+				stream.readBytes(encryptedData, 0, compressedLength);
+
+				crc32.update(encryptedData, 0, compressedLength);
+				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
+
+				if (stream.remaining() >= 2)
+				{
+					revision = stream.readUnsignedShort();
+				}
+
+				data = decryptedData;
+
+				break;
+			}
+			case CompressionType.BZ2:
+			case CompressionType.GZ:
+			{
+				byte[] encryptedData = new byte[compressedLength + 4];
+				stream.readBytes(encryptedData);
+
+				crc32.update(encryptedData, 0, encryptedData.length);
+				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
+
+				if (stream.remaining() >= 2)
+				{
+					revision = stream.readUnsignedShort();
+				}
+
+				stream = new InputStream(decryptedData);
+
+				stream.readInt(); // decompressed length
+				data = compression == CompressionType.BZ2
+					? BZip2.decompress(stream.getRemaining(), compressedLength)
+					: GZip.decompress(stream.getRemaining(), compressedLength);
+
+				break;
+			}
+			default:
+				throw new RuntimeException("Unknown decompression type");
+		}
+
+		Container container = new Container(compression, revision);
+		container.data = data;
+		container.crc = crc32.getHash();
+		return container;
+	}
+
+	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	{
+		if (keys == null)
+		{
+			return data;
+		}
+
+		BaselineXtea xtea = new BaselineXtea(keys);
+		return xtea.decrypt(data, length);
+	}
+}
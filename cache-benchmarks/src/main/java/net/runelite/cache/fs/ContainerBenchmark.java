@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.fs.jagex.CompressionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes containers like those in the maps index, comparing the old
+ * decoding, which copied the data several times, with the array path,
+ * which copies encrypted data once before decrypting it, and decoding in
+ * place in a pooled buffer. Run with -prof gc to see the allocation rate
+ * of each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBenchmark
+{
+	private static final int[] KEYS = new int[]
+	{
+		4, 8, 15, 16
+	};
+
+	@Param({"NONE", "BZ2", "GZ"})
+	public String compression;
+
+	@Param({"true", "false"})
+	public boolean encrypted;
+
+	private byte[] compressedData;
+	private int[] keys;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		// compressible data, roughly the size of a map archive
+		Random random = new Random(42L);
+		byte[] data = new byte[8192];
+		for (int i = 0; i < data.length; ++i)
+		{
+			data[i] = (byte) random.nextInt(16);
+		}
+
+		keys = encrypted ? KEYS : null;
+
+		Container container = new Container(compressionType(compression), -1);
+		container.compress(data, keys);
+		compressedData = container.data;
+	}
+
+	static int compressionType(String name)
+	{
+		switch (name)
+		{
+			case "NONE":
+				return CompressionType.NONE;
+			case "BZ2":
+				return CompressionType.BZ2;
+			case "GZ":
+				return CompressionType.GZ;
+			default:
+				throw new IllegalArgumentException(name);
+		}
+	}
+
+	@Benchmark
+	public Container decompressBaseline() throws IOException
+	{
+		return BaselineContainer.decompress(compressedData, keys);
+	}
+
+	@Benchmark
+	public Container decompress() throws IOException
+	{
+		return Container.decompress(compressedData, keys);
+	}
+
+	@Benchmark
+	public Container decompressPooled() throws IOException
+	{
+		ByteBuf buf = PooledByteBufAllocator.DEFAULT.heapBuffer(compressedData.length);
+		try
+		{
+			buf.writeBytes(compressedData);
+			return Container.decompress(buf, keys);
+		}
+		finally
+		{
+			buf.release();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.util.Djb2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up the map and landscape archive of every region id the way
+ * RegionLoader.loadRegions does, against a maps index shaped like the
+ * game's, with and without the hashed lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexLookupBenchmark
+{
+	private static final int REGIONS = 32768;
+
+	@Param({"2000", "4000"})
+	public int regions;
+
+	private Index index;
+
+	@Setup
+	public void setup()
+	{
+		index = new Index(5);
+
+		Random random = new Random(42L);
+		boolean[] used = new boolean[REGIONS];
+		int archiveId = 0;
+		for (int i = 0; i < regions; ++i)
+		{
+			int regionId;
+			do
+			{
+				regionId = random.nextInt(REGIONS);
+			}
+			while (used[regionId]);
+			used[regionId] = true;
+
+			int x = regionId >> 8;
+			int y = regionId & 0xFF;
+			index.addArchive(archiveId++).setNameHash(Djb2.hash("m" + x + "_" + y));
+			index.addArchive(archiveId++).setNameHash(Djb2.hash("l" + x + "_" + y));
+		}
+	}
+
+	@Benchmark
+	public void hashed(Blackhole blackhole)
+	{
+		for (int i = 0; i < REGIONS; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+			blackhole.consume(index.findArchiveByName("m" + x + "_" + y));
+			blackhole.consume(index.findArchiveByName("l" + x + "_" + y));
+		}
+	}
+
+	@Benchmark
+	public void linear(Blackhole blackhole)
+	{
+		for (int i = 0; i < REGIONS; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+			blackhole.consume(scan(Djb2.hash("m" + x + "_" + y)));
+			blackhole.consume(scan(Djb2.hash("l" + x + "_" + y)));
+		}
+	}
+
+	/**
+	 * The lookup Index used before archives were hashed.
+	 */
+	private Archive scan(int hash)
+	{
+		for (Archive archive : index.getArchives())
+		{
+			if (archive.getNameHash() == hash)
+			{
+				return archive;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.SyntheticCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads archives out of the data file of a synthetic cache, both the
+ * small single sector model archives and the item archive, which spans
+ * many sectors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataFileBenchmark
+{
+	@Param({"false", "true"})
+	public boolean mapped;
+
+	private File directory;
+	private DataFile dataFile;
+	private IndexEntry[] models;
+	private IndexEntry items;
+	private int model;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		directory = SyntheticCache.create();
+
+		File dat = new File(directory, "main_file_cache.dat2");
+		dataFile = mapped ? DataFile.map(dat) : new DataFile(dat);
+
+		int modelIndex = IndexType.MODELS.getNumber();
+		try (IndexFile indexFile = new IndexFile(modelIndex, new File(directory, "main_file_cache.idx" + modelIndex)))
+		{
+			models = new IndexEntry[SyntheticCache.MODELS];
+			for (int i = 0; i < models.length; ++i)
+			{
+				models[i] = indexFile.read(i);
+			}
+		}
+
+		int configIndex = IndexType.CONFIGS.getNumber();
+		try (IndexFile indexFile = new IndexFile(configIndex, new File(directory, "main_file_cache.idx" + configIndex)))
+		{
+			items = indexFile.read(ConfigType.ITEM.getId());
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		dataFile.close();
+		SyntheticCache.delete(directory);
+	}
+
+	@Benchmark
+	public byte[] readModel() throws IOException
+	{
+		IndexEntry entry = models[model++ & (models.length - 1)];
+		return dataFile.read(IndexType.MODELS.getNumber(), entry.getId(), entry.getSector(), entry.getLength());
+	}
+
+	@Benchmark
+	public byte[] readItems() throws IOException
+	{
+		return dataFile.read(IndexType.CONFIGS.getNumber(), items.getId(), items.getSector(), items.getLength());
+	}
+
+	@Benchmark
+	public ByteBuffer[] readItemsSlices() throws IOException
+	{
+		return dataFile.readSlices(IndexType.CONFIGS.getNumber(), items.getId(), items.getSector(), items.getLength());
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.item;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.ItemManager;
+import net.runelite.cache.SyntheticCache;
+import net.runelite.cache.definitions.TextureDefinition;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Renders the icons of the items of a synthetic cache, building everything
+ * for each icon as createSprite does, with one reused factory, and with the
+ * factory's parallel batch rendering.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSpriteFactoryBenchmark
+{
+	private static final int ITEMS = 1024;
+
+	private final ModelLoader modelLoader = new ModelLoader();
+	private final TextureProvider textureProvider = () -> new TextureDefinition[0];
+	private final SpriteProvider spriteProvider = (spriteId, frameId) -> null;
+
+	private ItemManager itemManager;
+	private ModelProvider modelProvider;
+	private ItemSpriteFactory factory;
+	private int[] itemIds;
+	private int[][] pixels;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		File directory = SyntheticCache.create();
+		byte[][] models = new byte[SyntheticCache.MODELS][];
+		try (Store store = new Store(directory))
+		{
+			store.load();
+
+			itemManager = new ItemManager(store);
+			itemManager.load();
+
+			Index index = store.getIndex(IndexType.MODELS);
+			for (Archive archive : index.getArchives())
+			{
+				models[archive.getArchiveId()] = archive.decompress(store.getStorage().loadArchive(archive));
+			}
+		}
+		finally
+		{
+			SyntheticCache.delete(directory);
+		}
+
+		// items recolor and resize the model they are given, so decode a new one each time
+		modelProvider = modelId -> modelLoader.load(modelId, models[modelId]);
+		factory = new ItemSpriteFactory(itemManager, modelProvider, spriteProvider, textureProvider, SyntheticCache.MODELS);
+
+		itemIds = new int[ITEMS];
+		pixels = new int[ITEMS][ItemSpriteFactory.WIDTH * ItemSpriteFactory.HEIGHT];
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			itemIds[i] = i;
+		}
+	}
+
+	@Benchmark
+	public void createSprite(Blackhole blackhole) throws IOException
+	{
+		for (int itemId : itemIds)
+		{
+			blackhole.consume(ItemSpriteFactory.createSprite(itemManager, modelProvider, spriteProvider, textureProvider,
+				itemId, 1, 1, 3153952, false));
+		}
+	}
+
+	@Benchmark
+	public void reusedFactory(Blackhole blackhole) throws IOException
+	{
+		for (int i = 0; i < ITEMS; ++i)
+		{
+			blackhole.consume(factory.createSprite(itemIds[i], 1, 1, 3153952, false, pixels[i]));
+		}
+	}
+
+	@Benchmark
+	public boolean[] parallelBatch()
+	{
+		return factory.createSprites(itemIds, 1, 1, 3153952, false, pixels, ForkJoinPool.commonPool(), 64);
+	}
+}
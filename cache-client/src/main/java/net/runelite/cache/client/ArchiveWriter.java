@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes downloaded archives from a single thread, in batches, so the
+ * store is locked once per batch rather than once per archive.
+ */
+class ArchiveWriter implements AutoCloseable
+{
+	private static final Logger logger = LoggerFactory.getLogger(ArchiveWriter.class);
+
+	private static final int MAX_BATCH = 64;
+
+	private final Store store;
+	private final DownloadWatcher watcher;
+	private final BlockingQueue<PendingWrite> queue;
+	private final StageMetrics metrics = new StageMetrics("write");
+	private final Thread thread;
+	private volatile boolean closed;
+
+	ArchiveWriter(Store store, DownloadWatcher watcher, int capacity)
+	{
+		this.store = store;
+		this.watcher = watcher;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.thread = new Thread(this::run, "cache-writer");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	StageMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Queue an archive to be written. This does not block, the capacity
+	 * of the download scheduler bounds the number of pending writes.
+	 */
+	CompletableFuture<Void> write(Archive archive, byte[] data)
+	{
+		PendingWrite write = new PendingWrite(archive, data);
+		metrics.enqueued();
+		if (!queue.offer(write))
+		{
+			metrics.started(0L);
+			write.future.completeExceptionally(new IllegalStateException("write queue is full"));
+		}
+		return write.future;
+	}
+
+	@Override
+	public void close()
+	{
+		closed = true;
+		thread.interrupt();
+		try
+		{
+			thread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void run()
+	{
+		List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+
+		while (!closed || !queue.isEmpty())
+		{
+			try
+			{
+				batch.add(queue.take());
+			}
+			catch (InterruptedException ex)
+			{
+				continue;
+			}
+
+			queue.drainTo(batch, MAX_BATCH - 1);
+
+			long start = System.nanoTime();
+			for (PendingWrite write : batch)
+			{
+				metrics.started(start - write.queuedAt);
+			}
+
+			writeBatch(batch);
+
+			long elapsed = (System.nanoTime() - start) / batch.size();
+			for (PendingWrite write : batch)
+			{
+				metrics.finished(elapsed);
+			}
+
+			batch.clear();
+		}
+	}
+
+	private void writeBatch(List<PendingWrite> batch)
+	{
+		if (watcher != null)
+		{
+			for (PendingWrite write : batch)
+			{
+				try
+				{
+					watcher.downloadComplete(write.archive, write.data);
+					write.future.complete(null);
+				}
+				catch (RuntimeException ex)
+				{
+					write.future.completeExceptionally(ex);
+				}
+			}
+			return;
+		}
+
+		Storage storage = store.getStorage();
+		List<IOException> errors = new ArrayList<>(batch.size());
+		synchronized (store)
+		{
+			for (PendingWrite write : batch)
+			{
+				try
+				{
+					storage.saveArchive(write.archive, write.data);
+					errors.add(null);
+				}
+				catch (IOException ex)
+				{
+					logger.warn("unable to save archive data", ex);
+					errors.add(ex);
+				}
+			}
+		}
+
+		// completed outside of the lock, as completing may submit more files
+		for (int i = 0; i < batch.size(); ++i)
+		{
+			PendingWrite write = batch.get(i);
+			IOException ex = errors.get(i);
+			if (ex != null)
+			{
+				write.future.completeExceptionally(ex);
+			}
+			else
+			{
+				write.future.complete(null);
+			}
+		}
+	}
+
+	private static class PendingWrite
+	{
+		private final Archive archive;
+		private final byte[] data;
+		private final long queuedAt = System.nanoTime();
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		private PendingWrite(Archive archive, byte[] data)
+		{
+			this.archive = archive;
+			this.data = data;
+		}
+	}
+}
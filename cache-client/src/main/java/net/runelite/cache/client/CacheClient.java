@@ -25,38 +25,31 @@
 package net.runelite.cache.client;
 
 import com.google.common.base.Stopwatch;
-import io.netty.bootstrap.Bootstrap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import io.netty.channel.Channel;
-import io.netty.channel.ChannelFuture;
-import io.netty.channel.ChannelInitializer;
-import io.netty.channel.ChannelOption;
-import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.io.IOException;
-import java.util.ArrayDeque;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.IndexData;
-import net.runelite.cache.util.Crc32;
-import net.runelite.protocol.api.handshake.UpdateHandshakePacket;
 import net.runelite.protocol.api.login.HandshakeResponseType;
-import net.runelite.protocol.api.update.ArchiveRequestPacket;
-import net.runelite.protocol.handshake.UpdateHandshakeEncoder;
-import net.runelite.protocol.update.decoders.HandshakeResponseDecoder;
-import net.runelite.protocol.update.encoders.ArchiveRequestEncoder;
-import net.runelite.protocol.update.encoders.EncryptionEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,20 +60,32 @@ public class CacheClient implements AutoCloseable
 	private static final String HOST = "oldschool1.runescape.com";
 	private static final int PORT = 43594;
 
-	private static final int MAX_REQUESTS = 19; // too many and the server closes the conncetion
+	private static final int DEFAULT_MAX_ATTEMPTS = 5;
+	private static final long DEFAULT_RETRY_DELAY = 250L;
+
+	/**
+	 * Number of downloaded files which may be waiting to be verified or
+	 * written, on top of the requests in flight, before no more requests
+	 * are sent
+	 */
+	private static final int BUFFERED_FILES = 128;
 
 	private final Store store; // store cache will be written to
 	private final String host;
+	private final int port;
 	private final int clientRevision;
 	private DownloadWatcher watcher;
 
-	private ClientState state;
+	private int connections = 1;
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	private long retryDelay = DEFAULT_RETRY_DELAY;
+	private int verifyThreads = Runtime.getRuntime().availableProcessors();
 
-	private final EventLoopGroup group = new NioEventLoopGroup(1);
-	private Channel channel;
+	private List<StageMetrics> metrics = Collections.emptyList();
+	private int failed;
 
-	private CompletableFuture<HandshakeResponseType> handshakeFuture;
-	private final Queue<PendingFileRequest> requests = new ArrayDeque<>();
+	private EventLoopGroup group;
+	private CacheConnection connection;
 
 	public CacheClient(Store store, int clientRevision)
 	{
@@ -88,9 +93,15 @@ public class CacheClient implements AutoCloseable
 	}
 
 	public CacheClient(Store store, String host, int clientRevision)
+	{
+		this(store, host, PORT, clientRevision);
+	}
+
+	public CacheClient(Store store, String host, int port, int clientRevision)
 	{
 		this.store = store;
 		this.host = host;
+		this.port = port;
 		this.clientRevision = clientRevision;
 	}
 
@@ -102,60 +113,20 @@ public class CacheClient implements AutoCloseable
 
 	public void connect()
 	{
-		Bootstrap b = new Bootstrap();
-		b.group(group)
-			.channel(NioSocketChannel.class)
-			.option(ChannelOption.TCP_NODELAY, true)
-			.handler(new ChannelInitializer<SocketChannel>()
-			{
-				@Override
-				public void initChannel(SocketChannel ch) throws Exception
-				{
-					ChannelPipeline p = ch.pipeline();
-
-					//p.addFirst(new HttpProxyHandler(new InetSocketAddress("runelite.net", 3128)));
-					p.addLast("decoder", new HandshakeResponseDecoder());
-
-					p.addLast(
-						new CacheClientHandler(),
-						new HandshakeResponseHandler(CacheClient.this),
-						new ArchiveResponseHandler(CacheClient.this)
-					);
-
-					p.addLast(
-						new UpdateHandshakeEncoder(),
-						new EncryptionEncoder(),
-						new ArchiveRequestEncoder()
-					);
-				}
-			});
-
-		// Start the client.
-		ChannelFuture f = b.connect(host, PORT).syncUninterruptibly();
-		channel = f.channel();
+		group = new NioEventLoopGroup(connections);
+		connection = new CacheConnection(0);
+		connection.connect(group, host, port);
 	}
 
 	public CompletableFuture<HandshakeResponseType> handshake()
 	{
-		UpdateHandshakePacket handshakePacket = new UpdateHandshakePacket();
-		handshakePacket.setRevision(getClientRevision());
-
-		state = ClientState.HANDSHAKING;
-
-		assert handshakeFuture == null;
-		handshakeFuture = new CompletableFuture<>();
-
-		channel.writeAndFlush(handshakePacket);
-
-		logger.info("Sent handshake with revision {}", handshakePacket.getRevision());
-
-		return handshakeFuture;
+		return connection.handshake(clientRevision);
 	}
 
 	@Override
 	public void close()
 	{
-		channel.close().syncUninterruptibly();
+		connection.close();
 		group.shutdownGracefully();
 	}
 
@@ -166,24 +137,88 @@ public class CacheClient implements AutoCloseable
 
 	public ClientState getState()
 	{
-		return state;
+		return connection.getState();
+	}
+
+	public int getConnections()
+	{
+		return connections;
+	}
+
+	/**
+	 * Set the number of connections used by {@link #download()}. This
+	 * must be set before connecting.
+	 */
+	public void setConnections(int connections)
+	{
+		if (connections < 1)
+		{
+			throw new IllegalArgumentException("connections must be positive");
+		}
+		this.connections = connections;
+	}
+
+	public int getMaxAttempts()
+	{
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts)
+	{
+		this.maxAttempts = maxAttempts;
 	}
 
-	void setState(ClientState state)
+	public long getRetryDelay()
 	{
-		this.state = state;
+		return retryDelay;
 	}
 
-	CompletableFuture<HandshakeResponseType> getHandshakeFuture()
+	/**
+	 * Set the delay in milliseconds before the first retry of a failed
+	 * file, which doubles on each further attempt
+	 */
+	public void setRetryDelay(long retryDelay)
 	{
-		return handshakeFuture;
+		this.retryDelay = retryDelay;
+	}
+
+	public int getVerifyThreads()
+	{
+		return verifyThreads;
+	}
+
+	/**
+	 * Set the number of threads used to verify downloaded files, off
+	 * the network threads
+	 */
+	public void setVerifyThreads(int verifyThreads)
+	{
+		this.verifyThreads = verifyThreads;
+	}
+
+	/**
+	 * @return the network, verify and write stage metrics of the last
+	 * download
+	 */
+	public List<StageMetrics> getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * @return the number of files which could not be downloaded by the
+	 * last download
+	 */
+	public int getFailed()
+	{
+		return failed;
 	}
 
 	public List<IndexInfo> requestIndexes() throws IOException
 	{
 		logger.info("Requesting indexes");
 
-		FileResult result = requestFile(255, 255, true).join();
+		FileResult result = connection.requestFile(255, 255, true).join();
 		result.decompress(null);
 
 		ByteBuf buffer = Unpooled.wrappedBuffer(result.getContents());
@@ -205,57 +240,201 @@ public class CacheClient implements AutoCloseable
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
 		List<IndexInfo> indexes = requestIndexes();
-		for (IndexInfo indexInfo : indexes)
-		{
-			int i = indexInfo.getId();
-			int crc = indexInfo.getCrc();
-			int revision = indexInfo.getRevision();
+		List<CacheConnection> pool = openConnections();
+		AtomicInteger failures = new AtomicInteger();
+		failed = 0;
 
-			Index index = store.findIndex(i);
+		int capacity = pool.size() * CacheConnection.MAX_REQUESTS + BUFFERED_FILES;
+		ThreadPoolExecutor workers = new ThreadPoolExecutor(verifyThreads, verifyThreads,
+			0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(capacity),
+			new ThreadFactoryBuilder().setNameFormat("cache-verify-%d").setDaemon(true).build());
 
-			if (index == null)
+		try (ArchiveWriter writer = new ArchiveWriter(store, watcher, capacity))
+		{
+			DownloadScheduler scheduler = new DownloadScheduler(pool, group, workers, capacity, maxAttempts, retryDelay);
+			metrics = Arrays.asList(scheduler.getNetworkMetrics(), scheduler.getVerifyMetrics(), writer.getMetrics());
+
+			// index files are requested all at once, and go ahead of
+			// the archives queued as each of them arrives
+			for (IndexInfo indexInfo : indexes)
 			{
-				logger.info("Index {} does not exist, creating", i);
+				logIndexStatus(indexInfo);
+
+				logger.info("Downloading index {}", indexInfo.getId());
+
+				scheduler.submit(255, indexInfo.getId(), indexInfo.getCrc(), Integer.MAX_VALUE, indexFileResult ->
+				{
+					try
+					{
+						onIndexDownloaded(scheduler, writer, indexInfo, indexFileResult, failures);
+					}
+					catch (IOException ex)
+					{
+						throw new UncheckedIOException(ex);
+					}
+					return CompletableFuture.completedFuture(null);
+				}).whenComplete((v, ex) ->
+				{
+					if (ex != null)
+					{
+						logger.warn("Unable to download index {}", indexInfo.getId(), ex);
+						failures.incrementAndGet();
+					}
+				});
 			}
-			else if (index.getRevision() != revision)
+
+			scheduler.idle().join();
+		}
+		finally
+		{
+			workers.shutdown();
+
+			// the first connection stays open for the caller
+			for (CacheConnection c : pool)
 			{
-				if (revision < index.getRevision())
+				if (c != connection)
 				{
-					logger.warn("Index {} revision is going BACKWARDS! (our revision {}, their revision {})", index.getId(), index.getRevision(), revision);
-				}
-				else
-				{
-					logger.info("Index {} has the wrong revision (our revision {}, their revision {})", index.getId(), index.getRevision(), revision);
+					c.close();
 				}
 			}
-			else if (index.getCrc() != crc)
+		}
+
+		stopwatch.stop();
+
+		for (StageMetrics stage : metrics)
+		{
+			logger.info("{}", stage);
+		}
+
+		failed = failures.get();
+		if (failed > 0)
+		{
+			// the archives which failed keep their previous version, so
+			// they are downloaded again on the next update
+			logger.warn("Download completed in {} with {} files failed", stopwatch, failed);
+		}
+		else
+		{
+			logger.info("Download completed in {}", stopwatch);
+		}
+	}
+
+	private List<CacheConnection> openConnections()
+	{
+		List<CacheConnection> pool = new ArrayList<>(connections);
+		pool.add(connection);
+
+		List<CacheConnection> opened = new ArrayList<>();
+		List<CompletableFuture<HandshakeResponseType>> handshakes = new ArrayList<>();
+
+		for (int i = 1; i < connections; ++i)
+		{
+			CacheConnection c = new CacheConnection(i);
+			try
 			{
-				logger.warn("Index {} CRC has changed! (our crc {}, their crc {})",
-					index.getCrc(), index.getCrc(), crc);
+				c.connect(group, host, port);
 			}
-			else
+			catch (RuntimeException ex)
 			{
-				// despite the index being up to date, not everything
-				// can be downloaded, eg. for tracks.
-				logger.info("Index {} is up to date", index.getId());
+				logger.warn("Unable to open connection {}", i, ex);
+				continue;
 			}
 
-			logger.info("Downloading index {}", i);
+			opened.add(c);
+			handshakes.add(c.handshake(clientRevision));
+		}
 
-			FileResult indexFileResult = requestFile(255, i, true).join();
-			indexFileResult.decompress(null);
+		for (int i = 0; i < opened.size(); ++i)
+		{
+			CacheConnection c = opened.get(i);
+			HandshakeResponseType result;
 
-			logger.info("Downloaded index {}", i);
+			try
+			{
+				result = handshakes.get(i).join();
+			}
+			catch (CompletionException ex)
+			{
+				logger.warn("Handshake failed on connection {}", c.getId(), ex);
+				result = null;
+			}
 
-			if (indexFileResult.getCrc() != crc)
+			if (result != HandshakeResponseType.RESPONSE_OK)
 			{
-				logger.warn("Corrupted download for index {}", i);
+				c.close();
 				continue;
 			}
 
-			IndexData indexData = new IndexData();
-			indexData.load(indexFileResult.getContents());
+			pool.add(c);
+		}
+
+		logger.info("Downloading with {} connections", pool.size());
+		return pool;
+	}
+
+	private void logIndexStatus(IndexInfo indexInfo)
+	{
+		int i = indexInfo.getId();
+		int crc = indexInfo.getCrc();
+		int revision = indexInfo.getRevision();
+
+		Index index;
+		synchronized (store)
+		{
+			index = store.findIndex(i);
+		}
+
+		if (index == null)
+		{
+			logger.info("Index {} does not exist, creating", i);
+		}
+		else if (index.getRevision() != revision)
+		{
+			if (revision < index.getRevision())
+			{
+				logger.warn("Index {} revision is going BACKWARDS! (our revision {}, their revision {})", index.getId(), index.getRevision(), revision);
+			}
+			else
+			{
+				logger.info("Index {} has the wrong revision (our revision {}, their revision {})", index.getId(), index.getRevision(), revision);
+			}
+		}
+		else if (index.getCrc() != crc)
+		{
+			logger.warn("Index {} CRC has changed! (our crc {}, their crc {})",
+				index.getCrc(), index.getCrc(), crc);
+		}
+		else
+		{
+			// despite the index being up to date, not everything
+			// can be downloaded, eg. for tracks.
+			logger.info("Index {} is up to date", index.getId());
+		}
+	}
+
+	private void onIndexDownloaded(DownloadScheduler scheduler, ArchiveWriter writer, IndexInfo indexInfo, FileResult indexFileResult, AtomicInteger failures) throws IOException
+	{
+		int i = indexInfo.getId();
+
+		indexFileResult.decompress(null);
+
+		logger.info("Downloaded index {}", i);
 
+		IndexData indexData = new IndexData();
+		indexData.load(indexFileResult.getContents());
+
+		// the revision is only in the index data since protocol 6
+		if (indexData.getProtocol() >= 6 && indexData.getRevision() != indexInfo.getRevision())
+		{
+			throw new IOException("index " + i + " has revision " + indexData.getRevision()
+				+ ", expected " + indexInfo.getRevision());
+		}
+
+		// index files are handled concurrently by the verify workers
+		synchronized (store)
+		{
+			Index index = store.findIndex(i);
 			if (index == null)
 			{
 				index = store.addIndex(i);
@@ -264,8 +443,8 @@ public class CacheClient implements AutoCloseable
 			// update index settings
 			index.setProtocol(indexData.getProtocol());
 			index.setNamed(indexData.isNamed());
-			index.setCrc(crc);
-			index.setRevision(revision);
+			index.setCrc(indexInfo.getCrc());
+			index.setRevision(indexInfo.getRevision());
 
 			logger.info("Index {} has {} archives", i, indexData.getArchives().length);
 
@@ -303,9 +482,11 @@ public class CacheClient implements AutoCloseable
 						existing.getNameHash(), ad.getNameHash());
 				}
 
+				final Index archiveIndex = index;
 				final Archive archive = existing == null
 					? index.addArchive(ad.getId())
 					: existing;
+				final ArchiveData previous = existing == null ? null : toArchiveData(existing);
 
 				archive.setRevision(ad.getRevision());
 				archive.setCrc(ad.getCrc());
@@ -314,146 +495,95 @@ public class CacheClient implements AutoCloseable
 				// Add files
 				archive.setFileData(ad.getFiles());
 
-				CompletableFuture<FileResult> future = requestFile(index.getId(), ad.getId(), false);
-				future.handle((fr, ex) ->
+				// archive sizes are not known until they are downloaded,
+				// so the file count is used as an estimate
+				scheduler.submit(index.getId(), ad.getId(), ad.getCrc(), ad.getFiles().length, fr ->
 				{
-					byte[] data = fr.getCompressedData();
-
-					Crc32 crc32 = new Crc32();
-					crc32.update(data, 0, data.length);
-					int hash = crc32.getHash();
-
-					if (hash != archive.getCrc())
+					try
 					{
-						logger.warn("crc mismatch on downloaded archive {}/{}: {} != {}",
-							archive.getIndex().getId(), archive.getArchiveId(),
-							hash, archive.getCrc());
-						throw new RuntimeException("crc mismatch");
+						verifyArchive(archive, fr);
 					}
-
-					if (watcher != null)
+					catch (IOException ex)
 					{
-						watcher.downloadComplete(archive, data);
+						throw new UncheckedIOException(ex);
 					}
-					else
+
+					archive.setHash(fr.getHash());
+					return writer.write(archive, fr.getCompressedData());
+				}).whenComplete((v, ex) ->
+				{
+					if (ex != null)
 					{
-						try
-						{
-							Storage storage = store.getStorage();
-							storage.saveArchive(archive, data);
-						}
-						catch (IOException ex1)
-						{
-							logger.warn("unable to save archive data", ex1);
-						}
+						logger.warn("Unable to download archive {} in index {}", ad.getId(), i, ex);
+						failures.incrementAndGet();
+						restoreArchive(archiveIndex, archive, previous);
 					}
-					return null;
 				});
 			}
 		}
-
-		// flush any pending requests
-		channel.flush();
-
-		while (!requests.isEmpty())
-		{
-			// wait for pending requests
-			synchronized (this)
-			{
-				try
-				{
-					wait();
-				}
-				catch (InterruptedException ex)
-				{
-					logger.warn(null, ex);
-				}
-			}
-		}
-
-		stopwatch.stop();
-		logger.info("Download completed in {}", stopwatch);
 	}
 
-	private synchronized CompletableFuture<FileResult> requestFile(int index, int fileId, boolean flush)
+	/**
+	 * Decompresses a downloaded archive. Map archives may be encrypted with
+	 * keys which are not known here, so they are only checked by crc. A
+	 * revision which differs from the index is logged but accepted, as with
+	 * {@link Archive#decompress(byte[])}, since vanilla caches have archives
+	 * like that.
+	 */
+	static void verifyArchive(Archive archive, FileResult fr) throws IOException
 	{
-		if (state != ClientState.CONNECTED)
+		if (archive.getIndex().getId() == IndexType.MAPS.getNumber())
 		{
-			throw new IllegalStateException("Can't request files until connected!");
+			return;
 		}
 
-		if (!flush)
+		Container container;
+		try
 		{
-			while (requests.size() >= MAX_REQUESTS)
-			{
-				channel.flush();
-
-				try
-				{
-					wait();
-				}
-				catch (InterruptedException ex)
-				{
-					logger.warn("interrupted while waiting for requests", ex);
-				}
-			}
+			container = Container.decompress(fr.getCompressedData(), null);
 		}
-
-		ArchiveRequestPacket archiveRequest = new ArchiveRequestPacket();
-		archiveRequest.setPriority(false);
-		archiveRequest.setIndex(index);
-		archiveRequest.setArchive(fileId);
-
-		CompletableFuture<FileResult> future = new CompletableFuture<>();
-		PendingFileRequest pf = new PendingFileRequest(index,
-			fileId, future);
-
-		logger.trace("Sending request for {}/{}", index, fileId);
-
-		requests.add(pf);
-
-		if (!flush)
+		catch (IOException | RuntimeException ex)
 		{
-			channel.write(archiveRequest);
+			throw new IOException("unable to decompress archive " + archive.getIndex().getId() + "/" + archive.getArchiveId(), ex);
 		}
-		else
+
+		if (container.revision != -1 && container.revision != (archive.getRevision() & 0xFFFF))
 		{
-			channel.writeAndFlush(archiveRequest);
+			logger.warn("revision mismatch for archive {}/{}, expected {} was {}",
+				archive.getIndex().getId(), archive.getArchiveId(),
+				archive.getRevision(), container.revision);
 		}
+	}
 
-		return future;
+	private static ArchiveData toArchiveData(Archive archive)
+	{
+		ArchiveData ad = new ArchiveData();
+		ad.setId(archive.getArchiveId());
+		ad.setNameHash(archive.getNameHash());
+		ad.setCrc(archive.getCrc());
+		ad.setRevision(archive.getRevision());
+		ad.setFiles(archive.getFileData());
+		return ad;
 	}
 
-	private PendingFileRequest findRequest(int index, int file)
+	/**
+	 * Puts back the previous version of an archive which failed to
+	 * download, or removes it if it is new, as its data was not written
+	 */
+	private void restoreArchive(Index index, Archive archive, ArchiveData previous)
 	{
-		for (PendingFileRequest pr : requests)
+		synchronized (store)
 		{
-			if (pr.getIndex() == index && pr.getArchive() == file)
+			if (previous == null)
 			{
-				return pr;
+				index.removeArchive(archive);
+				return;
 			}
-		}
-		return null;
-	}
-
-	protected synchronized void onFileFinish(int index, int file, byte[] compressedData)
-	{
-		PendingFileRequest pr = findRequest(index, file);
 
-		if (pr == null)
-		{
-			logger.warn("File download {}/{} with no pending request", index, file);
-			return;
+			archive.setRevision(previous.getRevision());
+			archive.setCrc(previous.getCrc());
+			archive.setNameHash(previous.getNameHash());
+			archive.setFileData(previous.getFiles());
 		}
-
-		requests.remove(pr);
-
-		notify();
-
-		FileResult result = new FileResult(index, file, compressedData);
-
-		logger.debug("File download finished for index {} file {}, length {}", index, file, compressedData.length);
-
-		pr.getFuture().complete(result);
 	}
 }
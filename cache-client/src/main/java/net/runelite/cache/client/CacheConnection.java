@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import net.runelite.protocol.api.handshake.UpdateHandshakePacket;
+import net.runelite.protocol.api.login.HandshakeResponseType;
+import net.runelite.protocol.api.update.ArchiveRequestPacket;
+import net.runelite.protocol.handshake.UpdateHandshakeEncoder;
+import net.runelite.protocol.update.decoders.HandshakeResponseDecoder;
+import net.runelite.protocol.update.encoders.ArchiveRequestEncoder;
+import net.runelite.protocol.update.encoders.EncryptionEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single connection to the update server. Requests are not queued
+ * here, callers must check {@link #isAvailable()} first, as the server
+ * closes connections with too many requests in flight.
+ */
+class CacheConnection
+{
+	private static final Logger logger = LoggerFactory.getLogger(CacheConnection.class);
+
+	static final int MAX_REQUESTS = 19; // too many and the server closes the conncetion
+
+	private final int id;
+	private Channel channel;
+
+	private ClientState state;
+
+	private CompletableFuture<HandshakeResponseType> handshakeFuture;
+	private final Queue<PendingFileRequest> requests = new ArrayDeque<>();
+
+	CacheConnection(int id)
+	{
+		this.id = id;
+	}
+
+	void connect(EventLoopGroup group, String host, int port)
+	{
+		Bootstrap b = new Bootstrap();
+		b.group(group)
+			.channel(NioSocketChannel.class)
+			.option(ChannelOption.TCP_NODELAY, true)
+			.handler(new ChannelInitializer<SocketChannel>()
+			{
+				@Override
+				public void initChannel(SocketChannel ch) throws Exception
+				{
+					ChannelPipeline p = ch.pipeline();
+
+					//p.addFirst(new HttpProxyHandler(new InetSocketAddress("runelite.net", 3128)));
+					p.addLast("decoder", new HandshakeResponseDecoder());
+
+					p.addLast(
+						new CacheClientHandler(CacheConnection.this),
+						new HandshakeResponseHandler(CacheConnection.this),
+						new ArchiveResponseHandler(CacheConnection.this)
+					);
+
+					p.addLast(
+						new UpdateHandshakeEncoder(),
+						new EncryptionEncoder(),
+						new ArchiveRequestEncoder()
+					);
+				}
+			});
+
+		// Start the client.
+		ChannelFuture f = b.connect(host, port).syncUninterruptibly();
+		channel = f.channel();
+	}
+
+	CompletableFuture<HandshakeResponseType> handshake(int revision)
+	{
+		UpdateHandshakePacket handshakePacket = new UpdateHandshakePacket();
+		handshakePacket.setRevision(revision);
+
+		state = ClientState.HANDSHAKING;
+
+		assert handshakeFuture == null;
+		handshakeFuture = new CompletableFuture<>();
+
+		channel.writeAndFlush(handshakePacket);
+
+		logger.info("Sent handshake on connection {} with revision {}", id, handshakePacket.getRevision());
+
+		return handshakeFuture;
+	}
+
+	void close()
+	{
+		channel.close().syncUninterruptibly();
+	}
+
+	int getId()
+	{
+		return id;
+	}
+
+	synchronized ClientState getState()
+	{
+		return state;
+	}
+
+	synchronized void setState(ClientState state)
+	{
+		this.state = state;
+	}
+
+	CompletableFuture<HandshakeResponseType> getHandshakeFuture()
+	{
+		return handshakeFuture;
+	}
+
+	/**
+	 * Whether this connection is connected and has room for another request
+	 */
+	synchronized boolean isAvailable()
+	{
+		return state == ClientState.CONNECTED && requests.size() < MAX_REQUESTS;
+	}
+
+	synchronized int getPendingRequests()
+	{
+		return requests.size();
+	}
+
+	synchronized CompletableFuture<FileResult> requestFile(int index, int fileId, boolean flush)
+	{
+		if (state != ClientState.CONNECTED)
+		{
+			throw new IllegalStateException("Can't request files until connected!");
+		}
+
+		ArchiveRequestPacket archiveRequest = new ArchiveRequestPacket();
+		archiveRequest.setPriority(false);
+		archiveRequest.setIndex(index);
+		archiveRequest.setArchive(fileId);
+
+		CompletableFuture<FileResult> future = new CompletableFuture<>();
+		PendingFileRequest pf = new PendingFileRequest(index,
+			fileId, future);
+
+		logger.trace("Sending request for {}/{} on connection {}", index, fileId, id);
+
+		requests.add(pf);
+
+		if (!flush)
+		{
+			channel.write(archiveRequest);
+		}
+		else
+		{
+			channel.writeAndFlush(archiveRequest);
+		}
+
+		return future;
+	}
+
+	void flush()
+	{
+		channel.flush();
+	}
+
+	private PendingFileRequest findRequest(int index, int file)
+	{
+		for (PendingFileRequest pr : requests)
+		{
+			if (pr.getIndex() == index && pr.getArchive() == file)
+			{
+				return pr;
+			}
+		}
+		return null;
+	}
+
+	void onFileFinish(int index, int file, byte[] compressedData)
+	{
+		PendingFileRequest pr;
+
+		synchronized (this)
+		{
+			pr = findRequest(index, file);
+
+			if (pr == null)
+			{
+				logger.warn("File download {}/{} with no pending request", index, file);
+				return;
+			}
+
+			requests.remove(pr);
+		}
+
+		FileResult result = new FileResult(index, file, compressedData);
+
+		logger.debug("File download finished for index {} file {}, length {}", index, file, compressedData.length);
+
+		// completed outside of the lock, as completing may issue new requests
+		pr.getFuture().complete(result);
+	}
+
+	/**
+	 * Fails all pending requests once the channel closes, so they can be
+	 * retried on another connection.
+	 */
+	void onDisconnect()
+	{
+		List<PendingFileRequest> pending;
+
+		synchronized (this)
+		{
+			state = null;
+			pending = new ArrayList<>(requests);
+			requests.clear();
+		}
+
+		if (handshakeFuture != null && !handshakeFuture.isDone())
+		{
+			handshakeFuture.completeExceptionally(new IOException("connection " + id + " closed during handshake"));
+		}
+
+		for (PendingFileRequest pr : pending)
+		{
+			pr.getFuture().completeExceptionally(new IOException("connection " + id + " closed"));
+		}
+	}
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.client;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.runelite.cache.util.Crc32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads file requests over a pool of connections, keeping each one
+ * under its in flight limit. Queued files are requested largest first so
+ * that large archives do not end up being the tail of a download, and
+ * files which fail, either by crc mismatch or by their connection being
+ * closed, are retried with exponential backoff.
+ * <p>
+ * Responses are handed off the event loop to a worker pool, which
+ * verifies them and runs their handler. No more than {@code capacity}
+ * files are requested but not yet handled, so requests stop being sent
+ * when the workers or the storage behind them fall behind.
+ */
+class DownloadScheduler
+{
+	private static final Logger logger = LoggerFactory.getLogger(DownloadScheduler.class);
+
+	private static final Comparator<FileRequest> LARGEST_FIRST = Comparator.comparingInt((FileRequest r) -> r.size).reversed()
+		.thenComparingInt(r -> r.index)
+		.thenComparingInt(r -> r.file);
+
+	private final List<CacheConnection> connections;
+	private final ScheduledExecutorService executor;
+	private final Executor workers;
+	private final int capacity;
+	private final int maxAttempts;
+	private final long retryDelay;
+
+	private final StageMetrics networkMetrics = new StageMetrics("network");
+	private final StageMetrics verifyMetrics = new StageMetrics("verify");
+
+	private final PriorityQueue<FileRequest> queue = new PriorityQueue<>(LARGEST_FIRST);
+	private final CompletableFuture<Void> idle = new CompletableFuture<>();
+	private int outstanding = 1; // released by idle()
+	private int active; // requests sent and not yet handled
+
+	DownloadScheduler(List<CacheConnection> connections, ScheduledExecutorService executor, Executor workers, int capacity, int maxAttempts, long retryDelay)
+	{
+		this.connections = connections;
+		this.executor = executor;
+		this.workers = workers;
+		this.capacity = capacity;
+		this.maxAttempts = maxAttempts;
+		this.retryDelay = retryDelay;
+	}
+
+	StageMetrics getNetworkMetrics()
+	{
+		return networkMetrics;
+	}
+
+	StageMetrics getVerifyMetrics()
+	{
+		return verifyMetrics;
+	}
+
+	/**
+	 * Queue a file for download
+	 *
+	 * @param index index id, or 255 for index files
+	 * @param file file id
+	 * @param crc expected crc of the compressed file
+	 * @param size estimated size of the file, used to order requests
+	 * @param handler run on a worker with the verified file. The file
+	 * counts against the capacity until the returned stage completes.
+	 * @return future completed once the file has been handled, or
+	 * exceptionally once all attempts have failed
+	 */
+	CompletableFuture<Void> submit(int index, int file, int crc, int size, Function<FileResult, CompletionStage<?>> handler)
+	{
+		FileRequest request = new FileRequest(index, file, crc, size, handler);
+
+		synchronized (this)
+		{
+			++outstanding;
+			enqueue(request);
+		}
+
+		dispatch();
+		return request.future;
+	}
+
+	/**
+	 * Called once all top level files have been submitted.
+	 *
+	 * @return future completed once every submitted file, including files
+	 * submitted from handlers, has been handled or failed
+	 */
+	CompletableFuture<Void> idle()
+	{
+		finish();
+		return idle;
+	}
+
+	private void enqueue(FileRequest request)
+	{
+		request.queuedAt = System.nanoTime();
+		networkMetrics.enqueued();
+		queue.add(request);
+	}
+
+	void dispatch()
+	{
+		List<CacheConnection> written = new ArrayList<>();
+		List<FileRequest> failed = null;
+
+		synchronized (this)
+		{
+			while (!queue.isEmpty() && active < capacity)
+			{
+				CacheConnection connection = leastLoaded();
+				if (connection == null)
+				{
+					break;
+				}
+
+				FileRequest request = queue.poll();
+				send(connection, request);
+
+				if (!written.contains(connection))
+				{
+					written.add(connection);
+				}
+			}
+
+			if (!queue.isEmpty() && !isConnected())
+			{
+				failed = new ArrayList<>(queue);
+				queue.clear();
+			}
+		}
+
+		for (CacheConnection connection : written)
+		{
+			connection.flush();
+		}
+
+		if (failed != null)
+		{
+			for (FileRequest request : failed)
+			{
+				networkMetrics.started(System.nanoTime() - request.queuedAt);
+				fail(request, new IOException("no connections left"));
+			}
+		}
+	}
+
+	private CacheConnection leastLoaded()
+	{
+		CacheConnection best = null;
+		int bestPending = Integer.MAX_VALUE;
+
+		for (CacheConnection connection : connections)
+		{
+			if (!connection.isAvailable())
+			{
+				continue;
+			}
+
+			int pending = connection.getPendingRequests();
+			if (pending < bestPending)
+			{
+				best = connection;
+				bestPending = pending;
+			}
+		}
+
+		return best;
+	}
+
+	private boolean isConnected()
+	{
+		for (CacheConnection connection : connections)
+		{
+			if (connection.getState() == ClientState.CONNECTED)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void send(CacheConnection connection, FileRequest request)
+	{
+		++request.attempts;
+		++active;
+
+		long now = System.nanoTime();
+		networkMetrics.started(now - request.queuedAt);
+		request.sentAt = now;
+
+		CompletableFuture<FileResult> future;
+		try
+		{
+			future = connection.requestFile(request.index, request.file, false);
+		}
+		catch (IllegalStateException ex)
+		{
+			// the connection closed since it was checked
+			executor.execute(() -> retry(request, ex));
+			return;
+		}
+
+		future.whenComplete((result, ex) ->
+		{
+			if (ex != null)
+			{
+				retry(request, ex);
+				return;
+			}
+
+			networkMetrics.finished(System.nanoTime() - request.sentAt);
+
+			// hand off to the workers, the capacity bounds their queue
+			verifyMetrics.enqueued();
+			long handedOffAt = System.nanoTime();
+			workers.execute(() ->
+			{
+				long start = System.nanoTime();
+				verifyMetrics.started(start - handedOffAt);
+				try
+				{
+					verify(request, result);
+				}
+				finally
+				{
+					verifyMetrics.finished(System.nanoTime() - start);
+				}
+			});
+		});
+	}
+
+	private void verify(FileRequest request, FileResult result)
+	{
+		byte[] data = result.getCompressedData();
+
+		Crc32 crc32 = new Crc32();
+		crc32.update(data, 0, data.length);
+		int hash = crc32.getHash();
+
+		if (hash != request.crc)
+		{
+			retry(request, new IOException("crc mismatch on downloaded file " + request.index + "/" + request.file
+				+ ": " + hash + " != " + request.crc));
+			return;
+		}
+
+		result.setHash(Hashing.sha256().hashBytes(data).asBytes());
+
+		CompletionStage<?> handled;
+		try
+		{
+			handled = request.handler.apply(result);
+		}
+		catch (RuntimeException ex)
+		{
+			handled = failedStage(ex);
+		}
+
+		handled.whenComplete((v, ex) ->
+		{
+			synchronized (this)
+			{
+				--active;
+			}
+
+			if (ex != null)
+			{
+				fail(request, ex);
+			}
+			else
+			{
+				request.future.complete(null);
+				finish();
+			}
+
+			dispatch();
+		});
+	}
+
+	private void retry(FileRequest request, Throwable ex)
+	{
+		synchronized (this)
+		{
+			--active;
+		}
+
+		if (request.attempts >= maxAttempts)
+		{
+			logger.warn("Giving up on {}/{} after {} attempts", request.index, request.file, request.attempts, ex);
+			fail(request, ex);
+		}
+		else
+		{
+			long delay = retryDelay << (request.attempts - 1);
+			logger.debug("Retrying {}/{} in {}ms: {}", request.index, request.file, delay, ex.toString());
+
+			executor.schedule(() ->
+			{
+				synchronized (this)
+				{
+					enqueue(request);
+				}
+				dispatch();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+
+		dispatch();
+	}
+
+	private void fail(FileRequest request, Throwable ex)
+	{
+		request.future.completeExceptionally(ex);
+		finish();
+	}
+
+	private void finish()
+	{
+		synchronized (this)
+		{
+			if (--outstanding == 0)
+			{
+				idle.complete(null);
+			}
+		}
+	}
+
+	private static CompletionStage<?> failedStage(Throwable ex)
+	{
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		future.completeExceptionally(ex);
+		return future;
+	}
+
+	private static class FileRequest
+	{
+		private final int index;
+		private final int file;
+		private final int crc;
+		private final int size;
+		private final Function<FileResult, CompletionStage<?>> handler;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+		private int attempts;
+		private long queuedAt;
+		private long sentAt;
+
+		private FileRequest(int index, int file, int crc, int size, Function<FileResult, CompletionStage<?>> handler)
+		{
+			this.index = index;
+			this.file = file;
+			this.crc = crc;
+			this.size = size;
+			this.handler = handler;
+		}
+	}
+}
@@ -37,6 +37,7 @@ public class FileResult
 	private int revision;
 	private int crc;
 	private int compression; // compression method used by archive data
+	private byte[] hash; // sha256 of the compressed data
 
 	public FileResult(int index, int fileId, byte[] compressedData)
 	{
@@ -89,4 +90,14 @@ public class FileResult
 	{
 		return compression;
 	}
+
+	public byte[] getHash()
+	{
+		return hash;
+	}
+
+	public void setHash(byte[] hash)
+	{
+		this.hash = hash;
+	}
 }
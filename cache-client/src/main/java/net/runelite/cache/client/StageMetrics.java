@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue depth and latency of one stage of a download. Wait time is the
+ * time a file spends queued in front of the stage, service time is the
+ * time the stage spends on it. For the network stage the service time
+ * is the round trip of the request.
+ */
+public class StageMetrics
+{
+	private final String name;
+	private final AtomicInteger depth = new AtomicInteger();
+	private final AtomicInteger maxDepth = new AtomicInteger();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final LongAdder serviceNanos = new LongAdder();
+
+	StageMetrics(String name)
+	{
+		this.name = name;
+	}
+
+	void enqueued()
+	{
+		int d = depth.incrementAndGet();
+		maxDepth.accumulateAndGet(d, Math::max);
+	}
+
+	void started(long waitNanos)
+	{
+		depth.decrementAndGet();
+		this.waitNanos.add(waitNanos);
+	}
+
+	void finished(long serviceNanos)
+	{
+		completed.increment();
+		this.serviceNanos.add(serviceNanos);
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public int getDepth()
+	{
+		return depth.get();
+	}
+
+	public int getMaxDepth()
+	{
+		return maxDepth.get();
+	}
+
+	public long getCompleted()
+	{
+		return completed.sum();
+	}
+
+	public double getAverageWait(TimeUnit unit)
+	{
+		return average(waitNanos.sum(), unit);
+	}
+
+	public double getAverageService(TimeUnit unit)
+	{
+		return average(serviceNanos.sum(), unit);
+	}
+
+	private double average(long nanos, TimeUnit unit)
+	{
+		long count = completed.sum();
+		if (count == 0)
+		{
+			return 0;
+		}
+		return (double) nanos / count / unit.toNanos(1);
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s: %d files, queue depth %d (max %d), avg wait %.2fms, avg service %.2fms",
+			name, getCompleted(), getDepth(), getMaxDepth(),
+			getAverageWait(TimeUnit.MILLISECONDS), getAverageService(TimeUnit.MILLISECONDS));
+	}
+}
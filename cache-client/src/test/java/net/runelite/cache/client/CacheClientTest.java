@@ -25,14 +25,24 @@
 package net.runelite.cache.client;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import net.runelite.cache.CacheProperties;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
 import net.runelite.protocol.api.login.HandshakeResponseType;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.impl.SimpleLogger;
@@ -41,6 +51,11 @@ public class CacheClientTest
 {
 	private static final Logger logger = LoggerFactory.getLogger(CacheClientTest.class);
 
+	private static final int REVISION = 42;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	@Before
 	public void before()
 	{
@@ -71,4 +86,201 @@ public class CacheClientTest
 			store.save();
 		}
 	}
+
+	@Test
+	public void testDownload() throws Exception
+	{
+		try (Store serverStore = new Store(folder.newFolder());
+			Store store = new Store(folder.newFolder()))
+		{
+			Random random = new Random(42L);
+			for (int i = 0; i < 2; ++i)
+			{
+				Index index = serverStore.addIndex(i);
+				for (int j = 0; j < 64; ++j)
+				{
+					Archive archive = index.addArchive(j);
+					archive.setRevision(1);
+					archive.setFileData(new FileData[]
+					{
+						new FileData()
+					});
+
+					byte[] data = new byte[random.nextInt(4096)];
+					random.nextBytes(data);
+
+					Container container = new Container(CompressionType.GZ, 1);
+					container.compress(data, null);
+					serverStore.getStorage().saveArchive(archive, container.data);
+				}
+			}
+			serverStore.save();
+
+			try (UpdateServer server = new UpdateServer(serverStore, REVISION))
+			{
+				server.start();
+				server.corruptOnce(0, 5);
+				server.corruptOnce(1, 63);
+				server.closeFirstConnectionAfter(10);
+
+				CacheClient c = new CacheClient(store, "127.0.0.1", server.getPort(), REVISION);
+				c.setConnections(3);
+				c.setRetryDelay(10L);
+				c.connect();
+				Assert.assertEquals(HandshakeResponseType.RESPONSE_OK, c.handshake().get());
+
+				c.download();
+				c.close();
+
+				Assert.assertEquals(3, server.getServingConnections());
+
+				List<StageMetrics> metrics = c.getMetrics();
+				Assert.assertEquals(3, metrics.size());
+				for (StageMetrics stage : metrics)
+				{
+					Assert.assertEquals(0, stage.getDepth());
+				}
+				// index files are verified but not written, and both
+				// corrupted archives are verified twice
+				Assert.assertEquals(132, metrics.get(1).getCompleted());
+				Assert.assertEquals(128, metrics.get(2).getCompleted());
+			}
+
+			for (Index serverIndex : serverStore.getIndexes())
+			{
+				Index index = store.findIndex(serverIndex.getId());
+				Assert.assertEquals(serverIndex.getArchives().size(), index.getArchives().size());
+
+				for (Archive serverArchive : serverIndex.getArchives())
+				{
+					Archive archive = index.getArchive(serverArchive.getArchiveId());
+					Assert.assertEquals(serverArchive.getCrc(), archive.getCrc());
+					Assert.assertEquals(serverArchive.getRevision(), archive.getRevision());
+
+					byte[] expected = serverArchive.decompress(serverStore.getStorage().loadArchive(serverArchive));
+					byte[] actual = archive.decompress(store.getStorage().loadArchive(archive));
+					Assert.assertArrayEquals(expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDownloadFailures() throws Exception
+	{
+		try (Store serverStore = new Store(folder.newFolder());
+			Store store = new Store(folder.newFolder()))
+		{
+			Random random = new Random(42L);
+			Index serverIndex = serverStore.addIndex(0);
+			for (int j = 0; j < 4; ++j)
+			{
+				Archive archive = serverIndex.addArchive(j);
+				archive.setRevision(2);
+				archive.setFileData(new FileData[]
+				{
+					new FileData()
+				});
+
+				byte[] data = new byte[1024];
+				random.nextBytes(data);
+
+				Container container = new Container(CompressionType.GZ, 2);
+				container.compress(data, null);
+				if (j == 2)
+				{
+					// passes the crc check, but does not decompress
+					container.data[12] ^= 0x55;
+				}
+				serverStore.getStorage().saveArchive(archive, container.data);
+			}
+			serverStore.save();
+
+			// an older version of archive 1
+			Index index = store.addIndex(0);
+			Archive old = index.addArchive(1);
+			old.setRevision(1);
+			old.setFileData(new FileData[]
+			{
+				new FileData()
+			});
+			Container container = new Container(CompressionType.NONE, 1);
+			container.compress(new byte[]
+			{
+				1, 2, 3
+			}, null);
+			store.getStorage().saveArchive(old, container.data);
+			int oldCrc = old.getCrc();
+
+			try (UpdateServer server = new UpdateServer(serverStore, REVISION))
+			{
+				server.start();
+				server.corruptOnce(0, 1);
+
+				CacheClient c = new CacheClient(store, "127.0.0.1", server.getPort(), REVISION);
+				c.setMaxAttempts(1);
+				c.connect();
+				Assert.assertEquals(HandshakeResponseType.RESPONSE_OK, c.handshake().get());
+
+				// failed archives don't stop the rest of the download
+				c.download();
+				c.close();
+
+				Assert.assertEquals(2, c.getFailed());
+			}
+
+			Assert.assertEquals(3, index.getArchives().size());
+			Assert.assertNull(index.getArchive(2));
+
+			Archive archive = index.getArchive(1);
+			Assert.assertEquals(1, archive.getRevision());
+			Assert.assertEquals(oldCrc, archive.getCrc());
+			Assert.assertArrayEquals(new byte[]
+			{
+				1, 2, 3
+			}, archive.decompress(store.getStorage().loadArchive(archive)));
+
+			for (int j : new int[]
+			{
+				0, 3
+			})
+			{
+				Archive serverArchive = serverIndex.getArchive(j);
+				archive = index.getArchive(j);
+				Assert.assertEquals(serverArchive.getCrc(), archive.getCrc());
+				Assert.assertArrayEquals(serverArchive.decompress(serverStore.getStorage().loadArchive(serverArchive)),
+					archive.decompress(store.getStorage().loadArchive(archive)));
+			}
+		}
+	}
+
+	@Test
+	public void testVerifyArchive() throws Exception
+	{
+		try (Store store = new Store(folder.newFolder()))
+		{
+			Archive archive = store.addIndex(0).addArchive(0);
+			archive.setRevision(5);
+
+			// the revision in the data differs from the index, which vanilla caches have
+			Container container = new Container(CompressionType.GZ, 3);
+			container.compress(new byte[]
+			{
+				1, 2, 3
+			}, null);
+			CacheClient.verifyArchive(archive, new FileResult(0, 0, container.data));
+			Assert.assertEquals(5, archive.getRevision());
+
+			container.data[12] ^= 0x55;
+			try
+			{
+				CacheClient.verifyArchive(archive, new FileResult(0, 0, container.data));
+				Assert.fail();
+			}
+			catch (IOException ex)
+			{
+				// data which does not decompress is rejected
+			}
+		}
+	}
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.client;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.util.Crc32;
+import net.runelite.protocol.api.handshake.HandshakeResponsePacket;
+import net.runelite.protocol.api.handshake.UpdateHandshakePacket;
+import net.runelite.protocol.api.login.HandshakeResponseType;
+import net.runelite.protocol.api.update.ArchiveRequestPacket;
+import net.runelite.protocol.api.update.ArchiveResponsePacket;
+import net.runelite.protocol.handshake.HandshakeDecoder;
+import net.runelite.protocol.handshake.HandshakeResponseEncoder;
+import net.runelite.protocol.update.decoders.UpdateOpcodes;
+import net.runelite.protocol.update.encoders.ArchiveResponseEncoder;
+
+/**
+ * A local stand in for the update server, which serves the archives of
+ * a store. It can corrupt responses and drop connections, to exercise
+ * the retry logic of the client.
+ */
+class UpdateServer implements AutoCloseable
+{
+	private final Store store;
+	private final int revision;
+	private final EventLoopGroup group = new NioEventLoopGroup(1);
+	private final Map<Integer, byte[]> indexFiles = new HashMap<>();
+	private Channel channel;
+
+	private final Set<Integer> corrupt = new HashSet<>();
+	private final AtomicInteger connections = new AtomicInteger();
+	private final Set<Integer> servingConnections = new HashSet<>();
+	private int closeFirstConnectionAfter = -1;
+
+	UpdateServer(Store store, int revision)
+	{
+		this.store = store;
+		this.revision = revision;
+	}
+
+	void start() throws IOException
+	{
+		int[] crcs = new int[store.getIndexes().size()];
+		for (Index index : store.getIndexes())
+		{
+			Container container = new Container(CompressionType.NONE, -1);
+			container.compress(index.toIndexData().writeIndexData(), null);
+			indexFiles.put(index.getId(), container.data);
+
+			Crc32 crc32 = new Crc32();
+			crc32.update(container.data, 0, container.data.length);
+			crcs[index.getId()] = crc32.getHash();
+		}
+
+		ByteBuf table = Unpooled.buffer();
+		for (Index index : store.getIndexes())
+		{
+			table.writeInt(crcs[index.getId()]);
+			table.writeInt(index.getRevision());
+		}
+		Container container = new Container(CompressionType.NONE, -1);
+		container.compress(Arrays.copyOf(table.array(), table.writerIndex()), null);
+		indexFiles.put(255, container.data);
+
+		ServerBootstrap b = new ServerBootstrap();
+		b.group(group)
+			.channel(NioServerSocketChannel.class)
+			.childHandler(new ChannelInitializer<SocketChannel>()
+			{
+				@Override
+				public void initChannel(SocketChannel ch)
+				{
+					ChannelPipeline p = ch.pipeline();
+					p.addLast("decoder", new HandshakeDecoder());
+					p.addLast(new HandshakeResponseEncoder(), new ArchiveResponseEncoder());
+					p.addLast(new RequestHandler(connections.getAndIncrement()));
+				}
+			});
+
+		channel = b.bind("127.0.0.1", 0).syncUninterruptibly().channel();
+	}
+
+	int getPort()
+	{
+		return ((InetSocketAddress) channel.localAddress()).getPort();
+	}
+
+	/**
+	 * Corrupt the first response for the given archive
+	 */
+	synchronized void corruptOnce(int index, int archive)
+	{
+		corrupt.add(index << 16 | archive);
+	}
+
+	/**
+	 * Close the first connection once it has sent the given number of
+	 * archives
+	 */
+	synchronized void closeFirstConnectionAfter(int responses)
+	{
+		closeFirstConnectionAfter = responses;
+	}
+
+	synchronized int getServingConnections()
+	{
+		return servingConnections.size();
+	}
+
+	@Override
+	public void close()
+	{
+		channel.close().syncUninterruptibly();
+		group.shutdownGracefully().syncUninterruptibly();
+	}
+
+	private byte[] load(int index, int archiveId) throws IOException
+	{
+		if (index == 255)
+		{
+			return indexFiles.get(archiveId);
+		}
+
+		Archive archive = store.findIndex(index).getArchive(archiveId);
+		byte[] data = store.getStorage().loadArchive(archive);
+
+		// strip the trailing revision, which is not sent
+		ByteBuf buf = Unpooled.wrappedBuffer(data);
+		int compression = buf.readUnsignedByte();
+		int length = buf.readInt();
+		return Arrays.copyOf(data, 5 + length + (compression != CompressionType.NONE ? 4 : 0));
+	}
+
+	/**
+	 * Decodes update requests after the handshake, ignoring the
+	 * encryption and logged in/out packets
+	 */
+	private static class RequestDecoder extends ByteToMessageDecoder
+	{
+		@Override
+		protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+		{
+			if (in.readableBytes() < 4)
+			{
+				return;
+			}
+
+			int opcode = in.readUnsignedByte();
+			if (opcode != UpdateOpcodes.ARCHIVE_REQUEST_LOW && opcode != UpdateOpcodes.ARCHIVE_REQUEST_HIGH)
+			{
+				in.skipBytes(3);
+				return;
+			}
+
+			ArchiveRequestPacket request = new ArchiveRequestPacket();
+			request.setPriority(opcode == UpdateOpcodes.ARCHIVE_REQUEST_HIGH);
+			request.setIndex(in.readUnsignedByte());
+			request.setArchive(in.readUnsignedShort());
+			out.add(request);
+		}
+	}
+
+	private class RequestHandler extends SimpleChannelInboundHandler<Object>
+	{
+		private final int id;
+		private int responses;
+
+		private RequestHandler(int id)
+		{
+			this.id = id;
+		}
+
+		@Override
+		protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception
+		{
+			if (msg instanceof UpdateHandshakePacket)
+			{
+				UpdateHandshakePacket handshake = (UpdateHandshakePacket) msg;
+
+				HandshakeResponsePacket response = new HandshakeResponsePacket();
+				response.setResponse(handshake.getRevision() == revision
+					? HandshakeResponseType.RESPONSE_OK
+					: HandshakeResponseType.RESPONSE_OUTDATED);
+				ctx.writeAndFlush(response);
+
+				ctx.pipeline().replace("decoder", "decoder", new RequestDecoder());
+				return;
+			}
+
+			ArchiveRequestPacket request = (ArchiveRequestPacket) msg;
+			byte[] data = load(request.getIndex(), request.getArchive());
+
+			boolean close;
+			synchronized (UpdateServer.this)
+			{
+				if (corrupt.remove(request.getIndex() << 16 | request.getArchive()))
+				{
+					data = data.clone();
+					data[data.length - 1] ^= 1;
+				}
+
+				if (request.getIndex() != 255)
+				{
+					servingConnections.add(id);
+				}
+
+				close = id == 0 && request.getIndex() != 255 && ++responses == closeFirstConnectionAfter;
+			}
+
+			ArchiveResponsePacket response = new ArchiveResponsePacket();
+			response.setIndex(request.getIndex());
+			response.setArchive(request.getArchive());
+			response.setData(data);
+
+			if (close)
+			{
+				ctx.writeAndFlush(response).addListener(f -> ctx.close());
+			}
+			else
+			{
+				ctx.writeAndFlush(response);
+			}
+		}
+	}
+}
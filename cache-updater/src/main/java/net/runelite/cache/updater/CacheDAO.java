@@ -28,6 +28,7 @@ import java.time.Instant;
 import java.util.List;
 import net.runelite.cache.updater.beans.ArchiveEntry;
 import net.runelite.cache.updater.beans.CacheEntry;
+import net.runelite.cache.updater.beans.FileEntry;
 import net.runelite.cache.updater.beans.IndexEntry;
 import org.sql2o.Connection;
 import org.sql2o.Query;
@@ -35,10 +36,8 @@ import org.sql2o.ResultSetIterable;
 
 class CacheDAO
 {
-	// cache prepared statements for high volume queries
-	private Query associateArchive;
-	private Query findArchive, insertArchive;
-	private Query associateFile;
+	// rows sent to the database per batch
+	private static final int BATCH_SIZE = 1000;
 
 	public CacheEntry findMostRecent(Connection con)
 	{
@@ -63,6 +62,19 @@ class CacheDAO
 			.executeAndFetchLazy(ArchiveEntry.class);
 	}
 
+	/**
+	 * Find the hashes of the archive data of a cache
+	 */
+	public List<byte[]> findArchiveHashesForCache(Connection con, CacheEntry cache)
+	{
+		return con.createQuery("select distinct archive.hash from `index` "
+			+ "join index_archive on index_archive.index = `index`.id "
+			+ "join archive on index_archive.archive = archive.id "
+			+ "where `index`.cache = :cache")
+			.addParameter("cache", cache.getId())
+			.executeScalarList(byte[].class);
+	}
+
 	public CacheEntry createCache(Connection con, int revision, Instant date)
 	{
 		int cacheId = con.createQuery("insert into cache (revision, date) values (:revision, :date)")
@@ -96,82 +108,98 @@ class CacheDAO
 		return entry;
 	}
 
-	public void associateArchiveToIndex(Connection con, ArchiveEntry archive, IndexEntry index)
+	/**
+	 * Insert archives, and set their ids
+	 *
+	 * @param con
+	 * @param archives
+	 */
+	public void createArchives(Connection con, List<ArchiveEntry> archives)
 	{
-		if (associateArchive == null)
+		Query insertArchive = con.createQuery("insert into archive (archiveId, nameHash, crc, revision, hash) values "
+			+ "(:archiveId, :nameHash, :crc, :revision, :hash)", true);
+
+		for (int start = 0; start < archives.size(); start += BATCH_SIZE)
 		{
-			associateArchive = con.createQuery("insert into index_archive (`index`, archive) values (:index, :archive)");
+			List<ArchiveEntry> batch = archives.subList(start, Math.min(start + BATCH_SIZE, archives.size()));
+			for (ArchiveEntry archive : batch)
+			{
+				insertArchive
+					.addParameter("archiveId", archive.getArchiveId())
+					.addParameter("nameHash", archive.getNameHash())
+					.addParameter("crc", archive.getCrc())
+					.addParameter("revision", archive.getRevision())
+					.addParameter("hash", archive.getHash())
+					.addToBatch();
+			}
+			insertArchive.executeBatch();
+
+			List<Integer> keys = con.getKeys(Integer.class);
+			if (keys.size() != batch.size())
+			{
+				throw new IllegalStateException("expected " + batch.size() + " archive keys, got " + keys.size());
+			}
+
+			for (int i = 0; i < batch.size(); ++i)
+			{
+				batch.get(i).setId(keys.get(i));
+			}
 		}
-		associateArchive
-			.addParameter("index", index.getId())
-			.addParameter("archive", archive.getId())
-			.executeUpdate();
 	}
 
-	public ArchiveEntry findArchive(Connection con, IndexEntry index,
-		int archiveId, int nameHash, int crc, int revision)
+	public void associateArchivesToIndex(Connection con, List<ArchiveEntry> archives, IndexEntry index)
 	{
-		if (findArchive == null)
+		Query associateArchive = con.createQuery("insert into index_archive (`index`, archive) values (:index, :archive)");
+
+		int count = 0;
+		for (ArchiveEntry archive : archives)
 		{
-			findArchive = con.createQuery("select distinct archive.id, archive.archiveId, archive.nameHash,"
-				+ " archive.crc, archive.revision, archive.hash from archive "
-				+ " join index_archive on index_archive.archive = archive.id"
-				+ " join `index` on index.id = index_archive.index"
-				+ " where archive.archiveId = :archiveId"
-				+ " and archive.nameHash = :nameHash"
-				+ " and archive.crc = :crc"
-				+ " and archive.revision = :revision"
-				+ " and index.indexId = :indexId");
+			associateArchive
+				.addParameter("index", index.getId())
+				.addParameter("archive", archive.getId())
+				.addToBatch();
+
+			if (++count % BATCH_SIZE == 0)
+			{
+				associateArchive.executeBatch();
+			}
 		}
 
-		ArchiveEntry entry = findArchive
-			.addParameter("archiveId", archiveId)
-			.addParameter("nameHash", nameHash)
-			.addParameter("crc", crc)
-			.addParameter("revision", revision)
-			.addParameter("indexId", index.getIndexId())
-			.executeAndFetchFirst(ArchiveEntry.class);
-		return entry;
+		if (count % BATCH_SIZE != 0)
+		{
+			associateArchive.executeBatch();
+		}
 	}
 
-	public ArchiveEntry createArchive(Connection con, IndexEntry index,
-		int archiveId, int nameHash, int crc, int revision, byte[] hash)
+	/**
+	 * Insert files, with {@link FileEntry#getArchiveId()} being the id of
+	 * the archive row
+	 *
+	 * @param con
+	 * @param files
+	 */
+	public void associateFilesToArchives(Connection con, List<FileEntry> files)
 	{
-		if (insertArchive == null)
+		Query associateFile = con.createQuery("insert into file (archive, fileId, nameHash) values (:archive, :fileId, :nameHash)");
+
+		int count = 0;
+		for (FileEntry file : files)
 		{
-			insertArchive = con.createQuery("insert into archive (archiveId, nameHash, crc, revision, hash) values "
-				+ "(:archiveId, :nameHash, :crc, :revision, :hash)");
+			associateFile
+				.addParameter("archive", file.getArchiveId())
+				.addParameter("fileId", file.getFileId())
+				.addParameter("nameHash", file.getNameHash())
+				.addToBatch();
+
+			if (++count % BATCH_SIZE == 0)
+			{
+				associateFile.executeBatch();
+			}
 		}
 
-		int id = insertArchive
-			.addParameter("archiveId", archiveId)
-			.addParameter("nameHash", nameHash)
-			.addParameter("crc", crc)
-			.addParameter("revision", revision)
-			.addParameter("hash", hash)
-			.executeUpdate()
-			.getKey(int.class);
-
-		ArchiveEntry entry = new ArchiveEntry();
-		entry.setId(id);
-		entry.setArchiveId(archiveId);
-		entry.setNameHash(nameHash);
-		entry.setCrc(crc);
-		entry.setRevision(revision);
-		entry.setHash(hash);
-		return entry;
-	}
-
-	public void associateFileToArchive(Connection con, ArchiveEntry archive, int fileId, int nameHash)
-	{
-		if (associateFile == null)
+		if (count % BATCH_SIZE != 0)
 		{
-			associateFile = con.createQuery("insert into file (archive, fileId, nameHash) values (:archive, :fileId, :nameHash)");
+			associateFile.executeBatch();
 		}
-		associateFile
-			.addParameter("archive", archive.getId())
-			.addParameter("fileId", fileId)
-			.addParameter("nameHash", nameHash)
-			.executeUpdate();
 	}
 }
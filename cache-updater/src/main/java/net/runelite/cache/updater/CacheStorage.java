@@ -25,7 +25,10 @@
 package net.runelite.cache.updater;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
@@ -33,6 +36,7 @@ import net.runelite.cache.fs.Store;
 import net.runelite.cache.index.FileData;
 import net.runelite.cache.updater.beans.ArchiveEntry;
 import net.runelite.cache.updater.beans.CacheEntry;
+import net.runelite.cache.updater.beans.FileEntry;
 import net.runelite.cache.updater.beans.IndexEntry;
 import org.sql2o.Connection;
 import org.sql2o.ResultSetIterable;
@@ -43,6 +47,9 @@ public class CacheStorage implements Storage
 	private final CacheDAO cacheDao;
 	private final Connection con;
 
+	// indexes of the cache the store was loaded from, by index id
+	private final Map<Integer, IndexEntry> loadedIndexes = new HashMap<>();
+
 	public CacheStorage(CacheEntry cacheEntry, CacheDAO cacheDao, Connection con)
 	{
 		this.cacheEntry = cacheEntry;
@@ -76,6 +83,8 @@ public class CacheStorage implements Storage
 		List<IndexEntry> indexes = cacheDao.findIndexesForCache(con, cacheEntry);
 		for (IndexEntry indexEntry : indexes)
 		{
+			loadedIndexes.put(indexEntry.getIndexId(), indexEntry);
+
 			Index index = store.addIndex(indexEntry.getIndexId());
 			index.setCrc(indexEntry.getCrc());
 			index.setRevision(indexEntry.getRevision());
@@ -108,25 +117,83 @@ public class CacheStorage implements Storage
 		{
 			IndexEntry entry = cacheDao.createIndex(con, cacheEntry, index.getId(), index.getCrc(), index.getRevision());
 
+			Map<Integer, ArchiveEntry> existing = findArchives(index);
+
+			List<ArchiveEntry> archiveEntries = new ArrayList<>(index.getArchives().size());
+			List<ArchiveEntry> created = new ArrayList<>();
+			List<Archive> createdArchives = new ArrayList<>();
+
 			for (Archive archive : index.getArchives())
 			{
-				ArchiveEntry archiveEntry = cacheDao.findArchive(con, entry, archive.getArchiveId(),
-					archive.getNameHash(), archive.getCrc(), archive.getRevision());
+				ArchiveEntry archiveEntry = existing.get(archive.getArchiveId());
 				if (archiveEntry == null)
 				{
-					byte[] hash = archive.getHash();
-					archiveEntry = cacheDao.createArchive(con, entry, archive.getArchiveId(),
-						archive.getNameHash(), archive.getCrc(), archive.getRevision(), hash);
+					archiveEntry = new ArchiveEntry();
+					archiveEntry.setArchiveId(archive.getArchiveId());
+					archiveEntry.setNameHash(archive.getNameHash());
+					archiveEntry.setCrc(archive.getCrc());
+					archiveEntry.setRevision(archive.getRevision());
+					archiveEntry.setHash(archive.getHash());
+
+					created.add(archiveEntry);
+					createdArchives.add(archive);
+				}
 
-					for (FileData file : archive.getFileData())
-					{
-						cacheDao.associateFileToArchive(con, archiveEntry, file.getId(), file.getNameHash());
-					}
+				archiveEntries.add(archiveEntry);
+			}
+
+			cacheDao.createArchives(con, created);
+
+			List<FileEntry> files = new ArrayList<>();
+			for (int i = 0; i < created.size(); ++i)
+			{
+				ArchiveEntry archiveEntry = created.get(i);
+				for (FileData fd : createdArchives.get(i).getFileData())
+				{
+					FileEntry file = new FileEntry();
+					file.setArchiveId(archiveEntry.getId());
+					file.setFileId(fd.getId());
+					file.setNameHash(fd.getNameHash());
+					files.add(file);
 				}
+			}
 
-				cacheDao.associateArchiveToIndex(con, archiveEntry, entry);
+			cacheDao.associateFilesToArchives(con, files);
+			cacheDao.associateArchivesToIndex(con, archiveEntries, entry);
+		}
+	}
+
+	/**
+	 * Find the archives of an index which are already in the database, by
+	 * archive id. Only the archives of the same index in the cache the
+	 * store was loaded from are considered, and an archive is only reused
+	 * if its name hash, crc and revision all match.
+	 */
+	private Map<Integer, ArchiveEntry> findArchives(Index index)
+	{
+		Map<Integer, ArchiveEntry> entries = new HashMap<>();
+
+		IndexEntry loadedIndex = loadedIndexes.get(index.getId());
+		if (loadedIndex == null)
+		{
+			return entries;
+		}
+
+		try (ResultSetIterable<ArchiveEntry> archiveEntries = cacheDao.findArchivesForIndex(con, loadedIndex))
+		{
+			for (ArchiveEntry archiveEntry : archiveEntries)
+			{
+				Archive archive = index.getArchive(archiveEntry.getArchiveId());
+				if (archive != null
+					&& archive.getNameHash() == archiveEntry.getNameHash()
+					&& archive.getCrc() == archiveEntry.getCrc()
+					&& archive.getRevision() == archiveEntry.getRevision())
+				{
+					entries.put(archiveEntry.getArchiveId(), archiveEntry);
+				}
 			}
 		}
+		return entries;
 	}
 
 	@Override
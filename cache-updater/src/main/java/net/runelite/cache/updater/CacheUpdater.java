@@ -30,12 +30,8 @@ import io.minio.errors.InvalidPortException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import net.runelite.cache.client.CacheClient;
 import net.runelite.cache.client.IndexInfo;
-import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.updater.beans.CacheEntry;
 import net.runelite.cache.updater.beans.IndexEntry;
@@ -65,6 +61,12 @@ public class CacheUpdater implements CommandLineRunner
 	@Value("${rs.version}")
 	private int rsVersion;
 
+	@Value("${rs.connections:4}")
+	private int connections;
+
+	@Value("${minio.upload-threads:8}")
+	private int uploadThreads;
+
 	@Autowired
 	public CacheUpdater(
 		@Qualifier("Runelite Cache SQL2O") Sql2o sql2o,
@@ -92,10 +94,14 @@ public class CacheUpdater implements CommandLineRunner
 			Store store = new Store(storage);
 			store.load();
 
-			ExecutorService executor = Executors.newSingleThreadExecutor();
+			CacheUploader uploader = new CacheUploader(new MinioObjectStore(minioClient, minioBucket), uploadThreads);
+			for (byte[] hash : cacheDao.findArchiveHashesForCache(con, cache))
+			{
+				uploader.addStored(hash);
+			}
 
-			CacheClient client = new CacheClient(store, rsVersion,
-				(Archive archive, byte[] data) -> executor.submit(new CacheUploader(minioClient, minioBucket, archive, data)));
+			CacheClient client = new CacheClient(store, rsVersion, uploader::upload);
+			client.setConnections(connections);
 
 			client.connect();
 			HandshakeResponseType result = client.handshake().join();
@@ -123,14 +129,13 @@ public class CacheUpdater implements CommandLineRunner
 
 			// ensure objects are added to the store before they become
 			// visible in the database
-			executor.shutdown();
-			while (!executor.awaitTermination(1, TimeUnit.SECONDS))
+			uploader.close();
+
+			if (uploader.getFailed() > 0)
 			{
-				logger.debug("Waiting for termination of executor...");
+				throw new IOException("unable to upload " + uploader.getFailed() + " archives");
 			}
 
-			// CacheStorage requires archive hashes to be set, which is set in the executor tasks, so it must be
-			// run after shutdown
 			store.save();
 
 			// commit database
@@ -26,48 +26,108 @@ package net.runelite.cache.updater;
 
 import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
-import io.minio.MinioClient;
-import io.minio.errors.ErrorResponseException;
-import io.minio.errors.InsufficientDataException;
-import io.minio.errors.InternalException;
-import io.minio.errors.InvalidArgumentException;
-import io.minio.errors.InvalidBucketNameException;
-import io.minio.errors.NoResponseException;
-import java.io.ByteArrayInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.io.InputStream;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.runelite.cache.fs.Archive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xmlpull.v1.XmlPullParserException;
 
-public class CacheUploader implements Runnable
+/**
+ * Uploads archive data to an {@link ObjectStore}, keyed by the SHA-256 of
+ * the data. Data known to be stored, such as the archives of the previous
+ * cache, or which is being uploaded is skipped without contacting the store.
+ * Anything else is checked against a listing of the objects sharing the
+ * first byte of its hash, which is fetched once per prefix, before being
+ * uploaded. At most {@code parallelism} uploads are run at once with a
+ * bounded number waiting behind them.
+ */
+public class CacheUploader implements AutoCloseable
 {
 	private static final Logger logger = LoggerFactory.getLogger(CacheUploader.class);
 
-	private final MinioClient minioClient;
-	private final String minioBucket;
-	private final Archive archive;
-	private final byte[] data;
+	private final ObjectStore objectStore;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+
+	// hashes which are known to be stored, or are being uploaded
+	private final Set<String> known = ConcurrentHashMap.newKeySet();
+	// paths of the stored objects, by the prefix they were listed with
+	private final Map<String, Set<String>> listings = new ConcurrentHashMap<>();
 
-	public CacheUploader(MinioClient minioClient, String minioBucket, Archive archive, byte[] data)
+	private final AtomicInteger uploaded = new AtomicInteger();
+	private final AtomicInteger skipped = new AtomicInteger();
+	private final AtomicInteger existing = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+
+	public CacheUploader(ObjectStore objectStore, int parallelism)
 	{
-		this.minioClient = minioClient;
-		this.minioBucket = minioBucket;
-		this.archive = archive;
-		this.data = data;
+		this.objectStore = objectStore;
+		this.executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+			.setNameFormat("cache-upload-%d")
+			.build());
+		// bounds the archive data held in memory waiting to be uploaded
+		this.permits = new Semaphore(parallelism * 2);
 	}
 
-	@Override
-	public void run()
+	/**
+	 * Marks data as stored, so it is never checked or uploaded. The
+	 * archives of a cache in the database are uploaded before the cache is
+	 * committed, so they are known to be stored.
+	 *
+	 * @param hash SHA-256 of the data
+	 */
+	public void addStored(byte[] hash)
+	{
+		known.add(BaseEncoding.base16().encode(hash));
+	}
+
+	/**
+	 * Queues the data of an archive for upload, and sets the archive hash.
+	 * Blocks while the upload queue is full.
+	 *
+	 * @param archive
+	 * @param data
+	 */
+	public void upload(Archive archive, byte[] data)
 	{
-		byte[] hash = Hashing.sha256().hashBytes(data).asBytes();
+		byte[] hash = archive.getHash();
+		if (hash == null)
+		{
+			hash = Hashing.sha256().hashBytes(data).asBytes();
+			archive.setHash(hash);
+		}
+
 		String hashStr = BaseEncoding.base16().encode(hash);
+		if (!known.add(hashStr))
+		{
+			skipped.incrementAndGet();
+			return;
+		}
 
-		archive.setHash(hash);
+		permits.acquireUninterruptibly();
+		try
+		{
+			executor.execute(() -> upload(hashStr, data));
+		}
+		catch (RuntimeException ex)
+		{
+			permits.release();
+			known.remove(hashStr);
+			throw ex;
+		}
+	}
 
+	private void upload(String hashStr, byte[] data)
+	{
 		String path = new StringBuilder()
 			.append(hashStr, 0, 2)
 			.append('/')
@@ -76,21 +136,84 @@ public class CacheUploader implements Runnable
 
 		try
 		{
-			try (InputStream in = minioClient.getObject(minioBucket, path))
+			if (isStored(path))
 			{
-				return; // already exists
-			}
-			catch (ErrorResponseException ex)
-			{
-				// doesn't exist
+				existing.incrementAndGet();
+				return;
 			}
 
-			minioClient.putObject(minioBucket, path, new ByteArrayInputStream(data), data.length, "binary/octet-stream");
+			objectStore.put(path, data);
+			uploaded.incrementAndGet();
 		}
-		catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidArgumentException | InvalidBucketNameException | NoResponseException | IOException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
+		catch (IOException ex)
 		{
 			logger.warn("unable to upload data to store", ex);
+			failed.incrementAndGet();
+			known.remove(hashStr);
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+
+	private boolean isStored(String path) throws IOException
+	{
+		// the prefix is the first byte of the hash and the separator, such as "AB/"
+		String prefix = path.substring(0, 3);
+		try
+		{
+			return listings.computeIfAbsent(prefix, p ->
+			{
+				try
+				{
+					return objectStore.list(p);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}).contains(path);
+		}
+		catch (UncheckedIOException ex)
+		{
+			throw ex.getCause();
 		}
 	}
 
+	/**
+	 * Waits for all queued uploads to finish
+	 */
+	@Override
+	public void close() throws InterruptedException
+	{
+		executor.shutdown();
+		while (!executor.awaitTermination(1, TimeUnit.SECONDS))
+		{
+			logger.debug("Waiting for termination of uploader...");
+		}
+
+		logger.info("Uploaded {} archives, {} already stored, {} skipped, {} failed",
+			uploaded.get(), existing.get(), skipped.get(), failed.get());
+	}
+
+	public int getUploaded()
+	{
+		return uploaded.get();
+	}
+
+	public int getExisting()
+	{
+		return existing.get();
+	}
+
+	public int getSkipped()
+	{
+		return skipped.get();
+	}
+
+	public int getFailed()
+	{
+		return failed.get();
+	}
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.updater;
+
+import io.minio.MinioClient;
+import io.minio.Result;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.NoResponseException;
+import io.minio.messages.Item;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+import org.xmlpull.v1.XmlPullParserException;
+
+public class MinioObjectStore implements ObjectStore
+{
+	private final MinioClient minioClient;
+	private final String minioBucket;
+
+	public MinioObjectStore(MinioClient minioClient, String minioBucket)
+	{
+		this.minioClient = minioClient;
+		this.minioBucket = minioBucket;
+	}
+
+	@Override
+	public Set<String> list(String prefix) throws IOException
+	{
+		Set<String> paths = new HashSet<>();
+		// the listing is paged by the client, a page of up to 1000 objects per request
+		for (Result<Item> result : minioClient.listObjects(minioBucket, prefix, true))
+		{
+			try
+			{
+				paths.add(result.get().objectName());
+			}
+			catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidBucketNameException | NoResponseException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
+			{
+				throw new IOException(ex);
+			}
+		}
+		return paths;
+	}
+
+	@Override
+	public void put(String path, byte[] data) throws IOException
+	{
+		try
+		{
+			minioClient.putObject(minioBucket, path, new ByteArrayInputStream(data), data.length, "binary/octet-stream");
+		}
+		catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidArgumentException | InvalidBucketNameException | NoResponseException | InvalidKeyException | NoSuchAlgorithmException | XmlPullParserException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
+}
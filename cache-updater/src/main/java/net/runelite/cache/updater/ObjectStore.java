@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, dekvall <https://github.com/dekvall>
+ * Copyright (c) 2026, agent <agent@local>
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without
@@ -22,20 +22,24 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package net.runelite.client.plugins.grounditems;
+package net.runelite.cache.updater;
 
-import lombok.RequiredArgsConstructor;
-import lombok.Value;
+import java.io.IOException;
+import java.util.Set;
 
-@Value
-@RequiredArgsConstructor
-class NamedQuantity
+/**
+ * Content addressed object storage for archive data.
+ */
+public interface ObjectStore
 {
-	private final String name;
-	private final int quantity;
+	/**
+	 * List the paths of the stored objects under a prefix
+	 *
+	 * @param prefix
+	 * @return the paths, including the prefix
+	 * @throws IOException
+	 */
+	Set<String> list(String prefix) throws IOException;
 
-	NamedQuantity(GroundItem groundItem)
-	{
-		this(groundItem.getName(), groundItem.getQuantity());
-	}
+	void put(String path, byte[] data) throws IOException;
 }
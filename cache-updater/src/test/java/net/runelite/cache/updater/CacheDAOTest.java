@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.updater;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.cache.updater.beans.ArchiveEntry;
+import net.runelite.cache.updater.beans.CacheEntry;
+import net.runelite.cache.updater.beans.IndexEntry;
+import org.h2.jdbcx.JdbcDataSource;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sql2o.Connection;
+import org.sql2o.Sql2o;
+import org.sql2o.converters.Converter;
+import org.sql2o.quirks.NoQuirks;
+
+public class CacheDAOTest
+{
+	private Connection con;
+	private final CacheDAO cacheDao = new CacheDAO();
+
+	@Before
+	public void before()
+	{
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:cachedao;MODE=MySQL");
+
+		Map<Class, Converter> converters = new HashMap<>();
+		converters.put(Instant.class, new InstantConverter());
+		con = new Sql2o(dataSource, new NoQuirks(converters)).beginTransaction();
+
+		con.createQuery("create table cache (id int auto_increment primary key, revision int not null, date timestamp not null)").executeUpdate();
+		con.createQuery("create table `index` (id int auto_increment primary key, cache int not null, indexId int not null, crc int not null, revision int not null)").executeUpdate();
+		con.createQuery("create table archive (id int auto_increment primary key, archiveId int not null, nameHash int not null, crc int not null, revision int not null, hash binary(32) not null)").executeUpdate();
+		con.createQuery("create table index_archive (id int auto_increment primary key, `index` int not null, archive int not null)").executeUpdate();
+	}
+
+	@After
+	public void after()
+	{
+		con.rollback();
+	}
+
+	@Test
+	public void testFindArchiveHashesForCache()
+	{
+		CacheEntry cache = cacheDao.createCache(con, 1, Instant.now());
+		IndexEntry index0 = cacheDao.createIndex(con, cache, 0, 0, 0);
+		IndexEntry index1 = cacheDao.createIndex(con, cache, 1, 0, 0);
+
+		// the same data in two indexes, and an archive of another cache
+		List<ArchiveEntry> archives = Arrays.asList(archive(1), archive(2), archive(3));
+		cacheDao.createArchives(con, archives);
+		cacheDao.associateArchivesToIndex(con, archives.subList(0, 2), index0);
+		cacheDao.associateArchivesToIndex(con, archives.subList(1, 2), index1);
+
+		CacheEntry other = cacheDao.createCache(con, 2, Instant.now());
+		cacheDao.associateArchivesToIndex(con, archives.subList(2, 3), cacheDao.createIndex(con, other, 0, 0, 0));
+
+		List<byte[]> hashes = new ArrayList<>(cacheDao.findArchiveHashesForCache(con, cache));
+		hashes.sort((a, b) -> Byte.compare(a[0], b[0]));
+		assertEquals(2, hashes.size());
+		assertArrayEquals(hash(1), hashes.get(0));
+		assertArrayEquals(hash(2), hashes.get(1));
+	}
+
+	@Test
+	public void testCreateArchives()
+	{
+		// more than two batches, the last of them partial
+		List<ArchiveEntry> archives = new ArrayList<>();
+		for (int i = 0; i < 2500; ++i)
+		{
+			archives.add(archive(i));
+		}
+		cacheDao.createArchives(con, archives);
+
+		for (ArchiveEntry archive : archives)
+		{
+			int archiveId = con.createQuery("select archiveId from archive where id = :id")
+				.addParameter("id", archive.getId())
+				.executeScalar(Integer.class);
+			assertEquals(archive.getArchiveId(), archiveId);
+		}
+		assertEquals(2500, (int) con.createQuery("select count(distinct id) from archive").executeScalar(Integer.class));
+	}
+
+	private static ArchiveEntry archive(int value)
+	{
+		ArchiveEntry archive = new ArchiveEntry();
+		archive.setArchiveId(value);
+		archive.setNameHash(value);
+		archive.setCrc(value);
+		archive.setRevision(value);
+		archive.setHash(hash(value));
+		return archive;
+	}
+
+	private static byte[] hash(int value)
+	{
+		byte[] hash = new byte[32];
+		Arrays.fill(hash, (byte) value);
+		return hash;
+	}
+}
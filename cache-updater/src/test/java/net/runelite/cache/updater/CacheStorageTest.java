@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.updater;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.updater.beans.CacheEntry;
+import org.h2.jdbcx.JdbcDataSource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sql2o.Connection;
+import org.sql2o.Sql2o;
+import org.sql2o.converters.Converter;
+import org.sql2o.quirks.NoQuirks;
+
+public class CacheStorageTest
+{
+	private Connection con;
+	private final CacheDAO cacheDao = new CacheDAO();
+
+	@Before
+	public void before()
+	{
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:cachestorage;MODE=MySQL");
+
+		Map<Class, Converter> converters = new HashMap<>();
+		converters.put(Instant.class, new InstantConverter());
+		con = new Sql2o(dataSource, new NoQuirks(converters)).beginTransaction();
+
+		con.createQuery("create table cache (id int auto_increment primary key, revision int not null, date timestamp not null)").executeUpdate();
+		con.createQuery("create table `index` (id int auto_increment primary key, cache int not null, indexId int not null, crc int not null, revision int not null)").executeUpdate();
+		con.createQuery("create table archive (id int auto_increment primary key, archiveId int not null, nameHash int not null, crc int not null, revision int not null, hash binary(32) not null)").executeUpdate();
+		con.createQuery("create table index_archive (id int auto_increment primary key, `index` int not null, archive int not null)").executeUpdate();
+		con.createQuery("create table file (id int auto_increment primary key, archive int not null, fileId int not null, nameHash int not null)").executeUpdate();
+	}
+
+	@After
+	public void after()
+	{
+		con.rollback();
+	}
+
+	@Test
+	public void testSaveReusesArchivesOfLoadedCache() throws IOException
+	{
+		// an unrelated cache with archive 0 at crc 1
+		saveCache(1, new int[]
+		{
+			0, 1
+		});
+
+		CacheEntry previous = saveCache(2, new int[]
+		{
+			5, 2
+		});
+		assertEquals(2, countArchives());
+
+		CacheEntry next = cacheDao.createCache(con, 3, Instant.now());
+		CacheStorage storage = new CacheStorage(previous, cacheDao, con);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+
+			// archive 0 matches the unrelated cache, which is not searched
+			addArchive(store.findIndex(0), 0, 1);
+
+			storage.setCacheEntry(next);
+			store.save();
+		}
+
+		// only archive 0 is inserted, archive 5 is reused from the loaded cache
+		assertEquals(3, countArchives());
+		assertEquals(archiveRow(previous, 5), archiveRow(next, 5));
+		assertNotEquals(archiveRow(findCache(1), 0), archiveRow(next, 0));
+	}
+
+	private CacheEntry saveCache(int revision, int[] archiveCrcs) throws IOException
+	{
+		CacheEntry cache = cacheDao.createCache(con, revision, Instant.now());
+		try (Store store = new Store(new CacheStorage(cache, cacheDao, con)))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < archiveCrcs.length; i += 2)
+			{
+				addArchive(index, archiveCrcs[i], archiveCrcs[i + 1]);
+			}
+			store.save();
+		}
+		return cache;
+	}
+
+	private static void addArchive(Index index, int archiveId, int crc)
+	{
+		Archive archive = index.addArchive(archiveId);
+		archive.setCrc(crc);
+		archive.setRevision(1);
+		archive.setHash(new byte[32]);
+		archive.setFileData(new FileData[]
+		{
+			new FileData()
+		});
+	}
+
+	private CacheEntry findCache(int revision)
+	{
+		return con.createQuery("select id, revision, date from cache where revision = :revision")
+			.addParameter("revision", revision)
+			.executeAndFetchFirst(CacheEntry.class);
+	}
+
+	private int countArchives()
+	{
+		return con.createQuery("select count(*) from archive").executeScalar(Integer.class);
+	}
+
+	private int archiveRow(CacheEntry cache, int archiveId)
+	{
+		return con.createQuery("select archive.id from archive"
+			+ " join index_archive on index_archive.archive = archive.id"
+			+ " join `index` on `index`.id = index_archive.`index`"
+			+ " where `index`.cache = :cache and archive.archiveId = :archiveId")
+			.addParameter("cache", cache.getId())
+			.addParameter("archiveId", archiveId)
+			.executeScalar(Integer.class);
+	}
+}
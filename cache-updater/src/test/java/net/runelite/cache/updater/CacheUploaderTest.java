@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.updater;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CacheUploaderTest
+{
+	private static class MemoryObjectStore implements ObjectStore
+	{
+		private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+		private final AtomicInteger requests = new AtomicInteger();
+		private final AtomicInteger active = new AtomicInteger();
+		private final AtomicInteger maxActive = new AtomicInteger();
+		private CountDownLatch gate = new CountDownLatch(0);
+
+		@Override
+		public Set<String> list(String prefix) throws IOException
+		{
+			requests.incrementAndGet();
+			return objects.keySet().stream()
+				.filter(path -> path.startsWith(prefix))
+				.collect(Collectors.toSet());
+		}
+
+		@Override
+		public void put(String path, byte[] data) throws IOException
+		{
+			requests.incrementAndGet();
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try
+			{
+				gate.await();
+			}
+			catch (InterruptedException ex)
+			{
+				throw new IOException(ex);
+			}
+			finally
+			{
+				active.decrementAndGet();
+			}
+			objects.put(path, data);
+		}
+	}
+
+	@Test
+	public void testUpload() throws Exception
+	{
+		MemoryObjectStore objectStore = new MemoryObjectStore();
+		Index index = new Index(0);
+		Random random = new Random(42L);
+
+		byte[] stored = new byte[32];
+		random.nextBytes(stored);
+		objectStore.objects.put(path(stored), stored);
+
+		// data of the previous cache, which is not checked
+		byte[] previous = new byte[32];
+		random.nextBytes(previous);
+
+		CacheUploader uploader = new CacheUploader(objectStore, 4);
+		uploader.addStored(Hashing.sha256().hashBytes(previous).asBytes());
+
+		byte[][] data = new byte[64][];
+		for (int i = 0; i < data.length; ++i)
+		{
+			data[i] = new byte[32];
+			random.nextBytes(data[i]);
+			uploader.upload(index.addArchive(i), data[i]);
+		}
+
+		// duplicates of uploaded data and stored data
+		uploader.upload(index.addArchive(64), data[0]);
+		uploader.upload(index.addArchive(65), stored);
+		uploader.upload(index.addArchive(66), stored);
+		uploader.upload(index.addArchive(67), previous);
+
+		uploader.close();
+
+		assertEquals(64, uploader.getUploaded());
+		assertEquals(1, uploader.getExisting());
+		assertEquals(3, uploader.getSkipped());
+		assertEquals(0, uploader.getFailed());
+
+		// one put per upload, and one listing per prefix of the checked data
+		Set<String> prefixes = new HashSet<>();
+		prefixes.add(path(stored).substring(0, 3));
+		for (byte[] d : data)
+		{
+			prefixes.add(path(d).substring(0, 3));
+		}
+		assertEquals(64 + prefixes.size(), objectStore.requests.get());
+		assertTrue(prefixes.size() < 64);
+		assertEquals(65, objectStore.objects.size());
+
+		for (int i = 0; i < data.length; ++i)
+		{
+			Archive archive = index.getArchive(i);
+			assertArrayEquals(Hashing.sha256().hashBytes(data[i]).asBytes(), archive.getHash());
+			assertArrayEquals(data[i], objectStore.objects.get(path(data[i])));
+		}
+		assertArrayEquals(index.getArchive(0).getHash(), index.getArchive(64).getHash());
+	}
+
+	@Test(timeout = 10_000)
+	public void testBoundedConcurrency() throws Exception
+	{
+		MemoryObjectStore objectStore = new MemoryObjectStore();
+		objectStore.gate = new CountDownLatch(1);
+		Index index = new Index(0);
+		Random random = new Random(42L);
+
+		CacheUploader uploader = new CacheUploader(objectStore, 2);
+		AtomicInteger queued = new AtomicInteger();
+
+		Thread producer = new Thread(() ->
+		{
+			for (int i = 0; i < 16; ++i)
+			{
+				byte[] data = new byte[32];
+				random.nextBytes(data);
+				uploader.upload(index.addArchive(i), data);
+				queued.incrementAndGet();
+			}
+		});
+		producer.start();
+
+		// the producer blocks once 2 uploads are running and 2 are waiting
+		while (objectStore.active.get() < 2 || producer.getState() != Thread.State.WAITING)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(4, queued.get());
+
+		objectStore.gate.countDown();
+		producer.join();
+		uploader.close();
+
+		assertEquals(16, uploader.getUploaded());
+		assertTrue(objectStore.maxActive.get() <= 2);
+	}
+
+	private static String path(byte[] data)
+	{
+		String hash = Hashing.sha256().hashBytes(data).toString().toUpperCase();
+		return hash.substring(0, 2) + "/" + hash.substring(2);
+	}
+}
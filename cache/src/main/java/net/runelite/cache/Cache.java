@@ -26,6 +26,7 @@ package net.runelite.cache;
 
 import java.io.File;
 import java.io.IOException;
+import net.runelite.cache.fs.ArchiveCache;
 import net.runelite.cache.fs.Store;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -124,6 +125,7 @@ public class Cache
 	private static Store loadStore(String cache) throws IOException
 	{
 		Store store = new Store(new File(cache));
+		store.setArchiveCache(new ArchiveCache(ArchiveCache.DEFAULT_MAXIMUM_BYTES));
 		store.load();
 		return store;
 	}
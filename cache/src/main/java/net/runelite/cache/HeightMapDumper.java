@@ -39,6 +39,7 @@ public class HeightMapDumper
 
 	private static final int MAP_SCALE = 1;
 	private static final float MAX_HEIGHT = 2048f;
+	private static final int MAX_LOADED_REGIONS = 64;
 
 	private final Store store;
 	private RegionLoader regionLoader;
@@ -51,7 +52,7 @@ public class HeightMapDumper
 	public void load() throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		regionLoader.indexRegions(MAX_LOADED_REGIONS);
 		regionLoader.calculateBounds();
 	}
 
@@ -78,11 +79,14 @@ public class HeightMapDumper
 
 	private void draw(BufferedImage image, int z)
 	{
-		int max = Integer.MIN_VALUE;
-		int min = Integer.MAX_VALUE;
+		int[] bounds = {Integer.MIN_VALUE, Integer.MAX_VALUE};
 
-		for (Region region : regionLoader.getRegions())
+		// each region draws its own part of the image, so they can be drawn in parallel
+		regionLoader.forEachRegion(region ->
 		{
+			int max = Integer.MIN_VALUE;
+			int min = Integer.MAX_VALUE;
+
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
 
@@ -116,9 +120,15 @@ public class HeightMapDumper
 					drawMapSquare(image, drawX, drawY, rgb);
 				}
 			}
-		}
-		System.out.println("max " + max);
-		System.out.println("min " + min);
+
+			synchronized (bounds)
+			{
+				bounds[0] = Math.max(bounds[0], max);
+				bounds[1] = Math.min(bounds[1], min);
+			}
+		});
+		System.out.println("max " + bounds[0]);
+		System.out.println("min " + bounds[1]);
 	}
 
 	private int toColor(int height)
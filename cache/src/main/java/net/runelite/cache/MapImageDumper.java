@@ -28,9 +28,28 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.cache.definitions.AreaDefinition;
@@ -42,10 +61,10 @@ import net.runelite.cache.definitions.loaders.OverlayLoader;
 import net.runelite.cache.definitions.loaders.SpriteLoader;
 import net.runelite.cache.definitions.loaders.UnderlayLoader;
 import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveCache;
 import net.runelite.cache.fs.ArchiveFiles;
 import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.item.ColorPalette;
 import net.runelite.cache.item.RSTextureProvider;
@@ -64,6 +83,11 @@ public class MapImageDumper
 	private static final int MAPICON_MAX_WIDTH = 5; // scale minimap icons down to this size so they fit..
 	private static final int MAPICON_MAX_HEIGHT = 6;
 	private static final int BLEND = 5; // number of surrounding tiles for ground blending
+	private static final int TILE_SIZE = Region.X * MAP_SCALE; // each region is one tile at the deepest zoom level
+	private static final int TILE_ZOOM = 8; // region coordinates are 8 bits
+	private static final int TILE_COUNT = 1 << TILE_ZOOM;
+	private static final String TILE_CRCS = "crcs.txt";
+	private static final int MAX_LOADED_REGIONS = 256; // regions are decoded as they are drawn, and at most this many kept
 
 	private static int[] colorPalette = new ColorPalette(0.9d, 0, 512).getColorPalette();
 
@@ -96,6 +120,11 @@ public class MapImageDumper
 	public MapImageDumper(Store store)
 	{
 		this.store = store;
+		if (store.getArchiveCache() == null)
+		{
+			// the sprites are loaded by both the sprite manager and loadSprites()
+			store.setArchiveCache(new ArchiveCache(ArchiveCache.DEFAULT_MAXIMUM_BYTES));
+		}
 		this.areas = new AreaManager(store);
 		this.sprites = new SpriteManager(store);
 		objectManager = new ObjectManager(store);
@@ -158,15 +187,375 @@ public class MapImageDumper
 		return image;
 	}
 
+	/**
+	 * Renders plane z as a pyramid of PNG tiles in the slippy map layout,
+	 * {@code outDir/<plane>/<zoom>/<x>/<y>.png}, on the common pool.
+	 *
+	 * @see #drawTiles(int, File, ForkJoinPool)
+	 */
+	public int drawTiles(int z, File outDir) throws IOException
+	{
+		return drawTiles(z, outDir, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Renders plane z as a pyramid of PNG tiles in the slippy map layout,
+	 * {@code outDir/<plane>/<zoom>/<x>/<y>.png}. At the deepest zoom level
+	 * each tile is one region, with region x as the tile x and north at the
+	 * top; each level above halves the resolution.
+	 * <p>
+	 * Regions are rendered in parallel on the pool, each thread drawing into
+	 * its own reused buffers, and every tile is written out as soon as it is
+	 * finished, so memory use depends on the pool size rather than on the
+	 * size of the map. The crcs of the map and landscape archives of each
+	 * region are kept next to the tiles, and later runs into the same
+	 * directory only redraw the regions whose archives changed, along with
+	 * their neighbours and the tiles above them.
+	 *
+	 * @return the number of region tiles drawn
+	 */
+	public int drawTiles(int z, File outDir, ForkJoinPool pool) throws IOException
+	{
+		File planeDir = new File(outDir, Integer.toString(z));
+		File crcFile = new File(planeDir, TILE_CRCS);
+
+		Map<Integer, Long> previousCrcs = readTileCrcs(crcFile);
+		Map<Integer, Long> crcs = new HashMap<>();
+		for (int regionId : regionLoader.getRegionIds())
+		{
+			crcs.put(regionId, getRegionCrc(regionId));
+		}
+
+		// a region also changes the tiles around it, through ground blending and
+		// icons which hang over the region edge
+		Set<Integer> changed = new HashSet<>();
+		for (Map.Entry<Integer, Long> entry : crcs.entrySet())
+		{
+			if (!entry.getValue().equals(previousCrcs.get(entry.getKey())))
+			{
+				changed.add(entry.getKey());
+			}
+		}
+		for (Integer regionId : previousCrcs.keySet())
+		{
+			if (!crcs.containsKey(regionId))
+			{
+				changed.add(regionId);
+			}
+		}
+
+		// drawn in id order, which keeps the neighbours of recent regions decoded
+		Set<Integer> dirty = new TreeSet<>();
+		for (int regionId : changed)
+		{
+			int regionX = regionId >> 8;
+			int regionY = regionId & 0xFF;
+			for (int dx = -1; dx <= 1; ++dx)
+			{
+				for (int dy = -1; dy <= 1; ++dy)
+				{
+					int x = regionX + dx;
+					int y = regionY + dy;
+					if (x >= 0 && x < TILE_COUNT && y >= 0 && y < TILE_COUNT)
+					{
+						dirty.add(x << 8 | y);
+					}
+				}
+			}
+		}
+
+		logger.info("Drawing plane {}: {} of {} regions changed, {} tiles to redraw", z, changed.size(), crcs.size(), dirty.size());
+
+		Queue<TileBuffers> buffers = new ConcurrentLinkedQueue<>();
+		AtomicInteger drawn = new AtomicInteger();
+		Set<Integer> tiles = new HashSet<>();
+		for (int regionId : dirty)
+		{
+			// y is flipped, the tile y grows southward
+			tiles.add((regionId >> 8) << 16 | (TILE_COUNT - 1 - (regionId & 0xFF)));
+		}
+
+		runTiles(pool, dirty, regionId ->
+		{
+			Region region = regionLoader.findRegionForWorldCoordinates((regionId >> 8) * Region.X, (regionId & 0xFF) * Region.Y);
+			File file = tileFile(planeDir, TILE_ZOOM, regionId >> 8, TILE_COUNT - 1 - (regionId & 0xFF));
+			if (region == null)
+			{
+				Files.deleteIfExists(file.toPath());
+				return;
+			}
+
+			TileBuffers buf = borrow(buffers);
+			try
+			{
+				drawRegionTile(buf, region, z);
+				writeTile(buf.tile, file);
+				drawn.incrementAndGet();
+			}
+			finally
+			{
+				buffers.add(buf);
+			}
+		});
+
+		for (int zoom = TILE_ZOOM - 1; zoom >= 0; --zoom)
+		{
+			Set<Integer> parents = new HashSet<>();
+			for (int tile : tiles)
+			{
+				parents.add((tile >>> 17) << 16 | (tile & 0xFFFF) >> 1);
+			}
+
+			final int parentZoom = zoom;
+			runTiles(pool, parents, tile ->
+			{
+				TileBuffers buf = borrow(buffers);
+				try
+				{
+					downsampleTile(buf, planeDir, parentZoom, tile >>> 16, tile & 0xFFFF);
+				}
+				finally
+				{
+					buffers.add(buf);
+				}
+			});
+
+			tiles = parents;
+		}
+
+		writeTileCrcs(crcFile, crcs);
+		return drawn.get();
+	}
+
+	/**
+	 * Draws a region into the middle of the tile buffers. The regions to the
+	 * west, north and north west have their objects and icons drawn around
+	 * it, since those can be drawn over the edge into this region.
+	 */
+	private void drawRegionTile(TileBuffers buf, Region region, int z)
+	{
+		Arrays.fill(buf.pixels, 0);
+
+		drawMap(buf.image, Region.X, Region.Y, z, region, buf.map, buf.above);
+
+		Region west = regionLoader.findRegionForWorldCoordinates(region.getBaseX() - Region.X, region.getBaseY());
+		Region north = regionLoader.findRegionForWorldCoordinates(region.getBaseX(), region.getBaseY() + Region.Y);
+		Region northWest = regionLoader.findRegionForWorldCoordinates(region.getBaseX() - Region.X, region.getBaseY() + Region.Y);
+
+		Region[] regions = {northWest, north, west, region};
+		int[][] drawBases = {{0, 0}, {Region.X, 0}, {0, Region.Y}, {Region.X, Region.Y}};
+		for (int i = 0; i < regions.length; ++i)
+		{
+			if (regions[i] != null)
+			{
+				drawObjects(buf.image, drawBases[i][0], drawBases[i][1], regions[i], z);
+			}
+		}
+		for (int i = 0; i < regions.length; ++i)
+		{
+			if (regions[i] != null)
+			{
+				drawMapIcons(buf.image, drawBases[i][0], drawBases[i][1], regions[i], z);
+			}
+		}
+	}
+
+	/**
+	 * Redraws a tile from the average of each 2x2 block of pixels of the four
+	 * tiles below it, or removes it if none of those exist
+	 */
+	private static void downsampleTile(TileBuffers buf, File planeDir, int zoom, int x, int y) throws IOException
+	{
+		int[] out = buf.scaledPixels;
+		Arrays.fill(out, 0);
+
+		boolean empty = true;
+		for (int child = 0; child < 4; ++child)
+		{
+			int childX = x * 2 + (child & 1);
+			int childY = y * 2 + (child >> 1);
+			File childFile = tileFile(planeDir, zoom + 1, childX, childY);
+			if (!childFile.exists())
+			{
+				continue;
+			}
+
+			BufferedImage image = ImageIO.read(childFile);
+			if (image == null)
+			{
+				throw new IOException("unable to read tile " + childFile);
+			}
+			image.getRGB(0, 0, TILE_SIZE, TILE_SIZE, buf.childPixels, 0, TILE_SIZE);
+			empty = false;
+
+			int half = TILE_SIZE / 2;
+			int offset = (child >> 1) * half * TILE_SIZE + (child & 1) * half;
+			for (int py = 0; py < half; ++py)
+			{
+				for (int px = 0; px < half; ++px)
+				{
+					int i = py * 2 * TILE_SIZE + px * 2;
+					out[offset + py * TILE_SIZE + px] = average(buf.childPixels[i], buf.childPixels[i + 1],
+						buf.childPixels[i + TILE_SIZE], buf.childPixels[i + TILE_SIZE + 1]);
+				}
+			}
+		}
+
+		File file = tileFile(planeDir, zoom, x, y);
+		if (empty)
+		{
+			Files.deleteIfExists(file.toPath());
+			return;
+		}
+
+		buf.scaled.setRGB(0, 0, TILE_SIZE, TILE_SIZE, out, 0, TILE_SIZE);
+		writeTile(buf.scaled, file);
+	}
+
+	private static int average(int a, int b, int c, int d)
+	{
+		int r = ((a >> 16 & 0xFF) + (b >> 16 & 0xFF) + (c >> 16 & 0xFF) + (d >> 16 & 0xFF)) >> 2;
+		int g = ((a >> 8 & 0xFF) + (b >> 8 & 0xFF) + (c >> 8 & 0xFF) + (d >> 8 & 0xFF)) >> 2;
+		int bl = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF)) >> 2;
+		return r << 16 | g << 8 | bl;
+	}
+
+	private long getRegionCrc(int regionId)
+	{
+		Index index = store.getIndex(IndexType.MAPS);
+		Archive map = index.findArchiveByName("m" + (regionId >> 8) + "_" + (regionId & 0xFF));
+		Archive land = index.findArchiveByName("l" + (regionId >> 8) + "_" + (regionId & 0xFF));
+		return (long) (map != null ? map.getCrc() : 0) << 32 | (land != null ? land.getCrc() : 0) & 0xFFFF_FFFFL;
+	}
+
+	private static TileBuffers borrow(Queue<TileBuffers> buffers)
+	{
+		TileBuffers buf = buffers.poll();
+		return buf != null ? buf : new TileBuffers();
+	}
+
+	private static File tileFile(File planeDir, int zoom, int x, int y)
+	{
+		return new File(planeDir, zoom + File.separator + x + File.separator + y + ".png");
+	}
+
+	private static void writeTile(BufferedImage image, File file) throws IOException
+	{
+		file.getParentFile().mkdirs();
+		ImageIO.write(image, "png", file);
+	}
+
+	/**
+	 * Runs a task for each tile on the pool and waits for all of them
+	 */
+	private static void runTiles(ForkJoinPool pool, Set<Integer> tiles, TileTask task) throws IOException
+	{
+		CompletableFuture<?>[] futures = new CompletableFuture[tiles.size()];
+		int i = 0;
+		for (int tile : tiles)
+		{
+			futures[i++] = CompletableFuture.runAsync(() ->
+			{
+				try
+				{
+					task.run(tile);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}, pool);
+		}
+
+		try
+		{
+			CompletableFuture.allOf(futures).join();
+		}
+		catch (CompletionException ex)
+		{
+			if (ex.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) ex.getCause()).getCause();
+			}
+			throw ex;
+		}
+	}
+
+	private static Map<Integer, Long> readTileCrcs(File file) throws IOException
+	{
+		Map<Integer, Long> crcs = new HashMap<>();
+		if (!file.exists())
+		{
+			return crcs;
+		}
+
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8))
+		{
+			String[] split = line.split(" ");
+			if (split.length == 2)
+			{
+				crcs.put(Integer.parseInt(split[0]), Long.parseLong(split[1]));
+			}
+		}
+		return crcs;
+	}
+
+	private static void writeTileCrcs(File file, Map<Integer, Long> crcs) throws IOException
+	{
+		file.getParentFile().mkdirs();
+
+		List<String> lines = new ArrayList<>(crcs.size());
+		for (Map.Entry<Integer, Long> entry : new TreeMap<>(crcs).entrySet())
+		{
+			lines.add(entry.getKey() + " " + entry.getValue());
+		}
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+	@FunctionalInterface
+	private interface TileTask
+	{
+		void run(int tile) throws IOException;
+	}
+
+	/**
+	 * Scratch space for drawing one tile, reused between tiles
+	 */
+	private static class TileBuffers
+	{
+		private final int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		private final int[][] above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+
+		// the region is drawn in the bottom right quarter, with its western and
+		// northern neighbours in the rest
+		private final BufferedImage image = new BufferedImage(TILE_SIZE * 2, TILE_SIZE * 2, BufferedImage.TYPE_INT_RGB);
+		private final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		private final BufferedImage tile = image.getSubimage(TILE_SIZE, TILE_SIZE, TILE_SIZE, TILE_SIZE);
+
+		private final int[] childPixels = new int[TILE_SIZE * TILE_SIZE];
+		private final int[] scaledPixels = new int[TILE_SIZE * TILE_SIZE];
+		private final BufferedImage scaled = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
-		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		drawMap(image, drawBaseX, drawBaseY, z, region,
+			new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE],
+			new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE]);
+	}
+
+	/**
+	 * Draws the terrain of a region using the given scratch arrays, which
+	 * are cleared first
+	 */
+	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region, int[][] map, int[][] above)
+	{
+		clear(map);
 		drawMap(map, region, z);
 
-		int[][] above = null;
 		if (z < 3)
 		{
-			above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+			clear(above);
 			drawMap(above, region, z + 1);
 		}
 
@@ -192,8 +581,12 @@ public class MapImageDumper
 
 	private void drawMap(BufferedImage image, int z)
 	{
-		for (Region region : regionLoader.getRegions())
+		int[][] map = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+		int[][] above = new int[Region.X * MAP_SCALE][Region.Y * MAP_SCALE];
+
+		for (int regionId : regionLoader.getRegionIds())
 		{
+			Region region = regionLoader.getRegion(regionId);
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
 
@@ -204,7 +597,15 @@ public class MapImageDumper
 			// region has the greatest y, so invert
 			int drawBaseY = regionLoader.getHighestY().getBaseY() - baseY;
 
-			drawMap(image, drawBaseX, drawBaseY, z, region);
+			drawMap(image, drawBaseX, drawBaseY, z, region, map, above);
+		}
+	}
+
+	private static void clear(int[][] pixels)
+	{
+		for (int[] column : pixels)
+		{
+			Arrays.fill(column, 0);
 		}
 	}
 
@@ -233,10 +634,20 @@ public class MapImageDumper
 		int[] mul = new int[len];
 		int[] num = new int[len];
 
-		boolean hasLeftRegion = regionLoader.findRegionForWorldCoordinates(baseX - 1, baseY) != null;
-		boolean hasRightRegion = regionLoader.findRegionForWorldCoordinates(baseX + Region.X, baseY) != null;
-		boolean hasUpRegion = regionLoader.findRegionForWorldCoordinates(baseX, baseY + Region.Y) != null;
-		boolean hasDownRegion = regionLoader.findRegionForWorldCoordinates(baseX, baseY - 1) != null;
+		// the region and the ones around it, so the blending doesn't have to look them up for each tile
+		Region[] neighbours = new Region[9];
+		for (int dx = -1; dx <= 1; ++dx)
+		{
+			for (int dy = -1; dy <= 1; ++dy)
+			{
+				neighbours[(dx + 1) * 3 + dy + 1] = regionLoader.findRegionForWorldCoordinates(baseX + dx * Region.X, baseY + dy * Region.Y);
+			}
+		}
+
+		boolean hasLeftRegion = neighbours[1] != null;
+		boolean hasRightRegion = neighbours[7] != null;
+		boolean hasUpRegion = neighbours[5] != null;
+		boolean hasDownRegion = neighbours[3] != null;
 
 		for (int xi = (hasLeftRegion ? -BLEND * 2 : -BLEND); xi < Region.X + (hasRightRegion ? BLEND * 2 : BLEND); ++xi)
 		{
@@ -245,7 +656,7 @@ public class MapImageDumper
 				int xr = xi + BLEND;
 				if (xr >= (hasLeftRegion ? -BLEND : 0) && xr < Region.X + (hasRightRegion ? BLEND : 0))
 				{
-					Region r = regionLoader.findRegionForWorldCoordinates(baseX + xr, baseY + yi);
+					Region r = neighbour(neighbours, xr, yi);
 					if (r != null)
 					{
 						int underlayId = r.getUnderlayId(z, convert(xr), convert(yi));
@@ -264,7 +675,7 @@ public class MapImageDumper
 				int xl = xi - BLEND;
 				if (xl >= (hasLeftRegion ? -BLEND : 0) && xl < Region.X + (hasRightRegion ? BLEND : 0))
 				{
-					Region r = regionLoader.findRegionForWorldCoordinates(baseX + xl, baseY + yi);
+					Region r = neighbour(neighbours, xl, yi);
 					if (r != null)
 					{
 						int underlayId = r.getUnderlayId(z, convert(xl), convert(yi));
@@ -313,7 +724,7 @@ public class MapImageDumper
 
 					if (yi >= 0 && yi < Region.Y)
 					{
-						Region r = regionLoader.findRegionForWorldCoordinates(baseX + xi, baseY + yi);
+						Region r = neighbour(neighbours, xi, yi);
 						if (r != null)
 						{
 							int underlayId = r.getUnderlayId(z, convert(xi), convert(yi));
@@ -472,6 +883,11 @@ public class MapImageDumper
 		}
 	}
 
+	private static Region neighbour(Region[] neighbours, int x, int y)
+	{
+		return neighbours[(Math.floorDiv(x, Region.X) + 1) * 3 + Math.floorDiv(y, Region.Y) + 1];
+	}
+
 	private static int convert(int d)
 	{
 		if (d >= 0)
@@ -692,8 +1108,9 @@ public class MapImageDumper
 
 	private void drawObjects(BufferedImage image, int z)
 	{
-		for (Region region : regionLoader.getRegions())
+		for (int regionId : regionLoader.getRegionIds())
 		{
+			Region region = regionLoader.getRegion(regionId);
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
 
@@ -736,8 +1153,9 @@ public class MapImageDumper
 	private void drawMapIcons(BufferedImage image, int z)
 	{
 		// map icons
-		for (Region region : regionLoader.getRegions())
+		for (int regionId : regionLoader.getRegionIds())
 		{
+			Region region = regionLoader.getRegion(regionId);
 			int baseX = region.getBaseX();
 			int baseY = region.getBaseY();
 
@@ -894,7 +1312,7 @@ public class MapImageDumper
 	private void loadRegions(Store store) throws IOException
 	{
 		regionLoader = new RegionLoader(store);
-		regionLoader.loadRegions();
+		regionLoader.indexRegions(MAX_LOADED_REGIONS);
 		regionLoader.calculateBounds();
 
 		logger.info("North most region: {}", regionLoader.getLowestY().getBaseY());
@@ -905,12 +1323,10 @@ public class MapImageDumper
 
 	private void loadUnderlays(Store store) throws IOException
 	{
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.UNDERLAY.getId());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = store.getArchiveFiles(archive);
 
 		for (FSFile file : files.getFiles())
 		{
@@ -928,12 +1344,10 @@ public class MapImageDumper
 
 	private void loadOverlays(Store store) throws IOException
 	{
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.OVERLAY.getId());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = store.getArchiveFiles(archive);
 
 		for (FSFile file : files.getFiles())
 		{
@@ -951,13 +1365,12 @@ public class MapImageDumper
 
 	private void loadSprites() throws IOException
 	{
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.SPRITES);
 		final int mapsceneHash = Djb2.hash("mapscene");
 
 		for (Archive a : index.getArchives())
 		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+			byte[] contents = store.getArchiveFiles(a).getFiles().get(0).getContents();
 
 			SpriteLoader loader = new SpriteLoader();
 			SpriteDefinition[] sprites = loader.load(a.getArchiveId(), contents);
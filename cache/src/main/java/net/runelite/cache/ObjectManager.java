@@ -37,7 +37,6 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.ArchiveFiles;
 import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.util.IDClass;
 
@@ -55,12 +54,10 @@ public class ObjectManager
 	{
 		ObjectLoader loader = new ObjectLoader();
 
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.CONFIGS);
 		Archive archive = index.getArchive(ConfigType.OBJECT.getId());
 
-		byte[] archiveData = storage.loadArchive(archive);
-		ArchiveFiles files = archive.getFiles(archiveData);
+		ArchiveFiles files = store.getArchiveFiles(archive);
 
 		for (FSFile f : files.getFiles())
 		{
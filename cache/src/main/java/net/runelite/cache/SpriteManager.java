@@ -37,7 +37,6 @@ import net.runelite.cache.definitions.loaders.SpriteLoader;
 import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class SpriteManager implements SpriteProvider
@@ -52,12 +51,11 @@ public class SpriteManager implements SpriteProvider
 
 	public void load() throws IOException
 	{
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.SPRITES);
 
 		for (Archive a : index.getArchives())
 		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+			byte[] contents = store.getArchiveFiles(a).getFiles().get(0).getContents();
 
 			SpriteLoader loader = new SpriteLoader();
 			SpriteDefinition[] defs = loader.load(a.getArchiveId(), contents);
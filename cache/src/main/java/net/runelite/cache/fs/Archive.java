@@ -24,6 +24,7 @@
  */
 package net.runelite.cache.fs;
 
+import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import net.runelite.cache.index.FileData;
 import org.slf4j.Logger;
@@ -106,6 +107,27 @@ public class Archive
 		byte[] encryptedData = data;
 
 		Container container = Container.decompress(encryptedData, keys);
+		return verify(container);
+	}
+
+	/**
+	 * Decompresses archive data from a buffer. Encrypted data is decrypted
+	 * in place, modifying the buffer.
+	 *
+	 * @param data
+	 * @param keys xtea keys, or null
+	 * @return
+	 * @throws IOException
+	 * @see Container#decompress(ByteBuf, int[])
+	 */
+	public byte[] decompress(ByteBuf data, int[] keys) throws IOException
+	{
+		Container container = Container.decompress(data, keys);
+		return verify(container);
+	}
+
+	private byte[] verify(Container container) throws IOException
+	{
 		if (container == null)
 		{
 			logger.warn("Unable to decrypt archive {}", this);
@@ -145,7 +167,11 @@ public class Archive
 	public ArchiveFiles getFiles(byte[] data, int[] keys) throws IOException
 	{
 		byte[] decompressedData = decompress(data, keys);
+		return loadFiles(decompressedData);
+	}
 
+	ArchiveFiles loadFiles(byte[] decompressedData)
+	{
 		ArchiveFiles files = new ArchiveFiles();
 		for (FileData fileEntry : fileData)
 		{
@@ -169,7 +195,11 @@ public class Archive
 
 	public void setNameHash(int nameHash)
 	{
-		this.nameHash = nameHash;
+		if (this.nameHash != nameHash)
+		{
+			this.nameHash = nameHash;
+			index.archiveRenamed();
+		}
 	}
 
 	public int getCrc()
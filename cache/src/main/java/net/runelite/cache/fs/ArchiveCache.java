@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import lombok.Value;
+
+/**
+ * A size bounded cache of decompressed archive files, shared between the
+ * managers loading from a store. Archives are keyed by their index, id and
+ * crc, so a cache may be shared between stores of the same cache. The
+ * revision is not part of the key, since loading an archive may correct
+ * it. The cached files are shared, and must not be modified.
+ */
+public class ArchiveCache
+{
+	/**
+	 * Default size of the cache, enough to hold the decompressed config,
+	 * sprite, and texture archives shared between the managers
+	 */
+	public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+	// approximate size of an FSFile and its map entry in ArchiveFiles
+	private static final int FILE_OVERHEAD = 64;
+
+	@Value
+	private static class Key
+	{
+		int index;
+		int archive;
+		int crc;
+	}
+
+	private final Cache<Key, ArchiveFiles> cache;
+
+	/**
+	 * @param maximumBytes maximum size of the cached file contents
+	 */
+	public ArchiveCache(long maximumBytes)
+	{
+		cache = CacheBuilder.newBuilder()
+			// a single segment, so that the whole budget is available to each archive and eviction is lru over all of them
+			.concurrencyLevel(1)
+			.maximumWeight(maximumBytes)
+			.weigher((Key k, ArchiveFiles files) -> weigh(files))
+			.recordStats()
+			.build();
+	}
+
+	private static int weigh(ArchiveFiles files)
+	{
+		long size = 0;
+		for (FSFile file : files.getFiles())
+		{
+			size += FILE_OVERHEAD + (file.getContents() != null ? file.getContents().length : 0);
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	public ArchiveFiles getFiles(Storage storage, Archive archive) throws IOException
+	{
+		return getFiles(storage, archive, null);
+	}
+
+	/**
+	 * Gets the files of an archive, loading and decompressing it from the
+	 * storage if it is not cached
+	 *
+	 * @param storage storage to load the archive from
+	 * @param archive
+	 * @param keys xtea keys of the archive, or null
+	 * @return
+	 * @throws IOException
+	 */
+	public ArchiveFiles getFiles(Storage storage, Archive archive, int[] keys) throws IOException
+	{
+		Key key = new Key(archive.getIndex().getId(), archive.getArchiveId(), archive.getCrc());
+
+		try
+		{
+			return cache.get(key, () ->
+			{
+				byte[] data = storage.loadArchive(archive);
+				if (data == null)
+				{
+					throw new IOException("unable to load archive " + archive.getIndex().getId() + "/" + archive.getArchiveId());
+				}
+
+				return archive.getFiles(data, keys);
+			});
+		}
+		catch (ExecutionException ex)
+		{
+			if (ex.getCause() instanceof IOException)
+			{
+				throw (IOException) ex.getCause();
+			}
+			throw new IOException(ex.getCause());
+		}
+		catch (UncheckedExecutionException ex)
+		{
+			// rethrow runtime exceptions from decoding as they would be without the cache
+			Throwables.throwIfUnchecked(ex.getCause());
+			throw ex;
+		}
+	}
+
+	public void invalidateAll()
+	{
+		cache.invalidateAll();
+	}
+
+	public long size()
+	{
+		return cache.size();
+	}
+
+	/**
+	 * Hit, miss, load, and eviction counts of this cache
+	 *
+	 * @return
+	 */
+	public CacheStats stats()
+	{
+		return cache.stats();
+	}
+}
@@ -26,9 +26,10 @@ package net.runelite.cache.fs;
 
 import static com.google.common.primitives.Bytes.concat;
 import com.google.common.primitives.Ints;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import net.runelite.cache.fs.jagex.CompressionType;
-import net.runelite.cache.io.InputStream;
 import net.runelite.cache.io.OutputStream;
 import net.runelite.cache.util.BZip2;
 import net.runelite.cache.util.Crc32;
@@ -41,6 +42,15 @@ public class Container
 {
 	private static final Logger logger = LoggerFactory.getLogger(Container.class);
 
+	/**
+	 * Upper bound on the decompressed length in a container header. The
+	 * output array is allocated from this length before decompressing, and
+	 * with the wrong xtea keys it is decrypted garbage, so it is bounded to
+	 * avoid allocating up to 2gb for a bad key. The largest archives in the
+	 * cache decompress to a few mb.
+	 */
+	private static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
 	public byte[] data;
 	public int compression; // compression
 	public int revision;
@@ -92,94 +102,72 @@ public class Container
 
 	public static Container decompress(byte[] b, int[] keys) throws IOException
 	{
-		InputStream stream = new InputStream(b);
+		// decryption is done in place, so don't modify the caller's data
+		return decompress(Unpooled.wrappedBuffer(keys != null ? b.clone() : b), keys);
+	}
 
-		int compression = stream.readUnsignedByte();
-		int compressedLength = stream.readInt();
+	/**
+	 * Decodes a container from the readable bytes of a buffer. Encrypted
+	 * data is decrypted in place, so the contents of the buffer are modified
+	 * if keys are given. The buffer's reader index is moved past the container.
+	 *
+	 * @param buf
+	 * @param keys xtea keys, or null
+	 * @return
+	 * @throws IOException
+	 */
+	public static Container decompress(ByteBuf buf, int[] keys) throws IOException
+	{
+		int start = buf.readerIndex();
+
+		int compression = buf.readUnsignedByte();
+		int compressedLength = buf.readInt();
 		if (compressedLength < 0 || compressedLength > 1000000)
 		{
 			throw new RuntimeException("Invalid data");
 		}
 
+		// compressed data is prefixed with its decompressed length
+		int encryptedLength = compression == CompressionType.NONE ? compressedLength : compressedLength + 4;
+		int dataIndex = buf.readerIndex();
+
 		Crc32 crc32 = new Crc32();
-		crc32.update(b, 0, 5); // compression + length
+		crc32.update(buf, start, 5 + encryptedLength); // compression + length + data
+
+		if (keys != null)
+		{
+			Xtea xtea = new Xtea(keys);
+			xtea.decrypt(buf, dataIndex, encryptedLength);
+		}
+
+		buf.skipBytes(encryptedLength);
 
-		byte[] data;
 		int revision = -1;
+		if (buf.readableBytes() >= 2)
+		{
+			revision = buf.readUnsignedShort();
+			assert revision != -1;
+		}
+
+		byte[] data;
 		switch (compression)
 		{
 			case CompressionType.NONE:
 			{
-				byte[] encryptedData = new byte[compressedLength];
-				stream.readBytes(encryptedData, 0, compressedLength);
-
-				crc32.update(encryptedData, 0, compressedLength);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				data = decryptedData;
-
+				data = new byte[compressedLength];
+				buf.getBytes(dataIndex, data);
 				break;
 			}
 			case CompressionType.BZ2:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
-
-				int decompressedLength = stream.readInt();
-				data = BZip2.decompress(stream.getRemaining(), compressedLength);
-
-				if (data == null)
-				{
-					return null;
-				}
-
-				assert data.length == decompressedLength;
-
+				int decompressedLength = checkDecompressedLength(buf.getInt(dataIndex));
+				data = BZip2.decompress(buf.slice(dataIndex + 4, compressedLength), decompressedLength);
 				break;
 			}
 			case CompressionType.GZ:
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
-
-				int decompressedLength = stream.readInt();
-				data = GZip.decompress(stream.getRemaining(), compressedLength);
-
-				if (data == null)
-				{
-					return null;
-				}
-
-				assert data.length == decompressedLength;
-
+				int decompressedLength = checkDecompressedLength(buf.getInt(dataIndex));
+				data = GZip.decompress(buf.slice(dataIndex + 4, compressedLength), decompressedLength);
 				break;
 			}
 			default:
@@ -192,15 +180,14 @@ public class Container
 		return container;
 	}
 
-	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	private static int checkDecompressedLength(int decompressedLength) throws IOException
 	{
-		if (keys == null)
+		// this is read from the decrypted data, so it is garbage if the keys are wrong
+		if (decompressedLength < 0 || decompressedLength > MAX_DECOMPRESSED_LENGTH)
 		{
-			return data;
+			throw new IOException("Invalid decompressed length " + decompressedLength);
 		}
-
-		Xtea xtea = new Xtea(keys);
-		return xtea.decrypt(data, length);
+		return decompressedLength;
 	}
 
 	private static byte[] encrypt(byte[] data, int length, int[] keys)
@@ -25,12 +25,14 @@
 package net.runelite.cache.fs;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import net.runelite.cache.index.ArchiveData;
 import net.runelite.cache.index.FileData;
 import net.runelite.cache.index.IndexData;
 import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.IntObjectMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +49,11 @@ public class Index
 	private int compression; // compression method of this index's data in 255
 
 	private final List<Archive> archives = new ArrayList<>();
+	// the first archive with each id and name hash. archives can be renamed after they are
+	// added, so the name map is rebuilt on the next lookup after a rename.
+	private final IntObjectMap<Archive> archivesById = new IntObjectMap<>();
+	private final IntObjectMap<Archive> archivesByName = new IntObjectMap<>();
+	private volatile boolean archivesByNameStale;
 
 	public Index(int id)
 	{
@@ -145,41 +152,90 @@ public class Index
 		this.compression = compression;
 	}
 
+	/**
+	 * The archives of this index, which can't be modified directly so that
+	 * the lookups by id and name stay consistent with them
+	 *
+	 * @return
+	 * @see #addArchive(int)
+	 * @see #removeArchive(Archive)
+	 */
 	public List<Archive> getArchives()
 	{
-		return archives;
+		return Collections.unmodifiableList(archives);
 	}
 
 	public Archive addArchive(int id)
 	{
 		Archive archive = new Archive(this, id);
 		this.archives.add(archive);
+		archivesById.putIfAbsent(id, archive);
+		archivesByName.putIfAbsent(archive.getNameHash(), archive);
 		return archive;
 	}
 
-	public Archive getArchive(int id)
+	public boolean removeArchive(Archive archive)
 	{
-		for (Archive a : archives)
+		if (!archives.remove(archive))
+		{
+			return false;
+		}
+
+		if (archivesById.get(archive.getArchiveId()) == archive)
 		{
-			if (a.getArchiveId() == id)
+			archivesById.remove(archive.getArchiveId());
+			for (Archive a : archives)
 			{
-				return a;
+				if (a.getArchiveId() == archive.getArchiveId())
+				{
+					archivesById.put(a.getArchiveId(), a);
+					break;
+				}
 			}
 		}
-		return null;
+
+		archivesByNameStale = true;
+		return true;
+	}
+
+	void archiveRenamed()
+	{
+		archivesByNameStale = true;
+	}
+
+	public Archive getArchive(int id)
+	{
+		return archivesById.get(id);
 	}
 
 	public Archive findArchiveByName(String name)
 	{
-		int hash = Djb2.hash(name);
-		for (Archive a : archives)
+		return findArchiveByNameHash(Djb2.hash(name));
+	}
+
+	/**
+	 * Find an archive by the hash of its name
+	 *
+	 * @param nameHash the {@link Djb2} hash of the name
+	 */
+	public Archive findArchiveByNameHash(int nameHash)
+	{
+		if (archivesByNameStale)
 		{
-			if (a.getNameHash() == hash)
+			synchronized (archivesByName)
 			{
-				return a;
+				if (archivesByNameStale)
+				{
+					archivesByName.clear();
+					for (Archive a : archives)
+					{
+						archivesByName.putIfAbsent(a.getNameHash(), a);
+					}
+					archivesByNameStale = false;
+				}
 			}
 		}
-		return null;
+		return archivesByName.get(nameHash);
 	}
 
 	public IndexData toIndexData()
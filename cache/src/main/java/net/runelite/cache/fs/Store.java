@@ -31,6 +31,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.jagex.DiskStorage;
 import org.slf4j.Logger;
@@ -42,6 +46,7 @@ public final class Store implements Closeable
 
 	private final Storage storage;
 	private final List<Index> indexes = new ArrayList<>();
+	private ArchiveCache archiveCache;
 
 	public Store(File folder) throws IOException
 	{
@@ -61,6 +66,21 @@ public final class Store implements Closeable
 		return storage;
 	}
 
+	public ArchiveCache getArchiveCache()
+	{
+		return archiveCache;
+	}
+
+	/**
+	 * Sets the cache of decompressed archives used by {@link #getArchiveFiles(Archive, int[])}
+	 *
+	 * @param archiveCache the cache, or null to not cache archives
+	 */
+	public void setArchiveCache(ArchiveCache archiveCache)
+	{
+		this.archiveCache = archiveCache;
+	}
+
 	@Override
 	public void close() throws IOException
 	{
@@ -126,6 +146,115 @@ public final class Store implements Closeable
 		storage.save(this);
 	}
 
+	public ArchiveFiles getArchiveFiles(Archive archive) throws IOException
+	{
+		return getArchiveFiles(archive, null);
+	}
+
+	/**
+	 * Loads and decompresses the files of an archive, through the archive
+	 * cache if one is set
+	 *
+	 * @param archive
+	 * @param keys xtea keys of the archive, or null
+	 * @return
+	 * @throws IOException
+	 */
+	public ArchiveFiles getArchiveFiles(Archive archive, int[] keys) throws IOException
+	{
+		if (archiveCache != null)
+		{
+			return archiveCache.getFiles(storage, archive, keys);
+		}
+
+		byte[] archiveData = storage.loadArchive(archive);
+		return archive.getFiles(archiveData, keys);
+	}
+
+	/**
+	 * Reads, verifies, and decompresses every archive of every index in
+	 * parallel. The store must already be loaded. Archives are loaded
+	 * concurrently through the storage, so it must support concurrent
+	 * reads, such as a memory mapped {@link DiskStorage}.
+	 *
+	 * @param executor executor to load archives on
+	 * @param keys provides the xtea keys for an archive, or null if it is
+	 * not encrypted. May be null if no archives are encrypted.
+	 * @param listener
+	 * @return the archives which failed to load, in index and archive order
+	 */
+	public List<Archive> loadArchives(Executor executor, Function<Archive, int[]> keys, ArchiveLoadListener listener)
+	{
+		List<Archive> archives = new ArrayList<>();
+		for (Index index : indexes)
+		{
+			archives.addAll(index.getArchives());
+		}
+
+		final int total = archives.size();
+		final boolean[] failed = new boolean[total];
+		final AtomicInteger done = new AtomicInteger();
+		CompletableFuture<?>[] futures = new CompletableFuture[total];
+
+		for (int i = 0; i < total; ++i)
+		{
+			final int idx = i;
+			final Archive archive = archives.get(i);
+			futures[i] = CompletableFuture.runAsync(() ->
+			{
+				ArchiveFiles files = loadArchive(archive, keys != null ? keys.apply(archive) : null);
+				if (files != null)
+				{
+					listener.archiveLoaded(archive, files);
+				}
+				else
+				{
+					failed[idx] = true;
+				}
+
+				listener.progress(done.incrementAndGet(), total);
+			}, executor);
+		}
+
+		CompletableFuture.allOf(futures).join();
+
+		List<Archive> failures = new ArrayList<>();
+		for (int i = 0; i < total; ++i)
+		{
+			if (failed[i])
+			{
+				failures.add(archives.get(i));
+			}
+		}
+		return failures;
+	}
+
+	private ArchiveFiles loadArchive(Archive archive, int[] keys)
+	{
+		try
+		{
+			byte[] data = storage.loadArchive(archive);
+			if (data == null)
+			{
+				logger.warn("unable to read archive {}/{}", archive.getIndex().getId(), archive.getArchiveId());
+				return null;
+			}
+
+			byte[] decompressedData = archive.decompress(data, keys);
+			if (decompressedData == null)
+			{
+				return null;
+			}
+
+			return archive.loadFiles(decompressedData);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			logger.warn("unable to load archive {}/{}", archive.getIndex().getId(), archive.getArchiveId(), ex);
+			return null;
+		}
+	}
+
 	public List<Index> getIndexes()
 	{
 		return indexes;
@@ -222,8 +222,9 @@ public class FlatStorage implements Storage
 				br.printf("crc=%d\n", idx.getCrc());
 				br.printf("named=%b\n", idx.isNamed());
 
-				idx.getArchives().sort(Comparator.comparing(Archive::getArchiveId));
-				for (Archive archive : idx.getArchives())
+				List<Archive> archives = new ArrayList<>(idx.getArchives());
+				archives.sort(Comparator.comparing(Archive::getArchiveId));
+				for (Archive archive : archives)
 				{
 					br.printf("id=%d\n", archive.getArchiveId());
 					br.printf("namehash=%d\n", archive.getNameHash());
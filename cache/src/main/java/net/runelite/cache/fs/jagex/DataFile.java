@@ -30,6 +30,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,24 +43,95 @@ public class DataFile implements Closeable
 
 	private static final int SECTOR_SIZE = 520;
 
+	// mappings are limited to 2gb, and each one holds a whole number of sectors
+	private static final int SECTORS_PER_MAP = Integer.MAX_VALUE / SECTOR_SIZE;
+
 	private final RandomAccessFile dat;
+	private final MappedByteBuffer[] maps; // read only mappings of the file, or null if not mapped
+	private final long length; // length of the mapped file
 
 	public DataFile(File file) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.maps = null;
+		this.length = -1L;
+	}
+
+	private DataFile(MappedByteBuffer[] maps, long length)
+	{
+		this.dat = null;
+		this.maps = maps;
+		this.length = length;
+	}
+
+	/**
+	 * Maps the given data file read only. Reads from the returned data file
+	 * do not lock, and so may be done from many threads at once. Writing
+	 * to a mapped data file is not supported.
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static DataFile map(File file) throws IOException
+	{
+		try (FileChannel channel = open(file))
+		{
+			long length = channel.size();
+			long mapSize = (long) SECTORS_PER_MAP * SECTOR_SIZE;
+			MappedByteBuffer[] maps = new MappedByteBuffer[(int) ((length + mapSize - 1) / mapSize)];
+
+			for (int i = 0; i < maps.length; ++i)
+			{
+				long position = i * mapSize;
+				maps[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mapSize, length - position));
+			}
+
+			return new DataFile(maps, length);
+		}
+	}
+
+	private static FileChannel open(File file) throws IOException
+	{
+		try
+		{
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		}
+		catch (NoSuchFileException ex)
+		{
+			// create a missing file, as opening it for writing does
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		}
+	}
+
+	public boolean isMapped()
+	{
+		return maps != null;
 	}
 
 	@Override
 	public void close() throws IOException
 	{
-		dat.close();
+		if (dat != null)
+		{
+			dat.close();
+		}
 	}
 
 	public void clear() throws IOException
 	{
+		checkWritable();
 		dat.setLength(0L);
 	}
 
+	private void checkWritable() throws IOException
+	{
+		if (maps != null)
+		{
+			throw new IOException("data file is mapped read only");
+		}
+	}
+
 	/**
 	 *
 	 * @param indexId expected index of archive of contents being read
@@ -66,7 +141,145 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (maps != null)
+		{
+			byte[] data = new byte[size];
+			return readMapped(indexId, archiveId, sector, size, data, null) ? data : null;
+		}
+
+		synchronized (this)
+		{
+			return readFile(indexId, archiveId, sector, size);
+		}
+	}
+
+	/**
+	 * Reads the contents of an archive without copying it. If the data file
+	 * is mapped, each returned buffer is a read only slice of the mapping
+	 * holding the data of one sector, in order. Otherwise the contents are
+	 * read as usual and returned in a single buffer.
+	 *
+	 * @param indexId expected index of archive of contents being read
+	 * @param archiveId expected archive of contents being read
+	 * @param sector sector to start reading at
+	 * @param size size of file
+	 * @return
+	 * @throws IOException
+	 */
+	public ByteBuffer[] readSlices(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (maps == null)
+		{
+			byte[] data = read(indexId, archiveId, sector, size);
+			return data != null ? new ByteBuffer[]{ByteBuffer.wrap(data).asReadOnlyBuffer()} : null;
+		}
+
+		int blockSize = SECTOR_SIZE - (archiveId > 0xFFFF ? 10 : 8);
+		ByteBuffer[] slices = new ByteBuffer[(size + blockSize - 1) / blockSize];
+		return readMapped(indexId, archiveId, sector, size, null, slices) ? slices : null;
+	}
+
+	/**
+	 * Follows the sector chain of an archive through the mapped file. The
+	 * data is either copied into {@code out}, or sliced into {@code slices}.
+	 */
+	private boolean readMapped(int indexId, int archiveId, int sector, int size, byte[] out, ByteBuffer[] slices)
+	{
+		if (sector <= 0L || length / SECTOR_SIZE < (long) sector)
+		{
+			logger.warn("bad read, dat length {}, requested sector {}", length, sector);
+			return false;
+		}
+
+		final int headerSize = archiveId > 0xFFFF ? 10 : 8;
+
+		for (int part = 0, readBytesCount = 0, nextSector;
+			size > readBytesCount;
+			sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return false;
+			}
+
+			int dataBlockSize = Math.min(size - readBytesCount, SECTOR_SIZE - headerSize);
+
+			int mapIdx = sector / SECTORS_PER_MAP;
+			int offset = (sector % SECTORS_PER_MAP) * SECTOR_SIZE;
+			if (mapIdx >= maps.length || offset + headerSize + dataBlockSize > maps[mapIdx].limit())
+			{
+				logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+				return false;
+			}
+
+			// only absolute reads are done on the shared mapping
+			MappedByteBuffer map = maps[mapIdx];
+
+			int currentIndex;
+			int currentPart;
+			int currentArchive;
+			if (headerSize == 10)
+			{
+				currentArchive = map.getInt(offset);
+				currentPart = map.getShort(offset + 4) & 0xFFFF;
+				nextSector = readMedium(map, offset + 6);
+				currentIndex = map.get(offset + 9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = map.getShort(offset) & 0xFFFF;
+				currentPart = map.getShort(offset + 2) & 0xFFFF;
+				nextSector = readMedium(map, offset + 4);
+				currentIndex = map.get(offset + 7) & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return false;
+			}
+
+			if (nextSector < 0 || length / SECTOR_SIZE < (long) nextSector)
+			{
+				logger.warn("Invalid next sector");
+				return false;
+			}
+
+			ByteBuffer block = map.duplicate();
+			block.limit(offset + headerSize + dataBlockSize);
+			block.position(offset + headerSize);
+
+			if (out != null)
+			{
+				block.get(out, readBytesCount, dataBlockSize);
+			}
+			else
+			{
+				slices[part] = block.slice().asReadOnlyBuffer();
+			}
+
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return true;
+	}
+
+	private static int readMedium(ByteBuffer buffer, int offset)
+	{
+		return ((buffer.get(offset) & 0xFF) << 16)
+			| ((buffer.get(offset + 1) & 0xFF) << 8)
+			| (buffer.get(offset + 2) & 0xFF);
+	}
+
+	private byte[] readFile(int indexId, int archiveId, int sector, int size) throws IOException
 	{
 		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
 		{
@@ -171,6 +384,8 @@ public class DataFile implements Closeable
 
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
 	{
+		checkWritable();
+
 		int sector;
 		int startSector;
 
@@ -26,10 +26,10 @@ package net.runelite.cache.fs.jagex;
 
 import com.google.common.primitives.Ints;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
@@ -49,17 +49,44 @@ public class DiskStorage implements Storage
 	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
 
 	private final File folder;
+	private final boolean mapped;
 
 	private final DataFile data;
 	private final IndexFile index255;
-	private final List<IndexFile> indexFiles = new ArrayList<>();
+	private final List<IndexFile> indexFiles = new CopyOnWriteArrayList<>();
 
 	public DiskStorage(File folder) throws IOException
+	{
+		this(folder, false);
+	}
+
+	/**
+	 * @param folder cache folder
+	 * @param mapped whether to memory map the cache read only. A mapped
+	 * storage can't be saved to, but archives may be loaded from it by
+	 * many threads at once without locking.
+	 * @throws IOException
+	 */
+	public DiskStorage(File folder, boolean mapped) throws IOException
 	{
 		this.folder = folder;
+		this.mapped = mapped;
 
-		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
-		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		if (mapped)
+		{
+			this.data = DataFile.map(new File(folder, MAIN_FILE_CACHE_DAT));
+			this.index255 = IndexFile.map(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		}
+		else
+		{
+			this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
+			this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		}
+	}
+
+	public boolean isMapped()
+	{
+		return mapped;
 	}
 
 	@Override
@@ -85,7 +112,30 @@ public class DiskStorage implements Storage
 		}
 	}
 
-	private IndexFile getIndex(int i) throws FileNotFoundException
+	private IndexFile getIndex(int i) throws IOException
+	{
+		IndexFile indexFile = findIndex(i);
+		if (indexFile != null)
+		{
+			return indexFile;
+		}
+
+		synchronized (indexFiles)
+		{
+			indexFile = findIndex(i);
+			if (indexFile != null)
+			{
+				return indexFile;
+			}
+
+			File file = new File(folder, MAIN_FILE_CACHE_IDX + i);
+			indexFile = mapped ? IndexFile.map(i, file) : new IndexFile(i, file);
+			indexFiles.add(indexFile);
+			return indexFile;
+		}
+	}
+
+	private IndexFile findIndex(int i)
 	{
 		for (IndexFile indexFile : indexFiles)
 		{
@@ -94,10 +144,7 @@ public class DiskStorage implements Storage
 				return indexFile;
 			}
 		}
-
-		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i));
-		indexFiles.add(indexFile);
-		return indexFile;
+		return null;
 	}
 
 	@Override
@@ -159,6 +206,41 @@ public class DiskStorage implements Storage
 
 	@Override
 	public byte[] loadArchive(Archive archive) throws IOException
+	{
+		IndexEntry entry = readArchiveEntry(archive);
+		if (entry == null)
+		{
+			return null;
+		}
+
+		byte[] archiveData = data.read(archive.getIndex().getId(), entry.getId(), entry.getSector(), entry.getLength());
+		return archiveData;
+	}
+
+	/**
+	 * Loads the compressed data of an archive without copying it out of
+	 * the cache. When the storage is mapped, the returned buffers are read
+	 * only slices of the mapped data file, one per sector, which together
+	 * hold the archive data in order. They stay valid after the storage
+	 * is closed.
+	 *
+	 * @param archive
+	 * @return
+	 * @throws IOException
+	 * @see DataFile#readSlices(int, int, int, int)
+	 */
+	public ByteBuffer[] loadArchiveSlices(Archive archive) throws IOException
+	{
+		IndexEntry entry = readArchiveEntry(archive);
+		if (entry == null)
+		{
+			return null;
+		}
+
+		return data.readSlices(archive.getIndex().getId(), entry.getId(), entry.getSector(), entry.getLength());
+	}
+
+	private IndexEntry readArchiveEntry(Archive archive) throws IOException
 	{
 		Index index = archive.getIndex();
 		IndexFile indexFile = getIndex(index.getId());
@@ -177,8 +259,7 @@ public class DiskStorage implements Storage
 		logger.trace("Loading archive {} for index {} from sector {} length {}",
 			archive.getArchiveId(), index.getId(), entry.getSector(), entry.getLength());
 
-		byte[] archiveData = data.read(index.getId(), entry.getId(), entry.getSector(), entry.getLength());
-		return archiveData;
+		return entry;
 	}
 
 	@Override
@@ -29,6 +29,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +46,7 @@ public class IndexFile implements Closeable
 	private final int indexFileId;
 	private final File file;
 	private final RandomAccessFile idx;
+	private final MappedByteBuffer map; // read only mapping of the file, or null if not mapped
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
@@ -49,19 +54,71 @@ public class IndexFile implements Closeable
 		this.indexFileId = indexFileId;
 		this.file = file;
 		this.idx = new RandomAccessFile(file, "rw");
+		this.map = null;
+	}
+
+	private IndexFile(int indexFileId, File file, MappedByteBuffer map)
+	{
+		this.indexFileId = indexFileId;
+		this.file = file;
+		this.idx = null;
+		this.map = map;
+	}
+
+	/**
+	 * Maps the given index file read only. Reads from the returned index
+	 * file do not lock. Writing to a mapped index file is not supported.
+	 *
+	 * @param indexFileId
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static IndexFile map(int indexFileId, File file) throws IOException
+	{
+		try (FileChannel channel = open(file))
+		{
+			MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new IndexFile(indexFileId, file, map);
+		}
+	}
+
+	private static FileChannel open(File file) throws IOException
+	{
+		try
+		{
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		}
+		catch (NoSuchFileException ex)
+		{
+			// create a missing file, as opening it for writing does
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		}
 	}
 
 	@Override
 	public void close() throws IOException
 	{
-		idx.close();
+		if (idx != null)
+		{
+			idx.close();
+		}
 	}
 
 	public void clear() throws IOException
 	{
+		checkWritable();
 		idx.setLength(0L);
 	}
 
+	private void checkWritable() throws IOException
+	{
+		if (map != null)
+		{
+			throw new IOException("index file is mapped read only");
+		}
+	}
+
 	@Override
 	public int hashCode()
 	{
@@ -96,6 +153,8 @@ public class IndexFile implements Closeable
 
 	public synchronized void write(IndexEntry entry) throws IOException
 	{
+		checkWritable();
+
 		idx.seek(entry.getId() * INDEX_ENTRY_LEN);
 
 		buffer[0] = (byte) (entry.getLength() >> 16);
@@ -109,18 +168,39 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	public IndexEntry read(int id) throws IOException
 	{
-		idx.seek(id * INDEX_ENTRY_LEN);
-		int i = idx.read(buffer);
-		if (i != INDEX_ENTRY_LEN)
+		int length;
+		int sector;
+
+		if (map != null)
 		{
-			logger.debug("short read for id {} on index {}: {}", id, indexFileId, i);
-			return null;
+			int offset = id * INDEX_ENTRY_LEN;
+			if (offset < 0 || offset + INDEX_ENTRY_LEN > map.limit())
+			{
+				logger.debug("short read for id {} on index {}", id, indexFileId);
+				return null;
+			}
+
+			length = ((map.get(offset) & 0xFF) << 16) | ((map.get(offset + 1) & 0xFF) << 8) | (map.get(offset + 2) & 0xFF);
+			sector = ((map.get(offset + 3) & 0xFF) << 16) | ((map.get(offset + 4) & 0xFF) << 8) | (map.get(offset + 5) & 0xFF);
+		}
+		else
+		{
+			synchronized (this)
+			{
+				idx.seek(id * INDEX_ENTRY_LEN);
+				int i = idx.read(buffer);
+				if (i != INDEX_ENTRY_LEN)
+				{
+					logger.debug("short read for id {} on index {}: {}", id, indexFileId, i);
+					return null;
+				}
+
+				length = ((buffer[0] & 0xFF) << 16) | ((buffer[1] & 0xFF) << 8) | (buffer[2] & 0xFF);
+				sector = ((buffer[3] & 0xFF) << 16) | ((buffer[4] & 0xFF) << 8) | (buffer[5] & 0xFF);
+			}
 		}
-
-		int length = ((buffer[0] & 0xFF) << 16) | ((buffer[1] & 0xFF) << 8) | (buffer[2] & 0xFF);
-		int sector = ((buffer[3] & 0xFF) << 16) | ((buffer[4] & 0xFF) << 8) | (buffer[5] & 0xFF);
 
 		if (length <= 0 || sector <= 0)
 		{
@@ -131,8 +211,16 @@ public class IndexFile implements Closeable
 		return new IndexEntry(this, id, sector, length);
 	}
 
-	public synchronized int getIndexCount() throws IOException
+	public int getIndexCount() throws IOException
 	{
-		return (int) (idx.length() / INDEX_ENTRY_LEN);
+		if (map != null)
+		{
+			return map.limit() / INDEX_ENTRY_LEN;
+		}
+
+		synchronized (this)
+		{
+			return (int) (idx.length() / INDEX_ENTRY_LEN);
+		}
 	}
 }
@@ -26,6 +26,16 @@ package net.runelite.cache.item;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import lombok.Value;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
 import net.runelite.cache.definitions.providers.ItemProvider;
@@ -34,158 +44,295 @@ import net.runelite.cache.definitions.providers.SpriteProvider;
 import net.runelite.cache.definitions.providers.TextureProvider;
 import net.runelite.cache.models.FaceNormal;
 import net.runelite.cache.models.VertexNormal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Renders item icons. An instance keeps a pool of rasterizers, each only
+ * used by one thread at a time, and a cache of lit models shared by all of
+ * them, so it can render many icons cheaply from any number of threads.
+ */
 public class ItemSpriteFactory
 {
+	private static final Logger logger = LoggerFactory.getLogger(ItemSpriteFactory.class);
+
+	public static final int WIDTH = 36;
+	public static final int HEIGHT = 32;
+
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final RSTextureProvider rsTextureProvider;
+	private final Map<ModelKey, Model> models;
+	private final Queue<RenderContext> contexts = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param maxCachedModels the number of lit models to keep, least
+	 * recently used first out
+	 */
+	public ItemSpriteFactory(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider, int maxCachedModels)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		this.rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		this.models = Collections.synchronizedMap(new LinkedHashMap<ModelKey, Model>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ModelKey, Model> eldest)
+			{
+				return size() > maxCachedModels;
+			}
+		});
+	}
+
 	public static final BufferedImage createSprite(ItemProvider itemProvider, ModelProvider modelProvider,
 		SpriteProvider spriteProvider, TextureProvider textureProvider,
 		int itemId, int quantity, int border, int shadowColor,
 		boolean noted) throws IOException
 	{
-		SpritePixels spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-			itemId, quantity, border, shadowColor, noted);
-		return spritePixels == null ? null : spritePixels.toBufferedImage();
+		return new ItemSpriteFactory(itemProvider, modelProvider, spriteProvider, textureProvider, 0)
+			.createSprite(itemId, quantity, border, shadowColor, noted);
 	}
 
-	private static final SpritePixels createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
-		SpriteProvider spriteProvider, TextureProvider textureProvider,
-		int itemId, int quantity, int border, int shadowColor,
-		boolean noted) throws IOException
+	public BufferedImage createSprite(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
 	{
-		ItemDefinition item = itemProvider.provide(itemId);
+		int[] pixels = new int[WIDTH * HEIGHT];
+		if (!createSprite(itemId, quantity, border, shadowColor, noted, pixels))
+		{
+			return null;
+		}
+		return new SpritePixels(pixels, WIDTH, HEIGHT).toBufferedImage();
+	}
 
-		if (quantity > 1 && item.countObj != null)
+	/**
+	 * Renders an item icon into a buffer of {@link #WIDTH} * {@link #HEIGHT}
+	 * rgb pixels, where 0 is transparent
+	 *
+	 * @return false if the item has no model, in which case the buffer is not
+	 * touched
+	 */
+	public boolean createSprite(int itemId, int quantity, int border, int shadowColor, boolean noted, int[] pixels) throws IOException
+	{
+		RenderContext context = contexts.poll();
+		if (context == null)
 		{
-			int stackItemID = -1;
+			context = new RenderContext();
+		}
 
-			for (int i = 0; i < 10; ++i)
+		try
+		{
+			SpritePixels spritePixels = context.createSpritePixels(itemId, quantity, border, shadowColor, noted, 0);
+			if (spritePixels == null)
 			{
-				if (quantity >= item.countCo[i] && item.countCo[i] != 0)
-				{
-					stackItemID = item.countObj[i];
-				}
+				return false;
 			}
 
-			if (stackItemID != -1)
-			{
-				item = itemProvider.provide(stackItemID);
-			}
+			System.arraycopy(spritePixels.pixels, 0, pixels, 0, WIDTH * HEIGHT);
+			return true;
 		}
+		finally
+		{
+			contexts.add(context);
+		}
+	}
 
-		if (item.notedTemplate != -1)
+	/**
+	 * Renders the icons of many items in parallel on the executor, in
+	 * batches of {@code batchSize} items. Items which fail to render are
+	 * logged and skipped.
+	 *
+	 * @param pixels a buffer of {@link #WIDTH} * {@link #HEIGHT} pixels for
+	 * each item id
+	 * @return whether each item was rendered
+	 */
+	public boolean[] createSprites(int[] itemIds, int quantity, int border, int shadowColor, boolean noted,
+		int[][] pixels, Executor executor, int batchSize)
+	{
+		boolean[] rendered = new boolean[itemIds.length];
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+
+		for (int start = 0; start < itemIds.length; start += batchSize)
 		{
-			item.updateNote(itemProvider.provide(item.notedTemplate), itemProvider.provide(item.notedID));
+			final int from = start;
+			final int to = Math.min(start + batchSize, itemIds.length);
+			futures.add(CompletableFuture.runAsync(() ->
+			{
+				for (int i = from; i < to; ++i)
+				{
+					try
+					{
+						rendered[i] = createSprite(itemIds[i], quantity, border, shadowColor, noted, pixels[i]);
+					}
+					catch (IOException | RuntimeException ex)
+					{
+						logger.warn("unable to render item {}", itemIds[i], ex);
+					}
+				}
+			}, executor));
 		}
 
-		Model itemModel = getModel(modelProvider, item);
-		if (itemModel == null)
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		return rendered;
+	}
+
+	/**
+	 * A rasterizer and sprite buffers for rendering one icon at a time. The
+	 * buffers are reused between icons, one for each level of nesting of
+	 * noted, bought and placeholder items.
+	 */
+	private class RenderContext
+	{
+		private final Graphics3D graphics = new Graphics3D(rsTextureProvider);
+		private final List<SpritePixels> sprites = new ArrayList<>();
+
+		RenderContext()
 		{
-			return null;
+			graphics.setBrightness(0.6d);
 		}
 
-		SpritePixels auxSpritePixels = null;
-		if (item.notedTemplate != -1)
+		private SpritePixels createSpritePixels(int itemId, int quantity, int border, int shadowColor,
+			boolean noted, int depth) throws IOException
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.notedID, 10, 1, 0, true);
-			if (auxSpritePixels == null)
+			ItemDefinition item = itemProvider.provide(itemId);
+
+			if (quantity > 1 && item.countObj != null)
 			{
-				return null;
+				int stackItemID = -1;
+
+				for (int i = 0; i < 10; ++i)
+				{
+					if (quantity >= item.countCo[i] && item.countCo[i] != 0)
+					{
+						stackItemID = item.countObj[i];
+					}
+				}
+
+				if (stackItemID != -1)
+				{
+					item = itemProvider.provide(stackItemID);
+				}
 			}
-		}
-		else if (item.boughtTemplateId != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.boughtId, quantity, border, shadowColor, false);
-			if (auxSpritePixels == null)
+
+			if (item.notedTemplate != -1)
 			{
-				return null;
+				item.updateNote(itemProvider.provide(item.notedTemplate), itemProvider.provide(item.notedID));
 			}
-		}
-		else if (item.placeholderTemplateId != -1)
-		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.placeholderId, quantity, 0, 0, false);
-			if (auxSpritePixels == null)
+
+			Model itemModel = getModel(item);
+			if (itemModel == null)
 			{
 				return null;
 			}
-		}
 
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
-
-		SpritePixels spritePixels = new SpritePixels(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(0.6d);
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		graphics.reset();
-		graphics.setRasterClipping();
-		graphics.setOffset(16, 16);
-		graphics.rasterGouraudLowRes = false;
-		if (item.placeholderTemplateId != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
+			SpritePixels auxSpritePixels = null;
+			if (item.notedTemplate != -1)
+			{
+				auxSpritePixels = createSpritePixels(item.notedID, 10, 1, 0, true, depth + 1);
+				if (auxSpritePixels == null)
+				{
+					return null;
+				}
+			}
+			else if (item.boughtTemplateId != -1)
+			{
+				auxSpritePixels = createSpritePixels(item.boughtId, quantity, border, shadowColor, false, depth + 1);
+				if (auxSpritePixels == null)
+				{
+					return null;
+				}
+			}
+			else if (item.placeholderTemplateId != -1)
+			{
+				auxSpritePixels = createSpritePixels(item.placeholderId, quantity, 0, 0, false, depth + 1);
+				if (auxSpritePixels == null)
+				{
+					return null;
+				}
+			}
 
-		int zoom2d = item.zoom2d;
-		if (noted)
-		{
-			zoom2d = (int) ((double) zoom2d * 1.5D);
-		}
-		else if (border == 2)
-		{
-			zoom2d = (int) ((double) zoom2d * 1.04D);
-		}
+			// the sprites nested in this one have been drawn by now, so may already be deeper
+			while (sprites.size() <= depth)
+			{
+				sprites.add(new SpritePixels(WIDTH, HEIGHT));
+			}
 
-		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
-		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
+			SpritePixels spritePixels = sprites.get(depth);
+			graphics.setRasterBuffer(spritePixels.pixels, WIDTH, HEIGHT);
+			graphics.reset();
+			graphics.setRasterClipping();
+			graphics.setOffset(16, 16);
+			graphics.rasterGouraudLowRes = false;
+			if (item.placeholderTemplateId != -1)
+			{
+				auxSpritePixels.drawAtOn(graphics, 0, 0);
+			}
 
-		itemModel.calculateBoundsCylinder();
-		itemModel.rotateAndProject(graphics, 0,
-			item.yan2d,
-			item.zan2d,
-			item.xan2d,
-			item.xOffset2d,
-			itemModel.modelHeight / 2 + var17 + item.yOffset2d,
-			var18 + item.yOffset2d);
-		if (item.boughtTemplateId != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
+			int zoom2d = item.zoom2d;
+			if (noted)
+			{
+				zoom2d = (int) ((double) zoom2d * 1.5D);
+			}
+			else if (border == 2)
+			{
+				zoom2d = (int) ((double) zoom2d * 1.04D);
+			}
 
-		if (border >= 1)
-		{
-			spritePixels.drawBorder(1);
-		}
+			int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
+			int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
+
+			itemModel.rotateAndProject(graphics, 0,
+				item.yan2d,
+				item.zan2d,
+				item.xan2d,
+				item.xOffset2d,
+				itemModel.modelHeight / 2 + var17 + item.yOffset2d,
+				var18 + item.yOffset2d);
+			if (item.boughtTemplateId != -1)
+			{
+				auxSpritePixels.drawAtOn(graphics, 0, 0);
+			}
 
-		if (border >= 2)
-		{
-			spritePixels.drawBorder(0xffffff);
-		}
+			if (border >= 1)
+			{
+				spritePixels.drawBorder(1);
+			}
 
-		if (shadowColor != 0)
-		{
-			spritePixels.drawShadow(shadowColor);
-		}
+			if (border >= 2)
+			{
+				spritePixels.drawBorder(0xffffff);
+			}
 
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		if (item.notedTemplate != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
+			if (shadowColor != 0)
+			{
+				spritePixels.drawShadow(shadowColor);
+			}
 
-		graphics.setRasterBuffer(graphics.graphicsPixels,
-			graphics.graphicsPixelsWidth,
-			graphics.graphicsPixelsHeight);
+			graphics.setRasterBuffer(spritePixels.pixels, WIDTH, HEIGHT);
+			if (item.notedTemplate != -1)
+			{
+				auxSpritePixels.drawAtOn(graphics, 0, 0);
+			}
 
-		graphics.setRasterClipping();
-		graphics.rasterGouraudLowRes = true;
-		return spritePixels;
+			graphics.setRasterClipping();
+			graphics.rasterGouraudLowRes = true;
+			return spritePixels;
+		}
 	}
 
-	private static Model getModel(ModelProvider modelProvider, ItemDefinition item) throws IOException
+	/**
+	 * Gets the lit model of an item. Models are shared between threads once
+	 * cached, so they must not be changed after they are lit.
+	 */
+	private Model getModel(ItemDefinition item) throws IOException
 	{
-		Model itemModel;
+		ModelKey key = new ModelKey(item.inventoryModel, item.resizeX, item.resizeY, item.resizeZ,
+			item.colorFind, item.colorReplace, item.textureFind, item.textureReplace, item.ambient, item.contrast);
+		Model itemModel = models.get(key);
+		if (itemModel != null)
+		{
+			return itemModel;
+		}
+
 		ModelDefinition inventoryModel = modelProvider.provide(item.inventoryModel);
 		if (inventoryModel == null)
 		{
@@ -215,9 +362,29 @@ public class ItemSpriteFactory
 
 		itemModel = light(inventoryModel, item.ambient + 64, item.contrast + 768, -50, -10, -50);
 		itemModel.isItemModel = true;
+		itemModel.calculateBoundsCylinder();
+		models.put(key, itemModel);
 		return itemModel;
 	}
 
+	/**
+	 * Everything about an item which goes into its lit model
+	 */
+	@Value
+	private static class ModelKey
+	{
+		int modelId;
+		int resizeX;
+		int resizeY;
+		int resizeZ;
+		short[] colorFind;
+		short[] colorReplace;
+		short[] textureFind;
+		short[] textureReplace;
+		int ambient;
+		int contrast;
+	}
+
 	private static Model light(ModelDefinition def, int ambient, int contrast, int x, int y, int z)
 	{
 		def.computeNormals();
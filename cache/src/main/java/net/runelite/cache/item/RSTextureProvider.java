@@ -69,13 +69,17 @@ public class RSTextureProvider
 		TextureDefinition var2 = this.textures[var1];
 		if (var2 != null)
 		{
-			if (var2.pixels != null)
+			// texture definitions are shared, and method2680 fills in pixels after assigning it
+			synchronized (var2)
 			{
+				if (var2.pixels != null)
+				{
+					return var2.pixels;
+				}
+
+				boolean var3 = var2.method2680(this.brightness, this.width, spriteProvider);
 				return var2.pixels;
 			}
-
-			boolean var3 = var2.method2680(this.brightness, this.width, spriteProvider);
-			return var2.pixels;
 		}
 
 		return null;
@@ -33,6 +33,7 @@ class SpritePixels
 	public int height;
 	public int offsetX;
 	int offsetY;
+	private int[] borderPixels; // the pixels drawBorder drew over, reused for the next border
 
 	public SpritePixels(int[] var1, int var2, int var3)
 	{
@@ -50,7 +51,11 @@ class SpritePixels
 
 	public void drawBorder(int color)
 	{
-		int[] newPixels = new int[this.width * this.height];
+		int[] newPixels = this.borderPixels;
+		if (newPixels == null || newPixels.length != this.width * this.height)
+		{
+			newPixels = new int[this.width * this.height];
+		}
 		int pixelIndex = 0;
 
 		for (int y = 0; y < this.height; ++y)
@@ -86,6 +91,7 @@ class SpritePixels
 			}
 		}
 
+		this.borderPixels = this.pixels;
 		this.pixels = newPixels;
 	}
 
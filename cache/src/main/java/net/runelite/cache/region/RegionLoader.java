@@ -24,10 +24,16 @@
  */
 package net.runelite.cache.region;
 
+import io.netty.buffer.Unpooled;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
 import net.runelite.cache.definitions.MapDefinition;
@@ -37,6 +43,7 @@ import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
 import net.runelite.cache.util.XteaKeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,7 +58,10 @@ public class RegionLoader
 	private final Index index;
 	private final XteaKeyManager keyManager;
 
-	private final Map<Integer, Region> regions = new HashMap<>();
+	// regions which have both a map and a landscape archive
+	private final BitSet regionIds = new BitSet(MAX_REGION);
+	private Map<Integer, Region> regions = new HashMap<>();
+	private boolean lazy;
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -70,11 +80,45 @@ public class RegionLoader
 			Region region = this.loadRegionFromArchive(i);
 			if (region != null)
 			{
+				regionIds.set(i);
 				regions.put(i, region);
 			}
 		}
 	}
 
+	/**
+	 * Finds which regions exist without decoding any of them, as an
+	 * alternative to {@link #loadRegions()}. Regions are then decoded when
+	 * they are first looked up, and at most {@code maxLoaded} of them are
+	 * kept decoded, dropping the least recently used first.
+	 */
+	public void indexRegions(int maxLoaded)
+	{
+		regions = Collections.synchronizedMap(new LinkedHashMap<Integer, Region>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Region> eldest)
+			{
+				return size() > maxLoaded;
+			}
+		});
+		lazy = true;
+
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+
+			if (index.findArchiveByNameHash(Djb2.hash("m" + x + "_" + y)) != null
+				&& index.findArchiveByNameHash(Djb2.hash("l" + x + "_" + y)) != null)
+			{
+				regionIds.set(i);
+			}
+		}
+
+		logger.info("Indexed {} regions", regionIds.cardinality());
+	}
+
 	public Region loadRegionFromArchive(int i) throws IOException
 	{
 		int x = i >> 8;
@@ -103,7 +147,7 @@ public class RegionLoader
 		{
 			try
 			{
-				data = land.decompress(storage.loadArchive(land), keys);
+				data = decompress(storage, land, keys);
 				LocationsDefinition locDef = new LocationsLoader().load(x, y, data);
 				region.loadLocations(locDef);
 			}
@@ -116,42 +160,128 @@ public class RegionLoader
 		return region;
 	}
 
+	/**
+	 * Decompresses an encrypted archive. The loaded data is not shared, so
+	 * it is decrypted in place rather than in a copy.
+	 */
+	private static byte[] decompress(Storage storage, Archive archive, int[] keys) throws IOException
+	{
+		byte[] compressedData = storage.loadArchive(archive);
+		if (compressedData == null)
+		{
+			return null;
+		}
+
+		return archive.decompress(Unpooled.wrappedBuffer(compressedData), keys);
+	}
+
 	public void calculateBounds()
 	{
-		for (Region region : regions.values())
+		int lowestX = -1, lowestY = -1;
+		int highestX = -1, highestY = -1;
+
+		for (int i = regionIds.nextSetBit(0); i >= 0; i = regionIds.nextSetBit(i + 1))
 		{
-			if (lowestX == null || region.getBaseX() < lowestX.getBaseX())
+			if (lowestX == -1 || (i >> 8) < (lowestX >> 8))
 			{
-				lowestX = region;
+				lowestX = i;
 			}
 
-			if (highestX == null || region.getBaseX() > highestX.getBaseX())
+			if (highestX == -1 || (i >> 8) > (highestX >> 8))
 			{
-				highestX = region;
+				highestX = i;
 			}
 
-			if (lowestY == null || region.getBaseY() < lowestY.getBaseY())
+			if (lowestY == -1 || (i & 0xFF) < (lowestY & 0xFF))
 			{
-				lowestY = region;
+				lowestY = i;
 			}
 
-			if (highestY == null || region.getBaseY() > highestY.getBaseY())
+			if (highestY == -1 || (i & 0xFF) > (highestY & 0xFF))
 			{
-				highestY = region;
+				highestY = i;
 			}
 		}
+
+		// these are kept even if the regions are dropped from the lazy cache
+		this.lowestX = getRegion(lowestX);
+		this.lowestY = getRegion(lowestY);
+		this.highestX = getRegion(highestX);
+		this.highestY = getRegion(highestY);
 	}
 
+	/**
+	 * Get the decoded regions. After {@link #indexRegions(int)} this is
+	 * only the regions which are currently decoded; use
+	 * {@link #getRegionIds()} or {@link #forEachRegion(Consumer)} instead.
+	 */
 	public Collection<Region> getRegions()
 	{
 		return regions.values();
 	}
 
+	/**
+	 * Get the ids of all regions, in ascending order
+	 */
+	public int[] getRegionIds()
+	{
+		return regionIds.stream().toArray();
+	}
+
+	/**
+	 * Calls the consumer with every region, in parallel, decoding the
+	 * regions on all cores if they are not already
+	 */
+	public void forEachRegion(Consumer<Region> consumer)
+	{
+		regionIds.stream().parallel().forEach(id -> consumer.accept(getRegion(id)));
+	}
+
+	/**
+	 * Get a region by id, decoding it if the regions are loaded lazily
+	 *
+	 * @return the region, or null if there is no such region
+	 * @throws UncheckedIOException if the region can't be decoded
+	 */
+	public Region getRegion(int id)
+	{
+		if (id < 0 || id >= MAX_REGION || !regionIds.get(id))
+		{
+			return null;
+		}
+
+		Region region = regions.get(id);
+		if (region != null || !lazy)
+		{
+			return region;
+		}
+
+		// two threads may decode the same region at once, which only costs time
+		try
+		{
+			region = loadRegionFromArchive(id);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+
+		if (region != null)
+		{
+			regions.put(id, region);
+		}
+		return region;
+	}
+
 	public Region findRegionForWorldCoordinates(int x, int y)
 	{
 		x >>>= 6;
 		y >>>= 6;
-		return regions.get((x << 8) | y);
+		if (x > 0xFF || y > 0xFF)
+		{
+			return null;
+		}
+		return getRegion((x << 8) | y);
 	}
 
 	public Region getLowestX()
@@ -24,11 +24,14 @@
  */
 package net.runelite.cache.util;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
@@ -83,4 +86,29 @@ public class BZip2
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompresses the readable bytes of a buffer, without a header, into
+	 * an array of the known decompressed length
+	 *
+	 * @param buf
+	 * @param decompressedLength
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[] decompress(ByteBuf buf, int decompressedLength) throws IOException
+	{
+		byte[] out = new byte[decompressedLength];
+
+		try (InputStream is = new BZip2CompressorInputStream(new SequenceInputStream(
+			new ByteArrayInputStream(BZIP_HEADER), new ByteBufInputStream(buf))))
+		{
+			if (IOUtils.readFully(is, out) != decompressedLength)
+			{
+				throw new IOException("decompressed data is shorter than expected");
+			}
+		}
+
+		return out;
+	}
 }
@@ -25,6 +25,7 @@
 
 package net.runelite.cache.util;
 
+import io.netty.buffer.ByteBuf;
 import java.util.zip.CRC32;
 
 public class Crc32
@@ -36,6 +37,18 @@ public class Crc32
 		crc32.update(data, offset, length);
 	}
 
+	public void update(ByteBuf buf, int index, int length)
+	{
+		if (buf.hasArray())
+		{
+			crc32.update(buf.array(), buf.arrayOffset() + index, length);
+		}
+		else
+		{
+			crc32.update(buf.nioBuffer(index, length));
+		}
+	}
+
 	public int getHash()
 	{
 		return (int) crc32.getValue();
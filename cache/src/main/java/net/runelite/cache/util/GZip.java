@@ -25,6 +25,8 @@
 
 package net.runelite.cache.util;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -64,4 +66,28 @@ public class GZip
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompresses the readable bytes of a buffer into an array of the
+	 * known decompressed length
+	 *
+	 * @param buf
+	 * @param decompressedLength
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[] decompress(ByteBuf buf, int decompressedLength) throws IOException
+	{
+		byte[] out = new byte[decompressedLength];
+
+		try (InputStream is = new GZIPInputStream(new ByteBufInputStream(buf)))
+		{
+			if (IOUtils.readFully(is, out) != decompressedLength)
+			{
+				throw new IOException("decompressed data is shorter than expected");
+			}
+		}
+
+		return out;
+	}
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from int keys to objects, which does not box its keys.
+ * Null values are not supported.
+ *
+ * @param <V> the type of the values
+ */
+public class IntObjectMap<V>
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+
+	public IntObjectMap()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	public IntObjectMap(int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+		// keep the load factor at most 1/2
+		while (capacity < expectedSize * 2)
+		{
+			capacity <<= 1;
+		}
+		keys = new int[capacity];
+		values = new Object[capacity];
+	}
+
+	private static int mix(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int slot(int key)
+	{
+		final int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (values[slot] != null && keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key)
+	{
+		return (V) values[slot(key)];
+	}
+
+	public boolean containsKey(int key)
+	{
+		return values[slot(key)] != null;
+	}
+
+	/**
+	 * @return the previous value of the key, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value)
+	{
+		if (value == null)
+		{
+			throw new IllegalArgumentException("null value");
+		}
+
+		int slot = slot(key);
+		V previous = (V) values[slot];
+		if (previous == null)
+		{
+			if ((size + 1) * 2 > keys.length)
+			{
+				resize(keys.length * 2);
+				slot = slot(key);
+			}
+			keys[slot] = key;
+			++size;
+		}
+		values[slot] = value;
+		return previous;
+	}
+
+	/**
+	 * Add a value for a key which has none
+	 *
+	 * @return the current value of the key, or null if the value was added
+	 */
+	public V putIfAbsent(int key, V value)
+	{
+		V current = get(key);
+		if (current != null)
+		{
+			return current;
+		}
+		put(key, value);
+		return null;
+	}
+
+	/**
+	 * @return the removed value, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key)
+	{
+		final int mask = keys.length - 1;
+		int slot = slot(key);
+		V previous = (V) values[slot];
+		if (previous == null)
+		{
+			return null;
+		}
+
+		// shift back the entries after the removed one which would no longer be
+		// reachable from their home slot
+		int next = (slot + 1) & mask;
+		while (values[next] != null)
+		{
+			int home = mix(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - slot) & mask))
+			{
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+
+		values[slot] = null;
+		--size;
+		return previous;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private void resize(int capacity)
+	{
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new int[capacity];
+		values = new Object[capacity];
+		for (int i = 0; i < oldKeys.length; ++i)
+		{
+			if (oldValues[i] != null)
+			{
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+}
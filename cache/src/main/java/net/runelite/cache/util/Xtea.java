@@ -25,7 +25,7 @@
 package net.runelite.cache.util;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import java.util.Arrays;
 
 public class Xtea
 {
@@ -42,13 +42,32 @@ public class Xtea
 
 	public byte[] encrypt(byte[] data, int len)
 	{
-		ByteBuf buf = Unpooled.wrappedBuffer(data, 0, len);
-		ByteBuf out = Unpooled.buffer(len);
+		byte[] out = Arrays.copyOf(data, len);
+		encrypt(out, 0, len);
+		return out;
+	}
+
+	public byte[] decrypt(byte[] data, int len)
+	{
+		byte[] out = Arrays.copyOf(data, len);
+		decrypt(out, 0, len);
+		return out;
+	}
+
+	/**
+	 * Encrypts a range of an array in place
+	 *
+	 * @param data
+	 * @param offset
+	 * @param len
+	 */
+	public void encrypt(byte[] data, int offset, int len)
+	{
 		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		for (int block = 0, pos = offset; block < numBlocks; ++block, pos += 8)
 		{
-			int v0 = buf.readInt();
-			int v1 = buf.readInt();
+			int v0 = getInt(data, pos);
+			int v1 = getInt(data, pos + 4);
 			int sum = 0;
 			for (int i = 0; i < ROUNDS; ++i)
 			{
@@ -56,22 +75,58 @@ public class Xtea
 				sum += GOLDEN_RATIO;
 				v1 += (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			putInt(data, pos, v0);
+			putInt(data, pos + 4, v1);
 		}
-		out.writeBytes(buf);
-		return out.array();
 	}
 
-	public byte[] decrypt(byte[] data, int len)
+	/**
+	 * Decrypts a range of an array in place
+	 *
+	 * @param data
+	 * @param offset
+	 * @param len
+	 */
+	public void decrypt(byte[] data, int offset, int len)
+	{
+		int numBlocks = len / 8;
+		for (int block = 0, pos = offset; block < numBlocks; ++block, pos += 8)
+		{
+			int v0 = getInt(data, pos);
+			int v1 = getInt(data, pos + 4);
+			int sum = GOLDEN_RATIO * ROUNDS;
+			for (int i = 0; i < ROUNDS; ++i)
+			{
+				v1 -= (((v0 << 4) ^ (v0 >>> 5)) + v0) ^ (sum + key[(sum >>> 11) & 3]);
+				sum -= GOLDEN_RATIO;
+				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
+			}
+			putInt(data, pos, v0);
+			putInt(data, pos + 4, v1);
+		}
+	}
+
+	/**
+	 * Decrypts a range of a buffer in place. The reader and writer indexes
+	 * of the buffer are not modified.
+	 *
+	 * @param buf
+	 * @param index
+	 * @param len
+	 */
+	public void decrypt(ByteBuf buf, int index, int len)
 	{
-		ByteBuf buf = Unpooled.wrappedBuffer(data, 0, len);
-		ByteBuf out = Unpooled.buffer(len);
+		if (buf.hasArray())
+		{
+			decrypt(buf.array(), buf.arrayOffset() + index, len);
+			return;
+		}
+
 		int numBlocks = len / 8;
-		for (int block = 0; block < numBlocks; ++block)
+		for (int block = 0, pos = index; block < numBlocks; ++block, pos += 8)
 		{
-			int v0 = buf.readInt();
-			int v1 = buf.readInt();
+			int v0 = buf.getInt(pos);
+			int v1 = buf.getInt(pos + 4);
 			int sum = GOLDEN_RATIO * ROUNDS;
 			for (int i = 0; i < ROUNDS; ++i)
 			{
@@ -79,10 +134,24 @@ public class Xtea
 				sum -= GOLDEN_RATIO;
 				v0 -= (((v1 << 4) ^ (v1 >>> 5)) + v1) ^ (sum + key[sum & 3]);
 			}
-			out.writeInt(v0);
-			out.writeInt(v1);
+			buf.setInt(pos, v0);
+			buf.setInt(pos + 4, v1);
 		}
-		out.writeBytes(buf);
-		return out.array();
+	}
+
+	private static int getInt(byte[] data, int pos)
+	{
+		return ((data[pos] & 0xFF) << 24)
+			| ((data[pos + 1] & 0xFF) << 16)
+			| ((data[pos + 2] & 0xFF) << 8)
+			| (data[pos + 3] & 0xFF);
+	}
+
+	private static void putInt(byte[] data, int pos, int value)
+	{
+		data[pos] = (byte) (value >> 24);
+		data[pos + 1] = (byte) (value >> 16);
+		data[pos + 2] = (byte) (value >> 8);
+		data[pos + 3] = (byte) value;
 	}
 }
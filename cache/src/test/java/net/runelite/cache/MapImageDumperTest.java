@@ -31,6 +31,10 @@ import javax.imageio.ImageIO;
 import net.runelite.cache.fs.Store;
 import net.runelite.cache.region.Region;
 import net.runelite.cache.region.RegionLoader;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -71,6 +75,28 @@ public class MapImageDumperTest
 		}
 	}
 
+	@Test
+	@Ignore
+	public void dumpTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				int tiles = dumper.drawTiles(i, outDir);
+				logger.info("Drew {} tiles for plane {} to {}", tiles, i, outDir);
+			}
+		}
+	}
+
 	@Test
 	@Ignore
 	public void dumpRegions() throws Exception
@@ -97,4 +123,69 @@ public class MapImageDumperTest
 			}
 		}
 	}
+
+	@Test
+	public void testDrawTiles() throws IOException
+	{
+		File cacheDir = folder.newFolder(),
+			outDir = folder.newFolder();
+
+		int[] regionIds = {
+			10 << 8 | 200, 11 << 8 | 200, 10 << 8 | 201, 12 << 8 | 201, 14 << 8 | 200
+		};
+		SyntheticMaps.create(cacheDir, regionIds);
+
+		try (Store store = new Store(cacheDir))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			assertEquals(regionIds.length, dumper.drawTiles(0, outDir));
+			assertTilesMatchMap(dumper, outDir, regionIds);
+			assertTrue(new File(outDir, "0/0/0/0.png").exists());
+
+			// nothing has changed since the last run
+			assertEquals(0, dumper.drawTiles(0, outDir));
+		}
+
+		// only the changed region and its neighbours are redrawn, and 14,200 has none
+		SyntheticMaps.updateRegion(cacheDir, 14 << 8 | 200, 42L);
+
+		try (Store store = new Store(cacheDir))
+		{
+			store.load();
+
+			MapImageDumper dumper = new MapImageDumper(store);
+			dumper.load();
+
+			assertEquals(1, dumper.drawTiles(0, outDir));
+			assertTilesMatchMap(dumper, outDir, regionIds);
+		}
+	}
+
+	private static void assertTilesMatchMap(MapImageDumper dumper, File outDir, int[] regionIds) throws IOException
+	{
+		BufferedImage map = dumper.drawMap(0);
+
+		for (int regionId : regionIds)
+		{
+			int regionX = regionId >> 8;
+			int regionY = regionId & 0xFF;
+
+			// the deepest zoom has a tile per region, with y growing southward
+			BufferedImage tile = ImageIO.read(new File(outDir, "0/8/" + regionX + "/" + (255 - regionY) + ".png"));
+			int size = tile.getWidth();
+			assertNotEquals(0, tile.getRGB(size / 2, size / 2) & 0xFFFFFF);
+
+			// the map starts at the west most and north most regions
+			int mapX = (regionX - 10) * size;
+			int mapY = (201 - regionY) * size;
+
+			assertArrayEquals("region " + regionX + "," + regionY,
+				map.getRGB(mapX, mapY, size, size, null, 0, size),
+				tile.getRGB(0, 0, size, size, null, 0, size));
+		}
+	}
 }
@@ -26,7 +26,16 @@ package net.runelite.cache;
 
 import java.io.File;
 import java.io.IOException;
+import net.runelite.cache.definitions.SpriteDefinition;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveCache;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -60,4 +69,57 @@ public class SpriteManagerTest
 
 		logger.info("Dumped to {}", dumpDir);
 	}
+
+	@Test
+	public void testArchiveCache() throws IOException
+	{
+		File root = folder.newFolder();
+
+		// a single 1x1 sprite with a two color palette
+		byte[] sprite = new byte[]
+		{
+			0, 1, // flags, pixel
+			(byte) 0xff, 0, 0, // palette
+			0, 1, 0, 1, 1, // max width, max height, palette length - 1
+			0, 0, 0, 0, 0, 1, 0, 1, // offset x, offset y, width, height
+			0, 1 // sprite count
+		};
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(IndexType.SPRITES.getNumber());
+			Archive archive = index.addArchive(42);
+			archive.setFileData(new FileData[]
+			{
+				new FileData()
+			});
+
+			Container container = new Container(CompressionType.GZ, -1);
+			container.compress(sprite, null);
+			store.getStorage().saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+
+			ArchiveCache cache = new ArchiveCache(ArchiveCache.DEFAULT_MAXIMUM_BYTES);
+			store.setArchiveCache(cache);
+
+			SpriteManager first = new SpriteManager(store);
+			first.load();
+			SpriteManager second = new SpriteManager(store);
+			second.load();
+
+			SpriteDefinition def = second.findSprite(42, 0);
+			assertNotNull(def);
+			assertEquals(1, def.getWidth());
+			assertEquals(1, def.getHeight());
+
+			assertEquals(1, cache.stats().missCount());
+			assertEquals(1, cache.stats().hitCount());
+		}
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import net.runelite.cache.definitions.MapDefinition;
+import net.runelite.cache.definitions.savers.MapSaver;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import net.runelite.cache.util.Djb2;
+
+/**
+ * Writes a small cache with random terrain in the given regions, along
+ * with the configs and textures needed to load it with
+ * {@link MapImageDumper} and {@link net.runelite.cache.region.RegionLoader}
+ */
+public class SyntheticMaps
+{
+	private static final int[] UNDERLAY_COLORS = {
+		0x3A5F0B, 0xC2B280, 0x556B2F
+	};
+
+	public static void create(File directory, int... regionIds) throws IOException
+	{
+		try (Store store = new Store(directory))
+		{
+			Index configs = store.addIndex(IndexType.CONFIGS.getNumber());
+
+			byte[][] underlays = new byte[UNDERLAY_COLORS.length][];
+			for (int i = 0; i < underlays.length; ++i)
+			{
+				int color = UNDERLAY_COLORS[i];
+				underlays[i] = new byte[]
+				{
+					1, (byte) (color >> 16), (byte) (color >> 8), (byte) color, 0
+				};
+			}
+			saveArchive(store, configs.addArchive(ConfigType.UNDERLAY.getId()), underlays);
+			saveArchive(store, configs.addArchive(ConfigType.OVERLAY.getId()), new byte[][]{{0}});
+			saveArchive(store, configs.addArchive(ConfigType.OBJECT.getId()), new byte[][]{{0}});
+			saveArchive(store, configs.addArchive(ConfigType.AREA.getId()), new byte[][]{{0}});
+
+			// a texture without any sprites
+			Index textures = store.addIndex(IndexType.TEXTURES.getNumber());
+			saveArchive(store, textures.addArchive(0), new byte[][]{new byte[6]});
+
+			store.addIndex(IndexType.SPRITES.getNumber());
+
+			Index maps = store.addIndex(IndexType.MAPS.getNumber());
+			maps.setNamed(true);
+			for (int regionId : regionIds)
+			{
+				saveRegion(store, maps, regionId, regionId);
+			}
+
+			store.save();
+		}
+	}
+
+	/**
+	 * Replaces the terrain of a region with new random terrain
+	 */
+	public static void updateRegion(File directory, int regionId, long seed) throws IOException
+	{
+		try (Store store = new Store(directory))
+		{
+			store.load();
+			saveRegion(store, store.getIndex(IndexType.MAPS), regionId, seed);
+			store.save();
+		}
+	}
+
+	private static void saveRegion(Store store, Index maps, int regionId, long seed) throws IOException
+	{
+		int regionX = regionId >> 8;
+		int regionY = regionId & 0xFF;
+		Random random = new Random(seed);
+
+		MapDefinition map = new MapDefinition();
+		MapDefinition.Tile[][][] tiles = map.getTiles();
+		for (int z = 0; z < MapDefinition.Z; ++z)
+		{
+			for (int x = 0; x < MapDefinition.X; ++x)
+			{
+				for (int y = 0; y < MapDefinition.Y; ++y)
+				{
+					MapDefinition.Tile tile = tiles[z][x][y] = new MapDefinition.Tile();
+					if (z == 0)
+					{
+						tile.underlayId = (byte) (1 + random.nextInt(UNDERLAY_COLORS.length));
+					}
+				}
+			}
+		}
+
+		saveArchive(store, findOrAddArchive(maps, "m" + regionX + "_" + regionY), new byte[][]{new MapSaver().save(map)});
+		// no locations
+		saveArchive(store, findOrAddArchive(maps, "l" + regionX + "_" + regionY), new byte[][]{{0}});
+	}
+
+	private static Archive findOrAddArchive(Index index, String name)
+	{
+		Archive archive = index.findArchiveByName(name);
+		if (archive == null)
+		{
+			archive = index.addArchive(index.getArchives().size());
+			archive.setNameHash(Djb2.hash(name));
+		}
+		return archive;
+	}
+
+	private static void saveArchive(Store store, Archive archive, byte[][] contents) throws IOException
+	{
+		FileData[] fileData = new FileData[contents.length];
+		ArchiveFiles files = new ArchiveFiles();
+		for (int i = 0; i < contents.length; ++i)
+		{
+			FileData fd = fileData[i] = new FileData();
+			fd.setId(i);
+
+			FSFile file = new FSFile(i);
+			file.setContents(contents[i]);
+			files.addFile(file);
+		}
+		archive.setFileData(fileData);
+		archive.setRevision(archive.getRevision() + 1);
+
+		Container container = new Container(CompressionType.GZ, -1);
+		container.compress(files.saveContents(), null);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.File;
+import java.io.IOException;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCache() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 4; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				FileData[] fileData = new FileData[]
+				{
+					new FileData()
+				};
+				archive.setFileData(fileData);
+
+				Container container = new Container(CompressionType.GZ, -1);
+				container.compress(new byte[1000], null);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+
+			// room for two archives
+			ArchiveCache cache = new ArchiveCache(2500);
+			store.setArchiveCache(cache);
+
+			Index index = store.findIndex(0);
+			ArchiveFiles files = store.getArchiveFiles(index.getArchive(0));
+			assertEquals(1000, files.findFile(0).getSize());
+			assertSame(files, store.getArchiveFiles(index.getArchive(0)));
+
+			assertEquals(1, cache.stats().hitCount());
+			assertEquals(1, cache.stats().missCount());
+
+			for (Archive archive : index.getArchives())
+			{
+				store.getArchiveFiles(archive);
+			}
+
+			assertEquals(2, cache.size());
+			assertEquals(2, cache.stats().evictionCount());
+		}
+	}
+
+	@Test
+	public void testRevisionCorrected() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			archive.setRevision(3);
+			archive.setFileData(new FileData[]
+			{
+				new FileData()
+			});
+
+			// the data has a different revision than the index
+			Container container = new Container(CompressionType.GZ, 7);
+			container.compress(new byte[1000], null);
+			store.getStorage().saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+
+			ArchiveCache cache = new ArchiveCache(ArchiveCache.DEFAULT_MAXIMUM_BYTES);
+			store.setArchiveCache(cache);
+
+			Archive archive = store.findIndex(0).getArchive(0);
+			ArchiveFiles files = store.getArchiveFiles(archive);
+			assertEquals(7, archive.getRevision());
+			assertSame(files, store.getArchiveFiles(archive));
+			assertEquals(1, cache.stats().hitCount());
+		}
+	}
+
+	@Test
+	public void testUncheckedException() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			archive.setFileData(new FileData[]
+			{
+				new FileData()
+			});
+
+			// unknown compression type
+			store.getStorage().saveArchive(archive, new byte[]
+			{
+				9, 0, 0, 0, 4, 0, 0, 0, 0, 0, 0, 0, 0
+			});
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+			store.setArchiveCache(new ArchiveCache(ArchiveCache.DEFAULT_MAXIMUM_BYTES));
+
+			try
+			{
+				store.getArchiveFiles(store.findIndex(0).getArchive(0));
+				fail();
+			}
+			catch (RuntimeException ex)
+			{
+				assertFalse(ex instanceof UncheckedExecutionException);
+				assertEquals("Unknown decompression type", ex.getMessage());
+			}
+		}
+	}
+}
@@ -24,10 +24,15 @@
  */
 package net.runelite.cache.fs;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import java.io.IOException;
 import java.util.Random;
+import static net.runelite.cache.fs.jagex.CompressionType.BZ2;
 import static net.runelite.cache.fs.jagex.CompressionType.GZ;
+import static net.runelite.cache.fs.jagex.CompressionType.NONE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 public class ContainerTest
@@ -52,4 +57,58 @@ public class ContainerTest
 		assertArrayEquals(data, container.data);
 	}
 
+	@Test
+	public void testDecompressBuffer() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		Random random = new Random(42L);
+		byte[] data = new byte[1024];
+		random.nextBytes(data);
+
+		for (int compression : new int[]{NONE, BZ2, GZ})
+		{
+			Container container = new Container(compression, 42);
+			container.compress(data, keys);
+			byte[] compressedData = container.data;
+
+			Container expected = Container.decompress(compressedData, keys);
+
+			ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(compressedData.length);
+			try
+			{
+				buf.writeBytes(compressedData);
+				container = Container.decompress(buf, keys);
+			}
+			finally
+			{
+				buf.release();
+			}
+
+			assertArrayEquals(data, container.data);
+			assertEquals(expected.crc, container.crc);
+			assertEquals(42, container.revision);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testDecompressWrongKeys() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(42L).nextBytes(data);
+
+		Container container = new Container(GZ, -1);
+		container.compress(data, new int[]
+		{
+			4, 8, 15, 16
+		});
+
+		// the decompressed length is decrypted with the wrong keys, and is rejected before it is allocated
+		Container.decompress(container.data, new int[]
+		{
+			23, 42, 4, 8
+		});
+	}
 }
@@ -26,8 +26,15 @@ package net.runelite.cache.fs;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.fs.jagex.DiskStorage;
 import net.runelite.cache.index.FileData;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -148,4 +155,88 @@ public class StoreTest
 			}
 		}
 	}
+
+	@Test
+	public void testLoadArchives() throws IOException
+	{
+		final int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			for (int i = 0; i < 2; ++i)
+			{
+				Index index = store.addIndex(i);
+
+				for (int j = 0; j < 64; ++j)
+				{
+					Archive archive = index.addArchive(j);
+					FileData[] fileData = new FileData[2];
+					archive.setFileData(fileData);
+
+					ArchiveFiles files = new ArchiveFiles();
+					for (int k = 0; k < fileData.length; ++k)
+					{
+						fileData[k] = new FileData();
+						fileData[k].setId(k);
+
+						FSFile file = new FSFile(k);
+						file.setContents(("archive " + i + "/" + j + "/" + k).getBytes());
+						files.addFile(file);
+					}
+
+					Container container = new Container(j % 2 == 0 ? CompressionType.BZ2 : CompressionType.GZ, -1);
+					container.compress(files.saveContents(), i == 1 ? keys : null);
+					store.getStorage().saveArchive(archive, container.data);
+				}
+			}
+
+			store.save();
+		}
+
+		try (Store store = new Store(new DiskStorage(root, true)))
+		{
+			store.load();
+
+			Map<Integer, ArchiveFiles> loaded = new ConcurrentHashMap<>();
+			AtomicInteger progress = new AtomicInteger();
+			ForkJoinPool pool = new ForkJoinPool(4);
+
+			List<Archive> failed = store.loadArchives(pool, a -> a.getIndex().getId() == 1 ? keys : null, new ArchiveLoadListener()
+			{
+				@Override
+				public void archiveLoaded(Archive archive, ArchiveFiles files)
+				{
+					loaded.put(archive.getIndex().getId() << 16 | archive.getArchiveId(), files);
+				}
+
+				@Override
+				public void progress(int done, int total)
+				{
+					Assert.assertEquals(128, total);
+					progress.accumulateAndGet(done, Math::max);
+				}
+			});
+
+			pool.shutdown();
+
+			Assert.assertTrue(failed.isEmpty());
+			Assert.assertEquals(128, loaded.size());
+			Assert.assertEquals(128, progress.get());
+
+			Assert.assertEquals("archive 1/7/1", new String(loaded.get(1 << 16 | 7).findFile(1).getContents()));
+
+			// without keys the encrypted index fails to load
+			failed = store.loadArchives(Runnable::run, null, new ArchiveLoadListener()
+			{
+			});
+			Assert.assertEquals(64, failed.size());
+			Assert.assertEquals(1, failed.get(0).getIndex().getId());
+			Assert.assertEquals(0, failed.get(0).getArchiveId());
+			Assert.assertEquals(63, failed.get(63).getArchiveId());
+		}
+	}
 }
@@ -26,6 +26,7 @@ package net.runelite.cache.fs.jagex;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Container;
 import org.junit.Assert;
@@ -167,4 +168,52 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testMapped() throws IOException
+	{
+		byte[] b = new byte[4096];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		File file = folder.newFile();
+		DataFileWriteResult res, res2;
+		try (DataFile df = new DataFile(file))
+		{
+			res = df.write(42, 3, "test".getBytes());
+			res2 = df.write(42, 0x1FFFF, b);
+		}
+
+		try (DataFile df = DataFile.map(file))
+		{
+			Assert.assertArrayEquals("test".getBytes(), df.read(42, 3, res.sector, res.compressedLength));
+			Assert.assertArrayEquals(b, df.read(42, 0x1FFFF, res2.sector, res2.compressedLength));
+
+			// wrong archive
+			Assert.assertNull(df.read(42, 4, res.sector, res.compressedLength));
+
+			ByteBuffer[] slices = df.readSlices(42, 0x1FFFF, res2.sector, res2.compressedLength);
+			Assert.assertEquals(9, slices.length);
+
+			ByteBuffer buffer = ByteBuffer.allocate(b.length);
+			for (ByteBuffer slice : slices)
+			{
+				Assert.assertTrue(slice.isReadOnly());
+				buffer.put(slice);
+			}
+			Assert.assertArrayEquals(b, buffer.array());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testMappedWrite() throws IOException
+	{
+		File file = folder.newFile();
+		try (DataFile df = DataFile.map(file))
+		{
+			df.write(42, 3, "test".getBytes());
+		}
+	}
 }
@@ -25,6 +25,7 @@
 package net.runelite.cache.fs.jagex;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
@@ -99,4 +100,85 @@ public class DiskStorageTest
 		}
 	}
 
+	@Test
+	public void testLoadArchiveMapped() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		Archive archive;
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			archive = index.addArchive(0);
+
+			FileData[] fileData = new FileData[1];
+			archive.setFileData(fileData);
+			fileData[0] = new FileData();
+
+			Container container = new Container(archive.getCompression(), 42);
+			container.compress("test".getBytes(), null);
+			archive.setRevision(42);
+			storage.saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Archive archive2 = store.findIndex(0).getArchive(0);
+
+			byte[] compressedData = storage.loadArchive(archive2);
+			assertArrayEquals("test".getBytes(), archive2.decompress(compressedData));
+			assertEquals(archive.getCrc(), archive2.getCrc());
+
+			ByteBuffer[] slices = storage.loadArchiveSlices(archive2);
+			assertEquals(1, slices.length);
+			byte[] sliceData = new byte[slices[0].remaining()];
+			slices[0].get(sliceData);
+			assertArrayEquals(compressedData, sliceData);
+		}
+	}
+
+	@Test
+	public void testMappedCreatesMissingFiles() throws Exception
+	{
+		File file = folder.newFolder();
+		try (Store store = new Store(file))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+			archive.setFileData(new FileData[]
+			{
+				new FileData()
+			});
+
+			Container container = new Container(archive.getCompression(), -1);
+			container.compress("test".getBytes(), null);
+			store.getStorage().saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		File idx = new File(file, "main_file_cache.idx0");
+		assertTrue(idx.delete());
+
+		DiskStorage storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			assertNull(storage.loadArchive(store.findIndex(0).getArchive(0)));
+		}
+		assertTrue(idx.exists());
+
+		File empty = folder.newFolder();
+		try (Store store = new Store(new DiskStorage(empty, true)))
+		{
+			store.load();
+			assertTrue(store.getIndexes().isEmpty());
+		}
+		assertTrue(new File(empty, "main_file_cache.dat2").exists());
+		assertTrue(new File(empty, "main_file_cache.idx255").exists());
+	}
 }
@@ -27,6 +27,9 @@ package net.runelite.cache.item;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
@@ -36,11 +39,18 @@ import net.runelite.cache.StoreLocation;
 import net.runelite.cache.TextureManager;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
 import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.definitions.providers.ItemProvider;
 import net.runelite.cache.definitions.providers.ModelProvider;
+import net.runelite.cache.definitions.providers.SpriteProvider;
+import net.runelite.cache.definitions.providers.TextureProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -49,9 +59,155 @@ import org.junit.rules.TemporaryFolder;
 @Slf4j
 public class ItemSpriteFactoryTest
 {
+	private static final int SWORD = 0;
+	private static final int NOTE_TEMPLATE = 1;
+	private static final int NOTED_SWORD = 2;
+	private static final int PLACEHOLDER_TEMPLATE = 3;
+	private static final int SWORD_PLACEHOLDER = 4;
+
+	private static final int SWORD_MODEL = 0;
+	private static final int NOTE_MODEL = 1;
+
+	// items are changed when they are drawn, so each is created when it is provided
+	private final ItemProvider itemProvider = ItemSpriteFactoryTest::item;
+	// and so are models
+	private final ModelProvider modelProvider = modelId -> modelId == SWORD_MODEL
+		? box(-8, -64, -8, 8, 64, 8, 0x1234)
+		: box(-48, -32, -2, 48, 32, 2, 0x7654);
+	private final SpriteProvider spriteProvider = (spriteId, frameId) -> null;
+	private final TextureProvider textureProvider = () -> new TextureDefinition[0];
+
 	@Rule
 	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
 
+	private static ItemDefinition item(int itemId)
+	{
+		ItemDefinition item = new ItemDefinition(itemId);
+		item.zoom2d = 600;
+		item.xan2d = 100;
+		item.yan2d = 300;
+		switch (itemId)
+		{
+			case SWORD:
+				item.name = "Sword";
+				item.inventoryModel = SWORD_MODEL;
+				item.colorFind = new short[]{0x1234};
+				item.colorReplace = new short[]{0x2345};
+				item.notedID = NOTED_SWORD;
+				item.placeholderId = SWORD_PLACEHOLDER;
+				break;
+			case NOTE_TEMPLATE:
+			case PLACEHOLDER_TEMPLATE:
+				item.inventoryModel = NOTE_MODEL;
+				break;
+			case NOTED_SWORD:
+				item.notedID = SWORD;
+				item.notedTemplate = NOTE_TEMPLATE;
+				break;
+			case SWORD_PLACEHOLDER:
+				item.inventoryModel = NOTE_MODEL;
+				item.placeholderId = SWORD;
+				item.placeholderTemplateId = PLACEHOLDER_TEMPLATE;
+				break;
+			default:
+				throw new IllegalArgumentException();
+		}
+		return item;
+	}
+
+	/**
+	 * A box with the given corners and one color
+	 */
+	private static ModelDefinition box(int x0, int y0, int z0, int x1, int y1, int z1, int color)
+	{
+		ModelDefinition def = new ModelDefinition();
+		def.vertexCount = 8;
+		def.vertexPositionsX = new int[]{x0, x1, x1, x0, x0, x1, x1, x0};
+		def.vertexPositionsY = new int[]{y0, y0, y1, y1, y0, y0, y1, y1};
+		def.vertexPositionsZ = new int[]{z0, z0, z0, z0, z1, z1, z1, z1};
+
+		int[][] faces = {
+			{0, 2, 1}, {0, 3, 2},
+			{4, 5, 6}, {4, 6, 7},
+			{0, 1, 5}, {0, 5, 4},
+			{3, 6, 2}, {3, 7, 6},
+			{0, 4, 7}, {0, 7, 3},
+			{1, 2, 6}, {1, 6, 5},
+		};
+		def.faceCount = faces.length;
+		def.faceVertexIndices1 = new int[faces.length];
+		def.faceVertexIndices2 = new int[faces.length];
+		def.faceVertexIndices3 = new int[faces.length];
+		def.faceColors = new short[faces.length];
+		for (int i = 0; i < faces.length; ++i)
+		{
+			def.faceVertexIndices1[i] = faces[i][0];
+			def.faceVertexIndices2[i] = faces[i][1];
+			def.faceVertexIndices3[i] = faces[i][2];
+			def.faceColors[i] = (short) color;
+		}
+		return def;
+	}
+
+	private static int[] pixels(BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	@Test
+	public void testReusedFactory() throws IOException
+	{
+		int[] itemIds = {SWORD, NOTED_SWORD, SWORD_PLACEHOLDER};
+		ItemSpriteFactory factory = new ItemSpriteFactory(itemProvider, modelProvider, spriteProvider, textureProvider, 16);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try
+		{
+			// a plain, a bordered and a shadowed icon, and the icon of the noted item
+			int[][] options = {
+				{1, 0, 0, 0},
+				{1, 2, 0, 0},
+				{1, 1, 3153952, 0},
+				{10, 1, 3153952, 1},
+			};
+
+			for (int[] option : options)
+			{
+				int quantity = option[0], border = option[1], shadowColor = option[2];
+				boolean noted = option[3] != 0;
+
+				int[][] batch = new int[itemIds.length][ItemSpriteFactory.WIDTH * ItemSpriteFactory.HEIGHT];
+				boolean[] rendered = factory.createSprites(itemIds, quantity, border, shadowColor, noted, batch, executor, 2);
+
+				for (int i = 0; i < itemIds.length; ++i)
+				{
+					int[] expected = pixels(ItemSpriteFactory.createSprite(itemProvider, modelProvider, spriteProvider, textureProvider,
+						itemIds[i], quantity, border, shadowColor, noted));
+					assertTrue(Arrays.stream(expected).anyMatch(rgb -> rgb != 0));
+
+					// twice, the second time with the model cached and the context reused
+					for (int j = 0; j < 2; ++j)
+					{
+						assertArrayEquals(expected, pixels(factory.createSprite(itemIds[i], quantity, border, shadowColor, noted)));
+					}
+
+					assertTrue(rendered[i]);
+					assertArrayEquals(expected, pixels(new SpritePixels(batch[i], ItemSpriteFactory.WIDTH, ItemSpriteFactory.HEIGHT).toBufferedImage()));
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		// the noted and placeholder icons are drawn over the item's own
+		int[] sword = pixels(factory.createSprite(SWORD, 1, 1, 0, false));
+		assertFalse(Arrays.equals(sword, pixels(factory.createSprite(NOTED_SWORD, 1, 1, 0, false))));
+		assertFalse(Arrays.equals(sword, pixels(factory.createSprite(SWORD_PLACEHOLDER, 1, 1, 0, false))));
+		assertFalse(Arrays.equals(sword, pixels(factory.createSprite(SWORD, 1, 2, 0, false))));
+	}
+
 	@Test
 	@Ignore
 	public void test() throws IOException
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.cache.SyntheticMaps;
+import net.runelite.cache.fs.Store;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RegionLoaderTest
+{
+	private static final int[] REGION_IDS = {
+		10 << 8 | 200, 10 << 8 | 201, 11 << 8 | 200, 11 << 8 | 201, 12 << 8 | 200, 12 << 8 | 201
+	};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Store store;
+	private RegionLoader regionLoader;
+
+	@Before
+	public void before() throws IOException
+	{
+		File cacheDir = folder.newFolder();
+		SyntheticMaps.create(cacheDir, REGION_IDS);
+
+		store = new Store(cacheDir);
+		store.load();
+		regionLoader = new RegionLoader(store);
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		store.close();
+	}
+
+	@Test
+	public void testEvictAndReload()
+	{
+		regionLoader.indexRegions(2);
+		assertEquals(REGION_IDS.length, regionLoader.getRegionIds().length);
+		assertTrue(regionLoader.getRegions().isEmpty());
+
+		Region first = regionLoader.getRegion(REGION_IDS[0]);
+		Region second = regionLoader.getRegion(REGION_IDS[1]);
+		assertSame(first, regionLoader.getRegion(REGION_IDS[0]));
+
+		// the second region is now the least recently used
+		Region third = regionLoader.getRegion(REGION_IDS[2]);
+		assertEquals(2, regionLoader.getRegions().size());
+		assertTrue(regionLoader.getRegions().contains(first));
+		assertTrue(regionLoader.getRegions().contains(third));
+		assertFalse(regionLoader.getRegions().contains(second));
+
+		Region reloaded = regionLoader.getRegion(REGION_IDS[1]);
+		assertNotSame(second, reloaded);
+		assertEquals(second.getRegionID(), reloaded.getRegionID());
+		for (int x = 0; x < Region.X; ++x)
+		{
+			for (int y = 0; y < Region.Y; ++y)
+			{
+				assertEquals(second.getUnderlayId(0, x, y), reloaded.getUnderlayId(0, x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testForEachRegion()
+	{
+		regionLoader.indexRegions(2);
+
+		// regions are decoded and evicted concurrently, but each is visited once
+		Map<Integer, AtomicInteger> visits = new ConcurrentHashMap<>();
+		regionLoader.forEachRegion(region ->
+		{
+			assertNotNull(region);
+			visits.computeIfAbsent(region.getRegionID(), id -> new AtomicInteger()).incrementAndGet();
+		});
+
+		assertEquals(REGION_IDS.length, visits.size());
+		for (int regionId : REGION_IDS)
+		{
+			assertEquals(1, visits.get(regionId).get());
+		}
+		assertTrue(regionLoader.getRegions().size() <= 2);
+	}
+
+	@Test
+	public void testFindRegionForWorldCoordinates()
+	{
+		regionLoader.indexRegions(2);
+
+		Region region = regionLoader.findRegionForWorldCoordinates(11 * Region.X + 5, 201 * Region.Y + 63);
+		assertNotNull(region);
+		assertEquals(11 << 8 | 201, region.getRegionID());
+
+		// in the grid, but not in the cache
+		assertNull(regionLoader.findRegionForWorldCoordinates(13 * Region.X, 200 * Region.Y));
+
+		// outside of the grid
+		assertNull(regionLoader.findRegionForWorldCoordinates(256 * Region.X, 200 * Region.Y));
+		assertNull(regionLoader.findRegionForWorldCoordinates(10 * Region.X, 256 * Region.Y));
+		assertNull(regionLoader.findRegionForWorldCoordinates(-1, 200 * Region.Y));
+		assertNull(regionLoader.findRegionForWorldCoordinates(10 * Region.X, -Region.Y));
+	}
+}
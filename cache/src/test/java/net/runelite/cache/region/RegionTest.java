@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import net.runelite.cache.definitions.MapDefinition;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class RegionTest
+{
+	@Test
+	public void testLoadTerrain()
+	{
+		MapDefinition map = new MapDefinition();
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					MapDefinition.Tile tile = map.getTiles()[z][x][y] = new MapDefinition.Tile();
+					tile.height = z + 2;
+					tile.underlayId = (byte) (x + 1);
+					tile.overlayId = (byte) (y + 100);
+					tile.settings = (byte) z;
+				}
+			}
+		}
+
+		Region region = new Region(50, 50);
+		region.loadTerrain(map);
+
+		for (int z = 0; z < Region.Z; ++z)
+		{
+			for (int x = 0; x < Region.X; ++x)
+			{
+				for (int y = 0; y < Region.Y; ++y)
+				{
+					// heights are relative to the plane below
+					assertEquals(-8 * (z + 1) * (z + 4) / 2, region.getTileHeight(z, x, y));
+					assertEquals(x + 1, region.getUnderlayId(z, x, y));
+					assertEquals(y + 100, region.getOverlayId(z, x, y));
+					assertEquals(z, region.getTileSetting(z, x, y));
+				}
+			}
+		}
+	}
+}
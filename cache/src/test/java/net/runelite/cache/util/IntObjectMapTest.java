@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class IntObjectMapTest
+{
+	@Test
+	public void testRandomOperations()
+	{
+		Random random = new Random(42L);
+		IntObjectMap<Integer> map = new IntObjectMap<>();
+		Map<Integer, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 100_000; ++i)
+		{
+			// a small key range so keys collide, are replaced and are removed often
+			int key = random.nextInt(2048) * (random.nextBoolean() ? 1 : -65536);
+			switch (random.nextInt(4))
+			{
+				case 0:
+				case 1:
+					assertEquals(expected.put(key, i), map.put(key, i));
+					break;
+				case 2:
+					assertEquals(expected.remove(key), map.remove(key));
+					break;
+				case 3:
+					assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+					break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+
+		for (int key = -2048 * 65536; key < 2048; key += key < 0 ? 65536 : 1)
+		{
+			assertEquals(expected.get(key), map.get(key));
+		}
+	}
+}
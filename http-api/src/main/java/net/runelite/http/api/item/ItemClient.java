@@ -77,6 +77,100 @@ public class ItemClient
 		}
 	}
 
+	/**
+	 * Fetch a snapshot of every item price in the binary format
+	 *
+	 * @return the prices, or null on error
+	 */
+	public ItemPriceFeed getPriceFeed() throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("prices.bin")
+			.build();
+
+		return fetchPriceFeed(url);
+	}
+
+	/**
+	 * Fetch the prices which have changed since an earlier feed. If the server
+	 * no longer knows the earlier prices, a full snapshot is returned instead.
+	 *
+	 * @param since the hash of the prices the client has
+	 * @return the changed prices, or null on error
+	 */
+	public ItemPriceFeed getPriceDelta(String since) throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("prices")
+			.addPathSegment("delta.bin")
+			.addQueryParameter("since", since)
+			.build();
+
+		return fetchPriceFeed(url);
+	}
+
+	private ItemPriceFeed fetchPriceFeed(HttpUrl url) throws IOException
+	{
+		log.debug("Built URI: {}", url);
+
+		Request request = new Request.Builder()
+			.header("Accept", ItemPriceFeed.MEDIA_TYPE)
+			.url(url)
+			.build();
+
+		try (Response response = client.newCall(request).execute())
+		{
+			if (!response.isSuccessful())
+			{
+				log.warn("Error looking up prices: {}", response);
+				return null;
+			}
+
+			return ItemPriceFeed.decode(response.body().bytes());
+		}
+	}
+
+	/**
+	 * Fetch the names of the tradeable items, which are not part of the
+	 * binary price feed
+	 *
+	 * @return the names keyed by item id, or null on error
+	 */
+	public Map<Integer, String> getNames() throws IOException
+	{
+		HttpUrl url = RuneLiteAPI.getApiBase().newBuilder()
+			.addPathSegment("item")
+			.addPathSegment("names.js")
+			.build();
+
+		log.debug("Built URI: {}", url);
+
+		Request request = new Request.Builder()
+			.url(url)
+			.build();
+
+		try (Response response = client.newCall(request).execute())
+		{
+			if (!response.isSuccessful())
+			{
+				log.warn("Error looking up item names: {}", response);
+				return null;
+			}
+
+			InputStream in = response.body().byteStream();
+			final Type typeToken = new TypeToken<Map<Integer, String>>()
+			{
+			}.getType();
+			return RuneLiteAPI.GSON.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), typeToken);
+		}
+		catch (JsonParseException ex)
+		{
+			throw new IOException(ex);
+		}
+	}
+
 	public Map<Integer, ItemStats> getStats() throws IOException
 	{
 		HttpUrl.Builder urlBuilder = RuneLiteAPI.getStaticBase().newBuilder()
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api.item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import lombok.Value;
+
+/**
+ * A compact binary alternative to the JSON price list. A feed is either a
+ * snapshot of every price, or a delta from an earlier snapshot holding only
+ * the items whose prices changed and the ids of the items which were removed.
+ * Item names are not included, and are fetched separately.
+ * <p>
+ * The encoding is a version byte, a snapshot flag, the hash of the prices
+ * after the feed is applied, the changed items as ascending id deltas each
+ * followed by the price and wiki price, and then the removed ids. All
+ * integers are unsigned varints.
+ */
+@Value
+public class ItemPriceFeed
+{
+	public static final String MEDIA_TYPE = "application/x-runelite-prices";
+
+	private static final int VERSION = 1;
+
+	/**
+	 * whether this feed replaces all prices, rather than updating them
+	 */
+	private final boolean snapshot;
+	/**
+	 * the hash, used as the ETag, of the prices after this feed is applied
+	 */
+	private final String hash;
+	private final int[] ids;
+	private final int[] prices;
+	private final int[] wikiPrices;
+	private final int[] removed;
+
+	public byte[] encode()
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(16 + hash.length() + ids.length * 8 + removed.length * 2);
+		out.write(VERSION);
+		out.write(snapshot ? 1 : 0);
+
+		byte[] hashBytes = hash.getBytes(StandardCharsets.US_ASCII);
+		writeVarInt(out, hashBytes.length);
+		out.write(hashBytes, 0, hashBytes.length);
+
+		writeVarInt(out, ids.length);
+		int last = 0;
+		for (int i = 0; i < ids.length; ++i)
+		{
+			writeVarInt(out, idDelta(last, ids[i]));
+			writeVarInt(out, prices[i]);
+			writeVarInt(out, wikiPrices[i]);
+			last = ids[i];
+		}
+
+		writeVarInt(out, removed.length);
+		last = 0;
+		for (int id : removed)
+		{
+			writeVarInt(out, idDelta(last, id));
+			last = id;
+		}
+
+		return out.toByteArray();
+	}
+
+	public static ItemPriceFeed decode(byte[] data) throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		try
+		{
+			int version = buf.get() & 0xff;
+			if (version != VERSION)
+			{
+				throw new IOException("unsupported price feed version " + version);
+			}
+
+			boolean snapshot = buf.get() != 0;
+
+			byte[] hashBytes = new byte[readCount(buf, 1)];
+			buf.get(hashBytes);
+			String hash = new String(hashBytes, StandardCharsets.US_ASCII);
+
+			int count = readCount(buf, 3);
+			int[] ids = new int[count];
+			int[] prices = new int[count];
+			int[] wikiPrices = new int[count];
+			int last = 0;
+			for (int i = 0; i < count; ++i)
+			{
+				last = ids[i] = last + readVarInt(buf);
+				prices[i] = readVarInt(buf);
+				wikiPrices[i] = readVarInt(buf);
+			}
+
+			int[] removed = new int[readCount(buf, 1)];
+			last = 0;
+			for (int i = 0; i < removed.length; ++i)
+			{
+				last = removed[i] = last + readVarInt(buf);
+			}
+
+			return new ItemPriceFeed(snapshot, hash, ids, prices, wikiPrices, removed);
+		}
+		catch (BufferUnderflowException ex)
+		{
+			throw new IOException("truncated price feed", ex);
+		}
+	}
+
+	/**
+	 * Create a delta from this feed's prices which changes nothing
+	 */
+	public static ItemPriceFeed unchanged(String hash)
+	{
+		int[] empty = new int[0];
+		return new ItemPriceFeed(false, hash, empty, empty, empty, empty);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ItemPriceFeed(snapshot=" + snapshot + ", hash=" + hash + ", ids=" + ids.length
+			+ ", removed=" + removed.length + ")";
+	}
+
+	private static int idDelta(int last, int id)
+	{
+		if (id < last)
+		{
+			throw new IllegalArgumentException("ids must be ascending, but " + id + " follows " + last);
+		}
+		return id - last;
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7f) != 0)
+		{
+			out.write((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(ByteBuffer buf) throws IOException
+	{
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7)
+		{
+			int b = buf.get();
+			value |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0)
+			{
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	/**
+	 * Read an element count, checking it against the remaining data so a
+	 * corrupt feed can't cause a huge allocation
+	 */
+	private static int readCount(ByteBuffer buf, int minBytesPerElement) throws IOException
+	{
+		int count = readVarInt(buf);
+		if (count < 0 || count > buf.remaining() / minBytesPerElement)
+		{
+			throw new IOException("invalid price feed count " + count);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.api.item;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ItemPriceFeedTest
+{
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		ItemPriceFeed feed = new ItemPriceFeed(true, "abcdef",
+			new int[]{2, 4151, 4151, 30000},
+			new int[]{0, 1_500_000, 127, Integer.MAX_VALUE},
+			new int[]{-1, 1_450_000, 128, 0},
+			new int[]{1, 20000});
+		Assert.assertEquals(feed, ItemPriceFeed.decode(feed.encode()));
+
+		ItemPriceFeed unchanged = ItemPriceFeed.unchanged("abcdef");
+		Assert.assertEquals(unchanged, ItemPriceFeed.decode(unchanged.encode()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsortedIds()
+	{
+		new ItemPriceFeed(false, "", new int[]{2, 1}, new int[2], new int[2], new int[0]).encode();
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncated() throws IOException
+	{
+		ItemPriceFeed feed = new ItemPriceFeed(true, "abcdef", new int[]{1, 2}, new int[]{3, 4}, new int[]{5, 6}, new int[0]);
+		byte[] data = feed.encode();
+		ItemPriceFeed.decode(Arrays.copyOf(data, data.length - 2));
+	}
+}
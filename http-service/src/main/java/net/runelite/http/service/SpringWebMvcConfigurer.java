@@ -26,6 +26,7 @@ package net.runelite.http.service;
 
 import java.util.List;
 import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.item.ItemPriceFeed;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -40,12 +41,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter
 public class SpringWebMvcConfigurer extends WebMvcConfigurerAdapter
 {
 	/**
-	 * Configure .js as application/json to trick Cloudflare into caching json responses
+	 * Configure .js as application/json to trick Cloudflare into caching json responses,
+	 * and .bin as the binary price feed, which Cloudflare also caches
 	 */
 	@Override
 	public void configureContentNegotiation(ContentNegotiationConfigurer configurer)
 	{
 		configurer.mediaType("js", MediaType.APPLICATION_JSON);
+		configurer.mediaType("bin", MediaType.parseMediaType(ItemPriceFeed.MEDIA_TYPE));
 	}
 
 	/**
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.BaseEncoding;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.http.service.cache.beans.ArchiveCacheStats;
+
+/**
+ * Caches archive data and decoded archive files by the SHA-256 of the
+ * archive data. Since the data for a hash never changes, entries are never
+ * invalidated, only evicted when the cache is over its size. Archive data
+ * may also be kept in a directory on disk, which is checked before the
+ * object store.
+ */
+@Slf4j
+class ArchiveDataCache
+{
+	// approximate size of an FSFile and its map entry in ArchiveFiles
+	private static final int FILE_OVERHEAD = 64;
+
+	/**
+	 * Decoded files are also keyed by the archive row, as the file ids
+	 * come from the database and not from the archive data
+	 */
+	@Value
+	private static class FilesKey
+	{
+		String hash;
+		int archive;
+	}
+
+	private final Cache<String, byte[]> archives;
+	private final Cache<FilesKey, ArchiveFiles> files;
+
+	private final File directory;
+	private final long maximumDiskBytes;
+	private final AtomicLong diskBytes = new AtomicLong();
+	private final AtomicLong diskHits = new AtomicLong();
+	private final AtomicLong diskMisses = new AtomicLong();
+
+	/**
+	 * @param maximumBytes maximum size of cached archive data
+	 * @param maximumFilesBytes maximum size of cached file contents
+	 * @param directory directory to keep archive data in, or null
+	 * @param maximumDiskBytes maximum size of archive data kept on disk
+	 */
+	ArchiveDataCache(long maximumBytes, long maximumFilesBytes, File directory, long maximumDiskBytes)
+	{
+		archives = CacheBuilder.newBuilder()
+			.maximumWeight(maximumBytes)
+			.weigher((String k, byte[] data) -> data.length)
+			.recordStats()
+			.build();
+		files = CacheBuilder.newBuilder()
+			.maximumWeight(maximumFilesBytes)
+			.weigher((FilesKey k, ArchiveFiles archiveFiles) -> weigh(archiveFiles))
+			.recordStats()
+			.build();
+
+		this.directory = directory;
+		this.maximumDiskBytes = maximumDiskBytes;
+
+		if (directory != null)
+		{
+			directory.mkdirs();
+			diskBytes.set(listDiskFiles().stream().mapToLong(File::length).sum());
+		}
+	}
+
+	private static int weigh(ArchiveFiles archiveFiles)
+	{
+		long size = 0;
+		for (FSFile file : archiveFiles.getFiles())
+		{
+			size += FILE_OVERHEAD + (file.getContents() != null ? file.getContents().length : 0);
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	static String path(byte[] hash)
+	{
+		String hashStr = BaseEncoding.base16().encode(hash);
+		return new StringBuilder()
+			.append(hashStr, 0, 2)
+			.append('/')
+			.append(hashStr.substring(2))
+			.toString();
+	}
+
+	/**
+	 * Get archive data from memory or disk. The cached data is never
+	 * handed out, so callers receive their own copy which they may modify.
+	 *
+	 * @param hash
+	 * @return a copy of the data, or null if it is not cached
+	 */
+	byte[] getArchive(byte[] hash)
+	{
+		String path = path(hash);
+		byte[] data = archives.getIfPresent(path);
+		if (data != null)
+		{
+			return data.clone();
+		}
+
+		if (directory == null)
+		{
+			return null;
+		}
+
+		File file = new File(directory, path);
+		try
+		{
+			data = Files.readAllBytes(file.toPath());
+		}
+		catch (IOException ex)
+		{
+			diskMisses.incrementAndGet();
+			return null;
+		}
+
+		diskHits.incrementAndGet();
+		// approximate lru for disk eviction
+		file.setLastModified(System.currentTimeMillis());
+		archives.put(path, data.clone());
+		return data;
+	}
+
+	/**
+	 * Cache archive data. The data is copied, so the caller may continue
+	 * to use and modify its array.
+	 *
+	 * @param hash
+	 * @param data
+	 */
+	void putArchive(byte[] hash, byte[] data)
+	{
+		String path = path(hash);
+		archives.put(path, data.clone());
+
+		if (directory != null)
+		{
+			try
+			{
+				writeDisk(path, data);
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to write archive {} to disk", path, ex);
+			}
+		}
+	}
+
+	ArchiveFiles getFiles(byte[] hash, int archive)
+	{
+		return files.getIfPresent(new FilesKey(path(hash), archive));
+	}
+
+	/**
+	 * Cache decoded archive files. The files are shared between callers
+	 * and must not be modified.
+	 *
+	 * @param hash
+	 * @param archive
+	 * @param archiveFiles
+	 */
+	void putFiles(byte[] hash, int archive, ArchiveFiles archiveFiles)
+	{
+		files.put(new FilesKey(path(hash), archive), archiveFiles);
+	}
+
+	ArchiveCacheStats stats()
+	{
+		ArchiveCacheStats stats = new ArchiveCacheStats();
+		stats.setArchiveHits(archives.stats().hitCount());
+		stats.setArchiveMisses(archives.stats().missCount());
+		stats.setArchiveEvictions(archives.stats().evictionCount());
+		stats.setArchiveHitRate(archives.stats().hitRate());
+		stats.setArchives(archives.size());
+		stats.setFilesHits(files.stats().hitCount());
+		stats.setFilesMisses(files.stats().missCount());
+		stats.setFilesEvictions(files.stats().evictionCount());
+		stats.setFilesHitRate(files.stats().hitRate());
+		stats.setFiles(files.size());
+		stats.setDiskHits(diskHits.get());
+		stats.setDiskMisses(diskMisses.get());
+		stats.setDiskBytes(diskBytes.get());
+		return stats;
+	}
+
+	private void writeDisk(String path, byte[] data) throws IOException
+	{
+		File file = new File(directory, path);
+		if (file.exists())
+		{
+			return;
+		}
+
+		file.getParentFile().mkdirs();
+
+		// write to a temporary file first so partially written archives are never read
+		File tmp = File.createTempFile("archive", ".tmp", file.getParentFile());
+		try
+		{
+			Files.write(tmp.toPath(), data);
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			tmp.delete();
+		}
+
+		if (diskBytes.addAndGet(data.length) > maximumDiskBytes)
+		{
+			evictDisk();
+		}
+	}
+
+	/**
+	 * Delete the least recently used archives on disk until the disk
+	 * cache is under 90% of its size
+	 */
+	private synchronized void evictDisk()
+	{
+		if (diskBytes.get() <= maximumDiskBytes)
+		{
+			return;
+		}
+
+		List<File> diskFiles = listDiskFiles();
+		diskFiles.sort(Comparator.comparingLong(File::lastModified));
+
+		long target = maximumDiskBytes / 10 * 9;
+		for (File file : diskFiles)
+		{
+			if (diskBytes.get() <= target)
+			{
+				break;
+			}
+
+			long length = file.length();
+			if (file.delete())
+			{
+				diskBytes.addAndGet(-length);
+			}
+		}
+	}
+
+	private List<File> listDiskFiles()
+	{
+		try (Stream<Path> paths = Files.walk(directory.toPath()))
+		{
+			return paths
+				.map(Path::toFile)
+				.filter(File::isFile)
+				.collect(Collectors.toCollection(ArrayList::new));
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to list archive cache directory", ex);
+			return new ArrayList<>();
+		}
+	}
+}
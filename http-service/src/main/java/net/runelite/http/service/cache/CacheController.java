@@ -40,6 +40,7 @@ import net.runelite.cache.fs.FSFile;
 import net.runelite.http.api.cache.Cache;
 import net.runelite.http.api.cache.CacheArchive;
 import net.runelite.http.api.cache.CacheIndex;
+import net.runelite.http.service.cache.beans.ArchiveCacheStats;
 import net.runelite.http.service.cache.beans.ArchiveEntry;
 import net.runelite.http.service.cache.beans.CacheEntry;
 import net.runelite.http.service.cache.beans.IndexEntry;
@@ -65,6 +66,12 @@ public class CacheController
 			.collect(Collectors.toList());
 	}
 
+	@GetMapping("stats")
+	public ArchiveCacheStats getArchiveCacheStats()
+	{
+		return cacheService.getArchiveCacheStats();
+	}
+
 	@GetMapping("{cacheId}")
 	public List<CacheIndex> listIndexes(@PathVariable int cacheId)
 	{
@@ -24,8 +24,8 @@
  */
 package net.runelite.http.service.cache;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
-import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 import io.minio.MinioClient;
 import io.minio.errors.ErrorResponseException;
@@ -36,6 +36,7 @@ import io.minio.errors.InvalidBucketNameException;
 import io.minio.errors.InvalidEndpointException;
 import io.minio.errors.InvalidPortException;
 import io.minio.errors.NoResponseException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
@@ -51,6 +52,7 @@ import net.runelite.cache.definitions.loaders.ItemLoader;
 import net.runelite.cache.fs.ArchiveFiles;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.FSFile;
+import net.runelite.http.service.cache.beans.ArchiveCacheStats;
 import net.runelite.http.service.cache.beans.ArchiveEntry;
 import net.runelite.http.service.cache.beans.CacheEntry;
 import net.runelite.http.service.cache.beans.FileEntry;
@@ -77,15 +79,23 @@ public class CacheService
 	private String minioBucket;
 
 	private final MinioClient minioClient;
+	private final ArchiveDataCache archiveCache;
 
 	@Autowired
 	public CacheService(
 		@Value("${minio.endpoint}") String minioEndpoint,
 		@Value("${minio.accesskey}") String accessKey,
-		@Value("${minio.secretkey}") String secretKey
+		@Value("${minio.secretkey}") String secretKey,
+		@Value("${cache.archives.memory:67108864}") long archiveCacheSize,
+		@Value("${cache.archives.files-memory:134217728}") long filesCacheSize,
+		@Value("${cache.archives.directory:}") String archiveCacheDirectory,
+		@Value("${cache.archives.directory-size:1073741824}") long archiveCacheDirectorySize
 	) throws InvalidEndpointException, InvalidPortException
 	{
 		this.minioClient = new MinioClient(minioEndpoint, accessKey, secretKey);
+		this.archiveCache = new ArchiveDataCache(archiveCacheSize, filesCacheSize,
+			Strings.isNullOrEmpty(archiveCacheDirectory) ? null : new File(archiveCacheDirectory),
+			archiveCacheDirectorySize);
 	}
 
 	@Bean
@@ -102,16 +112,17 @@ public class CacheService
 	 */
 	public byte[] getArchive(ArchiveEntry archiveEntry)
 	{
-		String hashStr = BaseEncoding.base16().encode(archiveEntry.getHash());
-		String path = new StringBuilder()
-			.append(hashStr, 0, 2)
-			.append('/')
-			.append(hashStr.substring(2))
-			.toString();
+		byte[] data = archiveCache.getArchive(archiveEntry.getHash());
+		if (data != null)
+		{
+			return data;
+		}
+
+		String path = ArchiveDataCache.path(archiveEntry.getHash());
 
 		try (InputStream in = minioClient.getObject(minioBucket, path))
 		{
-			return ByteStreams.toByteArray(in);
+			data = ByteStreams.toByteArray(in);
 		}
 		catch (InvalidBucketNameException | NoSuchAlgorithmException | InsufficientDataException
 			| IOException | InvalidKeyException | NoResponseException | XmlPullParserException
@@ -120,10 +131,27 @@ public class CacheService
 			log.warn(null, ex);
 			return null;
 		}
+
+		archiveCache.putArchive(archiveEntry.getHash(), data);
+		return data;
 	}
 
+	/**
+	 * retrieve the files of an archive. The returned files may be shared
+	 * with other callers, and must not be modified.
+	 *
+	 * @param archiveEntry
+	 * @return
+	 * @throws IOException
+	 */
 	public ArchiveFiles getArchiveFiles(ArchiveEntry archiveEntry) throws IOException
 	{
+		ArchiveFiles archiveFiles = archiveCache.getFiles(archiveEntry.getHash(), archiveEntry.getId());
+		if (archiveFiles != null)
+		{
+			return archiveFiles;
+		}
+
 		CacheDAO cacheDao = new CacheDAO();
 
 		try (Connection con = sql2o.open();
@@ -144,7 +172,7 @@ public class CacheService
 
 			byte[] decompressedData = result.data;
 
-			ArchiveFiles archiveFiles = new ArchiveFiles();
+			archiveFiles = new ArchiveFiles();
 			for (FileEntry fileEntry : files)
 			{
 				FSFile file = new FSFile(fileEntry.getFileId());
@@ -152,8 +180,20 @@ public class CacheService
 				file.setNameHash(fileEntry.getNameHash());
 			}
 			archiveFiles.loadContents(decompressedData);
-			return archiveFiles;
 		}
+
+		archiveCache.putFiles(archiveEntry.getHash(), archiveEntry.getId(), archiveFiles);
+		return archiveFiles;
+	}
+
+	/**
+	 * Hit and miss counts of the archive cache
+	 *
+	 * @return
+	 */
+	public ArchiveCacheStats getArchiveCacheStats()
+	{
+		return archiveCache.stats();
 	}
 
 	public List<CacheEntry> listCaches()
@@ -25,40 +25,64 @@
 package net.runelite.http.service.item;
 
 import com.google.common.base.Suppliers;
-import com.google.common.hash.HashCode;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceFeed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/item")
 public class ItemController
 {
+	/**
+	 * number of earlier price snapshots kept to compute deltas from
+	 */
+	private static final int PRICE_HISTORY = 48;
+
 	private static class MemoizedPrices
 	{
 		final ItemPrice[] prices;
+		final PriceSnapshot snapshot;
 		final String hash;
+		final byte[] feed;
+		final Map<Integer, String> names;
+		final String namesHash;
+		// encoded deltas from earlier snapshots, by the earlier snapshot's hash
+		final Map<String, byte[]> deltas = new ConcurrentHashMap<>();
 
 		MemoizedPrices(ItemPrice[] prices)
 		{
 			this.prices = prices;
 
+			snapshot = new PriceSnapshot(prices);
+			hash = snapshot.hash;
+			feed = snapshot.snapshot().encode();
+
+			Map<Integer, String> names = new LinkedHashMap<>(prices.length);
 			Hasher hasher = Hashing.sha256().newHasher();
 			for (ItemPrice itemPrice : prices)
 			{
-				hasher.putInt(itemPrice.getId()).putInt(itemPrice.getPrice());
+				names.put(itemPrice.getId(), itemPrice.getName());
+				hasher.putInt(itemPrice.getId()).putString(itemPrice.getName(), StandardCharsets.UTF_8);
 			}
-			HashCode code = hasher.hash();
-			hash = code.toString();
+			this.names = Collections.unmodifiableMap(names);
+			namesHash = hasher.hash().toString();
 		}
 	}
 
@@ -66,6 +90,14 @@ public class ItemController
 	private final int priceCache;
 
 	private final Supplier<MemoizedPrices> memoizedPrices;
+	private final Map<String, PriceSnapshot> priceHistory = Collections.synchronizedMap(new LinkedHashMap<String, PriceSnapshot>()
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PriceSnapshot> eldest)
+		{
+			return size() > PRICE_HISTORY;
+		}
+	});
 
 	@Autowired
 	public ItemController(
@@ -76,17 +108,22 @@ public class ItemController
 		this.itemService = itemService;
 		this.priceCache = priceCache;
 
-		memoizedPrices = Suppliers.memoizeWithExpiration(() -> new MemoizedPrices(itemService.fetchPrices().stream()
-			.map(priceEntry ->
-			{
-				ItemPrice itemPrice = new ItemPrice();
-				itemPrice.setId(priceEntry.getItem());
-				itemPrice.setName(priceEntry.getName());
-				itemPrice.setPrice(priceEntry.getPrice());
-				itemPrice.setWikiPrice(computeWikiPrice(priceEntry));
-				return itemPrice;
-			})
-			.toArray(ItemPrice[]::new)), priceCache, TimeUnit.MINUTES);
+		memoizedPrices = Suppliers.memoizeWithExpiration(() ->
+		{
+			MemoizedPrices prices = new MemoizedPrices(itemService.fetchPrices().stream()
+				.map(priceEntry ->
+				{
+					ItemPrice itemPrice = new ItemPrice();
+					itemPrice.setId(priceEntry.getItem());
+					itemPrice.setName(priceEntry.getName());
+					itemPrice.setPrice(priceEntry.getPrice());
+					itemPrice.setWikiPrice(computeWikiPrice(priceEntry));
+					return itemPrice;
+				})
+				.toArray(ItemPrice[]::new));
+			priceHistory.put(prices.hash, prices.snapshot);
+			return prices;
+		}, priceCache, TimeUnit.MINUTES);
 	}
 
 	private static int computeWikiPrice(PriceEntry priceEntry)
@@ -108,6 +145,54 @@ public class ItemController
 		return ResponseEntity.ok()
 			.eTag(memorizedPrices.hash)
 			.cacheControl(CacheControl.maxAge(priceCache, TimeUnit.MINUTES).cachePublic())
+			.varyBy(HttpHeaders.ACCEPT)
 			.body(memorizedPrices.prices);
 	}
+
+	@GetMapping(value = "/prices", produces = ItemPriceFeed.MEDIA_TYPE)
+	public ResponseEntity<byte[]> pricesFeed()
+	{
+		MemoizedPrices memorizedPrices = this.memoizedPrices.get();
+		return ResponseEntity.ok()
+			.eTag(memorizedPrices.hash)
+			.cacheControl(CacheControl.maxAge(priceCache, TimeUnit.MINUTES).cachePublic())
+			.varyBy(HttpHeaders.ACCEPT)
+			.body(memorizedPrices.feed);
+	}
+
+	/**
+	 * Get the prices which changed since the snapshot with the given hash, or
+	 * every price if that snapshot is too old
+	 */
+	@GetMapping(value = "/prices/delta", produces = ItemPriceFeed.MEDIA_TYPE)
+	public ResponseEntity<byte[]> pricesDelta(@RequestParam String since)
+	{
+		MemoizedPrices memorizedPrices = this.memoizedPrices.get();
+
+		byte[] body;
+		PriceSnapshot from = priceHistory.get(since);
+		if (from == null)
+		{
+			body = memorizedPrices.feed;
+		}
+		else
+		{
+			body = memorizedPrices.deltas.computeIfAbsent(since, h -> memorizedPrices.snapshot.delta(from).encode());
+		}
+
+		return ResponseEntity.ok()
+			.eTag(memorizedPrices.hash)
+			.cacheControl(CacheControl.maxAge(priceCache, TimeUnit.MINUTES).cachePublic())
+			.body(body);
+	}
+
+	@GetMapping("/names")
+	public ResponseEntity<Map<Integer, String>> names()
+	{
+		MemoizedPrices memorizedPrices = this.memoizedPrices.get();
+		return ResponseEntity.ok()
+			.eTag(memorizedPrices.namesHash)
+			.cacheControl(CacheControl.maxAge(priceCache, TimeUnit.MINUTES).cachePublic())
+			.body(memorizedPrices.names);
+	}
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.Arrays;
+import java.util.Comparator;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceFeed;
+
+/**
+ * The prices of every item at one point in time, sorted by item id, which
+ * deltas between snapshots are computed from
+ */
+class PriceSnapshot
+{
+	final String hash;
+	private final int[] ids;
+	private final int[] prices;
+	private final int[] wikiPrices;
+
+	PriceSnapshot(ItemPrice[] itemPrices)
+	{
+		itemPrices = itemPrices.clone();
+		Arrays.sort(itemPrices, Comparator.comparingInt(ItemPrice::getId));
+
+		ids = new int[itemPrices.length];
+		prices = new int[itemPrices.length];
+		wikiPrices = new int[itemPrices.length];
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		for (int i = 0; i < itemPrices.length; ++i)
+		{
+			ItemPrice itemPrice = itemPrices[i];
+			ids[i] = itemPrice.getId();
+			prices[i] = itemPrice.getPrice();
+			wikiPrices[i] = itemPrice.getWikiPrice();
+			hasher.putInt(ids[i]).putInt(prices[i]).putInt(wikiPrices[i]);
+		}
+		hash = hasher.hash().toString();
+	}
+
+	ItemPriceFeed snapshot()
+	{
+		return new ItemPriceFeed(true, hash, ids, prices, wikiPrices, new int[0]);
+	}
+
+	/**
+	 * Compute the changes from an earlier snapshot to this one
+	 */
+	ItemPriceFeed delta(PriceSnapshot from)
+	{
+		int[] changedIds = new int[ids.length];
+		int[] changedPrices = new int[ids.length];
+		int[] changedWikiPrices = new int[ids.length];
+		int[] removed = new int[from.ids.length];
+		int changed = 0, removedCount = 0;
+
+		int i = 0, j = 0;
+		while (i < ids.length || j < from.ids.length)
+		{
+			if (j == from.ids.length || (i < ids.length && ids[i] < from.ids[j]))
+			{
+				// added
+				changedIds[changed] = ids[i];
+				changedPrices[changed] = prices[i];
+				changedWikiPrices[changed++] = wikiPrices[i];
+				++i;
+			}
+			else if (i == ids.length || from.ids[j] < ids[i])
+			{
+				removed[removedCount++] = from.ids[j];
+				++j;
+			}
+			else
+			{
+				if (prices[i] != from.prices[j] || wikiPrices[i] != from.wikiPrices[j])
+				{
+					changedIds[changed] = ids[i];
+					changedPrices[changed] = prices[i];
+					changedWikiPrices[changed++] = wikiPrices[i];
+				}
+				++i;
+				++j;
+			}
+		}
+
+		return new ItemPriceFeed(false, hash,
+			Arrays.copyOf(changedIds, changed),
+			Arrays.copyOf(changedPrices, changed),
+			Arrays.copyOf(changedWikiPrices, changed),
+			Arrays.copyOf(removed, removedCount));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.cache;
+
+import com.google.common.hash.Hashing;
+import java.io.File;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.http.service.cache.beans.ArchiveCacheStats;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveDataCacheTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] hash(byte[] data)
+	{
+		return Hashing.sha256().hashBytes(data).asBytes();
+	}
+
+	@Test
+	public void testMemory()
+	{
+		ArchiveDataCache cache = new ArchiveDataCache(1024, 1024, null, 0);
+
+		byte[] data = "test".getBytes();
+		byte[] hash = hash(data);
+		assertNull(cache.getArchive(hash));
+
+		cache.putArchive(hash, data);
+		byte[] cached = cache.getArchive(hash);
+		assertNotSame(data, cached);
+		assertArrayEquals(data, cached);
+
+		// modifying the returned data must not modify the cached data
+		cached[0] = 0;
+		data[1] = 0;
+		assertArrayEquals("test".getBytes(), cache.getArchive(hash));
+
+		ArchiveFiles files = new ArchiveFiles();
+		FSFile file = new FSFile(0);
+		file.setContents(data);
+		files.addFile(file);
+
+		cache.putFiles(hash, 1, files);
+		assertSame(files, cache.getFiles(hash, 1));
+		// the same data in another archive row may have different file ids
+		assertNull(cache.getFiles(hash, 2));
+
+		ArchiveCacheStats stats = cache.stats();
+		assertEquals(2, stats.getArchiveHits());
+		assertEquals(1, stats.getArchiveMisses());
+		assertEquals(1, stats.getFilesHits());
+		assertEquals(1, stats.getFilesMisses());
+	}
+
+	@Test
+	public void testDisk() throws Exception
+	{
+		File directory = folder.newFolder();
+		byte[] data = "test".getBytes();
+		byte[] hash = hash(data);
+
+		ArchiveDataCache cache = new ArchiveDataCache(1024, 1024, directory, 1024);
+		cache.putArchive(hash, data);
+
+		// a new cache starts with an empty memory cache, but the same directory
+		cache = new ArchiveDataCache(1024, 1024, directory, 1024);
+		assertEquals(data.length, cache.stats().getDiskBytes());
+		assertArrayEquals(data, cache.getArchive(hash));
+		assertEquals(1, cache.stats().getDiskHits());
+
+		// now in memory
+		assertArrayEquals(data, cache.getArchive(hash));
+		assertEquals(1, cache.stats().getDiskHits());
+	}
+
+	@Test
+	public void testDiskEviction() throws Exception
+	{
+		File directory = folder.newFolder();
+		ArchiveDataCache cache = new ArchiveDataCache(1024, 1024, directory, 1000);
+
+		byte[][] hashes = new byte[4][];
+		for (int i = 0; i < hashes.length; ++i)
+		{
+			byte[] data = new byte[300];
+			data[0] = (byte) i;
+			hashes[i] = hash(data);
+			cache.putArchive(hashes[i], data);
+			new File(directory, ArchiveDataCache.path(hashes[i])).setLastModified(1000L * i);
+		}
+
+		// the fourth archive puts the cache over, and the oldest is removed
+		assertTrue(cache.stats().getDiskBytes() <= 900);
+		assertTrue(!new File(directory, ArchiveDataCache.path(hashes[0])).exists());
+		assertTrue(new File(directory, ArchiveDataCache.path(hashes[3])).exists());
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import java.util.Arrays;
+import net.runelite.http.api.item.ItemPriceFeed;
+import net.runelite.http.service.account.AuthFilter;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(ItemController.class)
+@ActiveProfiles("test")
+public class ItemControllerTest
+{
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private ItemService itemService;
+
+	@MockBean
+	private AuthFilter authFilter;
+
+	@Before
+	public void before()
+	{
+		when(itemService.fetchPrices()).thenReturn(Arrays.asList(
+			price(4151, "Abyssal whip", 1_500_000),
+			price(2, "Cannonball", 5)
+		));
+	}
+
+	@Test
+	public void testJsonPrices() throws Exception
+	{
+		mockMvc.perform(get("/item/prices.js"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$[0].name").value("Abyssal whip"));
+
+		mockMvc.perform(get("/item/prices"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	public void testBinaryPrices() throws Exception
+	{
+		byte[] body = mockMvc.perform(get("/item/prices.bin"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(ItemPriceFeed.MEDIA_TYPE))
+			.andReturn().getResponse().getContentAsByteArray();
+
+		ItemPriceFeed feed = ItemPriceFeed.decode(body);
+		assertTrue(feed.isSnapshot());
+		assertArrayEquals(new int[]{2, 4151}, feed.getIds());
+		assertArrayEquals(new int[]{5, 1_500_000}, feed.getPrices());
+
+		// negotiated by the accept header
+		byte[] negotiated = mockMvc.perform(get("/item/prices").accept(ItemPriceFeed.MEDIA_TYPE))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsByteArray();
+		assertArrayEquals(body, negotiated);
+
+		ItemPriceFeed delta = ItemPriceFeed.decode(mockMvc.perform(get("/item/prices/delta.bin").param("since", feed.getHash()))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsByteArray());
+		assertEquals(ItemPriceFeed.unchanged(feed.getHash()), delta);
+
+		ItemPriceFeed unknown = ItemPriceFeed.decode(mockMvc.perform(get("/item/prices/delta.bin").param("since", "unknown"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsByteArray());
+		assertEquals(feed, unknown);
+	}
+
+	@Test
+	public void testNames() throws Exception
+	{
+		mockMvc.perform(get("/item/names.js"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.4151").value("Abyssal whip"));
+	}
+
+	private static PriceEntry price(int id, String name, int price)
+	{
+		PriceEntry priceEntry = new PriceEntry();
+		priceEntry.setItem(id);
+		priceEntry.setName(name);
+		priceEntry.setPrice(price);
+		priceEntry.setHigh(price);
+		priceEntry.setLow(price);
+		return priceEntry;
+	}
+}
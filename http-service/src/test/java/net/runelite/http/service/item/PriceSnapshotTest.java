@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.http.service.item;
+
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceFeed;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+public class PriceSnapshotTest
+{
+	@Test
+	public void testDelta()
+	{
+		PriceSnapshot from = new PriceSnapshot(new ItemPrice[]{
+			price(4151, 1_500_000, 1_450_000),
+			price(2, 5, 6),
+			price(995, 1, 1),
+			price(11802, 10_000_000, 9_000_000),
+		});
+		PriceSnapshot to = new PriceSnapshot(new ItemPrice[]{
+			price(2, 5, 6),
+			price(11802, 10_000_000, 9_500_000),
+			price(4151, 1_400_000, 1_450_000),
+			price(561, 200, 210),
+		});
+
+		ItemPriceFeed delta = to.delta(from);
+		assertFalse(delta.isSnapshot());
+		assertEquals(to.hash, delta.getHash());
+		assertArrayEquals(new int[]{561, 4151, 11802}, delta.getIds());
+		assertArrayEquals(new int[]{200, 1_400_000, 10_000_000}, delta.getPrices());
+		assertArrayEquals(new int[]{210, 1_450_000, 9_500_000}, delta.getWikiPrices());
+		assertArrayEquals(new int[]{995}, delta.getRemoved());
+
+		assertNotEquals(from.hash, to.hash);
+		assertEquals(0, to.delta(to).getIds().length);
+		assertEquals(0, to.delta(to).getRemoved().length);
+	}
+
+	private static ItemPrice price(int id, int price, int wikiPrice)
+	{
+		ItemPrice itemPrice = new ItemPrice();
+		itemPrice.setId(id);
+		itemPrice.setName("Item " + id);
+		itemPrice.setPrice(price);
+		itemPrice.setWikiPrice(wikiPrice);
+		return itemPrice;
+	}
+}
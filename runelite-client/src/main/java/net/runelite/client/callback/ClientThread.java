@@ -25,29 +25,134 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.client.config.RuneLiteConfig;
 
+/**
+ * Runs tasks on the client thread. Queued tasks are run once per frame, in priority
+ * order, until the frame's time budget is used up. Time spent over the budget is
+ * carried over and taken from the budget of the next frame. Tasks which return false
+ * are retried with an exponential back-off, measured in frames.
+ */
 @Singleton
 @Slf4j
 public class ClientThread
 {
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
+	public enum Priority
+	{
+		/**
+		 * Runs on the next frame regardless of the frame budget
+		 */
+		HIGH,
+		NORMAL,
+		LOW
+	}
+
+	@Value
+	public static class TaskMetrics
+	{
+		private final String name;
+		private final long runs;
+		private final long retries;
+		private final long failures;
+		/**
+		 * Total time spent running the task
+		 */
+		private final long nanos;
+		private final long maxNanos;
+		/**
+		 * Total time from the task being queued to it completing
+		 */
+		private final long latencyNanos;
+		private final long maxLatencyNanos;
+	}
+
+	private static class Stats
+	{
+		private final LongAdder runs = new LongAdder();
+		private final LongAdder retries = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+		private final LongAdder latencyNanos = new LongAdder();
+		private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+	}
+
+	private static class Task
+	{
+		private final String name;
+		private final Priority priority;
+		private final BooleanSupplier supplier;
+		private final long sequence;
+		private final long queued;
+		private final Stats stats;
+		private int attempts;
+		private long notBefore;
+
+		private Task(String name, Priority priority, BooleanSupplier supplier, long sequence, Stats stats)
+		{
+			this.name = name;
+			this.priority = priority;
+			this.supplier = supplier;
+			this.sequence = sequence;
+			this.queued = System.nanoTime();
+			this.stats = stats;
+		}
+	}
+
+	private static final Comparator<Task> TASK_ORDER = Comparator.<Task, Priority>comparing(t -> t.priority)
+		.thenComparingLong(t -> t.sequence);
+
+	/**
+	 * Maximum back-off of a retrying task, as a power of two frames
+	 */
+	private static final int MAX_BACKOFF_SHIFT = 4;
+
+	private final ConcurrentLinkedQueue<Task> invokes = new ConcurrentLinkedQueue<>();
+	private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	// only accessed from the client thread
+	private final PriorityQueue<Task> ready = new PriorityQueue<>(TASK_ORDER);
+	private final List<Task> waiting = new ArrayList<>();
+	private long frame;
+	private long credit;
+
+	@Getter
+	private volatile int pending;
+
+	/**
+	 * Number of frames which went over the time budget
+	 */
+	@Getter
+	private volatile long overruns;
 
 	@Inject
 	private Client client;
 
+	@Inject
+	private RuneLiteConfig runeLiteConfig;
+
 	public void invoke(Runnable r)
 	{
-		invoke(() ->
-		{
-			r.run();
-			return true;
-		});
+		invoke(nameOf(r), Priority.NORMAL, wrap(r));
 	}
 
 	/**
@@ -56,16 +161,29 @@ public class ClientThread
 	 */
 	public void invoke(BooleanSupplier r)
 	{
+		invoke(nameOf(r), Priority.NORMAL, r);
+	}
+
+	/**
+	 * Will run r on the game thread, at a unspecified point in the future.
+	 * If r returns false, r will be ran again, at a later point
+	 *
+	 * @param name name the task's metrics are recorded under
+	 * @param priority priority of the task, if it is queued
+	 */
+	public void invoke(String name, Priority priority, BooleanSupplier r)
+	{
+		Task task = createTask(name, priority, r);
 		if (client.isClientThread())
 		{
-			if (!r.getAsBoolean())
+			if (!run(task))
 			{
-				invokes.add(r);
+				retry(task);
 			}
 			return;
 		}
 
-		invokeLater(r);
+		invokes.add(task);
 	}
 
 	/**
@@ -74,42 +192,171 @@ public class ClientThread
 	 */
 	public void invokeLater(Runnable r)
 	{
-		invokeLater(() ->
-		{
-			r.run();
-			return true;
-		});
+		invokeLater(nameOf(r), Priority.NORMAL, wrap(r));
 	}
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		invokeLater(nameOf(r), Priority.NORMAL, r);
+	}
+
+	/**
+	 * Will run r on the game thread after this method returns
+	 * If r returns false, r will be ran again, at a later point
+	 *
+	 * @param name name the task's metrics are recorded under
+	 * @param priority priority of the task
+	 */
+	public void invokeLater(String name, Priority priority, BooleanSupplier r)
+	{
+		invokes.add(createTask(name, priority, r));
 	}
 
 	void invoke()
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		while (ir.hasNext())
+		++frame;
+
+		for (Task task; (task = invokes.poll()) != null; )
+		{
+			ready.add(task);
+		}
+
+		for (Iterator<Task> it = waiting.iterator(); it.hasNext(); )
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
+			Task task = it.next();
+			if (task.notBefore <= frame)
 			{
-				remove = r.getAsBoolean();
+				it.remove();
+				ready.add(task);
 			}
-			catch (ThreadDeath d)
+		}
+
+		final long budget = TimeUnit.MILLISECONDS.toNanos(runeLiteConfig.clientThreadBudget());
+		credit = Math.min(budget, credit + budget);
+
+		final long start = System.nanoTime();
+		long elapsed = 0;
+		for (Task task; (task = ready.peek()) != null; )
+		{
+			if (task.priority != Priority.HIGH && elapsed >= credit)
 			{
-				throw d;
+				break;
 			}
-			catch (Throwable e)
+
+			ready.poll();
+			if (!run(task))
 			{
-				log.warn("Exception in invoke", e);
+				retry(task);
 			}
-			if (remove)
+
+			elapsed = System.nanoTime() - start;
+		}
+
+		// carry at most one frame of overrun over to the next frame
+		credit = Math.max(-budget, credit - elapsed);
+		if (credit < 0)
+		{
+			++overruns;
+		}
+
+		pending = ready.size() + waiting.size() + invokes.size();
+	}
+
+	/**
+	 * Get the metrics of all tasks which have run, by total run time
+	 */
+	public List<TaskMetrics> getTaskMetrics()
+	{
+		final List<TaskMetrics> metrics = new ArrayList<>(stats.size());
+		stats.forEach((name, s) ->
+		{
+			final long runs = s.runs.sum();
+			if (runs > 0)
 			{
-				ir.remove();
+				metrics.add(new TaskMetrics(name, runs, s.retries.sum(), s.failures.sum(), s.nanos.sum(), s.maxNanos.get(),
+					s.latencyNanos.sum(), s.maxLatencyNanos.get()));
 			}
+		});
+		metrics.sort(Comparator.comparingLong(TaskMetrics::getNanos).reversed());
+		return metrics;
+	}
+
+	public void resetTaskMetrics()
+	{
+		stats.clear();
+		overruns = 0;
+	}
+
+	private Task createTask(String name, Priority priority, BooleanSupplier r)
+	{
+		return new Task(name, priority, r, sequence.getAndIncrement(), stats.computeIfAbsent(name, k -> new Stats()));
+	}
+
+	/**
+	 * Run a task, recording its metrics
+	 *
+	 * @return true if the task is done
+	 */
+	private boolean run(Task task)
+	{
+		final Stats s = task.stats;
+		final long start = System.nanoTime();
+		boolean done = true;
+		try
+		{
+			done = task.supplier.getAsBoolean();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			s.failures.increment();
+			log.warn("Exception in invoke of {}", task.name, e);
+		}
+
+		final long end = System.nanoTime();
+		s.runs.increment();
+		s.nanos.add(end - start);
+		s.maxNanos.accumulate(end - start);
+		if (done)
+		{
+			s.latencyNanos.add(end - task.queued);
+			s.maxLatencyNanos.accumulate(end - task.queued);
+		}
+		return done;
+	}
+
+	private void retry(Task task)
+	{
+		task.stats.retries.increment();
+		task.notBefore = frame + (1L << Math.min(task.attempts++, MAX_BACKOFF_SHIFT));
+		waiting.add(task);
+	}
+
+	private static BooleanSupplier wrap(Runnable r)
+	{
+		return () ->
+		{
+			r.run();
+			return true;
+		};
+	}
+
+	/**
+	 * Name a task after the class which submitted it, which for a lambda is the
+	 * class it was declared in
+	 */
+	private static String nameOf(Object r)
+	{
+		String name = r.getClass().getName();
+		int idx = name.indexOf("$$Lambda");
+		if (idx != -1)
+		{
+			name = name.substring(0, idx);
 		}
+		return name.substring(name.lastIndexOf('.') + 1);
 	}
 }
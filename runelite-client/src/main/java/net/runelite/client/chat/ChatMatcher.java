@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A set of chat rules compiled to be matched against messages together.
+ *
+ * Literal rules are matched case insensitively, in the same way as a quoted pattern with
+ * {@link Pattern#CASE_INSENSITIVE}, by a single Aho-Corasick automaton. Pattern rules are
+ * joined into one alternation, and are only searched one by one once the alternation has
+ * found a match, which most messages do not have. Each rule counts the messages it matched.
+ */
+public class ChatMatcher
+{
+	// flags which can be written inline, and so kept when joining patterns
+	private static final int INLINE_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNIX_LINES | Pattern.MULTILINE
+		| Pattern.DOTALL | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+	// backreferences are numbered from the start of the joined pattern, comments run past
+	// the end of their alternative, and so does an unterminated quote
+	private static final Pattern UNJOINABLE = Pattern.compile("\\\\[1-9]|\\\\k<|\\\\Q|\\(\\?[idmsuU-]*x");
+
+	public static class Builder
+	{
+		private final List<String> literals = new ArrayList<>();
+		private final List<Integer> literalRules = new ArrayList<>();
+		private final List<Pattern> patterns = new ArrayList<>();
+		private final List<Integer> patternRules = new ArrayList<>();
+		private int rules;
+
+		/**
+		 * Add a rule matching some text anywhere in a message, ignoring the case of ascii letters
+		 *
+		 * @return the id of the rule
+		 */
+		public int addLiteral(String literal)
+		{
+			literals.add(literal);
+			literalRules.add(rules);
+			return rules++;
+		}
+
+		/**
+		 * Add a rule matching a pattern anywhere in a message
+		 *
+		 * @return the id of the rule
+		 */
+		public int addPattern(Pattern pattern)
+		{
+			patterns.add(pattern);
+			patternRules.add(rules);
+			return rules++;
+		}
+
+		public ChatMatcher build()
+		{
+			return new ChatMatcher(this);
+		}
+	}
+
+	private final int rules;
+	private final AtomicLongArray hits;
+
+	// the literal automaton, with a transition for each state and symbol of the alphabet.
+	// symbol 0 stands for every character which is in no literal.
+	private final int[] asciiSymbols = new int[128];
+	private final Map<Character, Integer> symbols = new HashMap<>();
+	private int symbolCount = 1;
+	private int[] transitions;
+	private int[][] outputs;
+
+	private final Pattern[] patterns;
+	// the joined pattern, its rules and the capturing group of each of them
+	private Pattern joined;
+	private int[] joinedRules;
+	private int[] joinedGroups;
+	private final List<Integer> separateRules = new ArrayList<>();
+
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	private ChatMatcher(Builder builder)
+	{
+		rules = builder.rules;
+		hits = new AtomicLongArray(rules);
+		patterns = new Pattern[rules];
+
+		if (!builder.literals.isEmpty())
+		{
+			buildAutomaton(builder.literals, builder.literalRules);
+		}
+
+		for (int i = 0; i < builder.patterns.size(); ++i)
+		{
+			patterns[builder.patternRules.get(i)] = builder.patterns.get(i);
+		}
+		joinPatterns(builder.patternRules);
+	}
+
+	private static char fold(char c)
+	{
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	private int symbol(char c)
+	{
+		if (c < asciiSymbols.length)
+		{
+			return asciiSymbols[c];
+		}
+		return symbols.isEmpty() ? 0 : symbols.getOrDefault(c, 0);
+	}
+
+	private void buildAutomaton(List<String> literals, List<Integer> literalRules)
+	{
+		for (String literal : literals)
+		{
+			for (int i = 0; i < literal.length(); ++i)
+			{
+				char c = fold(literal.charAt(i));
+				if (symbol(c) == 0)
+				{
+					if (c < asciiSymbols.length)
+					{
+						asciiSymbols[c] = symbolCount++;
+					}
+					else
+					{
+						symbols.put(c, symbolCount++);
+					}
+				}
+			}
+		}
+
+		// the trie of the literals, with -1 for missing children
+		int states = 1;
+		transitions = new int[symbolCount * 16];
+		Arrays.fill(transitions, -1);
+		List<List<Integer>> stateRules = new ArrayList<>();
+		stateRules.add(new ArrayList<>());
+
+		for (int i = 0; i < literals.size(); ++i)
+		{
+			String literal = literals.get(i);
+			int state = 0;
+			for (int j = 0; j < literal.length(); ++j)
+			{
+				int index = state * symbolCount + symbol(fold(literal.charAt(j)));
+				if (transitions[index] == -1)
+				{
+					if ((states + 1) * symbolCount > transitions.length)
+					{
+						int length = transitions.length;
+						transitions = Arrays.copyOf(transitions, length * 2);
+						Arrays.fill(transitions, length, transitions.length, -1);
+					}
+					transitions[index] = states++;
+					stateRules.add(new ArrayList<>());
+				}
+				state = transitions[index];
+			}
+			stateRules.get(state).add(literalRules.get(i));
+		}
+
+		// breadth first, fill in the missing transitions from the failure transitions
+		// of the parent, and collect the rules of the longest suffix in the trie
+		int[] failures = new int[states];
+		Deque<Integer> queue = new ArrayDeque<>();
+		queue.add(0);
+		while (!queue.isEmpty())
+		{
+			int state = queue.poll();
+			for (int symbol = 0; symbol < symbolCount; ++symbol)
+			{
+				int index = state * symbolCount + symbol;
+				int next = transitions[index];
+				int failure = state == 0 ? 0 : transitions[failures[state] * symbolCount + symbol];
+				if (next == -1)
+				{
+					transitions[index] = failure;
+				}
+				else
+				{
+					failures[next] = failure;
+					stateRules.get(next).addAll(stateRules.get(failure));
+					queue.add(next);
+				}
+			}
+		}
+
+		transitions = Arrays.copyOf(transitions, states * symbolCount);
+		outputs = new int[states][];
+		for (int state = 0; state < states; ++state)
+		{
+			outputs[state] = stateRules.get(state).stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	private void joinPatterns(List<Integer> patternRules)
+	{
+		List<Integer> joinable = new ArrayList<>();
+		List<Integer> groups = new ArrayList<>();
+		StringBuilder sb = new StringBuilder();
+		int group = 1;
+
+		for (int rule : patternRules)
+		{
+			Pattern pattern = patterns[rule];
+			if ((pattern.flags() & ~INLINE_FLAGS) != 0 || UNJOINABLE.matcher(pattern.pattern()).find())
+			{
+				separateRules.add(rule);
+				continue;
+			}
+
+			if (sb.length() > 0)
+			{
+				sb.append('|');
+			}
+			sb.append('(').append(inlineFlags(pattern.flags())).append(pattern.pattern()).append(')');
+			joinable.add(rule);
+			groups.add(group);
+			group += 1 + pattern.matcher("").groupCount();
+		}
+
+		if (joinable.size() < 2)
+		{
+			separateRules.addAll(joinable);
+			return;
+		}
+
+		try
+		{
+			joined = Pattern.compile(sb.toString());
+		}
+		catch (PatternSyntaxException ex)
+		{
+			// eg. two patterns with the same named group
+			separateRules.addAll(joinable);
+			return;
+		}
+
+		joinedRules = joinable.stream().mapToInt(Integer::intValue).toArray();
+		joinedGroups = groups.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static String inlineFlags(int flags)
+	{
+		if (flags == 0)
+		{
+			return "";
+		}
+
+		StringBuilder sb = new StringBuilder("(?");
+		if ((flags & Pattern.CASE_INSENSITIVE) != 0)
+		{
+			sb.append('i');
+		}
+		if ((flags & Pattern.UNIX_LINES) != 0)
+		{
+			sb.append('d');
+		}
+		if ((flags & Pattern.MULTILINE) != 0)
+		{
+			sb.append('m');
+		}
+		if ((flags & Pattern.DOTALL) != 0)
+		{
+			sb.append('s');
+		}
+		if ((flags & Pattern.UNICODE_CASE) != 0)
+		{
+			sb.append('u');
+		}
+		if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0)
+		{
+			sb.append('U');
+		}
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * Find the rules matching a message
+	 *
+	 * @return the ids of the rules matching the message
+	 */
+	public BitSet match(CharSequence message)
+	{
+		final BitSet matches = new BitSet(rules);
+
+		if (transitions != null)
+		{
+			int state = 0;
+			// the empty literal
+			for (int rule : outputs[0])
+			{
+				matches.set(rule);
+			}
+
+			for (int i = 0, length = message.length(); i < length; ++i)
+			{
+				state = transitions[state * symbolCount + symbol(fold(message.charAt(i)))];
+				for (int rule : outputs[state])
+				{
+					matches.set(rule);
+				}
+			}
+		}
+
+		if (joined != null)
+		{
+			Matcher matcher = joined.matcher(message);
+			if (matcher.find())
+			{
+				for (int i = 0; i < joinedRules.length; ++i)
+				{
+					final int rule = joinedRules[i];
+					if (matcher.start(joinedGroups[i]) != -1 || patterns[rule].matcher(message).find())
+					{
+						matches.set(rule);
+					}
+				}
+			}
+		}
+
+		for (int rule : separateRules)
+		{
+			if (patterns[rule].matcher(message).find())
+			{
+				matches.set(rule);
+			}
+		}
+
+		for (int rule = matches.nextSetBit(0); rule >= 0; rule = matches.nextSetBit(rule + 1))
+		{
+			hits.incrementAndGet(rule);
+		}
+
+		return matches;
+	}
+
+	public int getRuleCount()
+	{
+		return rules;
+	}
+
+	/**
+	 * Get the number of messages a rule has matched
+	 */
+	public long getHits(int rule)
+	{
+		return hits.get(rule);
+	}
+}
@@ -24,46 +24,78 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
 
+/**
+ * Invocation handler for the proxies of one config interface. Each config item getter has its own value slot,
+ * so a cached getter call is a map lookup and a field read. Slots are invalidated by key when the configuration
+ * of their group changes.
+ */
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
 	// Special object to represent null values in the cache
 	private static final Object NULL = new Object();
+	// Special object to represent values which are not cached
+	private static final Object UNSET = new Object();
+
+	private static final class Slot
+	{
+		private volatile Object value = UNSET;
+		// incremented on invalidation, so values read before an invalidation are not cached after it
+		private volatile int version;
+	}
 
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-		.maximumSize(256)
-		.build();
+	private final String group;
+	private final ImmutableMap<Method, Slot> slots;
+	private final ImmutableListMultimap<String, Slot> slotsByKey;
 
-	ConfigInvocationHandler(ConfigManager manager)
+	ConfigInvocationHandler(ConfigManager manager, Class<?> iface)
 	{
 		this.manager = manager;
+
+		ConfigGroup configGroup = iface.getAnnotation(ConfigGroup.class);
+		this.group = configGroup == null ? null : configGroup.value();
+
+		ImmutableMap.Builder<Method, Slot> slots = ImmutableMap.builder();
+		ImmutableListMultimap.Builder<String, Slot> slotsByKey = ImmutableListMultimap.builder();
+		for (Method method : iface.getMethods())
+		{
+			ConfigItem item = method.getAnnotation(ConfigItem.class);
+			if (item == null || method.getParameterCount() != 0)
+			{
+				continue;
+			}
+
+			Slot slot = new Slot();
+			slots.put(method, slot);
+			slotsByKey.put(item.keyName(), slot);
+		}
+		this.slots = slots.build();
+		this.slotsByKey = slotsByKey.build();
 	}
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
 	{
 		// Use cached configuration value if available
-		if (args == null)
+		final Slot slot = args == null ? slots.get(method) : null;
+		if (slot != null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
-			if (cachedValue != null)
+			Object cachedValue = slot.value;
+			if (cachedValue != UNSET)
 			{
 				return cachedValue == NULL ? null : cachedValue;
 			}
 		}
 
-		Class<?> iface = proxy.getClass().getInterfaces()[0];
-
-		ConfigGroup group = iface.getAnnotation(ConfigGroup.class);
 		ConfigItem item = method.getAnnotation(ConfigItem.class);
 
 		if (group == null)
@@ -80,21 +112,23 @@ class ConfigInvocationHandler implements InvocationHandler
 
 		if (args == null)
 		{
-			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
+			log.trace("cache miss (group: {}, key: {})", group, item.keyName());
+
+			final int version = slot == null ? 0 : slot.version;
 
 			// Getting configuration item
-			String value = manager.getConfiguration(group.value(), item.keyName());
+			String value = manager.getConfiguration(group, item.keyName());
 
 			if (value == null)
 			{
 				if (method.isDefault())
 				{
 					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					cache(slot, version, defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				cache(slot, version, null);
 				return null;
 			}
 
@@ -104,12 +138,12 @@ class ConfigInvocationHandler implements InvocationHandler
 			try
 			{
 				Object objectValue = ConfigManager.stringToObject(value, returnType);
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				cache(slot, version, objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
 			{
-				log.warn("Unable to unmarshal {}.{} ", group.value(), item.keyName(), e);
+				log.warn("Unable to unmarshal {}.{} ", group, item.keyName(), e);
 				if (method.isDefault())
 				{
 					return callDefaultMethod(proxy, method, null);
@@ -129,7 +163,7 @@ class ConfigInvocationHandler implements InvocationHandler
 			Object newValue = args[0];
 
 			Class<?> type = method.getParameterTypes()[0];
-			Object oldValue = manager.getConfiguration(group.value(), item.keyName(), type);
+			Object oldValue = manager.getConfiguration(group, item.keyName(), type);
 
 			if (Objects.equals(oldValue, newValue))
 			{
@@ -144,24 +178,40 @@ class ConfigInvocationHandler implements InvocationHandler
 				if (Objects.equals(newValue, defaultValue))
 				{
 					// Just unset if it goes back to the default
-					manager.unsetConfiguration(group.value(), item.keyName());
+					manager.unsetConfiguration(group, item.keyName());
 					return null;
 				}
 			}
 
 			if (newValue == null)
 			{
-				manager.unsetConfiguration(group.value(), item.keyName());
+				manager.unsetConfiguration(group, item.keyName());
 			}
 			else
 			{
 				String newValueStr = ConfigManager.objectToString(newValue);
-				manager.setConfiguration(group.value(), item.keyName(), newValueStr);
+				manager.setConfiguration(group, item.keyName(), newValueStr);
 			}
 			return null;
 		}
 	}
 
+	private static void cache(Slot slot, int version, Object value)
+	{
+		if (slot == null)
+		{
+			return;
+		}
+
+		synchronized (slot)
+		{
+			if (slot.version == version)
+			{
+				slot.value = value == null ? NULL : value;
+			}
+		}
+	}
+
 	static Object callDefaultMethod(Object proxy, Method method, Object[] args) throws Throwable
 	{
 		Class<?> declaringClass = method.getDeclaringClass();
@@ -171,9 +221,37 @@ class ConfigInvocationHandler implements InvocationHandler
 			.invokeWithArguments(args);
 	}
 
+	/**
+	 * Invalidates the cached value of a configuration key, if it is in this handler's group
+	 */
+	void invalidate(String groupName, String key)
+	{
+		if (!groupName.equals(group))
+		{
+			return;
+		}
+
+		for (Slot slot : slotsByKey.get(key))
+		{
+			log.trace("cache invalidate (group: {}, key: {})", groupName, key);
+			synchronized (slot)
+			{
+				++slot.version;
+				slot.value = UNSET;
+			}
+		}
+	}
+
 	void invalidate()
 	{
 		log.trace("cache invalidate");
-		cache.invalidateAll();
+		for (Slot slot : slots.values())
+		{
+			synchronized (slot)
+			{
+				++slot.version;
+				slot.value = UNSET;
+			}
+		}
 	}
 }
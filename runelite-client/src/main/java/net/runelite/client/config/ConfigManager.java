@@ -66,6 +66,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -127,7 +128,7 @@ public class ConfigManager
 	@Nullable
 	private final Client client;
 
-	private final ConfigInvocationHandler handler = new ConfigInvocationHandler(this);
+	private final Map<Class<?>, ConfigInvocationHandler> handlers = new ConcurrentHashMap<>();
 	private final Map<String, String> pendingChanges = new HashMap<>();
 
 	private Properties properties = new Properties();
@@ -254,7 +255,6 @@ public class ConfigManager
 		Properties oldProperties;
 		synchronized (this)
 		{
-			handler.invalidate();
 			oldProperties = properties;
 			this.properties = newProperties;
 		}
@@ -263,6 +263,9 @@ public class ConfigManager
 
 		allKeys.addAll(oldProperties.keySet());
 
+		// invalidate every changed key before any event is posted, so subscribers
+		// reading other keys of the new properties never see cached old values
+		List<ConfigChanged> changes = new ArrayList<>();
 		for (Object wholeKey : allKeys)
 		{
 			String[] split = splitKey((String) wholeKey);
@@ -283,6 +286,7 @@ public class ConfigManager
 			}
 
 			log.debug("Loading configuration value {}: {}", wholeKey, newValue);
+			invalidate(groupName, profile, key);
 
 			ConfigChanged configChanged = new ConfigChanged();
 			configChanged.setGroup(groupName);
@@ -290,7 +294,7 @@ public class ConfigManager
 			configChanged.setKey(key);
 			configChanged.setOldValue(oldValue);
 			configChanged.setNewValue(newValue);
-			eventBus.post(configChanged);
+			changes.add(configChanged);
 
 			if (saveToServer)
 			{
@@ -301,6 +305,8 @@ public class ConfigManager
 			}
 		}
 
+		changes.forEach(eventBus::post);
+
 		migrateConfig();
 	}
 
@@ -399,6 +405,8 @@ public class ConfigManager
 			throw new RuntimeException("Non-public configuration classes can't have default methods invoked");
 		}
 
+		ConfigInvocationHandler handler = handlers.computeIfAbsent(clazz, c -> new ConfigInvocationHandler(this, c));
+
 		T t = (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]
 			{
 				clazz
@@ -407,6 +415,22 @@ public class ConfigManager
 		return t;
 	}
 
+	/**
+	 * Invalidates the values cached by config proxies for a key. Proxies only read keys without a profile.
+	 */
+	private void invalidate(String groupName, String profile, String key)
+	{
+		if (profile != null)
+		{
+			return;
+		}
+
+		for (ConfigInvocationHandler handler : handlers.values())
+		{
+			handler.invalidate(groupName, key);
+		}
+	}
+
 	public List<String> getConfigurationKeys(String prefix)
 	{
 		return properties.keySet().stream().filter(v -> ((String) v).startsWith(prefix)).map(String.class::cast).collect(Collectors.toList());
@@ -504,7 +528,7 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {} to {}", wholeKey, value);
-		handler.invalidate();
+		invalidate(groupName, profile, key);
 
 		synchronized (pendingChanges)
 		{
@@ -588,7 +612,7 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}", wholeKey);
-		handler.invalidate();
+		invalidate(groupName, profile, key);
 
 		synchronized (pendingChanges)
 		{
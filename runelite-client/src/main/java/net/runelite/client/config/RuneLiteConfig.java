@@ -426,4 +426,20 @@ public interface RuneLiteConfig extends Config
 	{
 		return true;
 	}
+
+	@Range(
+		min = 1,
+		max = 20
+	)
+	@Units(Units.MILLISECONDS)
+	@ConfigItem(
+		keyName = "clientThreadBudget",
+		name = "Client thread budget",
+		description = "Time per frame plugins may spend running queued tasks on the client thread",
+		position = 52
+	)
+	default int clientThreadBudget()
+	{
+		return 4;
+	}
 }
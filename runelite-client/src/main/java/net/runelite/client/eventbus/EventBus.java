@@ -26,8 +26,9 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,12 +36,24 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
@@ -59,6 +72,16 @@ public class EventBus
 		@EqualsAndHashCode.Exclude
 		private final Consumer<Object> lambda;
 
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		@Getter(AccessLevel.NONE)
+		private final LongAdder calls = new LongAdder();
+
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		@Getter(AccessLevel.NONE)
+		private final LongAdder nanos = new LongAdder();
+
 		void invoke(final Object arg) throws Exception
 		{
 			if (lambda != null)
@@ -72,10 +95,37 @@ public class EventBus
 		}
 	}
 
+	/**
+	 * Time spent in a subscriber since timing was enabled or last reset
+	 */
+	@Value
+	public static class SubscriberTiming
+	{
+		private final Class<?> eventType;
+		private final Subscriber subscriber;
+		private final long calls;
+		private final long nanos;
+	}
+
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparing(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
+
 	private final Consumer<Throwable> exceptionHandler;
 
-	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	/**
+	 * Subscribers of each event type, in the order they are called. The arrays are never modified, and are
+	 * replaced when a subscriber of their event type is registered or unregistered.
+	 */
+	private final Map<Class<?>, Subscriber[]> subscribers = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether the time spent in each subscriber is recorded
+	 */
+	@Getter
+	@Setter
+	private volatile boolean timing;
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -94,10 +144,7 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparing(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Multimap<Class<?>, Subscriber> added = ArrayListMultimap.create();
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -121,7 +168,7 @@ public class EventBus
 
 				for (Class<?> psc = parameterClazz.getSuperclass(); psc != null; psc = psc.getSuperclass())
 				{
-					if (subscribers.containsKey(psc))
+					if (subscribers.containsKey(psc) || added.containsKey(psc))
 					{
 						throw new IllegalArgumentException("@Subscribed method \"" + method + "\" cannot subscribe to class which inherits from subscribed class \"" + psc + "\"");
 					}
@@ -155,26 +202,21 @@ public class EventBus
 				}
 
 				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
+				added.put(parameterClazz, subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
 
-		subscribers = builder.build();
+		for (Map.Entry<Class<?>, Collection<Subscriber>> entry : added.asMap().entrySet())
+		{
+			add(entry.getKey(), entry.getValue());
+		}
 	}
 
 	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparing(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
-
 		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
-
-		subscribers = builder.build();
-
+		add(clazz, ImmutableList.of(sub));
 		return sub;
 	}
 
@@ -185,10 +227,7 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		remove(s -> s.getObject() == object);
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -198,10 +237,45 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		remove(s -> s == sub);
+	}
+
+	private void add(Class<?> clazz, Collection<Subscriber> added)
+	{
+		final Subscriber[] existing = subscribers.getOrDefault(clazz, NO_SUBSCRIBERS);
+		final Subscriber[] subs = Arrays.copyOf(existing, existing.length + added.size());
+		int i = existing.length;
+		for (Subscriber sub : added)
+		{
+			subs[i++] = sub;
+		}
+		// stable, so subscribers which compare equal stay in registration order
+		Arrays.sort(subs, SUBSCRIBER_ORDER);
+		subscribers.put(clazz, subs);
+	}
+
+	private void remove(Predicate<Subscriber> filter)
+	{
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			final Subscriber[] subs = entry.getValue();
+			if (Arrays.stream(subs).noneMatch(filter))
+			{
+				continue;
+			}
+
+			final Subscriber[] remaining = Arrays.stream(subs)
+				.filter(filter.negate())
+				.toArray(Subscriber[]::new);
+			if (remaining.length == 0)
+			{
+				subscribers.remove(entry.getKey());
+			}
+			else
+			{
+				entry.setValue(remaining);
+			}
+		}
 	}
 
 	/**
@@ -212,8 +286,18 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Subscriber[] subs = subscribers.get(event.getClass());
+		if (subs == null)
+		{
+			return;
+		}
+
+		final boolean timed = timing;
+		for (int i = 0; i < subs.length; ++i)
 		{
+			final Subscriber subscriber = subs[i];
+			final long start = timed ? System.nanoTime() : 0L;
+
 			try
 			{
 				subscriber.invoke(event);
@@ -222,6 +306,51 @@ public class EventBus
 			{
 				exceptionHandler.accept(e);
 			}
+
+			if (timed)
+			{
+				subscriber.nanos.add(System.nanoTime() - start);
+				subscriber.calls.increment();
+			}
+		}
+	}
+
+	/**
+	 * Gets the time spent in each subscriber which has been called while timing was enabled,
+	 * most expensive first.
+	 *
+	 * @return subscriber timings
+	 */
+	public List<SubscriberTiming> getTimings()
+	{
+		final List<SubscriberTiming> timings = new ArrayList<>();
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			for (Subscriber subscriber : entry.getValue())
+			{
+				final long calls = subscriber.calls.sum();
+				if (calls > 0)
+				{
+					timings.add(new SubscriberTiming(entry.getKey(), subscriber, calls, subscriber.nanos.sum()));
+				}
+			}
+		}
+		timings.sort(Comparator.comparingLong(SubscriberTiming::getNanos).reversed());
+		return timings;
+	}
+
+	/**
+	 * Resets the time recorded for all subscribers
+	 */
+	public void resetTimings()
+	{
+		for (Subscriber[] subs : subscribers.values())
+		{
+			for (Subscriber subscriber : subs)
+			{
+				subscriber.calls.reset();
+				subscriber.nanos.reset();
+			}
 		}
 	}
 }
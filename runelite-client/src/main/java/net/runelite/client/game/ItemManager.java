@@ -36,6 +36,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +62,7 @@ import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.http.api.item.ItemClient;
 import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemPriceFeed;
 import net.runelite.http.api.item.ItemStats;
 import okhttp3.OkHttpClient;
 
@@ -89,7 +91,11 @@ public class ItemManager
 	private final ItemClient itemClient;
 	private final RuneLiteConfig runeLiteConfig;
 
-	private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	// replaced by price snapshots, and updated in place by price deltas
+	private volatile Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
+	// hash of the loaded prices, to request deltas from
+	private String pricesHash;
+	private Map<Integer, String> itemNames = Collections.emptyMap();
 	private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
 	private final LoadingCache<ImageKey, AsyncBufferedImage> itemImages;
 	private final LoadingCache<Integer, ItemComposition> itemCompositions;
@@ -225,23 +231,53 @@ public class ItemManager
 	{
 		try
 		{
-			ItemPrice[] prices = itemClient.getPrices();
-			if (prices != null)
+			ItemPriceFeed feed = pricesHash == null ? itemClient.getPriceFeed() : itemClient.getPriceDelta(pricesHash);
+			if (feed != null)
 			{
-				ImmutableMap.Builder<Integer, ItemPrice> map = ImmutableMap.builderWithExpectedSize(prices.length);
-				for (ItemPrice price : prices)
+				applyPrices(feed);
+				pricesHash = feed.getHash();
+				log.debug("Loaded {} prices ({} changed, {} removed)", itemPrices.size(), feed.getIds().length, feed.getRemoved().length);
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("error loading prices!", e);
+		}
+	}
+
+	private void applyPrices(ItemPriceFeed feed) throws IOException
+	{
+		final int[] ids = feed.getIds();
+		for (int id : ids)
+		{
+			if (!itemNames.containsKey(id))
+			{
+				Map<Integer, String> names = itemClient.getNames();
+				if (names != null)
 				{
-					map.put(price.getId(), price);
+					itemNames = names;
 				}
-				itemPrices = map.build();
+				break;
 			}
+		}
 
-			log.debug("Loaded {} prices", itemPrices.size());
+		final Map<Integer, ItemPrice> prices = feed.isSnapshot() ? new ConcurrentHashMap<>(ids.length) : itemPrices;
+		for (int i = 0; i < ids.length; ++i)
+		{
+			ItemPrice itemPrice = new ItemPrice();
+			itemPrice.setId(ids[i]);
+			itemPrice.setName(itemNames.get(ids[i]));
+			itemPrice.setPrice(feed.getPrices()[i]);
+			itemPrice.setWikiPrice(feed.getWikiPrices()[i]);
+			prices.put(ids[i], itemPrice);
 		}
-		catch (IOException e)
+
+		for (int id : feed.getRemoved())
 		{
-			log.warn("error loading prices!", e);
+			prices.remove(id);
 		}
+
+		itemPrices = prices;
 	}
 
 	private void loadStats()
@@ -379,7 +415,7 @@ public class ItemManager
 		for (ItemPrice itemPrice : itemPrices.values())
 		{
 			final String name = itemPrice.getName();
-			if (name.toLowerCase().contains(itemName))
+			if (name != null && name.toLowerCase().contains(itemName))
 			{
 				result.add(itemPrice);
 			}
@@ -26,6 +26,7 @@ package net.runelite.client.plugins;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
@@ -33,12 +34,15 @@ import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import com.google.common.reflect.ClassPath;
 import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -46,13 +50,26 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -77,6 +94,7 @@ import net.runelite.client.task.Scheduler;
 import net.runelite.client.ui.SplashScreen;
 import net.runelite.client.util.GameEventManager;
 import net.runelite.client.util.ReflectUtil;
+import net.runelite.http.api.RuneLiteAPI;
 
 @Singleton
 @Slf4j
@@ -87,6 +105,16 @@ public class PluginManager
 	 */
 	private static final String PLUGIN_PACKAGE = "net.runelite.client.plugins";
 
+	/**
+	 * Plugin index written at build time by the plugin index annotation processor
+	 */
+	private static final String PLUGIN_INDEX = "META-INF/runelite/plugins.json";
+
+	/**
+	 * How long plugin startup may hold the EDT before it is released for a repaint
+	 */
+	private static final long STARTUP_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
 	private final boolean developerMode;
 	private final boolean safeMode;
 	private final EventBus eventBus;
@@ -95,6 +123,16 @@ public class PluginManager
 	private final Provider<GameEventManager> sceneTileManager;
 	private final List<Plugin> plugins = new CopyOnWriteArrayList<>();
 	private final List<Plugin> activePlugins = new CopyOnWriteArrayList<>();
+	/**
+	 * Guards injector creation. Plugins are constructed in parallel, but creating child
+	 * injectors of a shared parent may add just-in-time bindings to the parent, which
+	 * Guice does not support concurrently.
+	 */
+	private final Object injectorLock = new Object();
+	// per plugin timings, only recorded until the startup report is logged
+	private final Map<Class<?>, Long> instantiateTimes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Long> startTimes = new ConcurrentHashMap<>();
+	private volatile boolean recordTimings = true;
 
 	@Setter
 	boolean isOutdated;
@@ -233,22 +271,36 @@ public class PluginManager
 	public void startPlugins()
 	{
 		List<Plugin> scannedPlugins = new ArrayList<>(plugins);
-		int loaded = 0;
-		for (Plugin plugin : scannedPlugins)
+		Iterator<Plugin> it = scannedPlugins.iterator();
+		AtomicInteger loaded = new AtomicInteger();
+		long start = System.nanoTime();
+		while (it.hasNext())
 		{
 			try
 			{
+				// Start plugins in batches, releasing the EDT in between so the splash screen can repaint
 				SwingUtilities.invokeAndWait(() ->
 				{
-					try
-					{
-						startPlugin(plugin);
-					}
-					catch (PluginInstantiationException ex)
+					long deadline = System.nanoTime() + STARTUP_BATCH_NANOS;
+					do
 					{
-						log.warn("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
-						plugins.remove(plugin);
+						Plugin plugin = it.next();
+						long pluginStart = System.nanoTime();
+						try
+						{
+							if (startPlugin(plugin) && recordTimings)
+							{
+								startTimes.put(plugin.getClass(), System.nanoTime() - pluginStart);
+							}
+						}
+						catch (PluginInstantiationException ex)
+						{
+							log.warn("Unable to start plugin {}", plugin.getClass().getSimpleName(), ex);
+							plugins.remove(plugin);
+						}
+						loaded.incrementAndGet();
 					}
+					while (it.hasNext() && System.nanoTime() < deadline);
 				});
 			}
 			catch (InterruptedException | InvocationTargetException e)
@@ -256,24 +308,117 @@ public class PluginManager
 				throw new RuntimeException(e);
 			}
 
-			loaded++;
-			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded, scannedPlugins.size(), false);
+			SplashScreen.stage(.80, 1, null, "Starting plugins", loaded.get(), scannedPlugins.size(), false);
+		}
+
+		log.info("Started {} plugins in {}ms", startTimes.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		logStartupTimings();
+
+		// don't hold on to the classes of plugins which are later unloaded
+		recordTimings = false;
+		instantiateTimes.clear();
+		startTimes.clear();
+	}
+
+	/**
+	 * Log how long each plugin took to instantiate and start, slowest first.
+	 */
+	private void logStartupTimings()
+	{
+		if (!log.isDebugEnabled())
+		{
+			return;
 		}
+
+		Map<Class<?>, Long> totals = new HashMap<>(instantiateTimes);
+		startTimes.forEach((clazz, time) -> totals.merge(clazz, time, Long::sum));
+
+		totals.entrySet().stream()
+			.sorted(Map.Entry.<Class<?>, Long>comparingByValue(Comparator.reverseOrder()))
+			.forEach(entry ->
+			{
+				Class<?> clazz = entry.getKey();
+				log.debug("Plugin {} took {}us: instantiate {}us, start {}us", clazz.getSimpleName(),
+					TimeUnit.NANOSECONDS.toMicros(entry.getValue()),
+					TimeUnit.NANOSECONDS.toMicros(instantiateTimes.getOrDefault(clazz, 0L)),
+					TimeUnit.NANOSECONDS.toMicros(startTimes.getOrDefault(clazz, 0L)));
+			});
 	}
 
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading Plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
 
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		List<Class<?>> plugins = loadPluginIndex();
+		if (plugins == null)
+		{
+			// The index is missing when the client is built without annotation processing
+			log.debug("No plugin index found, scanning the classpath for plugins");
+
+			ClassPath classPath = ClassPath.from(getClass().getClassLoader());
+			plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
+				.map(ClassInfo::load)
+				.collect(Collectors.toList());
+		}
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading Plugins", loaded, total, false));
 	}
 
+	/**
+	 * Load the plugin classes listed in the plugin indexes on the classpath. Plugins which
+	 * can't be loaded with the current developer mode or outdated state are skipped without
+	 * loading their classes.
+	 *
+	 * @return the plugin classes, or null if there is no plugin index
+	 */
+	private List<Class<?>> loadPluginIndex() throws IOException
+	{
+		ClassLoader classLoader = getClass().getClassLoader();
+		Enumeration<URL> indexes = classLoader.getResources(PLUGIN_INDEX);
+		if (!indexes.hasMoreElements())
+		{
+			return null;
+		}
+
+		List<Class<?>> plugins = new ArrayList<>();
+		while (indexes.hasMoreElements())
+		{
+			URL url = indexes.nextElement();
+			PluginIndexEntry[] entries;
+			try (Reader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))
+			{
+				entries = RuneLiteAPI.GSON.fromJson(reader, PluginIndexEntry[].class);
+			}
+
+			for (PluginIndexEntry entry : entries)
+			{
+				if (!entry.className.startsWith(PLUGIN_PACKAGE + "."))
+				{
+					continue;
+				}
+
+				if ((!entry.loadWhenOutdated && isOutdated)
+					|| (entry.developerPlugin && !developerMode))
+				{
+					continue;
+				}
+
+				try
+				{
+					plugins.add(Class.forName(entry.className, false, classLoader));
+				}
+				catch (ClassNotFoundException ex)
+				{
+					log.warn("Plugin index {} lists missing class {}", url, entry.className);
+				}
+			}
+		}
+
+		log.debug("Loaded {} plugins from the plugin index", plugins.size());
+		return plugins;
+	}
+
 	public List<Plugin> loadPlugins(List<Class<?>> plugins, BiConsumer<Integer, Integer> onPluginLoaded) throws PluginInstantiationException
 	{
 		MutableGraph<Class<? extends Plugin>> graph = GraphBuilder
@@ -344,30 +489,107 @@ public class PluginManager
 		List<Class<? extends Plugin>> sortedPlugins = topologicalSort(graph);
 		sortedPlugins = Lists.reverse(sortedPlugins);
 
+		// Plugins only depend on plugins from lower levels, so each level can be instantiated in parallel
+		List<List<Class<? extends Plugin>>> levels = dependencyLevels(graph, sortedPlugins);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("plugin-loader-%d")
+				.setDaemon(true)
+				.build());
+
 		int loaded = 0;
+		long start = System.nanoTime();
 		List<Plugin> newPlugins = new ArrayList<>();
-		for (Class<? extends Plugin> pluginClazz : sortedPlugins)
+		try
 		{
-			Plugin plugin;
-			try
+			for (List<Class<? extends Plugin>> level : levels)
 			{
-				plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
-				newPlugins.add(plugin);
-				this.plugins.add(plugin);
+				List<Future<Plugin>> futures = new ArrayList<>(level.size());
+				for (Class<? extends Plugin> pluginClazz : level)
+				{
+					futures.add(executor.submit(() ->
+					{
+						long pluginStart = System.nanoTime();
+						Plugin plugin = instantiate(this.plugins, (Class<Plugin>) pluginClazz);
+						if (recordTimings)
+						{
+							instantiateTimes.put(pluginClazz, System.nanoTime() - pluginStart);
+						}
+						return plugin;
+					}));
+				}
+
+				// Add the plugins in level order, regardless of which finishes instantiating first
+				for (Future<Plugin> future : futures)
+				{
+					try
+					{
+						Plugin plugin = future.get();
+						newPlugins.add(plugin);
+						this.plugins.add(plugin);
+					}
+					catch (ExecutionException ex)
+					{
+						Throwable cause = ex.getCause();
+						if (!(cause instanceof PluginInstantiationException))
+						{
+							Throwables.throwIfUnchecked(cause);
+							throw new PluginInstantiationException(cause);
+						}
+						log.warn("Error instantiating plugin!", cause);
+					}
+					catch (InterruptedException ex)
+					{
+						Thread.currentThread().interrupt();
+						throw new PluginInstantiationException(ex);
+					}
+
+					loaded++;
+					if (onPluginLoaded != null)
+					{
+						onPluginLoaded.accept(loaded, sortedPlugins.size());
+					}
+				}
 			}
-			catch (PluginInstantiationException ex)
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		log.debug("Instantiated {} plugins in {} levels in {}ms", newPlugins.size(), levels.size(),
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return newPlugins;
+	}
+
+	/**
+	 * Group plugins by their depth in the dependency graph. Plugins without dependencies are
+	 * in the first level, and every other plugin is one level above its deepest dependency.
+	 *
+	 * @param graph dependency graph, with edges from plugins to their dependencies
+	 * @param sortedPlugins plugins sorted so that dependencies come before their dependents
+	 */
+	private static <T> List<List<T>> dependencyLevels(Graph<T> graph, List<T> sortedPlugins)
+	{
+		Map<T, Integer> depths = new HashMap<>();
+		List<List<T>> levels = new ArrayList<>();
+		for (T plugin : sortedPlugins)
+		{
+			int depth = 0;
+			for (T dependency : graph.successors(plugin))
 			{
-				log.warn("Error instantiating plugin!", ex);
+				depth = Math.max(depth, depths.get(dependency) + 1);
 			}
+			depths.put(plugin, depth);
 
-			loaded++;
-			if (onPluginLoaded != null)
+			while (levels.size() <= depth)
 			{
-				onPluginLoaded.accept(loaded, sortedPlugins.size());
+				levels.add(new ArrayList<>());
 			}
+			levels.get(depth).add(plugin);
 		}
-
-		return newPlugins;
+		return levels;
 	}
 
 	public boolean startPlugin(Plugin plugin) throws PluginInstantiationException
@@ -485,40 +707,43 @@ public class PluginManager
 
 		try
 		{
-			Injector parent = RuneLite.getInjector();
-
-			if (deps.size() > 1)
+			synchronized (injectorLock)
 			{
-				List<Module> modules = new ArrayList<>(deps.size());
-				for (Plugin p : deps)
+				Injector parent = RuneLite.getInjector();
+
+				if (deps.size() > 1)
 				{
-					// Create a module for each dependency
-					Module module = (Binder binder) ->
+					List<Module> modules = new ArrayList<>(deps.size());
+					for (Plugin p : deps)
 					{
-						binder.bind((Class<Plugin>) p.getClass()).toInstance(p);
-						binder.install(p);
-					};
-					modules.add(module);
+						// Create a module for each dependency
+						Module module = (Binder binder) ->
+						{
+							binder.bind((Class<Plugin>) p.getClass()).toInstance(p);
+							binder.install(p);
+						};
+						modules.add(module);
+					}
+
+					// Create a parent injector containing all of the dependencies
+					parent = parent.createChildInjector(modules);
+				}
+				else if (!deps.isEmpty())
+				{
+					// With only one dependency we can simply use its injector
+					parent = deps.get(0).injector;
 				}
 
-				// Create a parent injector containing all of the dependencies
-				parent = parent.createChildInjector(modules);
-			}
-			else if (!deps.isEmpty())
-			{
-				// With only one dependency we can simply use its injector
-				parent = deps.get(0).injector;
+				// Create injector for the module
+				Module pluginModule = (Binder binder) ->
+				{
+					// Since the plugin itself is a module, it won't bind itself, so we'll bind it here
+					binder.bind(clazz).toInstance(plugin);
+					binder.install(plugin);
+				};
+				Injector pluginInjector = parent.createChildInjector(pluginModule);
+				plugin.injector = pluginInjector;
 			}
-
-			// Create injector for the module
-			Module pluginModule = (Binder binder) ->
-			{
-				// Since the plugin itself is a module, it won't bind itself, so we'll bind it here
-				binder.bind(clazz).toInstance(plugin);
-				binder.install(plugin);
-			};
-			Injector pluginInjector = parent.createChildInjector(pluginModule);
-			plugin.injector = pluginInjector;
 		}
 		catch (CreationException ex)
 		{
@@ -601,6 +826,13 @@ public class PluginManager
 		}
 	}
 
+	private static class PluginIndexEntry
+	{
+		private String className;
+		private boolean developerPlugin;
+		private boolean loadWhenOutdated;
+	}
+
 	/**
 	 * Topologically sort a graph. Uses Kahn's algorithm.
 	 *
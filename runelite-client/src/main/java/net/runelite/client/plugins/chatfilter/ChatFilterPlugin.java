@@ -58,6 +58,7 @@ import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.OverheadTextChanged;
 import net.runelite.api.events.ScriptCallbackEvent;
+import net.runelite.client.chat.ChatMatcher;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
@@ -94,7 +95,8 @@ public class ChatFilterPlugin extends Plugin
 
 	private final CharMatcher jagexPrintableCharMatcher = Text.JAGEX_PRINTABLE_CHAR_MATCHER;
 	private final List<Pattern> filteredPatterns = new ArrayList<>();
-	private final List<Pattern> filteredNamePatterns = new ArrayList<>();
+	private ChatMatcher messageMatcher = ChatMatcher.builder().build();
+	private ChatMatcher nameMatcher = ChatMatcher.builder().build();
 
 	private static class Duplicate
 	{
@@ -329,6 +331,12 @@ public class ChatFilterPlugin extends Plugin
 			}
 		}
 
+		// most messages match no filter, so find that out in one pass before censoring them
+		if (messageMatcher.match(strippedMessage).isEmpty())
+		{
+			return message;
+		}
+
 		boolean filtered = false;
 		for (Pattern pattern : filteredPatterns)
 		{
@@ -361,21 +369,31 @@ public class ChatFilterPlugin extends Plugin
 	void updateFilteredPatterns()
 	{
 		filteredPatterns.clear();
-		filteredNamePatterns.clear();
 
-		Text.fromCSV(config.filteredWords()).stream()
-			.map(s -> Pattern.compile(Pattern.quote(s), Pattern.CASE_INSENSITIVE))
-			.forEach(filteredPatterns::add);
+		final ChatMatcher.Builder messageMatcherBuilder = ChatMatcher.builder();
+		for (String word : Text.fromCSV(config.filteredWords()))
+		{
+			filteredPatterns.add(Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE));
+			messageMatcherBuilder.addLiteral(word);
+		}
 
 		NEWLINE_SPLITTER.splitToList(config.filteredRegex()).stream()
 			.map(ChatFilterPlugin::compilePattern)
 			.filter(Objects::nonNull)
-			.forEach(filteredPatterns::add);
+			.forEach(pattern ->
+			{
+				filteredPatterns.add(pattern);
+				messageMatcherBuilder.addPattern(pattern);
+			});
 
+		final ChatMatcher.Builder nameMatcherBuilder = ChatMatcher.builder();
 		NEWLINE_SPLITTER.splitToList(config.filteredNames()).stream()
 			.map(ChatFilterPlugin::compilePattern)
 			.filter(Objects::nonNull)
-			.forEach(filteredNamePatterns::add);
+			.forEach(nameMatcherBuilder::addPattern);
+
+		messageMatcher = messageMatcherBuilder.build();
+		nameMatcher = nameMatcherBuilder.build();
 	}
 
 	private static Pattern compilePattern(String pattern)
@@ -408,14 +426,6 @@ public class ChatFilterPlugin extends Plugin
 	boolean shouldFilterByName(final String playerName)
 	{
 		String sanitizedName = Text.standardize(playerName);
-		for (Pattern pattern : filteredNamePatterns)
-		{
-			Matcher m = pattern.matcher(sanitizedName);
-			if (m.find())
-			{
-				return true;
-			}
-		}
-		return false;
+		return !nameMatcher.match(sanitizedName).isEmpty();
 	}
 }
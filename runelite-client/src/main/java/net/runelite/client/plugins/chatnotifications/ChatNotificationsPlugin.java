@@ -32,6 +32,7 @@ import com.google.common.base.Strings;
 import com.google.inject.Provides;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -47,6 +48,7 @@ import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.client.Notifier;
 import net.runelite.client.chat.ChatColorType;
+import net.runelite.client.chat.ChatMatcher;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
@@ -82,6 +84,7 @@ public class ChatNotificationsPlugin extends Plugin
 	//Custom Highlights
 	private Pattern usernameMatcher = null;
 	private final List<Pattern> highlightPatterns = new ArrayList<>();
+	private ChatMatcher highlightMatcher = ChatMatcher.builder().build();
 
 	@Provides
 	ChatNotificationsConfig provideConfig(ConfigManager configManager)
@@ -147,6 +150,10 @@ public class ChatNotificationsPlugin extends Plugin
 			.map(ChatNotificationsPlugin::compilePattern)
 			.filter(Objects::nonNull)
 			.forEach(highlightPatterns::add);
+
+		final ChatMatcher.Builder highlightMatcherBuilder = ChatMatcher.builder();
+		highlightPatterns.forEach(highlightMatcherBuilder::addPattern);
+		highlightMatcher = highlightMatcherBuilder.build();
 	}
 
 	private static Pattern compilePattern(String pattern)
@@ -266,7 +273,10 @@ public class ChatNotificationsPlugin extends Plugin
 		// The messageNode value is only set after all patterns have been processed
 		String nodeValue = messageNode.getValue();
 
-		for (Pattern pattern : highlightPatterns)
+		// Highlighting changes the message, so each pattern is applied in turn, but only
+		// when at least one of them matches
+		final List<Pattern> patterns = highlightMatcher.match(nodeValue).isEmpty() ? Collections.emptyList() : highlightPatterns;
+		for (Pattern pattern : patterns)
 		{
 			Matcher matcher = pattern.matcher(nodeValue);
 			if (!matcher.find())
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.ClientThread.TaskMetrics;
+
+class ClientThreadInspector extends DevToolsFrame
+{
+	private static final String[] COLUMNS = {
+		"Task", "Runs", "Retries", "Failures", "Total ms", "Max us", "Avg latency us", "Max latency us"
+	};
+
+	private final ClientThread clientThread;
+	private final TaskTableModel model = new TaskTableModel();
+	private final JLabel summary = new JLabel();
+	private final Timer refreshTimer = new Timer(1000, e -> refresh());
+
+	@Inject
+	ClientThreadInspector(ClientThread clientThread)
+	{
+		this.clientThread = clientThread;
+
+		setTitle("RuneLite Client Thread Inspector");
+		setLayout(new BorderLayout());
+
+		final JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		table.getColumnModel().getColumn(0).setPreferredWidth(250);
+
+		final JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(800, 400));
+		add(scrollPane, BorderLayout.CENTER);
+
+		final JButton resetBtn = new JButton("Reset");
+		resetBtn.addActionListener(e ->
+		{
+			clientThread.resetTaskMetrics();
+			refresh();
+		});
+
+		final JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		bottom.add(resetBtn);
+		bottom.add(summary);
+		add(bottom, BorderLayout.SOUTH);
+
+		pack();
+	}
+
+	@Override
+	public void open()
+	{
+		refresh();
+		refreshTimer.start();
+		super.open();
+	}
+
+	@Override
+	public void close()
+	{
+		refreshTimer.stop();
+		super.close();
+	}
+
+	private void refresh()
+	{
+		model.setMetrics(clientThread.getTaskMetrics());
+		summary.setText("Pending: " + clientThread.getPending() + ", frames over budget: " + clientThread.getOverruns());
+	}
+
+	private static class TaskTableModel extends AbstractTableModel
+	{
+		private List<TaskMetrics> metrics = Collections.emptyList();
+
+		void setMetrics(List<TaskMetrics> metrics)
+		{
+			this.metrics = metrics;
+			fireTableDataChanged();
+		}
+
+		@Override
+		public String getColumnName(int col)
+		{
+			return COLUMNS[col];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int col)
+		{
+			return col == 0 ? String.class : Long.class;
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return metrics.size();
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return COLUMNS.length;
+		}
+
+		@Override
+		public Object getValueAt(int row, int col)
+		{
+			final TaskMetrics m = metrics.get(row);
+			switch (col)
+			{
+				case 0:
+					return m.getName();
+				case 1:
+					return m.getRuns();
+				case 2:
+					return m.getRetries();
+				case 3:
+					return m.getFailures();
+				case 4:
+					return TimeUnit.NANOSECONDS.toMillis(m.getNanos());
+				case 5:
+					return TimeUnit.NANOSECONDS.toMicros(m.getMaxNanos());
+				case 6:
+					final long completed = m.getRuns() - m.getRetries();
+					return completed > 0 ? TimeUnit.NANOSECONDS.toMicros(m.getLatencyNanos() / completed) : 0L;
+				case 7:
+					return TimeUnit.NANOSECONDS.toMicros(m.getMaxLatencyNanos());
+				default:
+					return null;
+			}
+		}
+	}
+}
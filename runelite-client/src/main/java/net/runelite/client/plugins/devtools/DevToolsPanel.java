@@ -58,6 +58,8 @@ class DevToolsPanel extends PluginPanel
 	private final VarInspector varInspector;
 	private final ScriptInspector scriptInspector;
 	private final InventoryInspector inventoryInspector;
+	private final ClientThreadInspector clientThreadInspector;
+	private final OverlayProfilerFrame overlayProfilerFrame;
 	private final InfoBoxManager infoBoxManager;
 	private final ScheduledExecutorService scheduledExecutorService;
 
@@ -70,6 +72,8 @@ class DevToolsPanel extends PluginPanel
 		VarInspector varInspector,
 		ScriptInspector scriptInspector,
 		InventoryInspector inventoryInspector,
+		ClientThreadInspector clientThreadInspector,
+		OverlayProfilerFrame overlayProfilerFrame,
 		Notifier notifier,
 		InfoBoxManager infoBoxManager,
 		ScheduledExecutorService scheduledExecutorService)
@@ -81,6 +85,8 @@ class DevToolsPanel extends PluginPanel
 		this.widgetInspector = widgetInspector;
 		this.varInspector = varInspector;
 		this.inventoryInspector = inventoryInspector;
+		this.clientThreadInspector = clientThreadInspector;
+		this.overlayProfilerFrame = overlayProfilerFrame;
 		this.scriptInspector = scriptInspector;
 		this.notifier = notifier;
 		this.infoBoxManager = infoBoxManager;
@@ -173,6 +179,12 @@ class DevToolsPanel extends PluginPanel
 		container.add(plugin.getInventoryInspector());
 		plugin.getInventoryInspector().addFrame(inventoryInspector);
 
+		container.add(plugin.getClientThreadInspector());
+		plugin.getClientThreadInspector().addFrame(clientThreadInspector);
+
+		container.add(plugin.getOverlayProfiler());
+		plugin.getOverlayProfiler().addFrame(overlayProfilerFrame);
+
 		final JButton disconnectBtn = new JButton("Disconnect");
 		disconnectBtn.addActionListener(e -> clientThread.invoke(() -> client.setGameState(GameState.CONNECTION_LOST)));
 		container.add(disconnectBtn);
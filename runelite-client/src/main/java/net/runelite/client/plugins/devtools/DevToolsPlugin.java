@@ -144,6 +144,8 @@ public class DevToolsPlugin extends Plugin
 	private DevToolsButton soundEffects;
 	private DevToolsButton scriptInspector;
 	private DevToolsButton inventoryInspector;
+	private DevToolsButton clientThreadInspector;
+	private DevToolsButton overlayProfiler;
 	private DevToolsButton roofs;
 	private DevToolsButton shell;
 	private NavigationButton navButton;
@@ -190,6 +192,8 @@ public class DevToolsPlugin extends Plugin
 		soundEffects = new DevToolsButton("Sound Effects");
 		scriptInspector = new DevToolsButton("Script Inspector");
 		inventoryInspector = new DevToolsButton("Inventory Inspector");
+		clientThreadInspector = new DevToolsButton("Client Thread");
+		overlayProfiler = new DevToolsButton("Overlay Profiler");
 		roofs = new DevToolsButton("Roofs");
 		shell = new DevToolsButton("Shell");
 
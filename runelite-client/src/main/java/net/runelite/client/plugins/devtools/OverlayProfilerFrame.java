@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import net.runelite.client.ui.overlay.OverlayProfiler;
+import net.runelite.client.ui.overlay.OverlayProfiler.OverlayProfile;
+
+class OverlayProfilerFrame extends DevToolsFrame
+{
+	private static final String[] COLUMNS = {
+		"Overlay", "Layer", "Samples", "Mean us", "P50 us", "P99 us", "Max us", "Alloc bytes", "Skipped"
+	};
+
+	private final OverlayProfiler overlayProfiler;
+	private final ProfileTableModel model = new ProfileTableModel();
+	private final Timer refreshTimer = new Timer(1000, e -> model.setProfiles(overlayProfiler.getProfiles()));
+
+	@Inject
+	OverlayProfilerFrame(OverlayProfiler overlayProfiler)
+	{
+		this.overlayProfiler = overlayProfiler;
+
+		setTitle("RuneLite Overlay Profiler");
+		setLayout(new BorderLayout());
+
+		final JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		table.getColumnModel().getColumn(0).setPreferredWidth(200);
+
+		final JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(850, 400));
+		add(scrollPane, BorderLayout.CENTER);
+
+		final JCheckBox allocations = new JCheckBox("Measure allocations");
+		allocations.setEnabled(overlayProfiler.isAllocationTrackingSupported());
+		allocations.addActionListener(e -> overlayProfiler.setTrackAllocations(allocations.isSelected()));
+
+		final JSpinner budget = new JSpinner(new SpinnerNumberModel(0, 0, 100_000, 100));
+		budget.addChangeListener(e -> overlayProfiler.setBudgetNanos(
+			TimeUnit.MICROSECONDS.toNanos(((Number) budget.getValue()).longValue())));
+
+		final JButton resetBtn = new JButton("Reset");
+		resetBtn.addActionListener(e ->
+		{
+			overlayProfiler.reset();
+			model.setProfiles(overlayProfiler.getProfiles());
+		});
+
+		final JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT));
+		bottom.add(allocations);
+		bottom.add(new JLabel("Throttle above (us, 0 to disable):"));
+		bottom.add(budget);
+		bottom.add(resetBtn);
+		add(bottom, BorderLayout.SOUTH);
+
+		pack();
+	}
+
+	@Override
+	public void open()
+	{
+		overlayProfiler.setEnabled(true);
+		refreshTimer.start();
+		super.open();
+	}
+
+	@Override
+	public void close()
+	{
+		refreshTimer.stop();
+		overlayProfiler.setEnabled(false);
+		super.close();
+	}
+
+	private static class ProfileTableModel extends AbstractTableModel
+	{
+		private List<OverlayProfile> profiles = Collections.emptyList();
+
+		void setProfiles(List<OverlayProfile> profiles)
+		{
+			this.profiles = profiles;
+			fireTableDataChanged();
+		}
+
+		@Override
+		public String getColumnName(int col)
+		{
+			return COLUMNS[col];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int col)
+		{
+			return col < 2 ? String.class : Long.class;
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return profiles.size();
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return COLUMNS.length;
+		}
+
+		@Override
+		public Object getValueAt(int row, int col)
+		{
+			final OverlayProfile p = profiles.get(row);
+			switch (col)
+			{
+				case 0:
+					return p.getName();
+				case 1:
+					return p.getLayer().name();
+				case 2:
+					return (long) p.getSamples();
+				case 3:
+					return TimeUnit.NANOSECONDS.toMicros(p.getMeanNanos());
+				case 4:
+					return TimeUnit.NANOSECONDS.toMicros(p.getP50Nanos());
+				case 5:
+					return TimeUnit.NANOSECONDS.toMicros(p.getP99Nanos());
+				case 6:
+					return TimeUnit.NANOSECONDS.toMicros(p.getMaxNanos());
+				case 7:
+					return p.getAllocatedBytes();
+				case 8:
+					return p.getSkipped();
+				default:
+					return null;
+			}
+		}
+	}
+}
@@ -30,7 +30,24 @@ import java.nio.FloatBuffer;
 
 class GpuFloatBuffer
 {
-	private FloatBuffer buffer = allocateDirect(65536);
+	private FloatBuffer buffer;
+	private final boolean growable;
+
+	GpuFloatBuffer()
+	{
+		buffer = allocateDirect(65536);
+		growable = true;
+	}
+
+	/**
+	 * Wrap a region of another buffer, from its position to its limit. The region
+	 * is not grown by {@link #ensureCapacity(int)}, and writing past it throws.
+	 */
+	GpuFloatBuffer(FloatBuffer region)
+	{
+		buffer = region;
+		growable = false;
+	}
 
 	void put(float texture, float u, float v, float pad)
 	{
@@ -49,6 +66,11 @@ class GpuFloatBuffer
 
 	void ensureCapacity(int size)
 	{
+		if (!growable)
+		{
+			return;
+		}
+
 		int capacity = buffer.capacity();
 		final int position = buffer.position();
 		if ((capacity - position) < size)
@@ -30,7 +30,24 @@ import java.nio.IntBuffer;
 
 class GpuIntBuffer
 {
-	private IntBuffer buffer = allocateDirect(65536);
+	private IntBuffer buffer;
+	private final boolean growable;
+
+	GpuIntBuffer()
+	{
+		buffer = allocateDirect(65536);
+		growable = true;
+	}
+
+	/**
+	 * Wrap a region of another buffer, from its position to its limit. The region
+	 * is not grown by {@link #ensureCapacity(int)}, and writing past it throws.
+	 */
+	GpuIntBuffer(IntBuffer region)
+	{
+		buffer = region;
+		growable = false;
+	}
 
 	void put(int x, int y, int z)
 	{
@@ -54,6 +71,11 @@ class GpuIntBuffer
 
 	void ensureCapacity(int size)
 	{
+		if (!growable)
+		{
+			return;
+		}
+
 		int capacity = buffer.capacity();
 		final int position = buffer.position();
 		if ((capacity - position) < size)
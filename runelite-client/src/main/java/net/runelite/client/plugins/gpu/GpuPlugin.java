@@ -452,6 +452,7 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 			invokeOnMainThread(() ->
 			{
 				openCLManager.cleanup();
+				sceneUploader.releaseRetained();
 
 				if (gl != null)
 				{
@@ -1410,12 +1411,22 @@ public class GpuPlugin extends Plugin implements DrawCallbacks
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged gameStateChanged)
 	{
-		if (computeMode == ComputeMode.NONE || gameStateChanged.getGameState() != GameState.LOGGED_IN)
+		if (computeMode == ComputeMode.NONE)
 		{
 			return;
 		}
 
-		invokeOnMainThread(this::uploadScene);
+		switch (gameStateChanged.getGameState())
+		{
+			case LOGGED_IN:
+				invokeOnMainThread(this::uploadScene);
+				break;
+			case LOGIN_SCREEN:
+			case HOPPING:
+				// the scene is unloaded, so nothing in the next one can be copied from the last upload
+				invokeOnMainThread(sceneUploader::releaseRetained);
+				break;
+		}
 	}
 
 	private void uploadScene()
@@ -25,8 +25,15 @@
 package net.runelite.client.plugins.gpu;
 
 import com.google.common.base.Stopwatch;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Constants;
@@ -50,10 +57,36 @@ class SceneUploader
 	@Inject
 	private Client client;
 
+	private static final int UNIT_SIZE = 8;
+
 	int sceneId = (int) (System.currentTimeMillis() / 1000L);
 	private int offset;
 	private int uvoffset;
 
+	/**
+	 * Vertex and uv data of the previous scene upload, which models that
+	 * are still in the scene are copied from instead of being rebuilt.
+	 */
+	private int retainedSceneId = -1;
+	private int[] retainedVertices;
+	private float[] retainedUvs;
+
+	/**
+	 * A plane and range of scene columns, uploaded independently into its
+	 * own region of the scene buffers.
+	 */
+	@RequiredArgsConstructor
+	private static class Unit
+	{
+		private final int z;
+		private final int startX;
+		private final int endX;
+		private int vertexStart;
+		private int vertexEnd;
+		private int uvStart;
+		private int uvEnd;
+	}
+
 	void upload(Scene scene, GpuIntBuffer vertexbuffer, GpuFloatBuffer uvBuffer)
 	{
 		Stopwatch stopwatch = Stopwatch.createStarted();
@@ -64,31 +97,101 @@ class SceneUploader
 		vertexbuffer.clear();
 		uvBuffer.clear();
 
+		// lay out the scene first, which assigns every tile and model its offsets,
+		// so the units can then be filled in parallel
+		final Tile[][][] tiles = scene.getTiles();
+		final List<Unit> units = new ArrayList<>();
+		final Map<Model, int[]> reused = new IdentityHashMap<>();
 		for (int z = 0; z < Constants.MAX_Z; ++z)
 		{
-			for (int x = 0; x < Constants.SCENE_SIZE; ++x)
+			for (int startX = 0; startX < Constants.SCENE_SIZE; startX += UNIT_SIZE)
+			{
+				Unit unit = new Unit(z, startX, Math.min(startX + UNIT_SIZE, Constants.SCENE_SIZE));
+				unit.vertexStart = offset;
+				unit.uvStart = uvoffset;
+				for (int x = unit.startX; x < unit.endX; ++x)
+				{
+					for (int y = 0; y < Constants.SCENE_SIZE; ++y)
+					{
+						Tile tile = tiles[z][x][y];
+						if (tile != null)
+						{
+							layout(tile, reused);
+						}
+					}
+				}
+				unit.vertexEnd = offset;
+				unit.uvEnd = uvoffset;
+				units.add(unit);
+			}
+		}
+
+		vertexbuffer.ensureCapacity(offset * 4);
+		uvBuffer.ensureCapacity(uvoffset * 4);
+
+		final IntBuffer vertices = vertexbuffer.getBuffer();
+		final FloatBuffer uvs = uvBuffer.getBuffer();
+		units.parallelStream().forEach(unit ->
+		{
+			IntBuffer unitVertices = vertices.duplicate();
+			unitVertices.limit(unit.vertexEnd * 4).position(unit.vertexStart * 4);
+			FloatBuffer unitUvs = uvs.duplicate();
+			unitUvs.limit(unit.uvEnd * 4).position(unit.uvStart * 4);
+
+			GpuIntBuffer unitVertexBuffer = new GpuIntBuffer(unitVertices);
+			GpuFloatBuffer unitUvBuffer = new GpuFloatBuffer(unitUvs);
+			for (int x = unit.startX; x < unit.endX; ++x)
 			{
 				for (int y = 0; y < Constants.SCENE_SIZE; ++y)
 				{
-					Tile tile = scene.getTiles()[z][x][y];
+					Tile tile = tiles[unit.z][x][y];
 					if (tile != null)
 					{
-						upload(tile, vertexbuffer, uvBuffer);
+						upload(tile, unitVertexBuffer, unitUvBuffer, reused);
 					}
 				}
 			}
-		}
+
+			if (unitVertices.hasRemaining() || unitUvs.hasRemaining())
+			{
+				throw new IllegalStateException("scene unit " + unit.z + "/" + unit.startX + " was not filled");
+			}
+		});
+
+		vertices.position(offset * 4);
+		uvs.position(uvoffset * 4);
+
+		retainedVertices = new int[offset * 4];
+		((IntBuffer) vertices.duplicate().flip()).get(retainedVertices);
+		retainedUvs = new float[uvoffset * 4];
+		((FloatBuffer) uvs.duplicate().flip()).get(retainedUvs);
+		retainedSceneId = sceneId;
 
 		stopwatch.stop();
-		log.debug("Scene upload time: {}", stopwatch);
+		log.debug("Scene upload time: {} ({} units, {} models reused)", stopwatch, units.size(), reused.size());
+	}
+
+	/**
+	 * Drop the data retained from the previous scene upload, once the
+	 * scene it was uploaded from is gone
+	 */
+	void releaseRetained()
+	{
+		retainedSceneId = -1;
+		retainedVertices = null;
+		retainedUvs = null;
 	}
 
-	private void upload(Tile tile, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	/**
+	 * Assign the buffer offsets of a tile and the models on it, in the same
+	 * order {@link #upload(Tile, GpuIntBuffer, GpuFloatBuffer, Map)} writes them.
+	 */
+	private void layout(Tile tile, Map<Model, int[]> reused)
 	{
 		Tile bridge = tile.getBridge();
 		if (bridge != null)
 		{
-			upload(bridge, vertexBuffer, uvBuffer);
+			layout(bridge, reused);
 		}
 
 		SceneTilePaint sceneTilePaint = tile.getSceneTilePaint();
@@ -103,11 +206,7 @@ class SceneUploader
 			{
 				sceneTilePaint.setUvBufferOffset(-1);
 			}
-			Point tilePoint = tile.getSceneLocation();
-			int len = upload(sceneTilePaint,
-				tile.getRenderLevel(), tilePoint.getX(), tilePoint.getY(),
-				vertexBuffer, uvBuffer,
-				0, 0, false);
+			int len = sceneTilePaint.getNeColor() == 12345678 ? 0 : 6;
 			sceneTilePaint.setBufferLen(len);
 			offset += len;
 			if (sceneTilePaint.getTexture() != -1)
@@ -128,11 +227,14 @@ class SceneUploader
 			{
 				sceneTileModel.setUvBufferOffset(-1);
 			}
-			Point tilePoint = tile.getSceneLocation();
-			int len = upload(sceneTileModel,
-				tilePoint.getX(), tilePoint.getY(),
-				vertexBuffer, uvBuffer,
-				0, 0, false);
+			int len = 0;
+			for (int color : sceneTileModel.getTriangleColorA())
+			{
+				if (color != 12345678)
+				{
+					len += 3;
+				}
+			}
 			sceneTileModel.setBufferLen(len);
 			offset += len;
 			if (sceneTileModel.getTriangleTextureId() != null)
@@ -144,57 +246,127 @@ class SceneUploader
 		WallObject wallObject = tile.getWallObject();
 		if (wallObject != null)
 		{
-			Renderable renderable1 = wallObject.getRenderable1();
-			if (renderable1 instanceof Model)
-			{
-				uploadModel((Model) renderable1, vertexBuffer, uvBuffer);
-			}
-
-			Renderable renderable2 = wallObject.getRenderable2();
-			if (renderable2 instanceof Model)
-			{
-				uploadModel((Model) renderable2, vertexBuffer, uvBuffer);
-			}
+			layout(wallObject.getRenderable1(), reused);
+			layout(wallObject.getRenderable2(), reused);
 		}
 
 		GroundObject groundObject = tile.getGroundObject();
 		if (groundObject != null)
 		{
-			Renderable renderable = groundObject.getRenderable();
-			if (renderable instanceof Model)
-			{
-				uploadModel((Model) renderable, vertexBuffer, uvBuffer);
-			}
+			layout(groundObject.getRenderable(), reused);
 		}
 
 		DecorativeObject decorativeObject = tile.getDecorativeObject();
 		if (decorativeObject != null)
 		{
-			Renderable renderable = decorativeObject.getRenderable();
-			if (renderable instanceof Model)
-			{
-				uploadModel((Model) renderable, vertexBuffer, uvBuffer);
-			}
-
-			Renderable renderable2 = decorativeObject.getRenderable2();
-			if (renderable2 instanceof Model)
-			{
-				uploadModel((Model) renderable2, vertexBuffer, uvBuffer);
-			}
+			layout(decorativeObject.getRenderable(), reused);
+			layout(decorativeObject.getRenderable2(), reused);
 		}
 
 		GameObject[] gameObjects = tile.getGameObjects();
 		for (GameObject gameObject : gameObjects)
 		{
-			if (gameObject == null)
+			if (gameObject != null)
 			{
-				continue;
+				layout(gameObject.getRenderable(), reused);
 			}
+		}
+	}
+
+	private void layout(Renderable renderable, Map<Model, int[]> reused)
+	{
+		if (!(renderable instanceof Model))
+		{
+			return;
+		}
+
+		Model model = (Model) renderable;
+		if (model.getSceneId() == sceneId)
+		{
+			return; // model has already been laid out
+		}
+
+		final int len = model.getTrianglesCount() * 3;
+		if (model.getSceneId() == retainedSceneId
+			&& model.getBufferOffset() + len <= retainedVertices.length / 4
+			&& (model.getFaceTextures() == null || model.getUvBufferOffset() >= 0 && model.getUvBufferOffset() + len <= retainedUvs.length / 4))
+		{
+			// the model was in the previous upload, so its data can be copied from there
+			reused.put(model, new int[]{model.getBufferOffset(), model.getUvBufferOffset()});
+		}
+
+		model.setBufferOffset(offset);
+		if (model.getFaceTextures() != null)
+		{
+			model.setUvBufferOffset(uvoffset);
+		}
+		else
+		{
+			model.setUvBufferOffset(-1);
+		}
+		model.setSceneId(sceneId);
+
+		offset += len;
+		if (model.getFaceTextures() != null)
+		{
+			uvoffset += len;
+		}
+	}
+
+	private void upload(Tile tile, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer, Map<Model, int[]> reused)
+	{
+		Tile bridge = tile.getBridge();
+		if (bridge != null)
+		{
+			upload(bridge, vertexBuffer, uvBuffer, reused);
+		}
+
+		SceneTilePaint sceneTilePaint = tile.getSceneTilePaint();
+		if (sceneTilePaint != null)
+		{
+			Point tilePoint = tile.getSceneLocation();
+			upload(sceneTilePaint,
+				tile.getRenderLevel(), tilePoint.getX(), tilePoint.getY(),
+				vertexBuffer, uvBuffer,
+				0, 0, false);
+		}
+
+		SceneTileModel sceneTileModel = tile.getSceneTileModel();
+		if (sceneTileModel != null)
+		{
+			Point tilePoint = tile.getSceneLocation();
+			upload(sceneTileModel,
+				tilePoint.getX(), tilePoint.getY(),
+				vertexBuffer, uvBuffer,
+				0, 0, false);
+		}
 
-			Renderable renderable = gameObject.getRenderable();
-			if (renderable instanceof Model)
+		WallObject wallObject = tile.getWallObject();
+		if (wallObject != null)
+		{
+			uploadModel(wallObject.getRenderable1(), vertexBuffer, uvBuffer, reused);
+			uploadModel(wallObject.getRenderable2(), vertexBuffer, uvBuffer, reused);
+		}
+
+		GroundObject groundObject = tile.getGroundObject();
+		if (groundObject != null)
+		{
+			uploadModel(groundObject.getRenderable(), vertexBuffer, uvBuffer, reused);
+		}
+
+		DecorativeObject decorativeObject = tile.getDecorativeObject();
+		if (decorativeObject != null)
+		{
+			uploadModel(decorativeObject.getRenderable(), vertexBuffer, uvBuffer, reused);
+			uploadModel(decorativeObject.getRenderable2(), vertexBuffer, uvBuffer, reused);
+		}
+
+		GameObject[] gameObjects = tile.getGameObjects();
+		for (GameObject gameObject : gameObjects)
+		{
+			if (gameObject != null)
 			{
-				uploadModel((Model) gameObject.getRenderable(), vertexBuffer, uvBuffer);
+				uploadModel(gameObject.getRenderable(), vertexBuffer, uvBuffer, reused);
 			}
 		}
 	}
@@ -350,26 +522,35 @@ class SceneUploader
 		return cnt;
 	}
 
-	private void uploadModel(Model model, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer)
+	private void uploadModel(Renderable renderable, GpuIntBuffer vertexBuffer, GpuFloatBuffer uvBuffer, Map<Model, int[]> reused)
 	{
-		if (model.getSceneId() == sceneId)
+		if (!(renderable instanceof Model))
 		{
-			return; // model has already been uploaded
+			return;
 		}
 
-		model.setBufferOffset(offset);
-		if (model.getFaceTextures() != null)
+		// a model is written where it is first seen; anywhere else it was laid out
+		// at an earlier offset
+		Model model = (Model) renderable;
+		IntBuffer vertices = vertexBuffer.getBuffer();
+		if (model.getBufferOffset() != vertices.position() / 4)
 		{
-			model.setUvBufferOffset(uvoffset);
+			return;
 		}
-		else
-		{
-			model.setUvBufferOffset(-1);
-		}
-		model.setSceneId(sceneId);
 
 		final int triangleCount = model.getTrianglesCount();
 
+		int[] previous = reused.get(model);
+		if (previous != null)
+		{
+			vertices.put(retainedVertices, previous[0] * 4, triangleCount * 12);
+			if (model.getFaceTextures() != null)
+			{
+				uvBuffer.getBuffer().put(retainedUvs, previous[1] * 4, triangleCount * 12);
+			}
+			return;
+		}
+
 		vertexBuffer.ensureCapacity(triangleCount * 12);
 		uvBuffer.ensureCapacity(triangleCount * 12);
 
@@ -392,7 +573,6 @@ class SceneUploader
 		float[][] u = model.getFaceTextureUCoordinates();
 		float[][] v = model.getFaceTextureVCoordinates();
 
-		int len = 0;
 		for (int face = 0; face < triangleCount; ++face)
 		{
 			int color1 = color1s[face];
@@ -416,7 +596,6 @@ class SceneUploader
 					uvBuffer.put(0, 0, 0, 0);
 				}
 
-				len += 3;
 				continue;
 			}
 
@@ -434,14 +613,6 @@ class SceneUploader
 			{
 				pushUvForFace(faceTextures, u, v, face, uvBuffer);
 			}
-
-			len += 3;
-		}
-
-		offset += len;
-		if (model.getFaceTextures() != null)
-		{
-			uvoffset += len;
 		}
 	}
 
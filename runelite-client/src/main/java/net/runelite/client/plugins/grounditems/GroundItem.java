@@ -29,6 +29,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Value;
 import net.runelite.api.coords.WorldPoint;
 
@@ -52,6 +53,15 @@ class GroundItem
 	private Instant spawnTime;
 	private boolean stackable;
 
+	// highlight and hide list matches, along with the matcher and quantity they were found for
+	@EqualsAndHashCode.Exclude
+	@Nullable
+	private ItemListMatcher listMatcher;
+	@EqualsAndHashCode.Exclude
+	private int listQuantity;
+	@EqualsAndHashCode.Exclude
+	private int listMatches;
+
 	int getHaPrice()
 	{
 		return haPrice * quantity;
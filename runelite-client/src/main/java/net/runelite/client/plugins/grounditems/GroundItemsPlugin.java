@@ -25,15 +25,11 @@
  */
 package net.runelite.client.plugins.grounditems;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.EvictingQueue;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Provides;
 import java.awt.Color;
 import java.awt.Rectangle;
-import static java.lang.Boolean.FALSE;
-import static java.lang.Boolean.TRUE;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -44,7 +40,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -179,8 +174,7 @@ public class GroundItemsPlugin extends Plugin
 	@Getter
 	private final Map<GroundItem.GroundItemKey, GroundItem> collectedGroundItems = new LinkedHashMap<>();
 	private List<PriceHighlight> priceChecks = ImmutableList.of();
-	private LoadingCache<NamedQuantity, Boolean> highlightedItems;
-	private LoadingCache<NamedQuantity, Boolean> hiddenItems;
+	private volatile ItemListMatcher itemListMatcher;
 	private final Queue<Integer> droppedItemQueue = EvictingQueue.create(16); // recently dropped items
 	private int lastUsedItem;
 
@@ -206,10 +200,7 @@ public class GroundItemsPlugin extends Plugin
 		overlayManager.remove(overlay);
 		mouseManager.unregisterMouseListener(inputListener);
 		keyManager.unregisterKeyListener(inputListener);
-		highlightedItems.invalidateAll();
-		highlightedItems = null;
-		hiddenItems.invalidateAll();
-		hiddenItems = null;
+		itemListMatcher = null;
 		hiddenItemList = null;
 		highlightedItemsList = null;
 		collectedGroundItems.clear();
@@ -426,15 +417,7 @@ public class GroundItemsPlugin extends Plugin
 		// gets the highlighted items from the text box in the config
 		highlightedItemsList = Text.fromCSV(config.getHighlightItems());
 
-		highlightedItems = CacheBuilder.newBuilder()
-			.maximumSize(512L)
-			.expireAfterAccess(10, TimeUnit.MINUTES)
-			.build(new WildcardMatchLoader(highlightedItemsList));
-
-		hiddenItems = CacheBuilder.newBuilder()
-			.maximumSize(512L)
-			.expireAfterAccess(10, TimeUnit.MINUTES)
-			.build(new WildcardMatchLoader(hiddenItemList));
+		itemListMatcher = new ItemListMatcher(highlightedItemsList, hiddenItemList);
 
 		// Cache colors
 		ImmutableList.Builder<PriceHighlight> priceCheckBuilder = ImmutableList.builder();
@@ -485,10 +468,8 @@ public class GroundItemsPlugin extends Plugin
 			GroundItem groundItem = collectedGroundItems.get(groundItemKey);
 			int quantity = groundItem.getQuantity();
 
-			final int gePrice = groundItem.getGePrice();
-			final int haPrice = groundItem.getHaPrice();
-			final Color hidden = getHidden(new NamedQuantity(groundItem.getName(), quantity), gePrice, haPrice, groundItem.isTradeable());
-			final Color highlighted = getHighlighted(new NamedQuantity(groundItem.getName(), quantity), gePrice, haPrice);
+			final Color hidden = getHidden(groundItem);
+			final Color highlighted = getHighlighted(groundItem);
 			final Color color = getItemColor(highlighted, hidden);
 			final boolean canBeRecolored = highlighted != null || (hidden != null && config.recolorMenuHiddenItems());
 
@@ -556,20 +537,37 @@ public class GroundItemsPlugin extends Plugin
 		config.setHighlightedItem(Text.toCSV(highlightedItemSet));
 	}
 
-	Color getHighlighted(NamedQuantity item, int gePrice, int haPrice)
+	/**
+	 * Get the highlight and hide lists matching an item. The matches are kept on the item
+	 * until its quantity or the lists change.
+	 */
+	private int getListMatches(GroundItem item)
+	{
+		final ItemListMatcher matcher = itemListMatcher;
+		if (item.getListMatcher() != matcher || item.getListQuantity() != item.getQuantity())
+		{
+			item.setListMatches(matcher.match(item.getName(), item.getQuantity()));
+			item.setListMatcher(matcher);
+			item.setListQuantity(item.getQuantity());
+		}
+		return item.getListMatches();
+	}
+
+	Color getHighlighted(GroundItem item)
 	{
-		if (TRUE.equals(highlightedItems.getUnchecked(item)))
+		final int listMatches = getListMatches(item);
+		if ((listMatches & ItemListMatcher.HIGHLIGHTED) != 0)
 		{
 			return config.highlightedColor();
 		}
 
 		// Explicit hide takes priority over implicit highlight
-		if (TRUE.equals(hiddenItems.getUnchecked(item)))
+		if ((listMatches & ItemListMatcher.HIDDEN) != 0)
 		{
 			return null;
 		}
 
-		final int price = getValueByMode(gePrice, haPrice);
+		final int price = getValueByMode(item.getGePrice(), item.getHaPrice());
 		for (PriceHighlight highlight : priceChecks)
 		{
 			if (price > highlight.getPrice())
@@ -581,11 +579,14 @@ public class GroundItemsPlugin extends Plugin
 		return null;
 	}
 
-	Color getHidden(NamedQuantity item, int gePrice, int haPrice, boolean isTradeable)
+	Color getHidden(GroundItem item)
 	{
-		final boolean isExplicitHidden = TRUE.equals(hiddenItems.getUnchecked(item));
-		final boolean isExplicitHighlight = TRUE.equals(highlightedItems.getUnchecked(item));
-		final boolean canBeHidden = gePrice > 0 || isTradeable || !config.dontHideUntradeables();
+		final int listMatches = getListMatches(item);
+		final boolean isExplicitHidden = (listMatches & ItemListMatcher.HIDDEN) != 0;
+		final boolean isExplicitHighlight = (listMatches & ItemListMatcher.HIGHLIGHTED) != 0;
+		final int gePrice = item.getGePrice();
+		final int haPrice = item.getHaPrice();
+		final boolean canBeHidden = gePrice > 0 || item.isTradeable() || !config.dontHideUntradeables();
 		final boolean underGe = gePrice < config.getHideUnderValue();
 		final boolean underHa = haPrice < config.getHideUnderValue();
 
@@ -621,12 +622,13 @@ public class GroundItemsPlugin extends Plugin
 
 	private void notifyHighlightedItem(GroundItem item)
 	{
+		final int listMatches = getListMatches(item);
 		final boolean shouldNotifyHighlighted = config.notifyHighlightedDrops() &&
-			TRUE.equals(highlightedItems.getUnchecked(new NamedQuantity(item)));
+			(listMatches & ItemListMatcher.HIGHLIGHTED) != 0;
 
 		final boolean shouldNotifyTier = config.notifyTier() != HighlightTier.OFF &&
 			getValueByMode(item.getGePrice(), item.getHaPrice()) > config.notifyTier().getValueFromTier(config) &&
-			FALSE.equals(hiddenItems.getUnchecked(new NamedQuantity(item)));
+			(listMatches & ItemListMatcher.HIDDEN) == 0;
 
 		final String dropType;
 		if (shouldNotifyHighlighted)
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.grounditems;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Matches item names and quantities against the highlight and hide lists at once.
+ *
+ * Entries without wildcards are looked up by name. The others are kept in a trie of the
+ * text before their first wildcard, which is walked along the name, so only the entries
+ * whose prefix matches the name are checked.
+ */
+class ItemListMatcher
+{
+	static final int HIGHLIGHTED = 1;
+	static final int HIDDEN = 1 << 1;
+
+	@RequiredArgsConstructor
+	private static class Entry
+	{
+		// text between the wildcards after the prefix, or null for an entry without wildcards
+		private final String[] segments;
+		private final ItemThreshold threshold;
+		private final int list;
+	}
+
+	private static class Node
+	{
+		private final Map<Character, Node> children = new HashMap<>();
+		private final List<Entry> entries = new ArrayList<>();
+	}
+
+	private final Map<String, List<Entry>> names = new HashMap<>();
+	private final Node root = new Node();
+
+	ItemListMatcher(List<String> highlightedItems, List<String> hiddenItems)
+	{
+		add(highlightedItems, HIGHLIGHTED);
+		add(hiddenItems, HIDDEN);
+	}
+
+	private void add(List<String> configEntries, int list)
+	{
+		for (String configEntry : configEntries)
+		{
+			final ItemThreshold threshold = ItemThreshold.fromConfigEntry(configEntry);
+			if (threshold == null)
+			{
+				continue;
+			}
+
+			final String pattern = threshold.getItemName().toLowerCase();
+			final int wildcard = pattern.indexOf('*');
+			if (wildcard == -1)
+			{
+				names.computeIfAbsent(pattern, k -> new ArrayList<>()).add(new Entry(null, threshold, list));
+				continue;
+			}
+
+			Node node = root;
+			for (int i = 0; i < wildcard; ++i)
+			{
+				node = node.children.computeIfAbsent(pattern.charAt(i), k -> new Node());
+			}
+			node.entries.add(new Entry(pattern.substring(wildcard + 1).split("\\*", -1), threshold, list));
+		}
+	}
+
+	/**
+	 * Match an item against the lists
+	 *
+	 * @return the lists matching the item, as a combination of {@link #HIGHLIGHTED} and {@link #HIDDEN}
+	 */
+	int match(String name, int quantity)
+	{
+		if (Strings.isNullOrEmpty(name))
+		{
+			return 0;
+		}
+
+		final String text = name.trim().toLowerCase();
+		int matches = match(names.get(text), text, 0, quantity);
+
+		Node node = root;
+		for (int i = 0; node != null; ++i)
+		{
+			matches |= match(node.entries, text, i, quantity);
+			node = i < text.length() ? node.children.get(text.charAt(i)) : null;
+		}
+
+		return matches;
+	}
+
+	private static int match(List<Entry> entries, String text, int start, int quantity)
+	{
+		if (entries == null)
+		{
+			return 0;
+		}
+
+		int matches = 0;
+		for (Entry entry : entries)
+		{
+			if ((matches & entry.list) == 0
+				&& entry.threshold.quantityHolds(quantity)
+				&& matchSegments(entry.segments, text, start))
+			{
+				matches |= entry.list;
+			}
+		}
+		return matches;
+	}
+
+	private static boolean matchSegments(String[] segments, String text, int start)
+	{
+		if (segments == null)
+		{
+			return true;
+		}
+
+		// the segments between wildcards can match anywhere after the previous one,
+		// but the last one has to end the name
+		int position = start;
+		final int last = segments.length - 1;
+		for (int i = 0; i < last; ++i)
+		{
+			final int index = text.indexOf(segments[i], position);
+			if (index == -1)
+			{
+				return false;
+			}
+			position = index + segments[i].length();
+		}
+
+		return text.length() - segments[last].length() >= position && text.endsWith(segments[last]);
+	}
+}
@@ -45,6 +45,7 @@ import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.OverlayPriority;
 import net.runelite.client.ui.overlay.OverlayUtil;
 import net.runelite.client.ui.overlay.outline.ModelOutlineRenderer;
+import net.runelite.client.ui.overlay.outline.OutlineBatch;
 
 class ObjectIndicatorsOverlay extends Overlay
 {
@@ -70,6 +71,7 @@ class ObjectIndicatorsOverlay extends Overlay
 	public Dimension render(Graphics2D graphics)
 	{
 		Stroke stroke = new BasicStroke((float) config.borderWidth());
+		OutlineBatch outlines = modelOutlineRenderer.createBatch();
 		for (ColorTileObject colorTileObject : plugin.getObjects())
 		{
 			TileObject object = colorTileObject.getTileObject();
@@ -103,15 +105,18 @@ class ObjectIndicatorsOverlay extends Overlay
 
 			if (config.highlightHull())
 			{
-				renderConvexHull(graphics, object, color, stroke);
+				// drawn with the outlines to keep the hulls and outlines in order
+				final Color hullColor = color;
+				outlines.paint(() -> renderConvexHull(graphics, object, hullColor, stroke));
 			}
 
 			if (config.highlightOutline())
 			{
-				modelOutlineRenderer.drawOutline(object, (int)config.borderWidth(), color, config.outlineFeather());
+				outlines.add(object, (int)config.borderWidth(), color, config.outlineFeather());
 			}
 		}
 
+		outlines.draw();
 		return null;
 	}
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.heuristics;
+
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+
+/**
+ * The manhattan distance plus linear conflicts. Two pieces in their goal row (or column)
+ * but in the wrong order relative to each other need at least two more moves than their
+ * manhattan distance, since one of them has to leave the line to let the other past.
+ *
+ * A line needs two extra moves for every piece which is not part of the longest run of
+ * its pieces already in goal order, which keeps the heuristic admissible when more than
+ * two pieces of a line are in conflict.
+ */
+public class LinearConflict implements Heuristic
+{
+	/**
+	 * Digit for a cell of a line which holds a piece that does not belong to the line.
+	 */
+	public static final int OTHER = DIMENSION;
+
+	private static final int LINE_CODES = (int) Math.pow(DIMENSION + 1, DIMENSION);
+
+	// extra moves needed by a line, indexed by the base DIMENSION + 1 code of the
+	// goal positions along the line of the pieces in it
+	private static final byte[] LINE_COSTS = new byte[LINE_CODES];
+
+	static
+	{
+		int[] digits = new int[DIMENSION];
+		for (int code = 0; code < LINE_CODES; ++code)
+		{
+			int pieces = 0;
+			for (int i = 0, c = code; i < DIMENSION; ++i, c /= DIMENSION + 1)
+			{
+				digits[i] = c % (DIMENSION + 1);
+				if (digits[i] != OTHER)
+				{
+					++pieces;
+				}
+			}
+
+			// longest increasing run of goal positions, which can stay in the line
+			int[] longest = new int[DIMENSION];
+			int keep = 0;
+			for (int i = 0; i < DIMENSION; ++i)
+			{
+				if (digits[i] == OTHER)
+				{
+					continue;
+				}
+
+				longest[i] = 1;
+				for (int j = 0; j < i; ++j)
+				{
+					if (digits[j] != OTHER && digits[j] < digits[i])
+					{
+						longest[i] = Math.max(longest[i], longest[j] + 1);
+					}
+				}
+				keep = Math.max(keep, longest[i]);
+			}
+
+			LINE_COSTS[code] = (byte) (2 * (pieces - keep));
+		}
+	}
+
+	/**
+	 * Get the extra moves needed by a line
+	 *
+	 * @param code the goal positions along the line of the pieces in the line, in base
+	 * DIMENSION + 1 with the first cell as the lowest digit, and {@link #OTHER} for cells
+	 * without a piece of the line
+	 */
+	public static int lineCost(int code)
+	{
+		return LINE_COSTS[code];
+	}
+
+	@Override
+	public int computeValue(PuzzleState state)
+	{
+		int value = 0;
+
+		for (int y = 0; y < DIMENSION; y++)
+		{
+			int code = 0;
+			for (int x = DIMENSION - 1; x >= 0; x--)
+			{
+				int piece = state.getPiece(x, y);
+				int digit = OTHER;
+
+				if (piece != BLANK_TILE_VALUE)
+				{
+					value += Math.abs(x - piece % DIMENSION) + Math.abs(y - piece / DIMENSION);
+
+					if (piece / DIMENSION == y)
+					{
+						digit = piece % DIMENSION;
+					}
+				}
+
+				code = code * (DIMENSION + 1) + digit;
+			}
+			value += lineCost(code);
+		}
+
+		for (int x = 0; x < DIMENSION; x++)
+		{
+			int code = 0;
+			for (int y = DIMENSION - 1; y >= 0; y--)
+			{
+				int piece = state.getPiece(x, y);
+				int digit = OTHER;
+
+				if (piece != BLANK_TILE_VALUE && piece % DIMENSION == x)
+				{
+					digit = piece / DIMENSION;
+				}
+
+				code = code * (DIMENSION + 1) + digit;
+			}
+			value += lineCost(code);
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.puzzlesolver.solver.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.BLANK_TILE_VALUE;
+import static net.runelite.client.plugins.puzzlesolver.solver.PuzzleSolver.DIMENSION;
+import net.runelite.client.plugins.puzzlesolver.solver.heuristics.LinearConflict;
+
+/**
+ * An implementation of the IDA* algorithm which searches a single board of bytes,
+ * making and unmaking moves in place, with the {@link LinearConflict} heuristic
+ * kept up to date as pieces move.
+ *
+ * Optionally the search tree is split a few moves below the root, and the subtrees
+ * of every iteration are searched in parallel.
+ */
+public class PackedIDAStar extends Pathfinder
+{
+	private static final int SIZE = DIMENSION * DIMENSION;
+	private static final byte BLANK = SIZE - 1;
+
+	private static final int FOUND = -1;
+	private static final int ABORTED = Integer.MAX_VALUE;
+
+	// depth of the subtrees searched in parallel, and the least heuristic value
+	// for which splitting is worth it
+	private static final int SPLIT_DEPTH = 3;
+	private static final int MIN_SPLIT_HEURISTIC = 16;
+
+	// neighbouring cells of each cell, -1 where there is none
+	private static final int[][] NEIGHBOURS = new int[SIZE][4];
+
+	// manhattan distance of each piece from each cell
+	private static final byte[][] DISTANCES = new byte[SIZE][SIZE];
+
+	// digit of each piece in the code of each row, and of each column
+	private static final int[][] ROW_DIGITS = new int[SIZE][DIMENSION];
+	private static final int[][] COLUMN_DIGITS = new int[SIZE][DIMENSION];
+
+	// weight of each cell of a line in its code
+	private static final int[] DIGIT_WEIGHTS = new int[DIMENSION];
+
+	static
+	{
+		for (int i = 0, weight = 1; i < DIMENSION; ++i, weight *= DIMENSION + 1)
+		{
+			DIGIT_WEIGHTS[i] = weight;
+		}
+
+		for (int cell = 0; cell < SIZE; ++cell)
+		{
+			int x = cell % DIMENSION;
+			int y = cell / DIMENSION;
+			NEIGHBOURS[cell][0] = x > 0 ? cell - 1 : -1;
+			NEIGHBOURS[cell][1] = x < DIMENSION - 1 ? cell + 1 : -1;
+			NEIGHBOURS[cell][2] = y > 0 ? cell - DIMENSION : -1;
+			NEIGHBOURS[cell][3] = y < DIMENSION - 1 ? cell + DIMENSION : -1;
+
+			for (int piece = 0; piece < BLANK; ++piece)
+			{
+				DISTANCES[piece][cell] = (byte) (Math.abs(x - piece % DIMENSION) + Math.abs(y - piece / DIMENSION));
+			}
+		}
+
+		for (int piece = 0; piece < SIZE; ++piece)
+		{
+			for (int line = 0; line < DIMENSION; ++line)
+			{
+				boolean blank = piece == BLANK;
+				ROW_DIGITS[piece][line] = !blank && piece / DIMENSION == line ? piece % DIMENSION : LinearConflict.OTHER;
+				COLUMN_DIGITS[piece][line] = !blank && piece % DIMENSION == line ? piece / DIMENSION : LinearConflict.OTHER;
+			}
+		}
+	}
+
+	private final boolean parallel;
+
+	/**
+	 * The number of nodes expanded by the last search.
+	 */
+	@Getter
+	private long nodes;
+
+	public PackedIDAStar(boolean parallel)
+	{
+		super(new LinearConflict());
+		this.parallel = parallel;
+	}
+
+	@Override
+	public List<PuzzleState> computePath(PuzzleState root)
+	{
+		Board board = new Board(root);
+		byte[] moves = parallel && board.heuristic() >= MIN_SPLIT_HEURISTIC
+			? searchParallel(board)
+			: search(board);
+
+		List<PuzzleState> path = new ArrayList<>(moves.length + 1);
+		PuzzleState state = root;
+		path.add(state);
+		for (byte move : moves)
+		{
+			int empty = state.getEmptyPiece();
+			state = state.swap(empty % DIMENSION, empty / DIMENSION, move % DIMENSION, move / DIMENSION);
+			path.add(state);
+		}
+		return path;
+	}
+
+	private byte[] search(Board board)
+	{
+		int bound = board.heuristic();
+		while (true)
+		{
+			int t = board.search(0, bound, -1, null, 0);
+			nodes = board.nodes;
+
+			if (t == FOUND)
+			{
+				return board.path(0);
+			}
+
+			bound = t;
+		}
+	}
+
+	private byte[] searchParallel(Board root)
+	{
+		List<byte[]> prefixes = new ArrayList<>();
+		root.collectPrefixes(0, -1, prefixes);
+
+		Board[] boards = new Board[prefixes.size()];
+		for (int i = 0; i < boards.length; ++i)
+		{
+			boards[i] = new Board(root);
+			for (byte move : prefixes.get(i))
+			{
+				boards[i].move(move);
+			}
+		}
+
+		int bound = root.heuristic();
+		while (true)
+		{
+			// the subtree with the lowest index which has a solution wins, so the result
+			// does not depend on the order in which the subtrees finish
+			final int iterationBound = bound;
+			final AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+			int[] results = IntStream.range(0, boards.length).parallel()
+				.map(i ->
+				{
+					byte[] prefix = prefixes.get(i);
+					int previous = prefix.length > 1 ? prefix[prefix.length - 2] : root.blank;
+					int t = boards[i].search(prefix.length, iterationBound, previous, found, i);
+					if (t == FOUND)
+					{
+						found.accumulateAndGet(i, Math::min);
+					}
+					return t;
+				})
+				.toArray();
+
+			long total = 0;
+			for (Board board : boards)
+			{
+				total += board.nodes;
+			}
+			nodes = total;
+
+			int winner = found.get();
+			if (winner != Integer.MAX_VALUE)
+			{
+				byte[] prefix = prefixes.get(winner);
+				byte[] rest = boards[winner].path(prefix.length);
+				byte[] moves = new byte[prefix.length + rest.length];
+				System.arraycopy(prefix, 0, moves, 0, prefix.length);
+				System.arraycopy(rest, 0, moves, prefix.length, rest.length);
+				return moves;
+			}
+
+			int next = Integer.MAX_VALUE;
+			for (int t : results)
+			{
+				next = Math.min(next, t);
+			}
+			bound = next;
+		}
+	}
+
+	/**
+	 * A board, and the state of a depth first search over it.
+	 */
+	private static class Board
+	{
+		// the piece in each cell, with the blank as the last piece
+		private final byte[] pieces = new byte[SIZE];
+		// codes of each row, then each column, as used by LinearConflict.lineCost
+		private final int[] lineCodes = new int[DIMENSION * 2];
+		private int blank;
+		private int distance;
+		private int lineCost;
+
+		// cells the blank moved to, by depth
+		private byte[] moves = new byte[64];
+		private long nodes;
+
+		Board(PuzzleState state)
+		{
+			for (int cell = 0; cell < SIZE; ++cell)
+			{
+				int x = cell % DIMENSION;
+				int y = cell / DIMENSION;
+				int piece = state.getPiece(x, y);
+				if (piece == BLANK_TILE_VALUE)
+				{
+					piece = BLANK;
+					blank = cell;
+				}
+				else
+				{
+					distance += DISTANCES[piece][cell];
+				}
+
+				pieces[cell] = (byte) piece;
+				lineCodes[y] += ROW_DIGITS[piece][y] * DIGIT_WEIGHTS[x];
+				lineCodes[DIMENSION + x] += COLUMN_DIGITS[piece][x] * DIGIT_WEIGHTS[y];
+			}
+
+			for (int code : lineCodes)
+			{
+				lineCost += LinearConflict.lineCost(code);
+			}
+		}
+
+		Board(Board board)
+		{
+			System.arraycopy(board.pieces, 0, pieces, 0, SIZE);
+			System.arraycopy(board.lineCodes, 0, lineCodes, 0, lineCodes.length);
+			blank = board.blank;
+			distance = board.distance;
+			lineCost = board.lineCost;
+		}
+
+		int heuristic()
+		{
+			return distance + lineCost;
+		}
+
+		/**
+		 * Moves the piece in a cell next to the blank into the blank. Moving the
+		 * blank back to where it was undoes the move.
+		 */
+		void move(int cell)
+		{
+			final int piece = pieces[cell];
+			final int empty = blank;
+			pieces[empty] = (byte) piece;
+			pieces[cell] = BLANK;
+			blank = cell;
+			distance += DISTANCES[piece][empty] - DISTANCES[piece][cell];
+
+			final int fromX = cell % DIMENSION;
+			final int fromY = cell / DIMENSION;
+			final int toX = empty % DIMENSION;
+			final int toY = empty / DIMENSION;
+
+			// only the digits of the moved piece and the blank change
+			final int[] rowDigits = ROW_DIGITS[piece];
+			final int[] columnDigits = COLUMN_DIGITS[piece];
+			if (fromY == toY)
+			{
+				// a piece moving along its row keeps its order in the row
+				lineCodes[fromY] += (rowDigits[fromY] - LinearConflict.OTHER) * (DIGIT_WEIGHTS[toX] - DIGIT_WEIGHTS[fromX]);
+				updateLine(DIMENSION + fromX, (LinearConflict.OTHER - columnDigits[fromX]) * DIGIT_WEIGHTS[fromY]);
+				updateLine(DIMENSION + toX, (columnDigits[toX] - LinearConflict.OTHER) * DIGIT_WEIGHTS[toY]);
+			}
+			else
+			{
+				lineCodes[DIMENSION + fromX] += (columnDigits[fromX] - LinearConflict.OTHER) * (DIGIT_WEIGHTS[toY] - DIGIT_WEIGHTS[fromY]);
+				updateLine(fromY, (LinearConflict.OTHER - rowDigits[fromY]) * DIGIT_WEIGHTS[fromX]);
+				updateLine(toY, (rowDigits[toY] - LinearConflict.OTHER) * DIGIT_WEIGHTS[toX]);
+			}
+		}
+
+		private void updateLine(int line, int delta)
+		{
+			final int code = lineCodes[line];
+			lineCodes[line] = code + delta;
+			lineCost += LinearConflict.lineCost(code + delta) - LinearConflict.lineCost(code);
+		}
+
+		/**
+		 * Searches below the current board, up to a bound on the number of moves
+		 *
+		 * @param depth the number of moves made to reach this board
+		 * @param previous the cell the blank came from, which is not moved back to
+		 * @param found the lowest index of a parallel subtree with a solution, or null
+		 * @param index the index of this subtree
+		 * @return {@link #FOUND}, or the lowest estimate above the bound
+		 */
+		int search(int depth, int bound, int previous, AtomicInteger found, int index)
+		{
+			final int h = distance + lineCost;
+			final int f = depth + h;
+
+			if (f > bound)
+			{
+				return f;
+			}
+
+			if (h == 0)
+			{
+				return FOUND;
+			}
+
+			if (found != null && found.get() < index)
+			{
+				return ABORTED;
+			}
+
+			++nodes;
+			if (depth == moves.length)
+			{
+				moves = Arrays.copyOf(moves, moves.length * 2);
+			}
+
+			int min = Integer.MAX_VALUE;
+			final int empty = blank;
+			for (int cell : NEIGHBOURS[empty])
+			{
+				if (cell < 0 || cell == previous)
+				{
+					continue;
+				}
+
+				move(cell);
+				moves[depth] = (byte) cell;
+				int t = search(depth + 1, bound, empty, found, index);
+				move(empty);
+
+				if (t == FOUND)
+				{
+					return FOUND;
+				}
+
+				min = Math.min(min, t);
+			}
+
+			return min;
+		}
+
+		byte[] path(int from)
+		{
+			// after a successful search the moves below the goal depth are left in place
+			int length = from;
+			Board replay = new Board(this);
+			for (int i = from; replay.heuristic() != 0; ++i)
+			{
+				replay.move(moves[i]);
+				++length;
+			}
+			byte[] path = new byte[length - from];
+			System.arraycopy(moves, from, path, 0, path.length);
+			return path;
+		}
+
+		/**
+		 * Collects the moves to every board {@link #SPLIT_DEPTH} moves below this one
+		 */
+		void collectPrefixes(int depth, int previous, List<byte[]> prefixes)
+		{
+			if (depth == SPLIT_DEPTH)
+			{
+				prefixes.add(Arrays.copyOf(moves, depth));
+				return;
+			}
+
+			final int empty = blank;
+			for (int cell : NEIGHBOURS[empty])
+			{
+				if (cell < 0 || cell == previous)
+				{
+					continue;
+				}
+
+				move(cell);
+				moves[depth] = (byte) cell;
+				collectPrefixes(depth + 1, empty, prefixes);
+				move(empty);
+			}
+		}
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the time, and optionally the memory allocated, by each overlay's render
+ * on each layer. Samples are kept for a rolling window of frames. Overlays whose mean
+ * render time over the window exceeds the budget can be throttled, so that they are
+ * only rendered once every {@link #getThrottleInterval()} frames.
+ * <p>
+ * Profiling is disabled by default, in which case the renderer only reads
+ * {@link #isEnabled()} per overlay.
+ */
+@Singleton
+@Slf4j
+public class OverlayProfiler
+{
+	/**
+	 * Number of samples kept per overlay and layer
+	 */
+	static final int WINDOW = 256;
+
+	@Value
+	public static class OverlayProfile
+	{
+		private final String name;
+		private final OverlayLayer layer;
+		/**
+		 * Number of samples in the window
+		 */
+		private final int samples;
+		private final long meanNanos;
+		private final long p50Nanos;
+		private final long p99Nanos;
+		private final long maxNanos;
+		/**
+		 * Mean bytes allocated per render, or -1 if allocations are not being measured
+		 */
+		private final long allocatedBytes;
+		/**
+		 * Number of frames the overlay was not rendered due to the budget
+		 */
+		private final long skipped;
+		private final boolean overBudget;
+	}
+
+	private static class Stats
+	{
+		private final long[] nanos = new long[WINDOW];
+		private final long[] bytes = new long[WINDOW];
+		private int count;
+		private long totalNanos;
+		private long totalBytes;
+		private int allocationSamples;
+		private long skipped;
+		private boolean overBudget;
+	}
+
+	private final Map<Overlay, Stats[]> stats = new ConcurrentHashMap<>();
+	private final com.sun.management.ThreadMXBean threadMXBean;
+
+	@Getter
+	private volatile boolean enabled;
+
+	@Getter
+	private volatile boolean trackAllocations;
+
+	/**
+	 * Render time budget of an overlay on a layer, in nanoseconds. 0 disables throttling.
+	 */
+	@Getter
+	@Setter
+	private volatile long budgetNanos;
+
+	/**
+	 * Overlays over budget are rendered one frame in this many
+	 */
+	@Getter
+	@Setter
+	private volatile int throttleInterval = 4;
+
+	// only accessed from the client thread
+	private long frame;
+	private long startNanos;
+	private long startBytes;
+
+	public OverlayProfiler()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+		{
+			threadMXBean = (com.sun.management.ThreadMXBean) bean;
+		}
+		else
+		{
+			threadMXBean = null;
+		}
+	}
+
+	/**
+	 * Enable or disable profiling. Disabling profiling discards the collected samples.
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+		if (!enabled)
+		{
+			stats.clear();
+		}
+	}
+
+	/**
+	 * @return whether the JVM can measure the memory allocated by a thread
+	 */
+	public boolean isAllocationTrackingSupported()
+	{
+		return threadMXBean != null;
+	}
+
+	public void setTrackAllocations(boolean trackAllocations)
+	{
+		if (trackAllocations && threadMXBean == null)
+		{
+			log.debug("Thread allocation measurement is not supported by this JVM");
+			return;
+		}
+
+		if (trackAllocations && !threadMXBean.isThreadAllocatedMemoryEnabled())
+		{
+			threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		}
+		this.trackAllocations = trackAllocations;
+	}
+
+	void nextFrame()
+	{
+		++frame;
+	}
+
+	/**
+	 * Check if an overlay should be rendered this frame, or skipped due to being over budget
+	 */
+	boolean shouldRender(Overlay overlay, OverlayLayer layer)
+	{
+		if (budgetNanos <= 0)
+		{
+			return true;
+		}
+
+		final Stats[] layers = stats.get(overlay);
+		final Stats s = layers != null ? layers[layer.ordinal()] : null;
+		if (s == null || !s.overBudget || frame % Math.max(1, throttleInterval) == 0)
+		{
+			return true;
+		}
+
+		synchronized (s)
+		{
+			++s.skipped;
+		}
+		return false;
+	}
+
+	void begin()
+	{
+		if (trackAllocations)
+		{
+			startBytes = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		startNanos = System.nanoTime();
+	}
+
+	void end(Overlay overlay, OverlayLayer layer)
+	{
+		final long elapsed = System.nanoTime() - startNanos;
+		final long allocated = trackAllocations
+			? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - startBytes
+			: -1L;
+
+		final Stats[] layers = stats.computeIfAbsent(overlay, k -> new Stats[OverlayLayer.values().length]);
+		Stats s = layers[layer.ordinal()];
+		if (s == null)
+		{
+			s = layers[layer.ordinal()] = new Stats();
+		}
+
+		synchronized (s)
+		{
+			final int idx = s.count % WINDOW;
+			if (s.count >= WINDOW)
+			{
+				s.totalNanos -= s.nanos[idx];
+				if (s.bytes[idx] >= 0)
+				{
+					s.totalBytes -= s.bytes[idx];
+					--s.allocationSamples;
+				}
+			}
+
+			s.nanos[idx] = elapsed;
+			s.bytes[idx] = allocated;
+			s.totalNanos += elapsed;
+			if (allocated >= 0)
+			{
+				s.totalBytes += allocated;
+				++s.allocationSamples;
+			}
+			++s.count;
+
+			final long budget = budgetNanos;
+			s.overBudget = budget > 0 && s.totalNanos / Math.min(s.count, WINDOW) > budget;
+		}
+	}
+
+	/**
+	 * Get the profile of each overlay and layer which has been rendered, by mean render time
+	 */
+	public List<OverlayProfile> getProfiles()
+	{
+		final List<OverlayProfile> profiles = new ArrayList<>();
+		stats.forEach((overlay, layers) ->
+		{
+			for (OverlayLayer layer : OverlayLayer.values())
+			{
+				final Stats s = layers[layer.ordinal()];
+				if (s != null)
+				{
+					profiles.add(profile(overlay.getName(), layer, s));
+				}
+			}
+		});
+		profiles.sort(Comparator.comparingLong(OverlayProfile::getMeanNanos).reversed());
+		return profiles;
+	}
+
+	public void reset()
+	{
+		stats.clear();
+	}
+
+	private static OverlayProfile profile(String name, OverlayLayer layer, Stats s)
+	{
+		final long[] sorted;
+		final long totalNanos, totalBytes, skipped;
+		final int allocationSamples;
+		final boolean overBudget;
+		synchronized (s)
+		{
+			sorted = Arrays.copyOf(s.nanos, Math.min(s.count, WINDOW));
+			totalNanos = s.totalNanos;
+			totalBytes = s.totalBytes;
+			allocationSamples = s.allocationSamples;
+			skipped = s.skipped;
+			overBudget = s.overBudget;
+		}
+
+		final int samples = sorted.length;
+		if (samples == 0)
+		{
+			return new OverlayProfile(name, layer, 0, 0, 0, 0, 0, -1, skipped, overBudget);
+		}
+
+		Arrays.sort(sorted);
+		return new OverlayProfile(name, layer, samples,
+			totalNanos / samples,
+			sorted[samples / 2],
+			sorted[Math.min(samples - 1, samples * 99 / 100)],
+			sorted[samples - 1],
+			allocationSamples > 0 ? totalBytes / allocationSamples : -1,
+			skipped,
+			overBudget);
+	}
+}
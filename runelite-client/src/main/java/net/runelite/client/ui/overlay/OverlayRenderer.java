@@ -87,6 +87,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	private final OverlayManager overlayManager;
 	private final RuneLiteConfig runeLiteConfig;
 	private final ClientUI clientUI;
+	private final OverlayProfiler overlayProfiler;
 
 	// Overlay movement variables
 	private final Point overlayOffset = new Point();
@@ -115,12 +116,14 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		final MouseManager mouseManager,
 		final KeyManager keyManager,
 		final ClientUI clientUI,
-		final EventBus eventBus)
+		final EventBus eventBus,
+		final OverlayProfiler overlayProfiler)
 	{
 		this.client = client;
 		this.overlayManager = overlayManager;
 		this.runeLiteConfig = runeLiteConfig;
 		this.clientUI = clientUI;
+		this.overlayProfiler = overlayProfiler;
 		keyManager.registerKeyListener(this);
 		mouseManager.registerMouseListener(this);
 		eventBus.register(this);
@@ -173,6 +176,7 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 	public void onBeforeRender(BeforeRender event)
 	{
 		menuEntries = null;
+		overlayProfiler.nextFrame();
 
 		if (client.getGameState() == GameState.LOGGED_IN)
 		{
@@ -710,6 +714,13 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 
 	private void safeRender(Client client, Overlay overlay, OverlayLayer layer, Graphics2D graphics, Point point)
 	{
+		final boolean profile = overlayProfiler.isEnabled();
+		if (profile && !overlayProfiler.shouldRender(overlay, layer))
+		{
+			// keep the bounds from the last render, so the layout doesn't change
+			return;
+		}
+
 		if (!isResizeable && (layer == OverlayLayer.ABOVE_SCENE || layer == OverlayLayer.UNDER_WIDGETS))
 		{
 			graphics.setClip(client.getViewportXOffset(),
@@ -742,6 +753,10 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 		overlay.getBounds().setLocation(point);
 
 		final Dimension overlayDimension;
+		if (profile)
+		{
+			overlayProfiler.begin();
+		}
 		try
 		{
 			overlayDimension = overlay.render(graphics);
@@ -751,6 +766,13 @@ public class OverlayRenderer extends MouseAdapter implements KeyListener
 			log.warn("Error during overlay rendering", ex);
 			return;
 		}
+		finally
+		{
+			if (profile)
+			{
+				overlayProfiler.end(overlay, layer);
+			}
+		}
 
 		final Dimension dimension = MoreObjects.firstNonNull(overlayDimension, new Dimension());
 		overlay.getBounds().setSize(dimension);
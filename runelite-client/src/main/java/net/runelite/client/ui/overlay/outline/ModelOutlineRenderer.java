@@ -31,11 +31,16 @@ import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Value;
 import net.runelite.api.Client;
 import net.runelite.api.DecorativeObject;
 import net.runelite.api.GameObject;
@@ -63,6 +68,37 @@ public class ModelOutlineRenderer
 		private final int dy;
 	}
 
+	/**
+	 * A model to outline, with where and how to draw its outline. Only static models are
+	 * kept to be rasterized later, other models are rasterized right away into the mask.
+	 */
+	@Value
+	static class Outline
+	{
+		Model model;
+		OutlineMask mask;
+		int localX;
+		int localY;
+		int localZ;
+		int orientation;
+		int outlineWidth;
+		Color color;
+		int feather;
+		// whether the model is a static object, whose mask can be reused
+		boolean cacheable;
+	}
+
+	@Value
+	private static class MaskKey
+	{
+		Model model;
+		int localX;
+		int localY;
+		int localZ;
+		int orientation;
+		int outlineWidth;
+	}
+
 	@AllArgsConstructor
 	private static class PixelDistanceGroupIndex
 	{
@@ -78,9 +114,10 @@ public class ModelOutlineRenderer
 
 	private final Client client;
 	
-	// Vertex positions projected on the screen.
-	private final int[] projectedVerticesX = new int[6500];
-	private final int[] projectedVerticesY = new int[6500];
+	// Masks of static objects, which are reused while the camera does not move
+	private static final int MAX_CACHED_MASKS = 512;
+	private final Map<MaskKey, OutlineMask> maskCache = new ConcurrentHashMap<>();
+	private final int[] maskCacheCamera = new int[10];
 
 	// Window boundaries for the ingame world
 	private int clipX1;
@@ -91,8 +128,6 @@ public class ModelOutlineRenderer
 	// Boundaries for the outline
 	private int croppedX1;
 	private int croppedY1;
-	private int croppedX2;
-	private int croppedY2;
 	private int croppedWidth;
 	private int croppedHeight;
 
@@ -141,16 +176,6 @@ public class ModelOutlineRenderer
 		return value;
 	}
 
-	/**
-	 * Determine if a triangle goes counter clockwise
-	 *
-	 * @return Returns true if the triangle goes counter clockwise and should be culled, otherwise false
-	 */
-	private static boolean cullFace(int x1, int y1, int x2, int y2, int x3, int y3)
-	{
-		return (y2 - y1) * (x3 - x2) - (x2 - x1) * (y3 - y2) <= 0;
-	}
-
 	/**
 	 * Get an array of pixel outline group indices ordered by distance for a specific outline width.
 	 *
@@ -335,267 +360,6 @@ public class ModelOutlineRenderer
 		}
 	}
 
-	/**
-	 * Simulates a horizontal line rasterization and marks pixels visited.
-	 *
-	 * @param pixelY The y position of the line
-	 * @param x1 The starting x position
-	 * @param x2 The ending x position
-	 */
-	private void simulateHorizontalLineRasterizationForOutline(int pixelY, int x1, int x2)
-	{
-		if (x2 > clipX2)
-		{
-			x2 = clipX2;
-		}
-		if (x1 < clipX1)
-		{
-			x1 = clipX1;
-		}
-		if (x1 >= x2)
-		{
-			return;
-		}
-
-		int pixelPos1 = (pixelY - croppedY1) * croppedWidth + (x1 - croppedX1);
-		int pixelPos2 = pixelPos1 + x2 - x1;
-		int pixelPosIndex1 = pixelPos1 >> 5;
-		int pixelPosIndex2 = pixelPos2 >> 5;
-		if (pixelPosIndex1 == pixelPosIndex2)
-		{
-			visited[pixelPosIndex1] |= ((1 << (pixelPos2 & 31)) - 1) ^ ((1 << (pixelPos1 & 31)) - 1);
-		}
-		else
-		{
-			visited[pixelPosIndex1] |= -(1 << (pixelPos1 & 31));
-			visited[pixelPosIndex2] |= (1 << (pixelPos2 & 31)) - 1;
-			for (int i = pixelPosIndex1 + 1; i < pixelPosIndex2; i++)
-			{
-				visited[i] = 0xFFFFFFFF;
-			}
-		}
-	}
-
-	/**
-	 * Simulates rasterization of a triangle and marks pixels visited.
-	 *
-	 * @param x1 The x position of the first vertex in the triangle
-	 * @param y1 The y position of the first vertex in the triangle
-	 * @param x2 The x position of the second vertex in the triangle
-	 * @param y2 The y position of the second vertex in the triangle
-	 * @param x3 The x position of the third vertex in the triangle
-	 * @param y3 The y position of the third vertex in the triangle
-	 */
-	private void simulateTriangleRasterizationForOutline(
-		int x1, int y1, int x2, int y2, int x3, int y3)
-	{
-		// Swap vertices so y1 <= y2 <= y3 using bubble sort
-		if (y1 > y2)
-		{
-			int yp = y1;
-			int xp = x1;
-			y1 = y2;
-			y2 = yp;
-			x1 = x2;
-			x2 = xp;
-		}
-		if (y2 > y3)
-		{
-			int yp = y2;
-			int xp = x2;
-			y2 = y3;
-			y3 = yp;
-			x2 = x3;
-			x3 = xp;
-		}
-		if (y1 > y2)
-		{
-			int yp = y1;
-			int xp = x1;
-			y1 = y2;
-			y2 = yp;
-			x1 = x2;
-			x2 = xp;
-		}
-
-		if (y1 > clipY2)
-		{
-			// All points are outside clip boundaries
-			return;
-		}
-
-		int slope1 = 0;
-		if (y1 != y2)
-		{
-			slope1 = (x2 - x1 << 14) / (y2 - y1);
-		}
-
-		int slope2 = 0;
-		if (y3 != y2)
-		{
-			slope2 = (x3 - x2 << 14) / (y3 - y2);
-		}
-
-		int slope3 = 0;
-		if (y1 != y3)
-		{
-			slope3 = (x1 - x3 << 14) / (y1 - y3);
-		}
-
-		if (y2 > clipY2)
-		{
-			y2 = clipY2;
-		}
-		if (y3 > clipY2)
-		{
-			y3 = clipY2;
-		}
-		if (y1 == y3 || y3 < 0)
-		{
-			return;
-		}
-
-		x1 <<= 14;
-		x2 <<= 14;
-		x3 = x1;
-
-		if (y1 < 0)
-		{
-			x3 -= y1 * slope3;
-			x1 -= y1 * slope1;
-			y1 = 0;
-		}
-		if (y2 < 0)
-		{
-			x2 -= slope2 * y2;
-			y2 = 0;
-		}
-
-		int pixelY = y1;
-		int height1 = y2 - y1;
-		int height2 = y3 - y2;
-		if (y1 != y2 && slope3 < slope1 || y1 == y2 && slope3 > slope2)
-		{
-			while (height1-- > 0)
-			{
-				simulateHorizontalLineRasterizationForOutline(pixelY, x3 >> 14, x1 >> 14);
-				x3 += slope3;
-				x1 += slope1;
-				pixelY++;
-			}
-
-			while (height2-- > 0)
-			{
-				simulateHorizontalLineRasterizationForOutline(pixelY, x3 >> 14, x2 >> 14);
-				x3 += slope3;
-				x2 += slope2;
-				pixelY++;
-			}
-		}
-		else
-		{
-			while (height1-- > 0)
-			{
-				simulateHorizontalLineRasterizationForOutline(pixelY, x1 >> 14, x3 >> 14);
-				x1 += slope1;
-				x3 += slope3;
-				pixelY++;
-			}
-
-			while (height2-- > 0)
-			{
-				simulateHorizontalLineRasterizationForOutline(pixelY, x2 >> 14, x3 >> 14);
-				x3 += slope3;
-				x2 += slope2;
-				pixelY++;
-			}
-		}
-	}
-
-	/**
-	 * Translates the vertices 3D points to the screen canvas 2D points.
-	 *
-	 * @param localX The local x position of the vertices.
-	 * @param localY The local y position of the vertices.
-	 * @param localZ The local z position of the vertices.
-	 * @param vertexOrientation The orientation of the vertices.
-	 * @return Returns true if any of them are inside the clip area, otherwise false.
-	 */
-	private boolean projectVertices(Model model, int localX, int localY, int localZ, final int vertexOrientation)
-	{
-		final int vertexCount = model.getVerticesCount();
-		Perspective.modelToCanvas(client,
-			vertexCount,
-			localX, localY, localZ,
-			vertexOrientation,
-			model.getVerticesX(), model.getVerticesZ(), model.getVerticesY(),
-			projectedVerticesX, projectedVerticesY);
-
-		boolean anyVisible = false;
-
-		for (int i = 0; i < vertexCount; i++)
-		{
-			int x = projectedVerticesX[i];
-			int y = projectedVerticesY[i];
-
-			if (y != Integer.MIN_VALUE)
-			{
-				boolean visibleX = x >= clipX1 && x < clipX2;
-				boolean visibleY = y >= clipY1 && y < clipY2;
-				anyVisible |= visibleX && visibleY;
-
-				croppedX1 = Math.min(croppedX1, x);
-				croppedX2 = Math.max(croppedX2, x + 1);
-				croppedY1 = Math.min(croppedY1, y);
-				croppedY2 = Math.max(croppedY2, y + 1);
-			}
-			else
-			{
-				// Vertex is too close or behind camera and isn't rendered
-				projectedVerticesY[i] = Integer.MIN_VALUE;
-			}
-		}
-
-		return anyVisible;
-	}
-
-	/**
-	 * Simulates rendering of the model and marks every pixel visited.
-	 */
-	private void simulateModelRasterizationForOutline(Model model)
-	{
-		final int triangleCount = model.getTrianglesCount();
-		final int[] indices1 = model.getTrianglesX();
-		final int[] indices2 = model.getTrianglesY();
-		final int[] indices3 = model.getTrianglesZ();
-		final byte[] triangleTransparencies = model.getTriangleTransparencies();
-
-		for (int i = 0; i < triangleCount; i++)
-		{
-			if (projectedVerticesY[indices1[i]] != Integer.MIN_VALUE &&
-				projectedVerticesY[indices2[i]] != Integer.MIN_VALUE &&
-				projectedVerticesY[indices3[i]] != Integer.MIN_VALUE &&
-				// 254 and 255 counts as fully transparent
-				(triangleTransparencies == null || (triangleTransparencies[i] & 255) < 254))
-			{
-				final int index1 = indices1[i];
-				final int index2 = indices2[i];
-				final int index3 = indices3[i];
-				final int v1x = projectedVerticesX[index1];
-				final int v1y = projectedVerticesY[index1];
-				final int v2x = projectedVerticesX[index2];
-				final int v2y = projectedVerticesY[index2];
-				final int v3x = projectedVerticesX[index3];
-				final int v3y = projectedVerticesY[index3];
-
-				if (!cullFace(v1x, v1y, v2x, v2y, v3x, v3y))
-				{
-					simulateTriangleRasterizationForOutline(v1x, v1y, v2x, v2y, v3x, v3y);
-				}
-			}
-		}
-	}
-
 	/**
 	 * Draws the outline of a pixel according to the distance deltas of an outline.
 	 *
@@ -885,7 +649,7 @@ public class ModelOutlineRenderer
 	}
 
 	/**
-	 * Draws an outline around a model to an image
+	 * Queues an outline around a model, or draws it right away if there is no batch
 	 *
 	 * @param localX The local x position of the model
 	 * @param localY The local y position of the model
@@ -893,16 +657,44 @@ public class ModelOutlineRenderer
 	 * @param orientation The orientation of the model
 	 * @param outlineWidth The width of the outline
 	 * @param color The color of the outline
+	 * @param cacheable Whether the model is a static object
+	 * @param batch The batch to add the outline to, or null
 	 */
 	private void drawModelOutline(Model model,
 		int localX, int localY, int localZ, int orientation,
-		int outlineWidth, Color color, int feather)
+		int outlineWidth, Color color, int feather, boolean cacheable, OutlineBatch batch)
 	{
-		if (outlineWidth <= 0 || color.getAlpha() == 0 || model == null)
+		Outline outline = createOutline(model, localX, localY, localZ, orientation, outlineWidth, color, feather, cacheable);
+		if (outline == null)
 		{
 			return;
 		}
 
+		if (batch != null)
+		{
+			batch.add(outline);
+		}
+		else
+		{
+			draw(Collections.singletonList(outline));
+		}
+	}
+
+	/**
+	 * Creates an outline around a model. Models which aren't static are rasterized
+	 * right away, since the client reuses them.
+	 *
+	 * @return Returns the outline, or null if there is nothing to draw
+	 */
+	Outline createOutline(Model model,
+		int localX, int localY, int localZ, int orientation,
+		int outlineWidth, Color color, int feather, boolean cacheable)
+	{
+		if (outlineWidth <= 0 || color.getAlpha() == 0 || model == null)
+		{
+			return null;
+		}
+
 		if (outlineWidth > MAX_OUTLINE_WIDTH)
 		{
 			outlineWidth = MAX_OUTLINE_WIDTH;
@@ -917,34 +709,152 @@ public class ModelOutlineRenderer
 			feather = MAX_FEATHER;
 		}
 
-		croppedX1 = Integer.MAX_VALUE;
-		croppedX2 = Integer.MIN_VALUE;
-		croppedY1 = Integer.MAX_VALUE;
-		croppedY2 = Integer.MIN_VALUE;
+		if (cacheable)
+		{
+			return new Outline(model, null, localX, localY, localZ, orientation, outlineWidth, color, feather, true);
+		}
 
-		clipX1 = client.getViewportXOffset();
-		clipY1 = client.getViewportYOffset();
-		clipX2 = client.getViewportWidth() + clipX1;
-		clipY2 = client.getViewportHeight() + clipY1;
+		OutlineMask mask = OutlineMask.rasterize(client, model, localX, localY, localZ, orientation, outlineWidth);
+		if (mask == null)
+		{
+			return null;
+		}
+		return new Outline(null, mask, localX, localY, localZ, orientation, outlineWidth, color, feather, false);
+	}
 
-		if (!projectVertices(model, localX, localY, localZ, orientation))
+	/**
+	 * Draws outlines to the client image buffer. The models are rasterized in parallel,
+	 * after which their outlines are drawn one after another in order.
+	 */
+	void draw(List<Outline> outlines)
+	{
+		OutlineMask[] masks = rasterize(outlines);
+		for (int i = 0; i < masks.length; i++)
 		{
-			// No vertex of the model is visible on the screen, so we can
-			// assume there are no parts of the model to outline.
-			return;
+			drawOutline(outlines.get(i), masks[i]);
 		}
+	}
 
-		croppedX1 = Math.max(croppedX1 - outlineWidth, clipX1);
-		croppedX2 = Math.min(croppedX2 + outlineWidth, clipX2);
-		croppedX2 += ~(croppedX2 - croppedX1 - 1) & 31; // Increases width to next multiple of 32 so bitset segments align
-		croppedY1 = Math.max(croppedY1 - outlineWidth, clipY1);
-		croppedY2 = Math.min(croppedY2 + outlineWidth, clipY2);
-		croppedWidth = croppedX2 - croppedX1;
-		croppedHeight = croppedY2 - croppedY1;
+	/**
+	 * Rasterizes the static models of outlines in parallel. The client thread waits
+	 * for this, so the scene can't change while the models are read.
+	 *
+	 * @return the mask of each outline, or null for outlines which aren't on the screen
+	 */
+	OutlineMask[] rasterize(List<Outline> outlines)
+	{
+		final OutlineMask[] masks = new OutlineMask[outlines.size()];
+		if (masks.length == 0)
+		{
+			return masks;
+		}
 
-		resetVisited(croppedWidth * croppedHeight);
+		checkMaskCache();
 
-		simulateModelRasterizationForOutline(model);
+		if (masks.length == 1)
+		{
+			masks[0] = getMask(outlines.get(0));
+		}
+		else
+		{
+			IntStream.range(0, masks.length).parallel()
+				.forEach(i -> masks[i] = getMask(outlines.get(i)));
+		}
+		return masks;
+	}
+
+	void drawOutline(Outline outline, OutlineMask mask)
+	{
+		if (mask != null)
+		{
+			drawMaskOutline(mask, outline.getOutlineWidth(), outline.getColor(), outline.getFeather());
+		}
+	}
+
+	/**
+	 * Clears the cached masks if the camera or viewport has changed since they were made.
+	 */
+	private void checkMaskCache()
+	{
+		final int[] camera = maskCacheCamera;
+		int cameraX = client.getCameraX();
+		int cameraY = client.getCameraY();
+		int cameraZ = client.getCameraZ();
+		int cameraPitch = client.getCameraPitch();
+		int cameraYaw = client.getCameraYaw();
+		int scale = client.getScale();
+		int viewportX = client.getViewportXOffset();
+		int viewportY = client.getViewportYOffset();
+		int viewportWidth = client.getViewportWidth();
+		int viewportHeight = client.getViewportHeight();
+
+		if (camera[0] != cameraX || camera[1] != cameraY || camera[2] != cameraZ
+			|| camera[3] != cameraPitch || camera[4] != cameraYaw || camera[5] != scale
+			|| camera[6] != viewportX || camera[7] != viewportY
+			|| camera[8] != viewportWidth || camera[9] != viewportHeight
+			|| maskCache.size() > MAX_CACHED_MASKS)
+		{
+			maskCache.clear();
+			camera[0] = cameraX;
+			camera[1] = cameraY;
+			camera[2] = cameraZ;
+			camera[3] = cameraPitch;
+			camera[4] = cameraYaw;
+			camera[5] = scale;
+			camera[6] = viewportX;
+			camera[7] = viewportY;
+			camera[8] = viewportWidth;
+			camera[9] = viewportHeight;
+		}
+	}
+
+	private OutlineMask getMask(Outline outline)
+	{
+		if (!outline.isCacheable())
+		{
+			return outline.getMask();
+		}
+
+		MaskKey key = new MaskKey(outline.getModel(),
+			outline.getLocalX(), outline.getLocalY(), outline.getLocalZ(),
+			outline.getOrientation(), outline.getOutlineWidth());
+		OutlineMask mask = maskCache.get(key);
+		if (mask == null)
+		{
+			mask = OutlineMask.rasterize(client, outline.getModel(),
+				outline.getLocalX(), outline.getLocalY(), outline.getLocalZ(),
+				outline.getOrientation(), outline.getOutlineWidth());
+			if (mask != null)
+			{
+				maskCache.put(key, mask);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Draws an outline around a rasterized model to the client image buffer
+	 *
+	 * @param mask The rasterized model
+	 * @param outlineWidth The width of the outline
+	 * @param color The color of the outline
+	 */
+	private void drawMaskOutline(OutlineMask mask, int outlineWidth, Color color, int feather)
+	{
+		clipX1 = mask.clipX1;
+		clipY1 = mask.clipY1;
+		clipX2 = mask.clipX2;
+		clipY2 = mask.clipY2;
+
+		croppedX1 = mask.croppedX1;
+		croppedY1 = mask.croppedY1;
+		croppedWidth = mask.croppedWidth;
+		croppedHeight = mask.croppedHeight;
+
+		// The outline queue marks pixels visited as it goes, so work on a copy
+		// to keep cached masks intact
+		resetVisited(croppedWidth * croppedHeight);
+		System.arraycopy(mask.visited, 0, visited, 0, mask.visited.length);
 
 		// We can improve performance and reduce memory needed when drawing
 		// only a small outline around the model by skipping the pixel queueing
@@ -981,6 +891,35 @@ public class ModelOutlineRenderer
 	}
 
 	public void drawOutline(NPC npc, int outlineWidth, Color color, int feather)
+	{
+		drawOutline(npc, outlineWidth, color, feather, null);
+	}
+
+	public void drawOutline(Player player, int outlineWidth, Color color, int feather)
+	{
+		drawOutline(player, outlineWidth, color, feather, null);
+	}
+
+	public void drawOutline(TileObject tileObject, int outlineWidth, Color color, int feather)
+	{
+		drawOutline(tileObject, outlineWidth, color, feather, null);
+	}
+
+	public void drawOutline(GraphicsObject graphicsObject, int outlineWidth, Color color, int feather)
+	{
+		drawOutline(graphicsObject, outlineWidth, color, feather, null);
+	}
+
+	/**
+	 * Creates a batch of outlines, which are drawn together. The models of a batch
+	 * are rasterized in parallel, which is faster than drawing many outlines one by one.
+	 */
+	public OutlineBatch createBatch()
+	{
+		return new OutlineBatch(this);
+	}
+
+	void drawOutline(NPC npc, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		int size = 1;
 		NPCComposition composition = npc.getTransformedComposition();
@@ -999,22 +938,22 @@ public class ModelOutlineRenderer
 
 			drawModelOutline(npc.getModel(), lp.getX(), lp.getY(),
 				Perspective.getTileHeight(client, northEastLp, client.getPlane()),
-				npc.getCurrentOrientation(), outlineWidth, color, feather);
+				npc.getCurrentOrientation(), outlineWidth, color, feather, false, batch);
 		}
 	}
 
-	public void drawOutline(Player player, int outlineWidth, Color color, int feather)
+	void drawOutline(Player player, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = player.getLocalLocation();
 		if (lp != null)
 		{
 			drawModelOutline(player.getModel(), lp.getX(), lp.getY(),
 				Perspective.getTileHeight(client, lp, client.getPlane()),
-				player.getCurrentOrientation(), outlineWidth, color, feather);
+				player.getCurrentOrientation(), outlineWidth, color, feather, false, batch);
 		}
 	}
 
-	private void drawOutline(GameObject gameObject, int outlineWidth, Color color, int feather)
+	private void drawOutline(GameObject gameObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = gameObject.getLocalLocation();
 		Renderable renderable = gameObject.getRenderable();
@@ -1025,12 +964,12 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, gameObject.getPlane()),
-					gameObject.getModelOrientation(), outlineWidth, color, feather);
+					gameObject.getModelOrientation(), outlineWidth, color, feather, renderable instanceof Model, batch);
 			}
 		}
 	}
 
-	private void drawOutline(GroundObject groundObject, int outlineWidth, Color color, int feather)
+	private void drawOutline(GroundObject groundObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = groundObject.getLocalLocation();
 		Renderable renderable = groundObject.getRenderable();
@@ -1041,12 +980,12 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, client.getPlane()),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, renderable instanceof Model, batch);
 			}
 		}
 	}
 
-	private void drawOutline(ItemLayer itemLayer, int outlineWidth, Color color, int feather)
+	private void drawOutline(ItemLayer itemLayer, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = itemLayer.getLocalLocation();
 
@@ -1058,7 +997,7 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, itemLayer.getPlane()) - itemLayer.getHeight(),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, bottomRenderable instanceof Model, batch);
 			}
 		}
 
@@ -1070,7 +1009,7 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, itemLayer.getPlane()) - itemLayer.getHeight(),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, middleRenderable instanceof Model, batch);
 			}
 		}
 
@@ -1082,12 +1021,12 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, itemLayer.getPlane()) - itemLayer.getHeight(),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, topRenderable instanceof Model, batch);
 			}
 		}
 	}
 
-	private void drawOutline(DecorativeObject decorativeObject, int outlineWidth, Color color, int feather)
+	private void drawOutline(DecorativeObject decorativeObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = decorativeObject.getLocalLocation();
 
@@ -1101,7 +1040,7 @@ public class ModelOutlineRenderer
 					lp.getX() + decorativeObject.getXOffset(),
 					lp.getY() + decorativeObject.getYOffset(),
 					Perspective.getTileHeight(client, lp, decorativeObject.getPlane()),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, renderable1 instanceof Model, batch);
 			}
 		}
 
@@ -1114,12 +1053,12 @@ public class ModelOutlineRenderer
 				// Offset is not used for the second model
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, decorativeObject.getPlane()),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, renderable2 instanceof Model, batch);
 			}
 		}
 	}
 
-	private void drawOutline(WallObject wallObject, int outlineWidth, Color color, int feather)
+	private void drawOutline(WallObject wallObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = wallObject.getLocalLocation();
 
@@ -1131,7 +1070,7 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, wallObject.getPlane()),
-					wallObject.getOrientationA(), outlineWidth, color, feather);
+					wallObject.getOrientationA(), outlineWidth, color, feather, renderable1 instanceof Model, batch);
 			}
 		}
 
@@ -1143,36 +1082,36 @@ public class ModelOutlineRenderer
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(),
 					Perspective.getTileHeight(client, lp, wallObject.getPlane()),
-					wallObject.getOrientationB(), outlineWidth, color, feather);
+					wallObject.getOrientationB(), outlineWidth, color, feather, renderable2 instanceof Model, batch);
 			}
 		}
 	}
 
-	public void drawOutline(TileObject tileObject, int outlineWidth, Color color, int feather)
+	void drawOutline(TileObject tileObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		if (tileObject instanceof GameObject)
 		{
-			drawOutline((GameObject) tileObject, outlineWidth, color, feather);
+			drawOutline((GameObject) tileObject, outlineWidth, color, feather, batch);
 		}
 		else if (tileObject instanceof GroundObject)
 		{
-			drawOutline((GroundObject) tileObject, outlineWidth, color, feather);
+			drawOutline((GroundObject) tileObject, outlineWidth, color, feather, batch);
 		}
 		else if (tileObject instanceof ItemLayer)
 		{
-			drawOutline((ItemLayer) tileObject, outlineWidth, color, feather);
+			drawOutline((ItemLayer) tileObject, outlineWidth, color, feather, batch);
 		}
 		else if (tileObject instanceof DecorativeObject)
 		{
-			drawOutline((DecorativeObject) tileObject, outlineWidth, color, feather);
+			drawOutline((DecorativeObject) tileObject, outlineWidth, color, feather, batch);
 		}
 		else if (tileObject instanceof WallObject)
 		{
-			drawOutline((WallObject) tileObject, outlineWidth, color, feather);
+			drawOutline((WallObject) tileObject, outlineWidth, color, feather, batch);
 		}
 	}
 
-	public void drawOutline(GraphicsObject graphicsObject, int outlineWidth, Color color, int feather)
+	void drawOutline(GraphicsObject graphicsObject, int outlineWidth, Color color, int feather, OutlineBatch batch)
 	{
 		LocalPoint lp = graphicsObject.getLocation();
 		if (lp != null)
@@ -1181,7 +1120,7 @@ public class ModelOutlineRenderer
 			if (model != null)
 			{
 				drawModelOutline(model, lp.getX(), lp.getY(), graphicsObject.getHeight(),
-					0, outlineWidth, color, feather);
+					0, outlineWidth, color, feather, false, batch);
 			}
 		}
 	}
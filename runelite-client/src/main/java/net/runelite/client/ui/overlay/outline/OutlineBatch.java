@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.GraphicsObject;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.TileObject;
+
+/**
+ * Outlines which are drawn together, created with {@link ModelOutlineRenderer#createBatch()}.
+ * The models of static objects are rasterized in parallel when the batch is drawn. Other
+ * models are rasterized when they are added, since the client reuses their models. The
+ * outlines, and any painting queued with {@link #paint(Runnable)}, are drawn in the order
+ * they were added.
+ */
+public class OutlineBatch
+{
+	private final ModelOutlineRenderer modelOutlineRenderer;
+	private final List<ModelOutlineRenderer.Outline> outlines = new ArrayList<>();
+	// painting to do in order with the outlines, with null for the position of each outline
+	private final List<Runnable> steps = new ArrayList<>();
+
+	OutlineBatch(ModelOutlineRenderer modelOutlineRenderer)
+	{
+		this.modelOutlineRenderer = modelOutlineRenderer;
+	}
+
+	public OutlineBatch add(NPC npc, int outlineWidth, Color color, int feather)
+	{
+		modelOutlineRenderer.drawOutline(npc, outlineWidth, color, feather, this);
+		return this;
+	}
+
+	public OutlineBatch add(Player player, int outlineWidth, Color color, int feather)
+	{
+		modelOutlineRenderer.drawOutline(player, outlineWidth, color, feather, this);
+		return this;
+	}
+
+	public OutlineBatch add(TileObject tileObject, int outlineWidth, Color color, int feather)
+	{
+		modelOutlineRenderer.drawOutline(tileObject, outlineWidth, color, feather, this);
+		return this;
+	}
+
+	public OutlineBatch add(GraphicsObject graphicsObject, int outlineWidth, Color color, int feather)
+	{
+		modelOutlineRenderer.drawOutline(graphicsObject, outlineWidth, color, feather, this);
+		return this;
+	}
+
+	/**
+	 * Queues other painting to be done when the batch is drawn, after the outlines added
+	 * before it and before the outlines added after it. This keeps the z-order of overlays
+	 * which draw more than outlines.
+	 */
+	public OutlineBatch paint(Runnable painter)
+	{
+		steps.add(painter);
+		return this;
+	}
+
+	void add(ModelOutlineRenderer.Outline outline)
+	{
+		outlines.add(outline);
+		steps.add(null);
+	}
+
+	/**
+	 * Draws the outlines of the batch to the client image buffer, and empties the batch.
+	 * This must be called from the client thread.
+	 */
+	public void draw()
+	{
+		try
+		{
+			OutlineMask[] masks = modelOutlineRenderer.rasterize(outlines);
+			int outline = 0;
+			for (Runnable step : steps)
+			{
+				if (step == null)
+				{
+					modelOutlineRenderer.drawOutline(outlines.get(outline), masks[outline]);
+					outline++;
+				}
+				else
+				{
+					step.run();
+				}
+			}
+		}
+		finally
+		{
+			outlines.clear();
+			steps.clear();
+		}
+	}
+}
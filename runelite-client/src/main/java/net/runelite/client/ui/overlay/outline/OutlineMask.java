@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import net.runelite.api.Client;
+import net.runelite.api.Model;
+import net.runelite.api.Perspective;
+
+/**
+ * The pixels a model covers on the screen, as a bitset over the bounding box of
+ * the model extended by the outline width. Masks are built independently of
+ * each other, so the masks of several models can be rasterized in parallel.
+ */
+class OutlineMask
+{
+	private static final ThreadLocal<int[][]> PROJECTED_VERTICES = ThreadLocal.withInitial(() -> new int[2][6500]);
+
+	// Vertex positions projected on the screen, only set while rasterizing.
+	private int[] projectedVerticesX;
+	private int[] projectedVerticesY;
+
+	// Window boundaries for the ingame world
+	final int clipX1;
+	final int clipY1;
+	final int clipX2;
+	final int clipY2;
+
+	// Boundaries for the outline
+	int croppedX1;
+	int croppedY1;
+	int croppedX2;
+	int croppedY2;
+	int croppedWidth;
+	int croppedHeight;
+
+	// Bitset with pixel positions that would be rendered to within the cropped area by the model.
+	int[] visited;
+
+	private OutlineMask(int clipX1, int clipY1, int clipX2, int clipY2)
+	{
+		this.clipX1 = clipX1;
+		this.clipY1 = clipY1;
+		this.clipX2 = clipX2;
+		this.clipY2 = clipY2;
+	}
+
+	/**
+	 * Projects and rasterizes a model. This only reads the client, so it may be
+	 * called from other threads while the client thread waits for it.
+	 *
+	 * @return Returns the mask of the model, or null if no part of it is on the screen.
+	 */
+	static OutlineMask rasterize(Client client, Model model,
+		int localX, int localY, int localZ, int orientation, int outlineWidth)
+	{
+		final int clipX1 = client.getViewportXOffset();
+		final int clipY1 = client.getViewportYOffset();
+		final OutlineMask mask = new OutlineMask(clipX1, clipY1,
+			client.getViewportWidth() + clipX1,
+			client.getViewportHeight() + clipY1);
+
+		final int[][] projectedVertices = PROJECTED_VERTICES.get();
+		mask.projectedVerticesX = projectedVertices[0];
+		mask.projectedVerticesY = projectedVertices[1];
+		try
+		{
+			return mask.rasterizeModel(client, model, localX, localY, localZ, orientation, outlineWidth) ? mask : null;
+		}
+		finally
+		{
+			mask.projectedVerticesX = null;
+			mask.projectedVerticesY = null;
+		}
+	}
+
+	private boolean rasterizeModel(Client client, Model model,
+		int localX, int localY, int localZ, int orientation, int outlineWidth)
+	{
+		croppedX1 = Integer.MAX_VALUE;
+		croppedX2 = Integer.MIN_VALUE;
+		croppedY1 = Integer.MAX_VALUE;
+		croppedY2 = Integer.MIN_VALUE;
+
+		if (!projectVertices(client, model, localX, localY, localZ, orientation))
+		{
+			// No vertex of the model is visible on the screen, so we can
+			// assume there are no parts of the model to outline.
+			return false;
+		}
+
+		croppedX1 = Math.max(croppedX1 - outlineWidth, clipX1);
+		croppedX2 = Math.min(croppedX2 + outlineWidth, clipX2);
+		croppedX2 += ~(croppedX2 - croppedX1 - 1) & 31; // Increases width to next multiple of 32 so bitset segments align
+		croppedY1 = Math.max(croppedY1 - outlineWidth, clipY1);
+		croppedY2 = Math.min(croppedY2 + outlineWidth, clipY2);
+		croppedWidth = croppedX2 - croppedX1;
+		croppedHeight = croppedY2 - croppedY1;
+
+		visited = new int[(croppedWidth * croppedHeight) >>> 5];
+
+		simulateModelRasterizationForOutline(model);
+		return true;
+	}
+
+	/**
+	 * Determine if a triangle goes counter clockwise
+	 *
+	 * @return Returns true if the triangle goes counter clockwise and should be culled, otherwise false
+	 */
+	private static boolean cullFace(int x1, int y1, int x2, int y2, int x3, int y3)
+	{
+		return (y2 - y1) * (x3 - x2) - (x2 - x1) * (y3 - y2) <= 0;
+	}
+
+	/**
+	 * Simulates a horizontal line rasterization and marks pixels visited.
+	 *
+	 * @param pixelY The y position of the line
+	 * @param x1 The starting x position
+	 * @param x2 The ending x position
+	 */
+	private void simulateHorizontalLineRasterizationForOutline(int pixelY, int x1, int x2)
+	{
+		if (x2 > clipX2)
+		{
+			x2 = clipX2;
+		}
+		if (x1 < clipX1)
+		{
+			x1 = clipX1;
+		}
+		if (x1 >= x2)
+		{
+			return;
+		}
+
+		int pixelPos1 = (pixelY - croppedY1) * croppedWidth + (x1 - croppedX1);
+		int pixelPos2 = pixelPos1 + x2 - x1;
+		int pixelPosIndex1 = pixelPos1 >> 5;
+		int pixelPosIndex2 = pixelPos2 >> 5;
+		if (pixelPosIndex1 == pixelPosIndex2)
+		{
+			visited[pixelPosIndex1] |= ((1 << (pixelPos2 & 31)) - 1) ^ ((1 << (pixelPos1 & 31)) - 1);
+		}
+		else
+		{
+			visited[pixelPosIndex1] |= -(1 << (pixelPos1 & 31));
+			visited[pixelPosIndex2] |= (1 << (pixelPos2 & 31)) - 1;
+			for (int i = pixelPosIndex1 + 1; i < pixelPosIndex2; i++)
+			{
+				visited[i] = 0xFFFFFFFF;
+			}
+		}
+	}
+
+	/**
+	 * Simulates rasterization of a triangle and marks pixels visited.
+	 *
+	 * @param x1 The x position of the first vertex in the triangle
+	 * @param y1 The y position of the first vertex in the triangle
+	 * @param x2 The x position of the second vertex in the triangle
+	 * @param y2 The y position of the second vertex in the triangle
+	 * @param x3 The x position of the third vertex in the triangle
+	 * @param y3 The y position of the third vertex in the triangle
+	 */
+	private void simulateTriangleRasterizationForOutline(
+		int x1, int y1, int x2, int y2, int x3, int y3)
+	{
+		// Swap vertices so y1 <= y2 <= y3 using bubble sort
+		if (y1 > y2)
+		{
+			int yp = y1;
+			int xp = x1;
+			y1 = y2;
+			y2 = yp;
+			x1 = x2;
+			x2 = xp;
+		}
+		if (y2 > y3)
+		{
+			int yp = y2;
+			int xp = x2;
+			y2 = y3;
+			y3 = yp;
+			x2 = x3;
+			x3 = xp;
+		}
+		if (y1 > y2)
+		{
+			int yp = y1;
+			int xp = x1;
+			y1 = y2;
+			y2 = yp;
+			x1 = x2;
+			x2 = xp;
+		}
+
+		if (y1 > clipY2)
+		{
+			// All points are outside clip boundaries
+			return;
+		}
+
+		int slope1 = 0;
+		if (y1 != y2)
+		{
+			slope1 = (x2 - x1 << 14) / (y2 - y1);
+		}
+
+		int slope2 = 0;
+		if (y3 != y2)
+		{
+			slope2 = (x3 - x2 << 14) / (y3 - y2);
+		}
+
+		int slope3 = 0;
+		if (y1 != y3)
+		{
+			slope3 = (x1 - x3 << 14) / (y1 - y3);
+		}
+
+		if (y2 > clipY2)
+		{
+			y2 = clipY2;
+		}
+		if (y3 > clipY2)
+		{
+			y3 = clipY2;
+		}
+		if (y1 == y3 || y3 < 0)
+		{
+			return;
+		}
+
+		x1 <<= 14;
+		x2 <<= 14;
+		x3 = x1;
+
+		if (y1 < 0)
+		{
+			x3 -= y1 * slope3;
+			x1 -= y1 * slope1;
+			y1 = 0;
+		}
+		if (y2 < 0)
+		{
+			x2 -= slope2 * y2;
+			y2 = 0;
+		}
+
+		int pixelY = y1;
+		int height1 = y2 - y1;
+		int height2 = y3 - y2;
+		if (y1 != y2 && slope3 < slope1 || y1 == y2 && slope3 > slope2)
+		{
+			while (height1-- > 0)
+			{
+				simulateHorizontalLineRasterizationForOutline(pixelY, x3 >> 14, x1 >> 14);
+				x3 += slope3;
+				x1 += slope1;
+				pixelY++;
+			}
+
+			while (height2-- > 0)
+			{
+				simulateHorizontalLineRasterizationForOutline(pixelY, x3 >> 14, x2 >> 14);
+				x3 += slope3;
+				x2 += slope2;
+				pixelY++;
+			}
+		}
+		else
+		{
+			while (height1-- > 0)
+			{
+				simulateHorizontalLineRasterizationForOutline(pixelY, x1 >> 14, x3 >> 14);
+				x1 += slope1;
+				x3 += slope3;
+				pixelY++;
+			}
+
+			while (height2-- > 0)
+			{
+				simulateHorizontalLineRasterizationForOutline(pixelY, x2 >> 14, x3 >> 14);
+				x3 += slope3;
+				x2 += slope2;
+				pixelY++;
+			}
+		}
+	}
+
+	/**
+	 * Translates the vertices 3D points to the screen canvas 2D points.
+	 *
+	 * @param client The client, for the camera position.
+	 * @param localX The local x position of the vertices.
+	 * @param localY The local y position of the vertices.
+	 * @param localZ The local z position of the vertices.
+	 * @param vertexOrientation The orientation of the vertices.
+	 * @return Returns true if any of them are inside the clip area, otherwise false.
+	 */
+	private boolean projectVertices(Client client, Model model, int localX, int localY, int localZ, final int vertexOrientation)
+	{
+		final int vertexCount = model.getVerticesCount();
+		Perspective.modelToCanvas(client,
+			vertexCount,
+			localX, localY, localZ,
+			vertexOrientation,
+			model.getVerticesX(), model.getVerticesZ(), model.getVerticesY(),
+			projectedVerticesX, projectedVerticesY);
+
+		boolean anyVisible = false;
+
+		for (int i = 0; i < vertexCount; i++)
+		{
+			int x = projectedVerticesX[i];
+			int y = projectedVerticesY[i];
+
+			if (y != Integer.MIN_VALUE)
+			{
+				boolean visibleX = x >= clipX1 && x < clipX2;
+				boolean visibleY = y >= clipY1 && y < clipY2;
+				anyVisible |= visibleX && visibleY;
+
+				croppedX1 = Math.min(croppedX1, x);
+				croppedX2 = Math.max(croppedX2, x + 1);
+				croppedY1 = Math.min(croppedY1, y);
+				croppedY2 = Math.max(croppedY2, y + 1);
+			}
+			else
+			{
+				// Vertex is too close or behind camera and isn't rendered
+				projectedVerticesY[i] = Integer.MIN_VALUE;
+			}
+		}
+
+		return anyVisible;
+	}
+
+	/**
+	 * Simulates rendering of the model and marks every pixel visited.
+	 */
+	private void simulateModelRasterizationForOutline(Model model)
+	{
+		final int triangleCount = model.getTrianglesCount();
+		final int[] indices1 = model.getTrianglesX();
+		final int[] indices2 = model.getTrianglesY();
+		final int[] indices3 = model.getTrianglesZ();
+		final byte[] triangleTransparencies = model.getTriangleTransparencies();
+
+		for (int i = 0; i < triangleCount; i++)
+		{
+			if (projectedVerticesY[indices1[i]] != Integer.MIN_VALUE &&
+				projectedVerticesY[indices2[i]] != Integer.MIN_VALUE &&
+				projectedVerticesY[indices3[i]] != Integer.MIN_VALUE &&
+				// 254 and 255 counts as fully transparent
+				(triangleTransparencies == null || (triangleTransparencies[i] & 255) < 254))
+			{
+				final int index1 = indices1[i];
+				final int index2 = indices2[i];
+				final int index3 = indices3[i];
+				final int v1x = projectedVerticesX[index1];
+				final int v1y = projectedVerticesY[index1];
+				final int v2x = projectedVerticesX[index2];
+				final int v2y = projectedVerticesY[index2];
+				final int v3x = projectedVerticesX[index3];
+				final int v3y = projectedVerticesY[index3];
+
+				if (!cullFace(v1x, v1y, v2x, v2y, v3x, v3y))
+				{
+					simulateTriangleRasterizationForOutline(v1x, v1y, v2x, v2y, v3x, v3y);
+				}
+			}
+		}
+	}
+}
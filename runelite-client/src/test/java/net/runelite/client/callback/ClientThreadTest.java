@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.client.callback.ClientThread.Priority;
+import net.runelite.client.callback.ClientThread.TaskMetrics;
+import net.runelite.client.config.RuneLiteConfig;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	@Bind
+	private RuneLiteConfig runeLiteConfig;
+
+	@Inject
+	private ClientThread clientThread;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.isClientThread()).thenReturn(true);
+		when(runeLiteConfig.clientThreadBudget()).thenReturn(1);
+	}
+
+	@Test
+	public void testPriority()
+	{
+		List<String> order = new ArrayList<>();
+		clientThread.invokeLater("low", Priority.LOW, () -> order.add("low"));
+		clientThread.invokeLater("normal", Priority.NORMAL, () -> order.add("normal"));
+		clientThread.invokeLater("high", Priority.HIGH, () -> order.add("high"));
+		clientThread.invokeLater("normal2", Priority.NORMAL, () -> order.add("normal2"));
+
+		frame();
+
+		assertEquals(Arrays.asList("high", "normal", "normal2", "low"), order);
+		assertEquals(0, clientThread.getPending());
+	}
+
+	@Test
+	public void testBackoff()
+	{
+		List<Integer> frames = new ArrayList<>();
+		AtomicInteger frame = new AtomicInteger();
+		clientThread.invokeLater("retry", Priority.NORMAL, () ->
+		{
+			frames.add(frame.get());
+			return frames.size() == 5;
+		});
+
+		for (int i = 1; i <= 20; ++i)
+		{
+			frame.set(i);
+			frame();
+		}
+
+		// retried after 1, 2, 4 and 8 frames
+		assertEquals(Arrays.asList(1, 2, 4, 8, 16), frames);
+
+		TaskMetrics metrics = clientThread.getTaskMetrics().get(0);
+		assertEquals("retry", metrics.getName());
+		assertEquals(5, metrics.getRuns());
+		assertEquals(4, metrics.getRetries());
+		assertEquals(0, metrics.getFailures());
+	}
+
+	@Test
+	public void testBudget()
+	{
+		AtomicInteger runs = new AtomicInteger();
+		for (int i = 0; i < 3; ++i)
+		{
+			clientThread.invokeLater("slow", Priority.NORMAL, () ->
+			{
+				spin(2);
+				runs.incrementAndGet();
+				return true;
+			});
+		}
+
+		// the first task uses the whole budget, and the overrun carries into the second frame
+		frame();
+		assertEquals(1, runs.get());
+
+		AtomicInteger high = new AtomicInteger();
+		clientThread.invokeLater("high", Priority.HIGH, () ->
+		{
+			high.incrementAndGet();
+			return true;
+		});
+
+		frame();
+		assertEquals(1, runs.get());
+		assertEquals(1, high.get());
+
+		frame();
+		assertEquals(2, runs.get());
+
+		frame();
+		frame();
+		assertEquals(3, runs.get());
+		assertEquals(0, clientThread.getPending());
+	}
+
+	@Test
+	public void testException()
+	{
+		clientThread.invokeLater("throws", Priority.NORMAL, () ->
+		{
+			throw new RuntimeException("test");
+		});
+
+		frame();
+		frame();
+
+		TaskMetrics metrics = clientThread.getTaskMetrics().get(0);
+		assertEquals(1, metrics.getRuns());
+		assertEquals(1, metrics.getFailures());
+		assertEquals(0, clientThread.getPending());
+	}
+
+	private void frame()
+	{
+		when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		when(client.isClientThread()).thenReturn(true);
+	}
+
+	private static void spin(long millis)
+	{
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		while (System.nanoTime() < end)
+		{
+			// busy wait, so the task's run time doesn't depend on the scheduler
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.chat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Replays a chat log against a set of filter words and patterns, searching the patterns
+ * one by one as the chat filter used to, and with a {@link ChatMatcher}.
+ */
+@Slf4j
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatMatcherBenchmark
+{
+	private static final String[] WORDS = {
+		"scam", "dicing", "doubling", "giveaway", "free", "trimming", "stream", "runewiki", "spam", "trusted",
+		"merching", "bonds", "boost", "splitting", "host", "cc", "pm me", "trade me", "visit", "check out",
+	};
+
+	private static final String[] PATTERNS = {
+		"[0-9]+x2",
+		"\\bw[0-9]{3}\\b",
+		"(?:buying|selling) .+ [0-9.]+[km]?",
+		"^wt[sb] ",
+		"(.)\\1\\1",
+	};
+
+	@Param({"20", "200"})
+	private int words;
+
+	private List<String> messages;
+	private List<Pattern> patterns;
+	private ChatMatcher matcher;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+			ChatMatcherBenchmark.class.getResourceAsStream("chat.log"), StandardCharsets.UTF_8)))
+		{
+			messages = reader.lines()
+				.map(line -> line.substring(line.indexOf(": ") + 2))
+				.collect(Collectors.toList());
+		}
+
+		patterns = new ArrayList<>();
+		ChatMatcher.Builder builder = ChatMatcher.builder();
+		for (int i = 0; i < words; ++i)
+		{
+			// past the real words, add variants which do not occur in the log
+			String word = i < WORDS.length ? WORDS[i] : WORDS[i % WORDS.length] + i;
+			patterns.add(Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE));
+			builder.addLiteral(word);
+		}
+		for (String regex : PATTERNS)
+		{
+			Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+			patterns.add(pattern);
+			builder.addPattern(pattern);
+		}
+		matcher = builder.build();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		int hits = 0;
+		for (int rule = 0; rule < matcher.getRuleCount(); ++rule)
+		{
+			hits += matcher.getHits(rule) > 0 ? 1 : 0;
+		}
+		log.debug("{} of {} rules matched the log", hits, matcher.getRuleCount());
+	}
+
+	@Benchmark
+	public int patterns()
+	{
+		int matched = 0;
+		for (String message : messages)
+		{
+			for (Pattern pattern : patterns)
+			{
+				if (pattern.matcher(message).find())
+				{
+					++matched;
+					break;
+				}
+			}
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public int matcher()
+	{
+		int matched = 0;
+		for (String message : messages)
+		{
+			if (!matcher.match(message).isEmpty())
+			{
+				++matched;
+			}
+		}
+		return matched;
+	}
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder()
+			.include(ChatMatcherBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.chat;
+
+import java.util.BitSet;
+import java.util.regex.Pattern;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ChatMatcherTest
+{
+	private static BitSet bits(int... rules)
+	{
+		BitSet bitSet = new BitSet();
+		for (int rule : rules)
+		{
+			bitSet.set(rule);
+		}
+		return bitSet;
+	}
+
+	@Test
+	public void testLiterals()
+	{
+		ChatMatcher.Builder builder = ChatMatcher.builder();
+		int he = builder.addLiteral("he");
+		int she = builder.addLiteral("She");
+		int his = builder.addLiteral("his");
+		int hers = builder.addLiteral("hers");
+		int dots = builder.addLiteral("...");
+		ChatMatcher matcher = builder.build();
+
+		assertEquals(bits(he, she, hers), matcher.match("USHERS"));
+		assertEquals(bits(his), matcher.match("this"));
+		assertEquals(bits(dots), matcher.match("wait...."));
+		assertEquals(bits(), matcher.match("h e r s"));
+		assertEquals(bits(), matcher.match(""));
+
+		assertEquals(1, matcher.getHits(he));
+		assertEquals(1, matcher.getHits(his));
+		assertEquals(1, matcher.getHits(hers));
+		assertEquals(1, matcher.getHits(dots));
+	}
+
+	@Test
+	public void testPatterns()
+	{
+		ChatMatcher.Builder builder = ChatMatcher.builder();
+		int dice = builder.addPattern(Pattern.compile("5[0-9]x2", Pattern.CASE_INSENSITIVE));
+		int gold = builder.addLiteral("gp");
+		int repeat = builder.addPattern(Pattern.compile("(\\w)\\1\\1"));
+		int anchored = builder.addPattern(Pattern.compile("^buying"));
+		int named = builder.addPattern(Pattern.compile("(?<n>[0-9]+)m"));
+		int named2 = builder.addPattern(Pattern.compile("(?<n>[0-9]+)k"));
+		ChatMatcher matcher = builder.build();
+
+		assertEquals(bits(dice, gold, named), matcher.match("55X2 dicing, 10m gp"));
+		assertEquals(bits(repeat, named2), matcher.match("aaa 100k"));
+		assertEquals(bits(anchored), matcher.match("buying lobsters"));
+		assertEquals(bits(), matcher.match("selling, buying"));
+		assertEquals(6, matcher.getRuleCount());
+	}
+}
@@ -29,7 +29,11 @@ import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
@@ -38,17 +42,25 @@ import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.events.ConfigChanged;
 import org.junit.Assert;
 import static org.junit.Assert.assertNotNull;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConfigManagerTest
 {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	@Mock
 	@Bind
 	EventBus eventBus;
@@ -116,6 +128,54 @@ public class ConfigManagerTest
 		Assert.assertEquals("new value", conf.key());
 	}
 
+	@Test
+	public void testInvalidateConfig()
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+
+		// other groups and profiles don't change the value
+		manager.setConfiguration("other", "key", "other");
+		manager.setConfiguration("test", "rsprofile.123", "key", "profile");
+		Assert.assertEquals("default", conf.key());
+
+		manager.setConfiguration("test", "key", "moo");
+		Assert.assertEquals("moo", conf.key());
+		Assert.assertEquals("moo", manager.getConfig(TestConfig.class).key());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+	}
+
+	@Test
+	public void testLoadInvalidatesBeforePosting() throws IOException
+	{
+		File file = folder.newFile();
+		ConfigManager configManager = new ConfigManager(file, executor, eventBus, null, null);
+		TestConfig conf = configManager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+		Assert.assertNull(conf.nullDefaultKey());
+
+		// a subscriber to the first change reads the other changed key
+		List<String> seen = new ArrayList<>();
+		doAnswer(i ->
+		{
+			seen.add(conf.key());
+			seen.add(conf.nullDefaultKey());
+			return null;
+		}).when(eventBus).post(any(ConfigChanged.class));
+
+		Files.write(file.toPath(), "test.key=moo\ntest.nullDefaultKey=bar\n".getBytes(StandardCharsets.UTF_8));
+		configManager.load();
+
+		Assert.assertFalse(seen.isEmpty());
+		for (int i = 0; i < seen.size(); i += 2)
+		{
+			Assert.assertEquals("moo", seen.get(i));
+			Assert.assertEquals("bar", seen.get(i + 1));
+		}
+	}
+
 	@Test
 	public void testGetConfigDescriptor() throws IOException
 	{
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	private static class TestEvent
+	{
+	}
+
+	private static class OtherEvent
+	{
+	}
+
+	private static class Listener
+	{
+		private final List<String> calls;
+		private final String name;
+
+		Listener(List<String> calls, String name)
+		{
+			this.calls = calls;
+			this.name = name;
+		}
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add(name);
+		}
+
+		@Subscribe
+		public void onOtherEvent(OtherEvent event)
+		{
+			calls.add(name + " other");
+		}
+	}
+
+	private static class PriorityListener
+	{
+		private final List<String> calls;
+
+		PriorityListener(List<String> calls)
+		{
+			this.calls = calls;
+		}
+
+		@Subscribe(priority = 1)
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("priority");
+		}
+	}
+
+	@Test
+	public void testPost()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		Listener first = new Listener(calls, "first");
+		Listener second = new Listener(calls, "second");
+
+		eventBus.register(first);
+		eventBus.register(second);
+		eventBus.register(new PriorityListener(calls));
+		eventBus.register(TestEvent.class, e -> calls.add("lambda"), -1);
+
+		eventBus.post(new TestEvent());
+		assertEquals(Arrays.asList("priority", "first", "second", "lambda"), calls);
+
+		calls.clear();
+		eventBus.unregister(first);
+		eventBus.post(new TestEvent());
+		eventBus.post(new OtherEvent());
+		assertEquals(Arrays.asList("priority", "second", "lambda", "second other"), calls);
+
+		calls.clear();
+		eventBus.unregister(second);
+		eventBus.post(new OtherEvent());
+		assertTrue(calls.isEmpty());
+	}
+
+	@Test
+	public void testTimings()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		Listener listener = new Listener(calls, "listener");
+		eventBus.register(listener);
+
+		eventBus.post(new TestEvent());
+		assertTrue(eventBus.getTimings().isEmpty());
+
+		eventBus.setTiming(true);
+		eventBus.post(new TestEvent());
+		eventBus.post(new TestEvent());
+
+		List<EventBus.SubscriberTiming> timings = eventBus.getTimings();
+		assertEquals(1, timings.size());
+		assertSame(TestEvent.class, timings.get(0).getEventType());
+		assertSame(listener, timings.get(0).getSubscriber().getObject());
+		assertEquals(2, timings.get(0).getCalls());
+
+		eventBus.resetTimings();
+		assertTrue(eventBus.getTimings().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscribeToSubclass()
+	{
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Object()
+		{
+			@Subscribe
+			public void onTestEvent(TestEvent event)
+			{
+			}
+		});
+		eventBus.register(new Object()
+		{
+			@Subscribe
+			public void onSubEvent(SubEvent event)
+			{
+			}
+		});
+	}
+
+	private static class SubEvent extends TestEvent
+	{
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.gpu;
+
+import com.google.inject.Guice;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.nio.IntBuffer;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.Model;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.SceneTilePaint;
+import net.runelite.api.Tile;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SceneUploaderTest
+{
+	@Inject
+	private SceneUploader sceneUploader;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Mock
+	private Scene scene;
+
+	private final Tile[][][] tiles = new Tile[Constants.MAX_Z][Constants.SCENE_SIZE][Constants.SCENE_SIZE];
+
+	private Model shared;
+	private Model other;
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+
+		when(client.getTileHeights()).thenReturn(new int[Constants.MAX_Z][Constants.SCENE_SIZE + 1][Constants.SCENE_SIZE + 1]);
+		when(scene.getTiles()).thenReturn(tiles);
+
+		shared = model(10);
+		other = model(20);
+
+		// the shared model is on tiles in two different units
+		SceneTilePaint paint = mock(SceneTilePaint.class);
+		when(paint.getNeColor()).thenReturn(1);
+		when(paint.getTexture()).thenReturn(-1);
+		tiles[0][0][0] = tile(paint, shared);
+		tiles[0][20][5] = tile(null, shared, other);
+	}
+
+	@Test
+	public void testUpload()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		IntBuffer vertices = vertexBuffer.getBuffer();
+		assertEquals((6 + 3 + 3) * 4, vertices.position());
+		assertEquals(0, uvBuffer.getBuffer().position());
+
+		assertEquals(6, shared.getBufferOffset());
+		assertEquals(9, other.getBufferOffset());
+		assertEquals(-1, other.getUvBufferOffset());
+
+		// each model is written once, at its offset
+		assertEquals(1, vertices.get(6 * 4));
+		assertEquals(10, vertices.get(6 * 4 + 3));
+		assertEquals(1, vertices.get(9 * 4));
+		assertEquals(20, vertices.get(9 * 4 + 3));
+		assertEquals(20, vertices.get(11 * 4 + 3));
+	}
+
+	@Test
+	public void testReuse()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		int[] first = new int[vertexBuffer.getBuffer().position()];
+		((IntBuffer) vertexBuffer.getBuffer().flip()).get(first);
+
+		// models still in the scene are copied from the previous upload
+		shared.getVerticesX()[0] = 99;
+		tiles[0][0][0] = null;
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		IntBuffer vertices = vertexBuffer.getBuffer();
+		assertEquals(6 * 4, vertices.position());
+		assertEquals(0, shared.getBufferOffset());
+		assertEquals(3, other.getBufferOffset());
+		for (int i = 0; i < 6 * 4; ++i)
+		{
+			assertEquals(first[6 * 4 + i], vertices.get(i));
+		}
+	}
+
+	@Test
+	public void testReleaseRetained()
+	{
+		GpuIntBuffer vertexBuffer = new GpuIntBuffer();
+		GpuFloatBuffer uvBuffer = new GpuFloatBuffer();
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		// once released, every model is rebuilt from its current vertices
+		sceneUploader.releaseRetained();
+		shared.getVerticesX()[0] = 99;
+
+		sceneUploader.upload(scene, vertexBuffer, uvBuffer);
+
+		IntBuffer vertices = vertexBuffer.getBuffer();
+		assertEquals((6 + 3 + 3) * 4, vertices.position());
+		assertEquals(6, shared.getBufferOffset());
+		assertEquals(99, vertices.get(6 * 4));
+	}
+
+	private static Tile tile(SceneTilePaint paint, Model... models)
+	{
+		Tile tile = mock(Tile.class);
+		GameObject[] gameObjects = new GameObject[models.length];
+		for (int i = 0; i < models.length; ++i)
+		{
+			GameObject gameObject = mock(GameObject.class);
+			when(gameObject.getRenderable()).thenReturn(models[i]);
+			gameObjects[i] = gameObject;
+		}
+		when(tile.getGameObjects()).thenReturn(gameObjects);
+		if (paint != null)
+		{
+			when(tile.getSceneTilePaint()).thenReturn(paint);
+			when(tile.getSceneLocation()).thenReturn(new Point(0, 0));
+		}
+		return tile;
+	}
+
+	/**
+	 * A single face model, which keeps its buffer offsets and scene id
+	 */
+	private static Model model(int color)
+	{
+		Model model = mock(Model.class);
+		when(model.getTrianglesCount()).thenReturn(1);
+		when(model.getVerticesX()).thenReturn(new int[]{1, 2, 3});
+		when(model.getVerticesY()).thenReturn(new int[]{4, 5, 6});
+		when(model.getVerticesZ()).thenReturn(new int[]{7, 8, 9});
+		when(model.getTrianglesX()).thenReturn(new int[]{0});
+		when(model.getTrianglesY()).thenReturn(new int[]{1});
+		when(model.getTrianglesZ()).thenReturn(new int[]{2});
+		when(model.getFaceColors1()).thenReturn(new int[]{color});
+		when(model.getFaceColors2()).thenReturn(new int[]{color});
+		when(model.getFaceColors3()).thenReturn(new int[]{-1});
+
+		int[] state = new int[3];
+		lenient().doAnswer(i -> state[0] = i.getArgument(0)).when(model).setBufferOffset(anyInt());
+		lenient().doAnswer(i -> state[1] = i.getArgument(0)).when(model).setUvBufferOffset(anyInt());
+		lenient().doAnswer(i -> state[2] = i.getArgument(0)).when(model).setSceneId(anyInt());
+		lenient().when(model.getBufferOffset()).thenAnswer(i -> state[0]);
+		lenient().when(model.getUvBufferOffset()).thenAnswer(i -> state[1]);
+		lenient().when(model.getSceneId()).thenAnswer(i -> state[2]);
+		return model;
+	}
+}
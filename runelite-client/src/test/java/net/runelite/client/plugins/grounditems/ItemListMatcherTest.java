@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.grounditems;
+
+import java.util.Arrays;
+import java.util.Collections;
+import joptsimple.internal.Strings;
+import static net.runelite.client.plugins.grounditems.ItemListMatcher.HIDDEN;
+import static net.runelite.client.plugins.grounditems.ItemListMatcher.HIGHLIGHTED;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class ItemListMatcherTest
+{
+	@Test
+	public void testMatchItems()
+	{
+		ItemListMatcher matcher = new ItemListMatcher(Arrays.asList("rune*", "Abyssal whip"), Collections.emptyList());
+		assertEquals(HIGHLIGHTED, matcher.match("rune pouch", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Rune pouch", 1));
+		assertEquals(0, matcher.match("Adamant dagger", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Runeite Ore", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Abyssal whip", 1));
+		assertEquals(0, matcher.match("Abyssal dagger", 1));
+	}
+
+	@Test
+	public void testMatchQuantities()
+	{
+		ItemListMatcher matcher = new ItemListMatcher(Arrays.asList("rune* < 3", "*whip>3", "nature*<5", "*rune > 30"), Collections.emptyList());
+		assertEquals(HIGHLIGHTED, matcher.match("Nature Rune", 50));
+		assertEquals(0, matcher.match("Nature Impling", 5));
+		assertEquals(HIGHLIGHTED, matcher.match("Abyssal whip", 4));
+		assertEquals(0, matcher.match("Abyssal dagger", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Rune Longsword", 2));
+	}
+
+	@Test
+	public void testMatchWildcards()
+	{
+		ItemListMatcher matcher = new ItemListMatcher(Arrays.asList("*of*", "a*a", "**"), Arrays.asList("dragon*", "*bones"));
+		assertEquals(HIGHLIGHTED, matcher.match("Ring of wealth", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Aa", 1));
+		assertEquals(HIGHLIGHTED | HIDDEN, matcher.match("Dragon bones", 1));
+		assertEquals(HIGHLIGHTED | HIDDEN, matcher.match("Bones", 1));
+		assertEquals(0, matcher.match("", 1));
+
+		matcher = new ItemListMatcher(Arrays.asList("a*a", "*of*w*"), Collections.emptyList());
+		assertEquals(0, matcher.match("a", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Aba", 1));
+		assertEquals(0, matcher.match("Ring of", 1));
+		assertEquals(HIGHLIGHTED, matcher.match("Ring of wealth", 1));
+	}
+
+	@Test(timeout = 1000)
+	public void testExplosive()
+	{
+		String name = "archer" + Strings.repeat('e', 50000) + "s ring";
+		ItemListMatcher matcher = new ItemListMatcher(Arrays.asList(name + "* < 100"), Collections.emptyList());
+		assertEquals(HIGHLIGHTED, matcher.match(name, 50));
+		assertEquals(0, matcher.match(name, 150));
+	}
+}
@@ -30,7 +30,9 @@ import net.runelite.client.plugins.puzzlesolver.solver.PuzzleState;
 import net.runelite.client.plugins.puzzlesolver.solver.heuristics.ManhattanDistance;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStar;
 import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.IDAStarMM;
+import net.runelite.client.plugins.puzzlesolver.solver.pathfinding.PackedIDAStar;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -163,4 +165,26 @@ public class PuzzleSolverTest
 			assertTrue(solver.getStep(solver.getStepCount() - 1).hasPieces(FINISHED_STATE));
 		}
 	}
+
+	@Test
+	public void testPackedSolver()
+	{
+		for (PuzzleState state : START_STATES)
+		{
+			PuzzleSolver solver = new PuzzleSolver(new IDAStar(new ManhattanDistance()), state);
+			solver.run();
+
+			for (boolean parallel : new boolean[]{false, true})
+			{
+				PuzzleSolver packedSolver = new PuzzleSolver(new PackedIDAStar(parallel), state);
+				packedSolver.run();
+
+				assertTrue(packedSolver.hasSolution());
+				assertFalse(packedSolver.hasFailed());
+				assertTrue(packedSolver.getStep(packedSolver.getStepCount() - 1).hasPieces(FINISHED_STATE));
+				// both searches find the shortest solution
+				assertEquals(solver.getStepCount(), packedSolver.getStepCount());
+			}
+		}
+	}
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.runelite.client.ui.overlay.OverlayProfiler.OverlayProfile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class OverlayProfilerTest
+{
+	private static class TestOverlay extends Overlay
+	{
+		@Override
+		public Dimension render(Graphics2D graphics)
+		{
+			return null;
+		}
+	}
+
+	@Test
+	public void testProfiles()
+	{
+		OverlayProfiler profiler = new OverlayProfiler();
+		profiler.setEnabled(true);
+
+		Overlay overlay = new TestOverlay();
+		for (int i = 0; i < OverlayProfiler.WINDOW + 10; ++i)
+		{
+			profiler.begin();
+			profiler.end(overlay, OverlayLayer.ABOVE_SCENE);
+		}
+		profiler.begin();
+		profiler.end(overlay, OverlayLayer.ALWAYS_ON_TOP);
+
+		List<OverlayProfile> profiles = profiler.getProfiles();
+		assertEquals(2, profiles.size());
+
+		OverlayProfile profile = profiles.stream()
+			.filter(p -> p.getLayer() == OverlayLayer.ABOVE_SCENE)
+			.findFirst()
+			.get();
+		assertEquals("TestOverlay", profile.getName());
+		assertEquals(OverlayProfiler.WINDOW, profile.getSamples());
+		assertTrue(profile.getP50Nanos() <= profile.getP99Nanos());
+		assertTrue(profile.getP99Nanos() <= profile.getMaxNanos());
+		assertEquals(-1, profile.getAllocatedBytes());
+
+		profiler.setEnabled(false);
+		assertTrue(profiler.getProfiles().isEmpty());
+	}
+
+	@Test
+	public void testThrottle()
+	{
+		OverlayProfiler profiler = new OverlayProfiler();
+		profiler.setEnabled(true);
+		profiler.setBudgetNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		profiler.setThrottleInterval(4);
+
+		Overlay overlay = new TestOverlay();
+		assertTrue(profiler.shouldRender(overlay, OverlayLayer.ABOVE_SCENE));
+
+		profiler.begin();
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2);
+		while (System.nanoTime() < end)
+		{
+			// exceed the budget
+		}
+		profiler.end(overlay, OverlayLayer.ABOVE_SCENE);
+
+		int rendered = 0;
+		for (int i = 0; i < 8; ++i)
+		{
+			profiler.nextFrame();
+			if (profiler.shouldRender(overlay, OverlayLayer.ABOVE_SCENE))
+			{
+				++rendered;
+			}
+		}
+		assertEquals(2, rendered);
+
+		// other layers are not throttled
+		assertTrue(profiler.shouldRender(overlay, OverlayLayer.ALWAYS_ON_TOP));
+
+		OverlayProfile profile = profiler.getProfiles().get(0);
+		assertTrue(profile.isOverBudget());
+		assertEquals(6, profile.getSkipped());
+
+		profiler.setBudgetNanos(0);
+		assertTrue(profiler.shouldRender(overlay, OverlayLayer.ABOVE_SCENE));
+		assertFalse(profiler.getProfiles().isEmpty());
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import com.google.inject.Guice;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.api.Client;
+import net.runelite.api.MainBufferProvider;
+import net.runelite.api.Model;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ModelOutlineRendererTest
+{
+	private final BufferedImage image = new BufferedImage(765, 503, BufferedImage.TYPE_INT_RGB);
+	private final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+	private ModelOutlineRenderer modelOutlineRenderer;
+
+	@Before
+	public void before()
+	{
+		Client client = mock(Client.class);
+		when(client.getViewportWidth()).thenReturn(765);
+		when(client.getViewportHeight()).thenReturn(503);
+		when(client.getScale()).thenReturn(512);
+		MainBufferProvider bufferProvider = mock(MainBufferProvider.class);
+		when(bufferProvider.getImage()).thenReturn(image);
+		when(client.getBufferProvider()).thenReturn(bufferProvider);
+
+		modelOutlineRenderer = Guice.createInjector(binder -> binder.bind(Client.class).toInstance(client))
+			.getInstance(ModelOutlineRenderer.class);
+	}
+
+	@Test
+	public void testBatchMatchesSequential()
+	{
+		List<ModelOutlineRenderer.Outline> outlines = new ArrayList<>();
+		int i = 0;
+		for (Color color : new Color[]{Color.RED, new Color(0, 255, 0, 128)})
+		{
+			for (int width : new int[]{1, 3, 12})
+			{
+				boolean cacheable = (i & 1) == 0;
+				outlines.add(modelOutlineRenderer.createOutline(SyntheticModel.sphere(12, 16, 128),
+					(i++ - 3) * 400, 2000, 0, 0, width, color, 2, cacheable));
+			}
+		}
+
+		for (ModelOutlineRenderer.Outline outline : outlines)
+		{
+			modelOutlineRenderer.draw(Collections.singletonList(outline));
+		}
+		int[] sequential = pixels.clone();
+		assertTrue(Arrays.stream(sequential).anyMatch(pixel -> pixel != 0));
+
+		// once with fresh masks, and once with the cached masks of the static models
+		for (int pass = 0; pass < 2; ++pass)
+		{
+			Arrays.fill(pixels, 0);
+			OutlineBatch batch = modelOutlineRenderer.createBatch();
+			outlines.forEach(batch::add);
+			batch.draw();
+			assertArrayEquals(sequential, pixels);
+		}
+	}
+
+	@Test
+	public void testActorModelReadWhenAdded()
+	{
+		Model model = SyntheticModel.sphere(12, 16, 128);
+		modelOutlineRenderer.draw(Collections.singletonList(
+			modelOutlineRenderer.createOutline(model, 0, 2000, 0, 0, 2, Color.RED, 0, false)));
+		int[] expected = pixels.clone();
+
+		Arrays.fill(pixels, 0);
+		OutlineBatch batch = modelOutlineRenderer.createBatch();
+		batch.add(modelOutlineRenderer.createOutline(model, 0, 2000, 0, 0, 2, Color.RED, 0, false));
+		// the client reuses actor models, so the model may change before the batch is drawn
+		Arrays.fill(model.getVerticesX(), 0);
+		batch.draw();
+		assertArrayEquals(expected, pixels);
+	}
+
+	@Test
+	public void testPaintOrder()
+	{
+		ModelOutlineRenderer.Outline outline = modelOutlineRenderer.createOutline(SyntheticModel.sphere(12, 16, 128),
+			0, 2000, 0, 0, 4, Color.RED, 0, true);
+		Runnable fill = () -> Arrays.fill(pixels, Color.BLUE.getRGB());
+
+		// painting queued after an outline covers it
+		OutlineBatch batch = modelOutlineRenderer.createBatch();
+		batch.add(outline);
+		batch.paint(fill);
+		batch.draw();
+		assertTrue(Arrays.stream(pixels).allMatch(pixel -> pixel == Color.BLUE.getRGB()));
+
+		// and painting queued before it is covered by it
+		batch.paint(fill);
+		batch.add(outline);
+		batch.draw();
+		assertTrue(Arrays.stream(pixels).anyMatch(pixel -> pixel != Color.BLUE.getRGB()));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import com.google.inject.Guice;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Client;
+import net.runelite.api.MainBufferProvider;
+import net.runelite.api.Model;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares drawing the outlines of a frame one by one, as is done for actors, with
+ * drawing them as a batch of static objects whose masks are cached while the camera
+ * does not move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutlineBenchmark
+{
+	@Param({"4", "32"})
+	private int models;
+
+	@Param({"1", "4"})
+	private int outlineWidth;
+
+	private ModelOutlineRenderer renderer;
+	private List<Model> actorModels;
+	private List<ModelOutlineRenderer.Outline> staticOutlines;
+
+	@Setup
+	public void setup()
+	{
+		Client client = mock(Client.class);
+		when(client.getViewportWidth()).thenReturn(765);
+		when(client.getViewportHeight()).thenReturn(503);
+		when(client.getScale()).thenReturn(512);
+		MainBufferProvider bufferProvider = mock(MainBufferProvider.class);
+		when(bufferProvider.getImage()).thenReturn(new BufferedImage(765, 503, BufferedImage.TYPE_INT_RGB));
+		when(client.getBufferProvider()).thenReturn(bufferProvider);
+
+		renderer = Guice.createInjector(binder -> binder.bind(Client.class).toInstance(client))
+			.getInstance(ModelOutlineRenderer.class);
+
+		// a row of spheres in front of the camera, about as detailed as a player model
+		actorModels = new ArrayList<>(models);
+		staticOutlines = new ArrayList<>(models);
+		for (int i = 0; i < models; ++i)
+		{
+			int x = (i - models / 2) * 2400 / models;
+			actorModels.add(SyntheticModel.sphere(24, 32, 128));
+			staticOutlines.add(renderer.createOutline(SyntheticModel.sphere(24, 32, 128),
+				x, 2000, 0, 0, outlineWidth, Color.CYAN, 0, true));
+		}
+	}
+
+	@Benchmark
+	public void sequential()
+	{
+		for (int i = 0; i < actorModels.size(); ++i)
+		{
+			int x = (i - models / 2) * 2400 / models;
+			ModelOutlineRenderer.Outline outline = renderer.createOutline(actorModels.get(i),
+				x, 2000, 0, 0, outlineWidth, Color.CYAN, 0, false);
+			if (outline != null)
+			{
+				renderer.draw(Collections.singletonList(outline));
+			}
+		}
+	}
+
+	@Benchmark
+	public void batchedStatic()
+	{
+		renderer.draw(staticOutlines);
+	}
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder()
+			.include(OutlineBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
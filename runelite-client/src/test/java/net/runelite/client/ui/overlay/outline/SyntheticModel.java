@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.ui.overlay.outline;
+
+import net.runelite.api.Model;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds models for outline tests and benchmarks without a game cache.
+ */
+final class SyntheticModel
+{
+	private SyntheticModel()
+	{
+	}
+
+	/**
+	 * Creates a sphere around the model origin, made of rings of vertices between
+	 * the two poles.
+	 */
+	static Model sphere(int rings, int segments, int radius)
+	{
+		int vertexCount = (rings - 1) * segments + 2;
+		int[] verticesX = new int[vertexCount];
+		int[] verticesY = new int[vertexCount];
+		int[] verticesZ = new int[vertexCount];
+
+		int top = vertexCount - 2;
+		int bottom = vertexCount - 1;
+		verticesY[top] = -radius;
+		verticesY[bottom] = radius;
+		for (int ring = 1; ring < rings; ++ring)
+		{
+			double theta = Math.PI * ring / rings;
+			for (int segment = 0; segment < segments; ++segment)
+			{
+				double phi = 2 * Math.PI * segment / segments;
+				int vertex = (ring - 1) * segments + segment;
+				verticesX[vertex] = (int) (radius * Math.sin(theta) * Math.cos(phi));
+				verticesY[vertex] = (int) (-radius * Math.cos(theta));
+				verticesZ[vertex] = (int) (radius * Math.sin(theta) * Math.sin(phi));
+			}
+		}
+
+		int triangleCount = 2 * (rings - 1) * segments;
+		int[] trianglesX = new int[triangleCount];
+		int[] trianglesY = new int[triangleCount];
+		int[] trianglesZ = new int[triangleCount];
+		int triangle = 0;
+		for (int segment = 0; segment < segments; ++segment)
+		{
+			int next = (segment + 1) % segments;
+
+			// caps
+			trianglesX[triangle] = top;
+			trianglesY[triangle] = next;
+			trianglesZ[triangle++] = segment;
+
+			int last = (rings - 2) * segments;
+			trianglesX[triangle] = bottom;
+			trianglesY[triangle] = last + segment;
+			trianglesZ[triangle++] = last + next;
+
+			for (int ring = 0; ring < rings - 2; ++ring)
+			{
+				int a = ring * segments + segment;
+				int b = ring * segments + next;
+				int c = a + segments;
+				int d = b + segments;
+
+				trianglesX[triangle] = a;
+				trianglesY[triangle] = b;
+				trianglesZ[triangle++] = c;
+
+				trianglesX[triangle] = b;
+				trianglesY[triangle] = d;
+				trianglesZ[triangle++] = c;
+			}
+		}
+
+		Model model = mock(Model.class);
+		when(model.getVerticesCount()).thenReturn(vertexCount);
+		when(model.getVerticesX()).thenReturn(verticesX);
+		when(model.getVerticesY()).thenReturn(verticesY);
+		when(model.getVerticesZ()).thenReturn(verticesZ);
+		when(model.getTrianglesCount()).thenReturn(triangleCount);
+		when(model.getTrianglesX()).thenReturn(trianglesX);
+		when(model.getTrianglesY()).thenReturn(trianglesY);
+		when(model.getTrianglesZ()).thenReturn(trianglesZ);
+		return model;
+	}
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.plugins.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of every class annotated with {@code PluginDescriptor} to
+ * {@value #INDEX}, so the client can find its plugins without scanning the
+ * classpath. Each entry records the plugin's descriptor, the plugins it depends
+ * on, and the config interface it provides, if any.
+ * <p>
+ * The annotations are matched by name, so the processor does not depend on the
+ * client. Incremental compilers only process the changed sources, so entries of
+ * the previous index are kept for plugins which were not recompiled and are
+ * still plugins.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_DESCRIPTOR)
+public class PluginIndexProcessor extends AbstractProcessor
+{
+	public static final String INDEX = "META-INF/runelite/plugins.json";
+
+	static final String PLUGIN_DESCRIPTOR = "net.runelite.client.plugins.PluginDescriptor";
+	private static final String PLUGIN_DEPENDENCY = "net.runelite.client.plugins.PluginDependency";
+	private static final String PLUGIN_DEPENDENCIES = "net.runelite.client.plugins.PluginDependencies";
+	private static final String CONFIG = "net.runelite.client.config.Config";
+	private static final String PROVIDES = "com.google.inject.Provides";
+
+	// each entry is on its own line, and starts with the class name
+	private static final String CLASS_NAME_PREFIX = "{\"className\":\"";
+
+	private final Map<String, String> entries = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			if (!entries.isEmpty())
+			{
+				writeIndex();
+			}
+			return false;
+		}
+
+		Elements elements = processingEnv.getElementUtils();
+		TypeElement descriptor = elements.getTypeElement(PLUGIN_DESCRIPTOR);
+		if (descriptor == null)
+		{
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(descriptor))
+		{
+			if (element.getKind() != ElementKind.CLASS)
+			{
+				continue;
+			}
+
+			TypeElement type = (TypeElement) element;
+			String className = elements.getBinaryName(type).toString();
+			entries.put(className, describe(className, type));
+		}
+
+		// other processors, such as lombok, also handle these types
+		return false;
+	}
+
+	private String describe(String className, TypeElement type)
+	{
+		Elements elements = processingEnv.getElementUtils();
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"className\":");
+		appendString(sb, className);
+
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			if (!nameOf(mirror).equals(PLUGIN_DESCRIPTOR))
+			{
+				continue;
+			}
+
+			// write the values in declaration order, including the defaults
+			Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(mirror);
+			for (ExecutableElement method : ElementFilter.methodsIn(mirror.getAnnotationType().asElement().getEnclosedElements()))
+			{
+				AnnotationValue value = values.get(method);
+				if (value == null)
+				{
+					continue;
+				}
+
+				sb.append(',');
+				appendString(sb, method.getSimpleName().toString());
+				sb.append(':');
+				appendValue(sb, value.getValue());
+			}
+		}
+
+		sb.append(",\"dependencies\":[");
+		List<String> dependencies = findDependencies(type);
+		for (int i = 0; i < dependencies.size(); ++i)
+		{
+			if (i > 0)
+			{
+				sb.append(',');
+			}
+			appendString(sb, dependencies.get(i));
+		}
+		sb.append(']');
+
+		String config = findConfig(type);
+		if (config != null)
+		{
+			sb.append(",\"configClass\":");
+			appendString(sb, config);
+		}
+
+		sb.append('}');
+		return sb.toString();
+	}
+
+	private List<String> findDependencies(TypeElement type)
+	{
+		List<AnnotationValue> values = new ArrayList<>();
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			String name = nameOf(mirror);
+			if (name.equals(PLUGIN_DEPENDENCY))
+			{
+				values.add(valueOf(mirror));
+			}
+			else if (name.equals(PLUGIN_DEPENDENCIES))
+			{
+				// repeated @PluginDependency annotations are wrapped in their container
+				for (Object dependency : (List<?>) valueOf(mirror).getValue())
+				{
+					values.add(valueOf((AnnotationMirror) ((AnnotationValue) dependency).getValue()));
+				}
+			}
+		}
+
+		Elements elements = processingEnv.getElementUtils();
+		List<String> dependencies = new ArrayList<>(values.size());
+		for (AnnotationValue value : values)
+		{
+			TypeElement dependency = (TypeElement) ((DeclaredType) value.getValue()).asElement();
+			dependencies.add(elements.getBinaryName(dependency).toString());
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Find the config interface a plugin provides, from its {@code @Provides}
+	 * methods returning a subtype of {@code Config}.
+	 */
+	private String findConfig(TypeElement type)
+	{
+		Elements elements = processingEnv.getElementUtils();
+		Types types = processingEnv.getTypeUtils();
+
+		TypeElement config = elements.getTypeElement(CONFIG);
+		if (config == null)
+		{
+			return null;
+		}
+
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements()))
+		{
+			TypeMirror returnType = method.getReturnType();
+			if (!types.isAssignable(types.erasure(returnType), config.asType()))
+			{
+				continue;
+			}
+
+			for (AnnotationMirror mirror : method.getAnnotationMirrors())
+			{
+				if (nameOf(mirror).equals(PROVIDES))
+				{
+					TypeElement configType = (TypeElement) types.asElement(returnType);
+					return elements.getBinaryName(configType).toString();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Add the entries of the previous index in the class output for the plugins
+	 * which were not part of this compilation, but still exist
+	 */
+	private void mergePreviousIndex()
+	{
+		CharSequence previous;
+		try
+		{
+			FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+			previous = file.getCharContent(true);
+		}
+		catch (IOException | IllegalArgumentException ex)
+		{
+			// there is no previous index
+			return;
+		}
+
+		Elements elements = processingEnv.getElementUtils();
+		for (String line : previous.toString().split("\n"))
+		{
+			if (!line.startsWith(CLASS_NAME_PREFIX))
+			{
+				continue;
+			}
+
+			String className = line.substring(CLASS_NAME_PREFIX.length(), line.indexOf('"', CLASS_NAME_PREFIX.length()));
+			if (entries.containsKey(className))
+			{
+				continue;
+			}
+
+			TypeElement type = elements.getTypeElement(className.replace('$', '.'));
+			if (type == null || type.getAnnotationMirrors().stream().noneMatch(m -> nameOf(m).equals(PLUGIN_DESCRIPTOR)))
+			{
+				continue;
+			}
+
+			String entry = line.endsWith(",") ? line.substring(0, line.length() - 1) : line;
+			entries.put(className, entry);
+		}
+	}
+
+	private void writeIndex()
+	{
+		mergePreviousIndex();
+
+		try
+		{
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+			try (Writer out = file.openWriter())
+			{
+				out.write("[\n");
+				int i = 0;
+				for (String entry : entries.values())
+				{
+					out.write(entry);
+					out.write(++i < entries.size() ? ",\n" : "\n");
+				}
+				out.write("]\n");
+			}
+		}
+		catch (IOException ex)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin index: " + ex);
+		}
+	}
+
+	private static String nameOf(AnnotationMirror mirror)
+	{
+		return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+	}
+
+	private static AnnotationValue valueOf(AnnotationMirror mirror)
+	{
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+		{
+			if (entry.getKey().getSimpleName().contentEquals("value"))
+			{
+				return entry.getValue();
+			}
+		}
+		throw new IllegalArgumentException("No value for " + mirror);
+	}
+
+	private static void appendValue(StringBuilder sb, Object value)
+	{
+		if (value instanceof List)
+		{
+			sb.append('[');
+			List<?> values = (List<?>) value;
+			for (int i = 0; i < values.size(); ++i)
+			{
+				if (i > 0)
+				{
+					sb.append(',');
+				}
+				appendValue(sb, ((AnnotationValue) values.get(i)).getValue());
+			}
+			sb.append(']');
+		}
+		else if (value instanceof Boolean || value instanceof Number)
+		{
+			sb.append(value);
+		}
+		else
+		{
+			appendString(sb, value.toString());
+		}
+	}
+
+	private static void appendString(StringBuilder sb, String value)
+	{
+		sb.append('"');
+		for (int i = 0; i < value.length(); ++i)
+		{
+			char c = value.charAt(i);
+			switch (c)
+			{
+				case '"':
+				case '\\':
+					sb.append('\\').append(c);
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (c < 0x20 || c > 0x7e)
+					{
+						sb.append(String.format("\\u%04x", (int) c));
+					}
+					else
+					{
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.plugins.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginIndexProcessorTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testIndex() throws IOException
+	{
+		File src = folder.newFolder("src");
+		File out = folder.newFolder("out");
+
+		source(src, "net.runelite.client.plugins.Plugin",
+			"public abstract class Plugin {}");
+		source(src, "net.runelite.client.plugins.PluginDescriptor",
+			"import java.lang.annotation.*;",
+			"@Retention(RetentionPolicy.RUNTIME) public @interface PluginDescriptor {",
+			"String name(); String[] tags() default {}; boolean developerPlugin() default false; }");
+		source(src, "net.runelite.client.plugins.PluginDependency",
+			"import java.lang.annotation.*;",
+			"@Retention(RetentionPolicy.RUNTIME) @Repeatable(PluginDependencies.class)",
+			"public @interface PluginDependency { Class<? extends Plugin> value(); }");
+		source(src, "net.runelite.client.plugins.PluginDependencies",
+			"import java.lang.annotation.*;",
+			"@Retention(RetentionPolicy.RUNTIME) public @interface PluginDependencies { PluginDependency[] value(); }");
+		source(src, "net.runelite.client.config.Config",
+			"public interface Config {}");
+		source(src, "com.google.inject.Provides",
+			"public @interface Provides {}");
+
+		source(src, "net.runelite.client.plugins.a.APlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"A \\\"quoted\\\"\", tags = {\"x\", \"y\"})",
+			"public class APlugin extends Plugin {",
+			"@com.google.inject.Provides AConfig provideConfig() { return null; }",
+			"public interface AConfig extends net.runelite.client.config.Config {} }");
+		source(src, "net.runelite.client.plugins.b.BPlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"B\", developerPlugin = true)",
+			"@PluginDependency(net.runelite.client.plugins.a.APlugin.class)",
+			"@PluginDependency(net.runelite.client.plugins.c.CPlugin.class)",
+			"public class BPlugin extends Plugin {}");
+		source(src, "net.runelite.client.plugins.c.CPlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"C\")",
+			"@PluginDependency(net.runelite.client.plugins.a.APlugin.class)",
+			"public class CPlugin extends Plugin {}");
+
+		compile(src, "-d", out.getPath(), "-proc:only");
+
+		File index = new File(out, PluginIndexProcessor.INDEX);
+		assertTrue(index.exists());
+
+		String[] lines = new String(Files.readAllBytes(index.toPath()), StandardCharsets.UTF_8).split("\n");
+		assertEquals(5, lines.length);
+		assertEquals("[", lines[0]);
+		assertEquals("{\"className\":\"net.runelite.client.plugins.a.APlugin\",\"name\":\"A \\\"quoted\\\"\","
+			+ "\"tags\":[\"x\",\"y\"],\"developerPlugin\":false,\"dependencies\":[],"
+			+ "\"configClass\":\"net.runelite.client.plugins.a.APlugin$AConfig\"},", lines[1]);
+		assertEquals("{\"className\":\"net.runelite.client.plugins.b.BPlugin\",\"name\":\"B\","
+			+ "\"tags\":[],\"developerPlugin\":true,"
+			+ "\"dependencies\":[\"net.runelite.client.plugins.a.APlugin\",\"net.runelite.client.plugins.c.CPlugin\"]},", lines[2]);
+		assertEquals("{\"className\":\"net.runelite.client.plugins.c.CPlugin\",\"name\":\"C\","
+			+ "\"tags\":[],\"developerPlugin\":false,"
+			+ "\"dependencies\":[\"net.runelite.client.plugins.a.APlugin\"]}", lines[3]);
+		assertEquals("]", lines[4]);
+		assertFalse(new File(out, "net").exists());
+	}
+
+	@Test
+	public void testIncrementalIndex() throws IOException
+	{
+		File src = folder.newFolder("src");
+		File out = folder.newFolder("out");
+
+		source(src, "net.runelite.client.plugins.Plugin",
+			"public abstract class Plugin {}");
+		source(src, "net.runelite.client.plugins.PluginDescriptor",
+			"import java.lang.annotation.*;",
+			"@Retention(RetentionPolicy.RUNTIME) public @interface PluginDescriptor { String name(); }");
+		source(src, "net.runelite.client.plugins.a.APlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"A\") public class APlugin extends Plugin {}");
+		source(src, "net.runelite.client.plugins.b.BPlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"B\") public class BPlugin extends Plugin {}");
+		compile(src, "-d", out.getPath());
+
+		// only the new plugin is compiled, against the classes of the previous compile
+		File changed = folder.newFolder("changed");
+		source(changed, "net.runelite.client.plugins.c.CPlugin",
+			"import net.runelite.client.plugins.*;",
+			"@PluginDescriptor(name = \"C\") public class CPlugin extends Plugin {}");
+		assertTrue(new File(out, "net/runelite/client/plugins/b/BPlugin.class").delete());
+		compile(changed, "-d", out.getPath(), "-cp", out.getPath());
+
+		File index = new File(out, PluginIndexProcessor.INDEX);
+		String[] lines = new String(Files.readAllBytes(index.toPath()), StandardCharsets.UTF_8).split("\n");
+		assertEquals(4, lines.length);
+		assertEquals("{\"className\":\"net.runelite.client.plugins.a.APlugin\",\"name\":\"A\",\"dependencies\":[]},", lines[1]);
+		// the deleted plugin is dropped
+		assertEquals("{\"className\":\"net.runelite.client.plugins.c.CPlugin\",\"name\":\"C\",\"dependencies\":[]}", lines[2]);
+	}
+
+	private static void compile(File src, String... options) throws IOException
+	{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8))
+		{
+			Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(
+				Files.walk(src.toPath())
+					.filter(p -> p.toString().endsWith(".java"))
+					.map(Path::toFile)
+					.collect(Collectors.toList()));
+
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+				Arrays.asList(options), null, units);
+			task.setProcessors(Collections.singletonList(new PluginIndexProcessor()));
+			assertTrue(task.call());
+		}
+	}
+
+	private static void source(File root, String className, String... lines) throws IOException
+	{
+		int idx = className.lastIndexOf('.');
+		File file = new File(root, className.replace('.', '/') + ".java");
+		file.getParentFile().mkdirs();
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(className, 0, idx).append(";\n");
+		for (String line : lines)
+		{
+			sb.append(line).append('\n');
+		}
+		Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}